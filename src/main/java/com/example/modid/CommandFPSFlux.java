@@ -1,5 +1,8 @@
 package com.example.modid;
 
+import com.example.modid.bridge.BridgeMetrics;
+import com.example.modid.bridge.LatencyHistogram;
+import com.example.modid.bridge.MinecraftECSBridge;
 import com.example.modid.gl.GLOptimizer;
 import com.example.modid.gl.state.GLStateCache;
 import net.minecraft.command.CommandBase;
@@ -9,6 +12,8 @@ import net.minecraft.entity.Entity;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.util.text.TextComponentString;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.EnumMap;
 import java.util.Map;
 
@@ -20,7 +25,7 @@ public class CommandFPSFlux extends CommandBase {
     
     @Override
     public String getUsage(ICommandSender sender) {
-        return "/fpsflux <status|glinfo|stats|cache>";
+        return "/fpsflux <status|glinfo|stats|cache|latency [dump]>";
     }
     
     @Override
@@ -48,8 +53,12 @@ public class CommandFPSFlux extends CommandBase {
                 showCacheStats(sender);
                 break;
                 
+            case "latency":
+                showLatency(server, sender, args);
+                break;
+                
             default:
-                sender.sendMessage(new TextComponentString("§cUnknown subcommand. Use: status, glinfo, stats, or cache"));
+                sender.sendMessage(new TextComponentString("§cUnknown subcommand. Use: status, glinfo, stats, cache, or latency"));
         }
     }
     
@@ -139,6 +148,43 @@ public class CommandFPSFlux extends CommandBase {
         GLStateCache.resetMetrics();
     }
     
+    private void showLatency(MinecraftServer server, ICommandSender sender, String[] args) throws CommandException {
+        MinecraftECSBridge bridge = MinecraftECSBridge.getInstanceIfPresent();
+        if (bridge == null) {
+            sender.sendMessage(new TextComponentString("§cECS bridge not running - no latency data"));
+            return;
+        }
+        BridgeMetrics metrics = bridge.getMetrics();
+        
+        if (args.length > 1 && args[1].equalsIgnoreCase("dump")) {
+            // Writes a file into the server directory on every call - ops only
+            if (!sender.canUseCommand(2, getName())) {
+                throw new CommandException("commands.generic.permission");
+            }
+            File file = server.getFile("fpsflux-latency-" + System.currentTimeMillis() + ".csv");
+            try {
+                metrics.dumpLatency(file.toPath());
+                sender.sendMessage(new TextComponentString("§aLatency histograms written to §f" + file.getName()));
+            } catch (IOException e) {
+                sender.sendMessage(new TextComponentString("§cFailed to write histograms: " + e.getMessage()));
+            }
+            return;
+        }
+        
+        sender.sendMessage(new TextComponentString(String.format(
+            "§6=== FPSFlux Bridge Latency (last %ds) ===", BridgeMetrics.HISTOGRAM_INTERVAL_NANOS / 1_000_000_000L)));
+        for (BridgeMetrics.Stage stage : BridgeMetrics.Stage.values()) {
+            LatencyHistogram.Summary summary = metrics.getLatency(stage);
+            sender.sendMessage(new TextComponentString(String.format(
+                "§7%s: §fp50 %.2fms  §ep99 %.2fms  §cp999 %.2fms  §7max %.2fms",
+                stage.name().toLowerCase(), summary.p50Ms(), summary.p99Ms(), summary.p999Ms(), summary.maxMs())));
+        }
+        sender.sendMessage(new TextComponentString(String.format(
+            "§7Load shedding: §f%s §7(up %d, down %d, last: %s)",
+            metrics.getShedLevel(), metrics.getShedEscalations(), metrics.getShedRestorations(),
+            metrics.getLastShedReason().isEmpty() ? "none" : metrics.getLastShedReason())));
+    }
+    
     @Override
     public int getRequiredPermissionLevel() {
         return 0; // no need for Cheats!!
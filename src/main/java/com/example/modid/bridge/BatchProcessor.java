@@ -7,8 +7,10 @@ import net.minecraft.entity.Entity;
 
 import java.lang.foreign.MemorySegment;
 import java.lang.foreign.ValueLayout;
+import java.util.Arrays;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 /**
  * BatchProcessor - SIMD-optimized batch operations for entity synchronization.
@@ -19,6 +21,10 @@ import java.util.concurrent.RecursiveAction;
  *   <li>Sequential memory access patterns for cache efficiency</li>
  *   <li>Fork-Join parallelism for large batches</li>
  *   <li>Prefetching hints for memory controller</li>
+ *   <li>Layout-independent field access through {@link BridgeComponents.TransformStore};
+ *       bulk column passes when the SoA layout is active</li>
+ *   <li>Per-slot dirty bitset: outbound sync visits only slots written since the last tick,
+ *       compacted into a dense list before being split across the pool</li>
  * </ul>
  */
 public final class BatchProcessor {
@@ -34,8 +40,15 @@ public final class BatchProcessor {
 
     private final MemorySegment componentMemory;
     private final int entityBlockSize;
+    private final BridgeComponents.TransformStore transforms;
     private final ForkJoinPool pool;
 
+    /** One bit per slot, set by {@link #markDirty} and drained by {@link #syncOutbound} */
+    private final AtomicLongArray dirtyWords;
+
+    /** Compacted dirty slots for the current outbound pass (tick thread only) */
+    private int[] dirtyBuffer = new int[PARALLEL_CHUNK_SIZE];
+
     // Preallocated arrays for batch operations (thread-local)
     private static final ThreadLocal<double[]> POSITION_BUFFER =
             ThreadLocal.withInitial(() -> new double[PARALLEL_CHUNK_SIZE * 3]);
@@ -43,9 +56,93 @@ public final class BatchProcessor {
             ThreadLocal.withInitial(() -> new double[PARALLEL_CHUNK_SIZE * 3]);
 
     public BatchProcessor(MemorySegment componentMemory, int entityBlockSize) {
+        this(componentMemory, entityBlockSize, new BridgeComponents.Blocks(componentMemory, entityBlockSize));
+    }
+
+    public BatchProcessor(MemorySegment componentMemory, int entityBlockSize,
+                          BridgeComponents.TransformStore transforms) {
         this.componentMemory = componentMemory;
         this.entityBlockSize = entityBlockSize;
+        this.transforms = transforms;
         this.pool = ForkJoinPool.commonPool();
+
+        int capacity = (int) (componentMemory.byteSize() / entityBlockSize);
+        this.dirtyWords = new AtomicLongArray((capacity + 63) >>> 6);
+    }
+
+    // ========================================================================
+    // DIRTY TRACKING
+    // ========================================================================
+
+    /**
+     * Marks components of a slot as modified by the ECS side so the next outbound sync
+     * writes them back. Safe to call from any thread.
+     *
+     * @param slot  entity slot
+     * @param flags combination of {@link BridgeComponents#FLAG_TRANSFORM_DIRTY},
+     *              {@link BridgeComponents#FLAG_VELOCITY_DIRTY} and
+     *              {@link BridgeComponents#FLAG_ACCEL_DIRTY}
+     */
+    public void markDirty(int slot, long flags) {
+        BridgeComponents.setFlags(componentMemory, (long) slot * entityBlockSize, flags);
+        long bit = 1L << slot;
+        int word = slot >>> 6;
+        // Plain read first: most writes hit a slot already marked this tick
+        if ((dirtyWords.get(word) & bit) == 0) {
+            dirtyWords.getAndBitwiseOr(word, bit);
+        }
+    }
+
+    /**
+     * Forgets pending writes for a slot (used when the slot is released).
+     */
+    public void clearDirty(int slot) {
+        dirtyWords.getAndBitwiseAnd(slot >>> 6, ~(1L << slot));
+        BridgeComponents.clearFlags(componentMemory, (long) slot * entityBlockSize, BridgeComponents.DIRTY_MASK);
+    }
+
+    /**
+     * Adopts dirty flags set straight through {@link BridgeComponents#setFlags} rather than
+     * {@link #markDirty}: one META_FLAGS read per active slot, marking the bitset for any hit.
+     */
+    private void adoptFlaggedSlots(int[] activeSlots, int activeCount) {
+        for (int i = 0; i < activeCount; i++) {
+            int slot = activeSlots[i];
+            long bit = 1L << slot;
+            int word = slot >>> 6;
+            if ((dirtyWords.get(word) & bit) != 0) continue;
+            if (BridgeComponents.hasFlags(componentMemory, (long) slot * entityBlockSize, BridgeComponents.DIRTY_MASK)) {
+                dirtyWords.getAndBitwiseOr(word, bit);
+            }
+        }
+    }
+
+    /**
+     * Drains the dirty bitset into a dense, ascending slot list.
+     *
+     * @return number of slots written to {@link #dirtyBuffer}
+     */
+    private int drainDirty() {
+        int[] buffer = dirtyBuffer;
+        int count = 0;
+        int words = dirtyWords.length();
+
+        for (int w = 0; w < words; w++) {
+            if (dirtyWords.get(w) == 0) continue;
+
+            long bits = dirtyWords.getAndSet(w, 0);
+            int base = w << 6;
+            while (bits != 0) {
+                if (count == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length << 1);
+                }
+                buffer[count++] = base + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+            }
+        }
+
+        dirtyBuffer = buffer;
+        return count;
     }
 
     // ========================================================================
@@ -56,50 +153,63 @@ public final class BatchProcessor {
      * Synchronizes state from Minecraft entities to ECS component memory.
      * Optimized for sequential memory writes.
      *
-     * @param slots     array of active slot indices
+     * @param slots     active slot indices, ascending so live runs can be copied in bulk
      * @param count     number of active slots
      * @param mcEntities array of Minecraft entity references
      */
     public void syncInbound(int[] slots, int count, Entity[] mcEntities) {
         if (count == 0) return;
 
+        // Columns shift current -> previous in bulk copies per run of consecutive live slots
+        boolean perSlotPrevious = true;
+        if (transforms instanceof BridgeComponents.Columns columns) {
+            copyRunsToPrevious(columns, slots, count, mcEntities);
+            perSlotPrevious = false;
+        }
+
         if (count >= PARALLEL_THRESHOLD) {
-            syncInboundParallel(slots, count, mcEntities);
+            pool.invoke(new InboundSyncTask(slots, 0, count, mcEntities, transforms, perSlotPrevious));
         } else {
-            syncInboundSequential(slots, count, mcEntities);
+            syncInboundRange(transforms, slots, 0, count, mcEntities, perSlotPrevious);
         }
     }
 
-    private void syncInboundSequential(int[] slots, int count, Entity[] mcEntities) {
-        for (int i = 0; i < count; i++) {
+    /**
+     * Bulk current -> previous copy for slots that will be synced; slots without a Minecraft
+     * entity keep their previous transform, as on the per-slot path.
+     */
+    private static void copyRunsToPrevious(BridgeComponents.Columns columns, int[] slots, int count,
+                                           Entity[] mcEntities) {
+        int i = 0;
+        while (i < count) {
+            int start = slots[i];
+            if (mcEntities[start] == null) {
+                i++;
+                continue;
+            }
+            int run = 1;
+            while (i + run < count && slots[i + run] == start + run && mcEntities[start + run] != null) run++;
+            columns.copyRangeToPrevious(start, start + run);
+            i += run;
+        }
+    }
+
+    private static void syncInboundRange(BridgeComponents.TransformStore transforms, int[] slots,
+                                         int start, int end, Entity[] mcEntities, boolean perSlotPrevious) {
+        for (int i = start; i < end; i++) {
             int slot = slots[i];
             Entity mc = mcEntities[slot];
             if (mc == null) continue;
 
-            long base = (long) slot * entityBlockSize;
-
             // Copy current to previous (for interpolation)
-            BridgeComponents.copyToPrevious(componentMemory, base);
-
-            // Read new values from MC entity
-            componentMemory.set(ValueLayout.JAVA_DOUBLE, base + BridgeComponents.TRANSFORM_X, mc.posX);
-            componentMemory.set(ValueLayout.JAVA_DOUBLE, base + BridgeComponents.TRANSFORM_Y, mc.posY);
-            componentMemory.set(ValueLayout.JAVA_DOUBLE, base + BridgeComponents.TRANSFORM_Z, mc.posZ);
-            componentMemory.set(ValueLayout.JAVA_FLOAT, base + BridgeComponents.TRANSFORM_YAW, mc.rotationYaw);
-            componentMemory.set(ValueLayout.JAVA_FLOAT, base + BridgeComponents.TRANSFORM_PITCH, mc.rotationPitch);
-
-            componentMemory.set(ValueLayout.JAVA_DOUBLE, base + BridgeComponents.VELOCITY_X, mc.motionX);
-            componentMemory.set(ValueLayout.JAVA_DOUBLE, base + BridgeComponents.VELOCITY_Y, mc.motionY);
-            componentMemory.set(ValueLayout.JAVA_DOUBLE, base + BridgeComponents.VELOCITY_Z, mc.motionZ);
-
-            // Compute and cache velocity magnitude
-            float speed = (float) Math.sqrt(mc.motionX * mc.motionX + mc.motionY * mc.motionY + mc.motionZ * mc.motionZ);
-            componentMemory.set(ValueLayout.JAVA_FLOAT, base + BridgeComponents.VELOCITY_SPEED, speed);
-        }
-    }
+            if (perSlotPrevious) {
+                transforms.copyToPrevious(slot);
+            }
 
-    private void syncInboundParallel(int[] slots, int count, Entity[] mcEntities) {
-        pool.invoke(new InboundSyncTask(slots, 0, count, mcEntities, componentMemory, entityBlockSize));
+            // Read new values from MC entity; velocity magnitude is cached by the store
+            transforms.setTransform(slot, mc.posX, mc.posY, mc.posZ, mc.rotationYaw, mc.rotationPitch);
+            transforms.setVelocity(slot, mc.motionX, mc.motionY, mc.motionZ);
+        }
     }
 
     private static final class InboundSyncTask extends RecursiveAction {
@@ -107,16 +217,17 @@ public final class BatchProcessor {
         private final int start;
         private final int end;
         private final Entity[] mcEntities;
-        private final MemorySegment memory;
-        private final int blockSize;
+        private final BridgeComponents.TransformStore transforms;
+        private final boolean perSlotPrevious;
 
-        InboundSyncTask(int[] slots, int start, int end, Entity[] mcEntities, MemorySegment memory, int blockSize) {
+        InboundSyncTask(int[] slots, int start, int end, Entity[] mcEntities,
+                        BridgeComponents.TransformStore transforms, boolean perSlotPrevious) {
             this.slots = slots;
             this.start = start;
             this.end = end;
             this.mcEntities = mcEntities;
-            this.memory = memory;
-            this.blockSize = blockSize;
+            this.transforms = transforms;
+            this.perSlotPrevious = perSlotPrevious;
         }
 
         @Override
@@ -124,40 +235,15 @@ public final class BatchProcessor {
             int length = end - start;
 
             if (length <= PARALLEL_CHUNK_SIZE) {
-                computeDirectly();
+                syncInboundRange(transforms, slots, start, end, mcEntities, perSlotPrevious);
             } else {
                 int mid = start + length / 2;
                 invokeAll(
-                        new InboundSyncTask(slots, start, mid, mcEntities, memory, blockSize),
-                        new InboundSyncTask(slots, mid, end, mcEntities, memory, blockSize)
+                        new InboundSyncTask(slots, start, mid, mcEntities, transforms, perSlotPrevious),
+                        new InboundSyncTask(slots, mid, end, mcEntities, transforms, perSlotPrevious)
                 );
             }
         }
-
-        private void computeDirectly() {
-            for (int i = start; i < end; i++) {
-                int slot = slots[i];
-                Entity mc = mcEntities[slot];
-                if (mc == null) continue;
-
-                long base = (long) slot * blockSize;
-
-                BridgeComponents.copyToPrevious(memory, base);
-
-                memory.set(ValueLayout.JAVA_DOUBLE, base + BridgeComponents.TRANSFORM_X, mc.posX);
-                memory.set(ValueLayout.JAVA_DOUBLE, base + BridgeComponents.TRANSFORM_Y, mc.posY);
-                memory.set(ValueLayout.JAVA_DOUBLE, base + BridgeComponents.TRANSFORM_Z, mc.posZ);
-                memory.set(ValueLayout.JAVA_FLOAT, base + BridgeComponents.TRANSFORM_YAW, mc.rotationYaw);
-                memory.set(ValueLayout.JAVA_FLOAT, base + BridgeComponents.TRANSFORM_PITCH, mc.rotationPitch);
-
-                memory.set(ValueLayout.JAVA_DOUBLE, base + BridgeComponents.VELOCITY_X, mc.motionX);
-                memory.set(ValueLayout.JAVA_DOUBLE, base + BridgeComponents.VELOCITY_Y, mc.motionY);
-                memory.set(ValueLayout.JAVA_DOUBLE, base + BridgeComponents.VELOCITY_Z, mc.motionZ);
-
-                float speed = (float) Math.sqrt(mc.motionX * mc.motionX + mc.motionY * mc.motionY + mc.motionZ * mc.motionZ);
-                memory.set(ValueLayout.JAVA_FLOAT, base + BridgeComponents.VELOCITY_SPEED, speed);
-            }
-        }
     }
 
     // ========================================================================
@@ -166,58 +252,63 @@ public final class BatchProcessor {
 
     /**
      * Synchronizes state from ECS component memory back to Minecraft entities.
-     * Only writes dirty entities.
+     * Only slots marked through {@link #markDirty} since the previous call, plus active slots
+     * whose dirty flags were set directly, are visited; they are compacted into a dense list
+     * first so the fork/join split balances on actual work rather than on the active-slot count.
      *
-     * @param slots     array of active slot indices
-     * @param count     number of active slots
-     * @param mcEntities array of Minecraft entity references
+     * @param activeSlots active slot indices
+     * @param activeCount number of active slots
+     * @param mcEntities  array of Minecraft entity references
+     * @return number of dirty slots visited
      */
-    public void syncOutbound(int[] slots, int count, Entity[] mcEntities) {
-        if (count == 0) return;
+    public int syncOutbound(int[] activeSlots, int activeCount, Entity[] mcEntities) {
+        adoptFlaggedSlots(activeSlots, activeCount);
+        int count = drainDirty();
+        if (count == 0) return 0;
 
+        int[] slots = dirtyBuffer;
         if (count >= PARALLEL_THRESHOLD) {
-            syncOutboundParallel(slots, count, mcEntities);
+            pool.invoke(new OutboundSyncTask(slots, 0, count, mcEntities, componentMemory, entityBlockSize, transforms));
         } else {
-            syncOutboundSequential(slots, count, mcEntities);
+            syncOutboundRange(componentMemory, entityBlockSize, transforms, slots, 0, count, mcEntities);
         }
+        return count;
     }
 
-    private void syncOutboundSequential(int[] slots, int count, Entity[] mcEntities) {
-        for (int i = 0; i < count; i++) {
+    private static void syncOutboundRange(MemorySegment memory, int blockSize,
+                                          BridgeComponents.TransformStore transforms, int[] slots,
+                                          int start, int end, Entity[] mcEntities) {
+        for (int i = start; i < end; i++) {
             int slot = slots[i];
             Entity mc = mcEntities[slot];
             if (mc == null) continue;
 
-            long base = (long) slot * entityBlockSize;
+            long base = (long) slot * blockSize;
 
             // Check dirty flags
-            long flags = BridgeComponents.getAndClearDirtyFlags(componentMemory, base);
+            long flags = BridgeComponents.getAndClearDirtyFlags(memory, base);
             if (flags == 0) continue;
 
             // Write back dirty components
             if ((flags & BridgeComponents.FLAG_TRANSFORM_DIRTY) != 0) {
-                mc.posX = componentMemory.get(ValueLayout.JAVA_DOUBLE, base + BridgeComponents.TRANSFORM_X);
-                mc.posY = componentMemory.get(ValueLayout.JAVA_DOUBLE, base + BridgeComponents.TRANSFORM_Y);
-                mc.posZ = componentMemory.get(ValueLayout.JAVA_DOUBLE, base + BridgeComponents.TRANSFORM_Z);
-                mc.rotationYaw = componentMemory.get(ValueLayout.JAVA_FLOAT, base + BridgeComponents.TRANSFORM_YAW);
-                mc.rotationPitch = componentMemory.get(ValueLayout.JAVA_FLOAT, base + BridgeComponents.TRANSFORM_PITCH);
+                mc.posX = transforms.x(slot);
+                mc.posY = transforms.y(slot);
+                mc.posZ = transforms.z(slot);
+                mc.rotationYaw = transforms.yaw(slot);
+                mc.rotationPitch = transforms.pitch(slot);
 
                 // Update bounding box
                 mc.setPosition(mc.posX, mc.posY, mc.posZ);
             }
 
             if ((flags & BridgeComponents.FLAG_VELOCITY_DIRTY) != 0) {
-                mc.motionX = componentMemory.get(ValueLayout.JAVA_DOUBLE, base + BridgeComponents.VELOCITY_X);
-                mc.motionY = componentMemory.get(ValueLayout.JAVA_DOUBLE, base + BridgeComponents.VELOCITY_Y);
-                mc.motionZ = componentMemory.get(ValueLayout.JAVA_DOUBLE, base + BridgeComponents.VELOCITY_Z);
+                mc.motionX = transforms.velocityX(slot);
+                mc.motionY = transforms.velocityY(slot);
+                mc.motionZ = transforms.velocityZ(slot);
             }
         }
     }
 
-    private void syncOutboundParallel(int[] slots, int count, Entity[] mcEntities) {
-        pool.invoke(new OutboundSyncTask(slots, 0, count, mcEntities, componentMemory, entityBlockSize));
-    }
-
     private static final class OutboundSyncTask extends RecursiveAction {
         private final int[] slots;
         private final int start;
@@ -225,14 +316,17 @@ public final class BatchProcessor {
         private final Entity[] mcEntities;
         private final MemorySegment memory;
         private final int blockSize;
+        private final BridgeComponents.TransformStore transforms;
 
-        OutboundSyncTask(int[] slots, int start, int end, Entity[] mcEntities, MemorySegment memory, int blockSize) {
+        OutboundSyncTask(int[] slots, int start, int end, Entity[] mcEntities, MemorySegment memory,
+                         int blockSize, BridgeComponents.TransformStore transforms) {
             this.slots = slots;
             this.start = start;
             this.end = end;
             this.mcEntities = mcEntities;
             this.memory = memory;
             this.blockSize = blockSize;
+            this.transforms = transforms;
         }
 
         @Override
@@ -240,43 +334,15 @@ public final class BatchProcessor {
             int length = end - start;
 
             if (length <= PARALLEL_CHUNK_SIZE) {
-                computeDirectly();
+                syncOutboundRange(memory, blockSize, transforms, slots, start, end, mcEntities);
             } else {
                 int mid = start + length / 2;
                 invokeAll(
-                        new OutboundSyncTask(slots, start, mid, mcEntities, memory, blockSize),
-                        new OutboundSyncTask(slots, mid, end, mcEntities, memory, blockSize)
+                        new OutboundSyncTask(slots, start, mid, mcEntities, memory, blockSize, transforms),
+                        new OutboundSyncTask(slots, mid, end, mcEntities, memory, blockSize, transforms)
                 );
             }
         }
-
-        private void computeDirectly() {
-            for (int i = start; i < end; i++) {
-                int slot = slots[i];
-                Entity mc = mcEntities[slot];
-                if (mc == null) continue;
-
-                long base = (long) slot * blockSize;
-
-                long flags = BridgeComponents.getAndClearDirtyFlags(memory, base);
-                if (flags == 0) continue;
-
-                if ((flags & BridgeComponents.FLAG_TRANSFORM_DIRTY) != 0) {
-                    mc.posX = memory.get(ValueLayout.JAVA_DOUBLE, base + BridgeComponents.TRANSFORM_X);
-                    mc.posY = memory.get(ValueLayout.JAVA_DOUBLE, base + BridgeComponents.TRANSFORM_Y);
-                    mc.posZ = memory.get(ValueLayout.JAVA_DOUBLE, base + BridgeComponents.TRANSFORM_Z);
-                    mc.rotationYaw = memory.get(ValueLayout.JAVA_FLOAT, base + BridgeComponents.TRANSFORM_YAW);
-                    mc.rotationPitch = memory.get(ValueLayout.JAVA_FLOAT, base + BridgeComponents.TRANSFORM_PITCH);
-                    mc.setPosition(mc.posX, mc.posY, mc.posZ);
-                }
-
-                if ((flags & BridgeComponents.FLAG_VELOCITY_DIRTY) != 0) {
-                    mc.motionX = memory.get(ValueLayout.JAVA_DOUBLE, base + BridgeComponents.VELOCITY_X);
-                    mc.motionY = memory.get(ValueLayout.JAVA_DOUBLE, base + BridgeComponents.VELOCITY_Y);
-                    mc.motionZ = memory.get(ValueLayout.JAVA_DOUBLE, base + BridgeComponents.VELOCITY_Z);
-                }
-            }
-        }
     }
 
     // ========================================================================
@@ -287,13 +353,22 @@ public final class BatchProcessor {
      * Batch velocity integration using Vector API.
      * Updates positions based on velocities.
      *
-     * @param slots     active slot indices
+     * @param slots     active slot indices, ascending so runs vectorize
      * @param count     number of slots
      * @param deltaTime time step in seconds
      */
     public void integrateVelocities(int[] slots, int count, float deltaTime) {
         double dt = deltaTime;
 
+        // SoA: contiguous vector loads/stores over the columns
+        if (transforms instanceof BridgeComponents.Columns columns) {
+            columns.integrate(slots, count, dt);
+            for (int i = 0; i < count; i++) {
+                markDirty(slots[i], BridgeComponents.FLAG_TRANSFORM_DIRTY);
+            }
+            return;
+        }
+
         int vectorized = (count / VECTOR_LENGTH) * VECTOR_LENGTH;
 
         // Vectorized loop (processes VECTOR_LENGTH entities at once)
@@ -347,7 +422,7 @@ public final class BatchProcessor {
                 componentMemory.set(ValueLayout.JAVA_DOUBLE, base + BridgeComponents.TRANSFORM_Y, newPy[j]);
                 componentMemory.set(ValueLayout.JAVA_DOUBLE, base + BridgeComponents.TRANSFORM_Z, newPz[j]);
 
-                BridgeComponents.setFlags(componentMemory, base, BridgeComponents.FLAG_TRANSFORM_DIRTY);
+                markDirty(slot, BridgeComponents.FLAG_TRANSFORM_DIRTY);
             }
         }
 
@@ -367,7 +442,7 @@ public final class BatchProcessor {
             componentMemory.set(ValueLayout.JAVA_DOUBLE, base + BridgeComponents.TRANSFORM_Y, y + vyVal * dt);
             componentMemory.set(ValueLayout.JAVA_DOUBLE, base + BridgeComponents.TRANSFORM_Z, z + vzVal * dt);
 
-            BridgeComponents.setFlags(componentMemory, base, BridgeComponents.FLAG_TRANSFORM_DIRTY);
+            markDirty(slot, BridgeComponents.FLAG_TRANSFORM_DIRTY);
         }
     }
 }
@@ -5,11 +5,13 @@ import jdk.incubator.vector.FloatVector;
 import jdk.incubator.vector.VectorOperators;
 import jdk.incubator.vector.VectorSpecies;
 
+import java.lang.foreign.Arena;
 import java.lang.foreign.MemoryLayout;
 import java.lang.foreign.MemorySegment;
 import java.lang.foreign.StructLayout;
 import java.lang.foreign.ValueLayout;
 import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
 
 /**
  * BridgeComponents - Memory layout definitions and high-performance accessors.
@@ -53,11 +55,20 @@ import java.lang.invoke.VarHandle;
  *
  * 224     32    Reserved/User Data
  * </pre>
+ *
+ * <h2>Optional Structure-of-Arrays Layout:</h2>
+ * <p>With {@code -Dfpsflux.bridge.soa=true} the hot transform and velocity fields live in
+ * {@link Columns} instead: one contiguous column per field, indexed by slot, so bulk passes
+ * use real vector loads and stores. Metadata, acceleration and user data stay in the block.
+ * Code that goes through {@link TransformStore} works with either layout.</p>
  */
 public final class BridgeComponents {
 
     private BridgeComponents() {}
 
+    /** Use the structure-of-arrays transform layout */
+    public static final boolean USE_SOA = Boolean.getBoolean("fpsflux.bridge.soa");
+
     // ========================================================================
     // VECTOR API SPECIES (For SIMD operations)
     // ========================================================================
@@ -149,6 +160,12 @@ public final class BridgeComponents {
     public static final long FLAG_INVISIBLE = 1L << 6;
     public static final long FLAG_NO_CLIP = 1L << 7;
 
+    /** Flags cleared by outbound sync */
+    public static final long DIRTY_MASK = FLAG_TRANSFORM_DIRTY | FLAG_VELOCITY_DIRTY | FLAG_ACCEL_DIRTY;
+
+    /** Atomic access to {@link #META_FLAGS}; coordinates are (segment, byte offset) */
+    private static final VarHandle FLAGS_HANDLE = ValueLayout.JAVA_LONG.varHandle();
+
     // ========================================================================
     // MEMORY LAYOUT DEFINITIONS
     // ========================================================================
@@ -255,26 +272,22 @@ public final class BridgeComponents {
      * Sets metadata flags (atomic OR).
      */
     public static void setFlags(MemorySegment memory, long entityBase, long flags) {
-        long current = memory.get(ValueLayout.JAVA_LONG, entityBase + META_FLAGS);
-        memory.set(ValueLayout.JAVA_LONG, entityBase + META_FLAGS, current | flags);
+        FLAGS_HANDLE.getAndBitwiseOr(memory, entityBase + META_FLAGS, flags);
     }
 
     /**
      * Clears metadata flags (atomic AND NOT).
      */
     public static void clearFlags(MemorySegment memory, long entityBase, long flags) {
-        long current = memory.get(ValueLayout.JAVA_LONG, entityBase + META_FLAGS);
-        memory.set(ValueLayout.JAVA_LONG, entityBase + META_FLAGS, current & ~flags);
+        FLAGS_HANDLE.getAndBitwiseAnd(memory, entityBase + META_FLAGS, ~flags);
     }
 
     /**
      * Gets and clears all dirty flags atomically.
      */
     public static long getAndClearDirtyFlags(MemorySegment memory, long entityBase) {
-        long current = memory.get(ValueLayout.JAVA_LONG, entityBase + META_FLAGS);
-        long dirty = current & (FLAG_TRANSFORM_DIRTY | FLAG_VELOCITY_DIRTY | FLAG_ACCEL_DIRTY);
-        memory.set(ValueLayout.JAVA_LONG, entityBase + META_FLAGS, current & ~dirty);
-        return dirty;
+        long previous = (long) FLAGS_HANDLE.getAndBitwiseAnd(memory, entityBase + META_FLAGS, ~DIRTY_MASK);
+        return previous & DIRTY_MASK;
     }
 
     /**
@@ -283,4 +296,371 @@ public final class BridgeComponents {
     public static boolean hasFlags(MemorySegment memory, long entityBase, long flags) {
         return (memory.get(ValueLayout.JAVA_LONG, entityBase + META_FLAGS) & flags) != 0;
     }
+
+    // ========================================================================
+    // TRANSFORM STORES (Layout-independent accessors)
+    // ========================================================================
+
+    /**
+     * Slot-indexed access to transform and velocity fields, independent of layout.
+     */
+    public sealed interface TransformStore permits Blocks, Columns {
+
+        double x(int slot);
+        double y(int slot);
+        double z(int slot);
+        float yaw(int slot);
+        float pitch(int slot);
+        float roll(int slot);
+
+        double velocityX(int slot);
+        double velocityY(int slot);
+        double velocityZ(int slot);
+
+        /** Writes current position and rotation (roll unchanged). */
+        void setTransform(int slot, double x, double y, double z, float yaw, float pitch);
+
+        /** Writes velocity and its cached magnitude. */
+        void setVelocity(int slot, double vx, double vy, double vz);
+
+        /** Writes current and previous transform and velocity, zeroing roll. */
+        void reset(int slot, double x, double y, double z, float yaw, float pitch,
+                   double vx, double vy, double vz);
+
+        /** Zeroes every field of a slot. */
+        void clear(int slot);
+
+        /** Copies current transform to previous transform. */
+        void copyToPrevious(int slot);
+
+        /**
+         * Reads the previous transform.
+         *
+         * @param out [x, y, z, yaw, pitch, roll] (length >= 6)
+         */
+        void getPrevious(int slot, double[] out);
+
+        /**
+         * Interpolates previous to current transform.
+         *
+         * @param out [x, y, z, yaw, pitch, roll] (length >= 6)
+         */
+        void interpolate(int slot, float t, double[] out);
+
+        default void getPosition(int slot, double[] out) {
+            out[0] = x(slot);
+            out[1] = y(slot);
+            out[2] = z(slot);
+        }
+
+        default void getVelocity(int slot, double[] out) {
+            out[0] = velocityX(slot);
+            out[1] = velocityY(slot);
+            out[2] = velocityZ(slot);
+        }
+    }
+
+    /**
+     * Shortest-arc angle interpolation in degrees.
+     */
+    public static float lerpAngle(float from, float to, float t) {
+        float diff = ((to - from + 540.0f) % 360.0f) - 180.0f;
+        return from + diff * t;
+    }
+
+    /**
+     * Array-of-structures store over the 256-byte entity blocks.
+     */
+    public static final class Blocks implements TransformStore {
+
+        private final MemorySegment memory;
+        private final int blockSize;
+
+        public Blocks(MemorySegment memory, int blockSize) {
+            this.memory = memory;
+            this.blockSize = blockSize;
+        }
+
+        private long base(int slot) {
+            return (long) slot * blockSize;
+        }
+
+        @Override public double x(int slot) { return memory.get(ValueLayout.JAVA_DOUBLE, base(slot) + TRANSFORM_X); }
+        @Override public double y(int slot) { return memory.get(ValueLayout.JAVA_DOUBLE, base(slot) + TRANSFORM_Y); }
+        @Override public double z(int slot) { return memory.get(ValueLayout.JAVA_DOUBLE, base(slot) + TRANSFORM_Z); }
+        @Override public float yaw(int slot) { return memory.get(ValueLayout.JAVA_FLOAT, base(slot) + TRANSFORM_YAW); }
+        @Override public float pitch(int slot) { return memory.get(ValueLayout.JAVA_FLOAT, base(slot) + TRANSFORM_PITCH); }
+        @Override public float roll(int slot) { return memory.get(ValueLayout.JAVA_FLOAT, base(slot) + TRANSFORM_ROLL); }
+
+        @Override public double velocityX(int slot) { return memory.get(ValueLayout.JAVA_DOUBLE, base(slot) + VELOCITY_X); }
+        @Override public double velocityY(int slot) { return memory.get(ValueLayout.JAVA_DOUBLE, base(slot) + VELOCITY_Y); }
+        @Override public double velocityZ(int slot) { return memory.get(ValueLayout.JAVA_DOUBLE, base(slot) + VELOCITY_Z); }
+
+        @Override
+        public void setTransform(int slot, double x, double y, double z, float yaw, float pitch) {
+            long base = base(slot);
+            setPosition(memory, base, x, y, z);
+            memory.set(ValueLayout.JAVA_FLOAT, base + TRANSFORM_YAW, yaw);
+            memory.set(ValueLayout.JAVA_FLOAT, base + TRANSFORM_PITCH, pitch);
+        }
+
+        @Override
+        public void setVelocity(int slot, double vx, double vy, double vz) {
+            BridgeComponents.setVelocity(memory, base(slot), vx, vy, vz);
+        }
+
+        @Override
+        public void reset(int slot, double x, double y, double z, float yaw, float pitch,
+                          double vx, double vy, double vz) {
+            long base = base(slot);
+            setTransform(slot, x, y, z, yaw, pitch);
+            memory.set(ValueLayout.JAVA_FLOAT, base + TRANSFORM_ROLL, 0.0f);
+            memory.set(ValueLayout.JAVA_INT, base + TRANSFORM_FLAGS, 0);
+            BridgeComponents.copyToPrevious(memory, base);
+            setVelocity(slot, vx, vy, vz);
+        }
+
+        @Override
+        public void clear(int slot) {
+            memory.asSlice(base(slot), blockSize).fill((byte) 0);
+        }
+
+        @Override
+        public void copyToPrevious(int slot) {
+            BridgeComponents.copyToPrevious(memory, base(slot));
+        }
+
+        @Override
+        public void getPrevious(int slot, double[] out) {
+            long base = base(slot);
+            out[0] = memory.get(ValueLayout.JAVA_DOUBLE, base + PREV_TRANSFORM_X);
+            out[1] = memory.get(ValueLayout.JAVA_DOUBLE, base + PREV_TRANSFORM_Y);
+            out[2] = memory.get(ValueLayout.JAVA_DOUBLE, base + PREV_TRANSFORM_Z);
+            out[3] = memory.get(ValueLayout.JAVA_FLOAT, base + PREV_TRANSFORM_YAW);
+            out[4] = memory.get(ValueLayout.JAVA_FLOAT, base + PREV_TRANSFORM_PITCH);
+            out[5] = memory.get(ValueLayout.JAVA_FLOAT, base + PREV_TRANSFORM_ROLL);
+        }
+
+        @Override
+        public void interpolate(int slot, float t, double[] out) {
+            long base = base(slot);
+
+            double px = memory.get(ValueLayout.JAVA_DOUBLE, base + PREV_TRANSFORM_X);
+            double py = memory.get(ValueLayout.JAVA_DOUBLE, base + PREV_TRANSFORM_Y);
+            double pz = memory.get(ValueLayout.JAVA_DOUBLE, base + PREV_TRANSFORM_Z);
+            float pYaw = memory.get(ValueLayout.JAVA_FLOAT, base + PREV_TRANSFORM_YAW);
+            float pPitch = memory.get(ValueLayout.JAVA_FLOAT, base + PREV_TRANSFORM_PITCH);
+            float pRoll = memory.get(ValueLayout.JAVA_FLOAT, base + PREV_TRANSFORM_ROLL);
+
+            double cx = memory.get(ValueLayout.JAVA_DOUBLE, base + TRANSFORM_X);
+            double cy = memory.get(ValueLayout.JAVA_DOUBLE, base + TRANSFORM_Y);
+            double cz = memory.get(ValueLayout.JAVA_DOUBLE, base + TRANSFORM_Z);
+            float cYaw = memory.get(ValueLayout.JAVA_FLOAT, base + TRANSFORM_YAW);
+            float cPitch = memory.get(ValueLayout.JAVA_FLOAT, base + TRANSFORM_PITCH);
+            float cRoll = memory.get(ValueLayout.JAVA_FLOAT, base + TRANSFORM_ROLL);
+
+            out[0] = px + (cx - px) * t;
+            out[1] = py + (cy - py) * t;
+            out[2] = pz + (cz - pz) * t;
+            out[3] = lerpAngle(pYaw, cYaw, t);
+            out[4] = pPitch + (cPitch - pPitch) * t;
+            out[5] = pRoll + (cRoll - pRoll) * t;
+        }
+    }
+
+    /**
+     * Structure-of-arrays store: one cache-line aligned column per field, indexed by slot.
+     *
+     * <p>Bulk passes ({@link #copyRangeToPrevious(int, int)}, {@link #integrate(int[], int, double)})
+     * work on runs of consecutive slots with bulk copies or vector loads and stores, so a dense
+     * slot range costs a handful of wide operations instead of one call per slot. Runs are only
+     * found in ascending slot batches.</p>
+     */
+    public static final class Columns implements TransformStore {
+
+        private static final ByteOrder ORDER = ByteOrder.nativeOrder();
+        private static final long COLUMN_ALIGNMENT = 64L;
+
+        private final int capacity;
+        private final MemorySegment x, y, z, yaw, pitch, roll;
+        private final MemorySegment prevX, prevY, prevZ, prevYaw, prevPitch, prevRoll;
+        private final MemorySegment vx, vy, vz, speed;
+
+        public Columns(Arena arena, int capacity) {
+            this.capacity = capacity;
+            this.x = doubles(arena, capacity);
+            this.y = doubles(arena, capacity);
+            this.z = doubles(arena, capacity);
+            this.yaw = floats(arena, capacity);
+            this.pitch = floats(arena, capacity);
+            this.roll = floats(arena, capacity);
+            this.prevX = doubles(arena, capacity);
+            this.prevY = doubles(arena, capacity);
+            this.prevZ = doubles(arena, capacity);
+            this.prevYaw = floats(arena, capacity);
+            this.prevPitch = floats(arena, capacity);
+            this.prevRoll = floats(arena, capacity);
+            this.vx = doubles(arena, capacity);
+            this.vy = doubles(arena, capacity);
+            this.vz = doubles(arena, capacity);
+            this.speed = floats(arena, capacity);
+        }
+
+        private static MemorySegment doubles(Arena arena, int capacity) {
+            return arena.allocate((long) capacity * Double.BYTES, COLUMN_ALIGNMENT);
+        }
+
+        private static MemorySegment floats(Arena arena, int capacity) {
+            return arena.allocate((long) capacity * Float.BYTES, COLUMN_ALIGNMENT);
+        }
+
+        public int capacity() {
+            return capacity;
+        }
+
+        // Column views for vector kernels
+        public MemorySegment xColumn() { return x; }
+        public MemorySegment yColumn() { return y; }
+        public MemorySegment zColumn() { return z; }
+        public MemorySegment yawColumn() { return yaw; }
+        public MemorySegment pitchColumn() { return pitch; }
+        public MemorySegment rollColumn() { return roll; }
+        public MemorySegment prevXColumn() { return prevX; }
+        public MemorySegment prevYColumn() { return prevY; }
+        public MemorySegment prevZColumn() { return prevZ; }
+        public MemorySegment prevYawColumn() { return prevYaw; }
+        public MemorySegment prevPitchColumn() { return prevPitch; }
+        public MemorySegment prevRollColumn() { return prevRoll; }
+
+        @Override public double x(int slot) { return x.getAtIndex(ValueLayout.JAVA_DOUBLE, slot); }
+        @Override public double y(int slot) { return y.getAtIndex(ValueLayout.JAVA_DOUBLE, slot); }
+        @Override public double z(int slot) { return z.getAtIndex(ValueLayout.JAVA_DOUBLE, slot); }
+        @Override public float yaw(int slot) { return yaw.getAtIndex(ValueLayout.JAVA_FLOAT, slot); }
+        @Override public float pitch(int slot) { return pitch.getAtIndex(ValueLayout.JAVA_FLOAT, slot); }
+        @Override public float roll(int slot) { return roll.getAtIndex(ValueLayout.JAVA_FLOAT, slot); }
+
+        @Override public double velocityX(int slot) { return vx.getAtIndex(ValueLayout.JAVA_DOUBLE, slot); }
+        @Override public double velocityY(int slot) { return vy.getAtIndex(ValueLayout.JAVA_DOUBLE, slot); }
+        @Override public double velocityZ(int slot) { return vz.getAtIndex(ValueLayout.JAVA_DOUBLE, slot); }
+
+        @Override
+        public void setTransform(int slot, double x, double y, double z, float yaw, float pitch) {
+            this.x.setAtIndex(ValueLayout.JAVA_DOUBLE, slot, x);
+            this.y.setAtIndex(ValueLayout.JAVA_DOUBLE, slot, y);
+            this.z.setAtIndex(ValueLayout.JAVA_DOUBLE, slot, z);
+            this.yaw.setAtIndex(ValueLayout.JAVA_FLOAT, slot, yaw);
+            this.pitch.setAtIndex(ValueLayout.JAVA_FLOAT, slot, pitch);
+        }
+
+        @Override
+        public void setVelocity(int slot, double vx, double vy, double vz) {
+            this.vx.setAtIndex(ValueLayout.JAVA_DOUBLE, slot, vx);
+            this.vy.setAtIndex(ValueLayout.JAVA_DOUBLE, slot, vy);
+            this.vz.setAtIndex(ValueLayout.JAVA_DOUBLE, slot, vz);
+            speed.setAtIndex(ValueLayout.JAVA_FLOAT, slot, (float) Math.sqrt(vx * vx + vy * vy + vz * vz));
+        }
+
+        @Override
+        public void reset(int slot, double x, double y, double z, float yaw, float pitch,
+                          double vx, double vy, double vz) {
+            setTransform(slot, x, y, z, yaw, pitch);
+            roll.setAtIndex(ValueLayout.JAVA_FLOAT, slot, 0.0f);
+            copyToPrevious(slot);
+            setVelocity(slot, vx, vy, vz);
+        }
+
+        @Override
+        public void clear(int slot) {
+            reset(slot, 0.0, 0.0, 0.0, 0.0f, 0.0f, 0.0, 0.0, 0.0);
+        }
+
+        @Override
+        public void copyToPrevious(int slot) {
+            prevX.setAtIndex(ValueLayout.JAVA_DOUBLE, slot, x.getAtIndex(ValueLayout.JAVA_DOUBLE, slot));
+            prevY.setAtIndex(ValueLayout.JAVA_DOUBLE, slot, y.getAtIndex(ValueLayout.JAVA_DOUBLE, slot));
+            prevZ.setAtIndex(ValueLayout.JAVA_DOUBLE, slot, z.getAtIndex(ValueLayout.JAVA_DOUBLE, slot));
+            prevYaw.setAtIndex(ValueLayout.JAVA_FLOAT, slot, yaw.getAtIndex(ValueLayout.JAVA_FLOAT, slot));
+            prevPitch.setAtIndex(ValueLayout.JAVA_FLOAT, slot, pitch.getAtIndex(ValueLayout.JAVA_FLOAT, slot));
+            prevRoll.setAtIndex(ValueLayout.JAVA_FLOAT, slot, roll.getAtIndex(ValueLayout.JAVA_FLOAT, slot));
+        }
+
+        /**
+         * Copies slots {@code [start, end)} of every current column into its previous column
+         * (six bulk copies).
+         */
+        public void copyRangeToPrevious(int start, int end) {
+            long doubleOffset = (long) start * Double.BYTES;
+            long floatOffset = (long) start * Float.BYTES;
+            long doubles = (long) (end - start) * Double.BYTES;
+            long floats = (long) (end - start) * Float.BYTES;
+            MemorySegment.copy(x, doubleOffset, prevX, doubleOffset, doubles);
+            MemorySegment.copy(y, doubleOffset, prevY, doubleOffset, doubles);
+            MemorySegment.copy(z, doubleOffset, prevZ, doubleOffset, doubles);
+            MemorySegment.copy(yaw, floatOffset, prevYaw, floatOffset, floats);
+            MemorySegment.copy(pitch, floatOffset, prevPitch, floatOffset, floats);
+            MemorySegment.copy(roll, floatOffset, prevRoll, floatOffset, floats);
+        }
+
+        /**
+         * Vectorized {@code position += velocity * dt} over the given slots; runs of consecutive
+         * slots use vector lanes, the remainder of each run is scalar.
+         */
+        public void integrate(int[] slots, int count, double dt) {
+            int lanes = DOUBLE_SPECIES.length();
+            int i = 0;
+            while (i < count) {
+                int start = slots[i];
+                int run = 1;
+                while (i + run < count && slots[i + run] == start + run) run++;
+
+                int slot = start;
+                int end = start + run;
+                for (; slot + lanes <= end; slot += lanes) {
+                    long offset = (long) slot * Double.BYTES;
+                    integrateLanes(x, vx, offset, dt);
+                    integrateLanes(y, vy, offset, dt);
+                    integrateLanes(z, vz, offset, dt);
+                }
+                for (; slot < end; slot++) {
+                    x.setAtIndex(ValueLayout.JAVA_DOUBLE, slot, x.getAtIndex(ValueLayout.JAVA_DOUBLE, slot) + vx.getAtIndex(ValueLayout.JAVA_DOUBLE, slot) * dt);
+                    y.setAtIndex(ValueLayout.JAVA_DOUBLE, slot, y.getAtIndex(ValueLayout.JAVA_DOUBLE, slot) + vy.getAtIndex(ValueLayout.JAVA_DOUBLE, slot) * dt);
+                    z.setAtIndex(ValueLayout.JAVA_DOUBLE, slot, z.getAtIndex(ValueLayout.JAVA_DOUBLE, slot) + vz.getAtIndex(ValueLayout.JAVA_DOUBLE, slot) * dt);
+                }
+                i += run;
+            }
+        }
+
+        private static void integrateLanes(MemorySegment position, MemorySegment velocity, long offset, double dt) {
+            DoubleVector p = DoubleVector.fromMemorySegment(DOUBLE_SPECIES, position, offset, ORDER);
+            DoubleVector v = DoubleVector.fromMemorySegment(DOUBLE_SPECIES, velocity, offset, ORDER);
+            p.add(v.mul(dt)).intoMemorySegment(position, offset, ORDER);
+        }
+
+        @Override
+        public void getPrevious(int slot, double[] out) {
+            out[0] = prevX.getAtIndex(ValueLayout.JAVA_DOUBLE, slot);
+            out[1] = prevY.getAtIndex(ValueLayout.JAVA_DOUBLE, slot);
+            out[2] = prevZ.getAtIndex(ValueLayout.JAVA_DOUBLE, slot);
+            out[3] = prevYaw.getAtIndex(ValueLayout.JAVA_FLOAT, slot);
+            out[4] = prevPitch.getAtIndex(ValueLayout.JAVA_FLOAT, slot);
+            out[5] = prevRoll.getAtIndex(ValueLayout.JAVA_FLOAT, slot);
+        }
+
+        @Override
+        public void interpolate(int slot, float t, double[] out) {
+            double px = prevX.getAtIndex(ValueLayout.JAVA_DOUBLE, slot);
+            double py = prevY.getAtIndex(ValueLayout.JAVA_DOUBLE, slot);
+            double pz = prevZ.getAtIndex(ValueLayout.JAVA_DOUBLE, slot);
+            float pYaw = prevYaw.getAtIndex(ValueLayout.JAVA_FLOAT, slot);
+            float pPitch = prevPitch.getAtIndex(ValueLayout.JAVA_FLOAT, slot);
+            float pRoll = prevRoll.getAtIndex(ValueLayout.JAVA_FLOAT, slot);
+
+            out[0] = px + (x(slot) - px) * t;
+            out[1] = py + (y(slot) - py) * t;
+            out[2] = pz + (z(slot) - pz) * t;
+            out[3] = lerpAngle(pYaw, yaw(slot), t);
+            out[4] = pPitch + (pitch(slot) - pPitch) * t;
+            out[5] = pRoll + (roll(slot) - pRoll) * t;
+        }
+    }
 }
@@ -1,7 +1,13 @@
 package com.example.modid.bridge;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.VarHandle;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.LongAdder;
 
@@ -9,9 +15,24 @@ import java.util.concurrent.atomic.LongAdder;
  * BridgeMetrics - Lock-free performance metrics collection.
  *
  * Uses LongAdder for high-contention counters and VarHandle for single-writer metrics.
+ * Per-stage tick latencies go to {@link LatencyHistogram}s rotated every
+ * {@link #HISTOGRAM_INTERVAL_NANOS}.
  */
 public final class BridgeMetrics {
 
+    /**
+     * Timed sections of the bridge tick.
+     */
+    public enum Stage {
+        TICK,
+        INBOUND_SYNC,
+        ECS_UPDATE,
+        OUTBOUND_SYNC
+    }
+
+    /** Length of one histogram interval */
+    public static final long HISTOGRAM_INTERVAL_NANOS = 10_000_000_000L;
+
     // ========================================================================
     // HIGH CONTENTION COUNTERS (LongAdder for scalability)
     // ========================================================================
@@ -22,6 +43,9 @@ public final class BridgeMetrics {
     private final LongAdder tickCount = new LongAdder();
     private final LongAdder tickFailures = new LongAdder();
     private final LongAdder circuitBreakerTrips = new LongAdder();
+    private final LongAdder shedEscalations = new LongAdder();
+    private final LongAdder shedRestorations = new LongAdder();
+    private final LongAdder shedTicks = new LongAdder();
 
     // ========================================================================
     // SINGLE-WRITER METRICS (VarHandle for volatile writes)
@@ -53,6 +77,32 @@ public final class BridgeMetrics {
     @SuppressWarnings("FieldMayBeFinal")
     private volatile long minTickDurationNanos = Long.MAX_VALUE;
 
+    // ========================================================================
+    // MC-ID INDEX GAUGES (written once per tick)
+    // ========================================================================
+
+    private volatile int idIndexSize = 0;
+    private volatile int idIndexCapacity = 0;
+    private volatile double idIndexAvgProbe = 0.0;
+    private volatile int idIndexMaxProbe = 0;
+    private volatile int idIndexResizes = 0;
+
+    // ========================================================================
+    // LOAD SHEDDING
+    // ========================================================================
+
+    private volatile LoadShedder.ShedLevel shedLevel = LoadShedder.ShedLevel.NORMAL;
+    private volatile String lastShedReason = "";
+
+    // ========================================================================
+    // LATENCY HISTOGRAMS
+    // ========================================================================
+
+    private final LatencyHistogram[] histograms = createHistograms();
+
+    /** Start of the current histogram interval (tick thread only) */
+    private long intervalStartNanos = 0;
+
     // Exponential moving average alpha (1/16 for smooth averaging)
     private static final int EMA_SHIFT = 4;
 
@@ -94,6 +144,62 @@ public final class BridgeMetrics {
         }
     }
 
+    /**
+     * Records the shape of the MC-id to slot index; probe lengths are distances from
+     * each entry's home bucket.
+     */
+    public void recordIdIndex(int size, int capacity, double avgProbe, int maxProbe, int resizes) {
+        idIndexSize = size;
+        idIndexCapacity = capacity;
+        idIndexAvgProbe = avgProbe;
+        idIndexMaxProbe = maxProbe;
+        idIndexResizes = resizes;
+    }
+
+    /**
+     * Records one duration of a tick stage. Allocation-free; safe from any thread.
+     */
+    public void recordStage(Stage stage, long durationNanos) {
+        histograms[stage.ordinal()].record(durationNanos);
+    }
+
+    /**
+     * Closes the histogram interval once {@link #HISTOGRAM_INTERVAL_NANOS} has elapsed.
+     * Called from the tick thread.
+     */
+    public void rotateIfDue(long nowNanos) {
+        if (intervalStartNanos == 0) {
+            intervalStartNanos = nowNanos;
+            return;
+        }
+        if (nowNanos - intervalStartNanos < HISTOGRAM_INTERVAL_NANOS) return;
+
+        intervalStartNanos = nowNanos;
+        for (LatencyHistogram histogram : histograms) {
+            histogram.rotate();
+        }
+    }
+
+    /**
+     * Records a load-shedding decision.
+     */
+    public void recordShedLevelChange(LoadShedder.ShedLevel from, LoadShedder.ShedLevel to, String reason) {
+        if (to.compareTo(from) > 0) {
+            shedEscalations.increment();
+        } else {
+            shedRestorations.increment();
+        }
+        shedLevel = to;
+        lastShedReason = reason;
+    }
+
+    /**
+     * Counts a tick that completed with work shed.
+     */
+    public void recordShedTick() {
+        shedTicks.increment();
+    }
+
     public void recordTickFailure() {
         tickFailures.increment();
     }
@@ -147,6 +253,73 @@ public final class BridgeMetrics {
         return min == Long.MAX_VALUE ? 0 : min;
     }
 
+    public LoadShedder.ShedLevel getShedLevel() {
+        return shedLevel;
+    }
+
+    public String getLastShedReason() {
+        return lastShedReason;
+    }
+
+    public long getShedEscalations() {
+        return shedEscalations.sum();
+    }
+
+    public long getShedRestorations() {
+        return shedRestorations.sum();
+    }
+
+    public long getShedTicks() {
+        return shedTicks.sum();
+    }
+
+    public int getIdIndexSize() {
+        return idIndexSize;
+    }
+
+    public int getIdIndexCapacity() {
+        return idIndexCapacity;
+    }
+
+    public double getIdIndexAvgProbe() {
+        return idIndexAvgProbe;
+    }
+
+    public int getIdIndexMaxProbe() {
+        return idIndexMaxProbe;
+    }
+
+    public int getIdIndexResizes() {
+        return idIndexResizes;
+    }
+
+    /**
+     * Percentiles for {@code stage} over the last completed interval.
+     */
+    public LatencyHistogram.Summary getLatency(Stage stage) {
+        return histograms[stage.ordinal()].getLastInterval();
+    }
+
+    /**
+     * Percentiles for {@code stage} over all completed intervals since reset.
+     */
+    public LatencyHistogram.Summary getCumulativeLatency(Stage stage) {
+        return histograms[stage.ordinal()].getCumulative();
+    }
+
+    /**
+     * Writes the cumulative histograms of all stages to {@code file} as CSV, for
+     * offline comparison between builds.
+     */
+    public void dumpLatency(Path file) throws IOException {
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("histogram,lowerNanos,upperNanos,count\n");
+            for (LatencyHistogram histogram : histograms) {
+                histogram.writeCsv(out);
+            }
+        }
+    }
+
     public double getLastTickDurationMs() {
         return getLastTickDurationNanos() / 1_000_000.0;
     }
@@ -155,6 +328,15 @@ public final class BridgeMetrics {
         return getAvgTickDurationNanos() / 1_000_000.0;
     }
 
+    private static LatencyHistogram[] createHistograms() {
+        Stage[] stages = Stage.values();
+        LatencyHistogram[] result = new LatencyHistogram[stages.length];
+        for (Stage stage : stages) {
+            result[stage.ordinal()] = new LatencyHistogram(stage.name().toLowerCase(Locale.ROOT));
+        }
+        return result;
+    }
+
     // ========================================================================
     // SNAPSHOT
     // ========================================================================
@@ -173,7 +355,20 @@ public final class BridgeMetrics {
                 getLastTickDurationNanos(),
                 getAvgTickDurationNanos(),
                 getMaxTickDurationNanos(),
-                getMinTickDurationNanos()
+                getMinTickDurationNanos(),
+                getIdIndexSize(),
+                getIdIndexCapacity(),
+                getIdIndexAvgProbe(),
+                getIdIndexMaxProbe(),
+                getIdIndexResizes(),
+                getLatency(Stage.TICK),
+                getLatency(Stage.INBOUND_SYNC),
+                getLatency(Stage.ECS_UPDATE),
+                getLatency(Stage.OUTBOUND_SYNC),
+                getShedLevel(),
+                getShedEscalations(),
+                getShedRestorations(),
+                getShedTicks()
         );
     }
 
@@ -187,7 +382,20 @@ public final class BridgeMetrics {
             long lastTickNanos,
             long avgTickNanos,
             long maxTickNanos,
-            long minTickNanos
+            long minTickNanos,
+            int idIndexSize,
+            int idIndexCapacity,
+            double idIndexAvgProbe,
+            int idIndexMaxProbe,
+            int idIndexResizes,
+            LatencyHistogram.Summary tickLatency,
+            LatencyHistogram.Summary inboundLatency,
+            LatencyHistogram.Summary updateLatency,
+            LatencyHistogram.Summary outboundLatency,
+            LoadShedder.ShedLevel shedLevel,
+            long shedEscalations,
+            long shedRestorations,
+            long shedTicks
     ) {
         public double avgTickMs() {
             return avgTickNanos / 1_000_000.0;
@@ -200,8 +408,11 @@ public final class BridgeMetrics {
         @Override
         public String toString() {
             return String.format(
-                    "BridgeMetrics[entities=%d, ticks=%d, avgTick=%.2fms, maxTick=%.2fms, failures=%d]",
-                    registrations - unregistrations, ticks, avgTickMs(), maxTickMs(), tickFailures
+                    "BridgeMetrics[entities=%d, ticks=%d, avgTick=%.2fms, maxTick=%.2fms, failures=%d, "
+                            + "idIndex=%d/%d, probe=%.2f/%d, tick p99=%.2fms p999=%.2fms, shed=%s]",
+                    registrations - unregistrations, ticks, avgTickMs(), maxTickMs(), tickFailures,
+                    idIndexSize, idIndexCapacity, idIndexAvgProbe, idIndexMaxProbe,
+                    tickLatency.p99Ms(), tickLatency.p999Ms(), shedLevel
             );
         }
     }
@@ -216,9 +427,21 @@ public final class BridgeMetrics {
         tickCount.reset();
         tickFailures.reset();
         circuitBreakerTrips.reset();
+        shedEscalations.reset();
+        shedRestorations.reset();
+        shedTicks.reset();
         LAST_TICK_DURATION.setVolatile(this, 0L);
         AVG_TICK_DURATION.setVolatile(this, 0L);
         MAX_TICK_DURATION.setVolatile(this, 0L);
         MIN_TICK_DURATION.setVolatile(this, Long.MAX_VALUE);
+        idIndexSize = 0;
+        idIndexCapacity = 0;
+        idIndexAvgProbe = 0.0;
+        idIndexMaxProbe = 0;
+        idIndexResizes = 0;
+        for (LatencyHistogram histogram : histograms) {
+            histogram.reset();
+        }
+        intervalStartNanos = 0;
     }
 }
@@ -4,26 +4,120 @@ import com.example.modid.ecs.Archetype;
 import com.example.modid.ecs.SnowySystem;
 import com.example.modid.ecs.World;
 
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
 import java.lang.foreign.MemorySegment;
 import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.util.Arrays;
 
 /**
  * InterpolationSystem - Handles smooth transform interpolation for rendering.
+ *
+ * <p>Once per render frame the visible set - every slot renderers read during the previous
+ * frame - is interpolated into slot-indexed output columns with the Vector API (including a
+ * vectorized {@link #lerpAngle}). Renderers read the result through
+ * {@link MinecraftECSBridge#getInterpolatedTransform(int, float, double[])}, which falls back
+ * to per-entity interpolation for slots not covered by the current frame; a slot that just
+ * came into view is covered from the next frame on.</p>
+ *
+ * <p>With the SoA layout the pass streams runs of consecutive visible slots straight from the
+ * transform columns; with the block layout, transforms are gathered into small staging arrays
+ * first. Tick-side transform writes bump {@link #onTransformsWritten()} so a frame computed
+ * from older transforms is never served.</p>
  */
 public final class InterpolationSystem extends System {
 
+    private static final VectorSpecies<Double> DOUBLES = BridgeComponents.DOUBLE_SPECIES;
+    private static final VectorSpecies<Float> FLOATS = BridgeComponents.FLOAT_SPECIES;
+    private static final ByteOrder ORDER = ByteOrder.nativeOrder();
+
+    /** Slots gathered per staging round (block layout) */
+    private static final int STAGING_SIZE = 256;
+
     private final MinecraftECSBridge bridge;
     private volatile float currentInterpolationFactor = 0.0f;
 
+    // Frame output, indexed by slot
+    private final double[] outX;
+    private final double[] outY;
+    private final double[] outZ;
+    private final float[] outYaw;
+    private final float[] outPitch;
+    private final float[] outRoll;
+
+    /** Frame number that last wrote each slot; 0 = never */
+    private final int[] coverage;
+    private volatile int frame;
+    private volatile float frameFactor = Float.NaN;
+
+    /** Bumped by the tick thread whenever transforms are rewritten */
+    private volatile int transformVersion;
+    /** Transform version the current frame was computed from */
+    private volatile int frameVersion;
+
+    // Visible set: slots read during this frame, interpolated by the next pass (render thread only)
+    private int[] visibleSlots = new int[1024];
+    private int visibleCount;
+    /** Frame id of the pass each slot is queued for; dedupes repeated reads within a frame */
+    private final int[] visibleStamp;
+
+    /** False while load shedding: frames cover nothing and reads fall back per entity */
+    private volatile boolean bulkPass = true;
+
+    // Staging for the block layout (render thread only)
+    private final double[] stagePrev = new double[STAGING_SIZE * 3];
+    private final double[] stageCur = new double[STAGING_SIZE * 3];
+    private final double[] stageOut = new double[STAGING_SIZE * 3];
+    private final float[] stageAnglePrev = new float[STAGING_SIZE * 3];
+    private final float[] stageAngleCur = new float[STAGING_SIZE * 3];
+    private final float[] stageAngleOut = new float[STAGING_SIZE * 3];
+    private final double[] previous = new double[6];
+
     public InterpolationSystem(MinecraftECSBridge bridge) {
         super("Bridge_Interpolation");
         this.bridge = bridge;
+
+        int capacity = MinecraftECSBridge.MAX_ENTITIES;
+        this.outX = new double[capacity];
+        this.outY = new double[capacity];
+        this.outZ = new double[capacity];
+        this.outYaw = new float[capacity];
+        this.outPitch = new float[capacity];
+        this.outRoll = new float[capacity];
+        this.coverage = new int[capacity];
+        this.visibleStamp = new int[capacity];
     }
 
     @Override
     public void update(World world, float partialTicks) {
-        this.currentInterpolationFactor = Math.clamp(partialTicks, 0.0f, 1.0f);
-        // Actual interpolation is performed on-demand via getInterpolatedTransform()
+        float t = Math.clamp(partialTicks, 0.0f, 1.0f);
+        this.currentInterpolationFactor = t;
+
+        int next = nextFrame();
+        int version = transformVersion;
+
+        // With the bulk pass off, advancing the frame alone invalidates all coverage
+        if (bulkPass && visibleCount > 0) {
+            if (bridge.getTransforms() instanceof BridgeComponents.Columns columns) {
+                interpolateColumns(columns, t, next);
+            } else {
+                interpolateBlocks(bridge.getTransforms(), t, next);
+            }
+        }
+        visibleCount = 0;
+
+        frameFactor = t;
+        frameVersion = version;
+        frame = next;
+    }
+
+    private int nextFrame() {
+        int next = frame + 1;
+        return next == 0 ? 1 : next;
     }
 
     @Override
@@ -34,4 +128,246 @@ public final class InterpolationSystem extends System {
     public float getCurrentInterpolationFactor() {
         return currentInterpolationFactor;
     }
+
+    /**
+     * Enables or disables the per-frame pass over the visible set. While disabled every drawn
+     * entity is interpolated on its own, through the per-entity fallback.
+     */
+    public void setBulkPass(boolean enabled) {
+        this.bulkPass = enabled;
+    }
+
+    public boolean isBulkPass() {
+        return bulkPass;
+    }
+
+    // ========================================================================
+    // READ SIDE
+    // ========================================================================
+
+    /**
+     * Copies a slot's interpolated transform from the current frame.
+     *
+     * @param out [x, y, z, yaw, pitch, roll]
+     * <p>Every read also queues the slot for the next frame's pass.</p>
+     *
+     * @return false if the frame was computed for a different factor or from older transforms,
+     *         or did not cover the slot
+     */
+    public boolean read(int slot, float t, double[] out) {
+        markVisible(slot);
+        int current = frame;
+        if (current == 0 || coverage[slot] != current || Float.compare(t, frameFactor) != 0
+                || frameVersion != transformVersion) {
+            return false;
+        }
+        out[0] = outX[slot];
+        out[1] = outY[slot];
+        out[2] = outZ[slot];
+        out[3] = outYaw[slot];
+        out[4] = outPitch[slot];
+        out[5] = outRoll[slot];
+        return true;
+    }
+
+    /**
+     * Drops a slot from the current frame (slot reassigned since the pass).
+     */
+    public void invalidate(int slot) {
+        coverage[slot] = 0;
+    }
+
+    /**
+     * Drops the whole current frame; called by the tick thread after it rewrites transforms.
+     */
+    public void onTransformsWritten() {
+        transformVersion++;
+    }
+
+    private void markVisible(int slot) {
+        int next = nextFrame();
+        if (visibleStamp[slot] == next) return;
+        visibleStamp[slot] = next;
+        if (visibleCount == visibleSlots.length) {
+            visibleSlots = Arrays.copyOf(visibleSlots, visibleCount << 1);
+        }
+        visibleSlots[visibleCount++] = slot;
+    }
+
+    // ========================================================================
+    // SOA PASS
+    // ========================================================================
+
+    private void interpolateColumns(BridgeComponents.Columns columns, float t, int frameId) {
+        int[] slots = visibleSlots;
+        int count = visibleCount;
+        Arrays.sort(slots, 0, count);
+
+        int i = 0;
+        while (i < count) {
+            int start = slots[i];
+            int run = 1;
+            while (i + run < count && slots[i + run] == start + run) run++;
+            int end = start + run;
+
+            lerpColumn(columns.prevXColumn(), columns.xColumn(), outX, start, end, t);
+            lerpColumn(columns.prevYColumn(), columns.yColumn(), outY, start, end, t);
+            lerpColumn(columns.prevZColumn(), columns.zColumn(), outZ, start, end, t);
+            lerpAngleColumn(columns.prevYawColumn(), columns.yawColumn(), outYaw, start, end, t);
+            lerpFloatColumn(columns.prevPitchColumn(), columns.pitchColumn(), outPitch, start, end, t);
+            lerpFloatColumn(columns.prevRollColumn(), columns.rollColumn(), outRoll, start, end, t);
+
+            Arrays.fill(coverage, start, end, frameId);
+            i += run;
+        }
+    }
+
+    private static void lerpColumn(MemorySegment from, MemorySegment to, double[] out, int start, int end, double t) {
+        int i = start;
+        int upper = start + DOUBLES.loopBound(end - start);
+        for (; i < upper; i += DOUBLES.length()) {
+            long offset = (long) i * Double.BYTES;
+            DoubleVector a = DoubleVector.fromMemorySegment(DOUBLES, from, offset, ORDER);
+            DoubleVector b = DoubleVector.fromMemorySegment(DOUBLES, to, offset, ORDER);
+            b.sub(a).mul(t).add(a).intoArray(out, i);
+        }
+        for (; i < end; i++) {
+            double a = from.getAtIndex(ValueLayout.JAVA_DOUBLE, i);
+            out[i] = a + (to.getAtIndex(ValueLayout.JAVA_DOUBLE, i) - a) * t;
+        }
+    }
+
+    private static void lerpFloatColumn(MemorySegment from, MemorySegment to, float[] out, int start, int end, float t) {
+        int i = start;
+        int upper = start + FLOATS.loopBound(end - start);
+        for (; i < upper; i += FLOATS.length()) {
+            long offset = (long) i * Float.BYTES;
+            FloatVector a = FloatVector.fromMemorySegment(FLOATS, from, offset, ORDER);
+            FloatVector b = FloatVector.fromMemorySegment(FLOATS, to, offset, ORDER);
+            b.sub(a).mul(t).add(a).intoArray(out, i);
+        }
+        for (; i < end; i++) {
+            float a = from.getAtIndex(ValueLayout.JAVA_FLOAT, i);
+            out[i] = a + (to.getAtIndex(ValueLayout.JAVA_FLOAT, i) - a) * t;
+        }
+    }
+
+    private static void lerpAngleColumn(MemorySegment from, MemorySegment to, float[] out, int start, int end, float t) {
+        int i = start;
+        int upper = start + FLOATS.loopBound(end - start);
+        for (; i < upper; i += FLOATS.length()) {
+            long offset = (long) i * Float.BYTES;
+            FloatVector a = FloatVector.fromMemorySegment(FLOATS, from, offset, ORDER);
+            FloatVector b = FloatVector.fromMemorySegment(FLOATS, to, offset, ORDER);
+            lerpAngle(a, b, t).intoArray(out, i);
+        }
+        for (; i < end; i++) {
+            out[i] = BridgeComponents.lerpAngle(
+                    from.getAtIndex(ValueLayout.JAVA_FLOAT, i), to.getAtIndex(ValueLayout.JAVA_FLOAT, i), t);
+        }
+    }
+
+    // ========================================================================
+    // BLOCK LAYOUT PASS
+    // ========================================================================
+
+    private void interpolateBlocks(BridgeComponents.TransformStore transforms, float t, int frameId) {
+        int count = visibleCount;
+        int[] slots = visibleSlots;
+
+        for (int start = 0; start < count; start += STAGING_SIZE) {
+            int n = Math.min(STAGING_SIZE, count - start);
+
+            // Gather: [x.. | y.. | z..] and [yaw.. | pitch.. | roll..]
+            for (int k = 0; k < n; k++) {
+                int slot = slots[start + k];
+                transforms.getPrevious(slot, previous);
+                stagePrev[k] = previous[0];
+                stagePrev[STAGING_SIZE + k] = previous[1];
+                stagePrev[2 * STAGING_SIZE + k] = previous[2];
+                stageAnglePrev[k] = (float) previous[3];
+                stageAnglePrev[STAGING_SIZE + k] = (float) previous[4];
+                stageAnglePrev[2 * STAGING_SIZE + k] = (float) previous[5];
+
+                stageCur[k] = transforms.x(slot);
+                stageCur[STAGING_SIZE + k] = transforms.y(slot);
+                stageCur[2 * STAGING_SIZE + k] = transforms.z(slot);
+                stageAngleCur[k] = transforms.yaw(slot);
+                stageAngleCur[STAGING_SIZE + k] = transforms.pitch(slot);
+                stageAngleCur[2 * STAGING_SIZE + k] = transforms.roll(slot);
+            }
+
+            lerpArray(stagePrev, stageCur, stageOut, STAGING_SIZE * 3, t);
+            lerpAngleArray(stageAnglePrev, stageAngleCur, stageAngleOut, STAGING_SIZE, t);
+            lerpFloatArray(stageAnglePrev, stageAngleCur, stageAngleOut, STAGING_SIZE, STAGING_SIZE * 3, t);
+
+            // Scatter into slot-indexed output
+            for (int k = 0; k < n; k++) {
+                int slot = slots[start + k];
+                outX[slot] = stageOut[k];
+                outY[slot] = stageOut[STAGING_SIZE + k];
+                outZ[slot] = stageOut[2 * STAGING_SIZE + k];
+                outYaw[slot] = stageAngleOut[k];
+                outPitch[slot] = stageAngleOut[STAGING_SIZE + k];
+                outRoll[slot] = stageAngleOut[2 * STAGING_SIZE + k];
+                coverage[slot] = frameId;
+            }
+        }
+    }
+
+    private static void lerpArray(double[] from, double[] to, double[] out, int length, double t) {
+        int upper = DOUBLES.loopBound(length);
+        int i = 0;
+        for (; i < upper; i += DOUBLES.length()) {
+            DoubleVector a = DoubleVector.fromArray(DOUBLES, from, i);
+            DoubleVector b = DoubleVector.fromArray(DOUBLES, to, i);
+            b.sub(a).mul(t).add(a).intoArray(out, i);
+        }
+        for (; i < length; i++) {
+            out[i] = from[i] + (to[i] - from[i]) * t;
+        }
+    }
+
+    private static void lerpFloatArray(float[] from, float[] to, float[] out, int start, int end, float t) {
+        int i = start;
+        int upper = start + FLOATS.loopBound(end - start);
+        for (; i < upper; i += FLOATS.length()) {
+            FloatVector a = FloatVector.fromArray(FLOATS, from, i);
+            FloatVector b = FloatVector.fromArray(FLOATS, to, i);
+            b.sub(a).mul(t).add(a).intoArray(out, i);
+        }
+        for (; i < end; i++) {
+            out[i] = from[i] + (to[i] - from[i]) * t;
+        }
+    }
+
+    private static void lerpAngleArray(float[] from, float[] to, float[] out, int length, float t) {
+        int upper = FLOATS.loopBound(length);
+        int i = 0;
+        for (; i < upper; i += FLOATS.length()) {
+            FloatVector a = FloatVector.fromArray(FLOATS, from, i);
+            FloatVector b = FloatVector.fromArray(FLOATS, to, i);
+            lerpAngle(a, b, t).intoArray(out, i);
+        }
+        for (; i < length; i++) {
+            out[i] = BridgeComponents.lerpAngle(from[i], to[i], t);
+        }
+    }
+
+    // ========================================================================
+    // VECTOR ANGLE INTERPOLATION
+    // ========================================================================
+
+    /**
+     * Lane-wise {@link BridgeComponents#lerpAngle}: {@code from + (((to - from + 540) % 360) - 180) * t},
+     * with Java's truncating remainder computed as {@code a - 360 * trunc(a / 360)}.
+     */
+    static FloatVector lerpAngle(FloatVector from, FloatVector to, float t) {
+        FloatVector a = to.sub(from).add(540.0f);
+        FloatVector quotient = (FloatVector) a.div(360.0f)
+                .convert(VectorOperators.F2I, 0)
+                .convert(VectorOperators.I2F, 0);
+        FloatVector diff = a.sub(quotient.mul(360.0f)).sub(180.0f);
+        return diff.mul(t).add(from);
+    }
 }
@@ -0,0 +1,222 @@
+package com.example.modid.bridge;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * LatencyHistogram - Lock-free, allocation-free log-linear histogram of durations.
+ *
+ * <h2>Layout:</h2>
+ * <ul>
+ *   <li>HDR-style buckets: every power of two is split into {@value #SUB_BUCKETS} linear
+ *       sub-buckets, so relative error stays below 1/{@value #SUB_BUCKETS} at any magnitude</li>
+ *   <li>Values above {@link #MAX_TRACKABLE_NANOS} (~137 s) land in the last bucket</li>
+ *   <li>{@link #record} is a single atomic increment on the active interval</li>
+ * </ul>
+ *
+ * <h2>Intervals:</h2>
+ * <p>Two count arrays alternate. {@link #rotate} swaps them, drains the retired one into the
+ * cumulative counts and publishes a {@link Summary} of the interval. A recording that races
+ * a rotation is attributed to a later interval, never lost.</p>
+ */
+public final class LatencyHistogram {
+
+    // ========================================================================
+    // CONSTANTS
+    // ========================================================================
+
+    private static final int SUB_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+    /** Highest tracked magnitude: 2^36 ns */
+    private static final int MAX_MSB = 36;
+    public static final long MAX_TRACKABLE_NANOS = (1L << (MAX_MSB + 1)) - 1;
+
+    private static final int BUCKET_COUNT = SUB_BUCKETS + (MAX_MSB - SUB_BITS + 1) * SUB_BUCKETS;
+
+    // ========================================================================
+    // STATE
+    // ========================================================================
+
+    private final String name;
+    private final AtomicLongArray first = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLongArray second = new AtomicLongArray(BUCKET_COUNT);
+    private volatile AtomicLongArray active = first;
+
+    /** Counts of the last completed interval and since reset (guarded by this) */
+    private final long[] interval = new long[BUCKET_COUNT];
+    private final long[] cumulative = new long[BUCKET_COUNT];
+
+    private volatile Summary lastInterval = Summary.EMPTY;
+
+    public LatencyHistogram(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // ========================================================================
+    // RECORDING
+    // ========================================================================
+
+    /**
+     * Records one duration. Safe from any thread.
+     */
+    public void record(long nanos) {
+        active.getAndIncrement(bucketOf(nanos));
+    }
+
+    // ========================================================================
+    // ROTATION
+    // ========================================================================
+
+    /**
+     * Closes the current interval and starts a new one.
+     *
+     * @return summary of the interval just closed
+     */
+    public synchronized Summary rotate() {
+        AtomicLongArray retired = active;
+        active = retired == first ? second : first;
+
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long count = retired.getAndSet(i, 0);
+            interval[i] = count;
+            cumulative[i] += count;
+        }
+
+        Summary summary = summarize(interval);
+        lastInterval = summary;
+        return summary;
+    }
+
+    /**
+     * Summary of the last interval closed by {@link #rotate}.
+     */
+    public Summary getLastInterval() {
+        return lastInterval;
+    }
+
+    /**
+     * Summary of all intervals closed since construction or {@link #reset}.
+     */
+    public synchronized Summary getCumulative() {
+        return summarize(cumulative);
+    }
+
+    public synchronized void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            first.set(i, 0);
+            second.set(i, 0);
+            interval[i] = 0;
+            cumulative[i] = 0;
+        }
+        lastInterval = Summary.EMPTY;
+    }
+
+    // ========================================================================
+    // EXPORT
+    // ========================================================================
+
+    /**
+     * Writes the non-empty cumulative buckets as CSV rows
+     * {@code histogram,lowerNanos,upperNanos,count}.
+     */
+    public synchronized void writeCsv(Writer out) throws IOException {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long count = cumulative[i];
+            if (count == 0) continue;
+            out.write(name + ',' + lowerBound(i) + ',' + upperBound(i) + ',' + count + '\n');
+        }
+    }
+
+    // ========================================================================
+    // BUCKETS
+    // ========================================================================
+
+    static int bucketOf(long nanos) {
+        long value = Math.min(Math.max(nanos, 0L), MAX_TRACKABLE_NANOS);
+        if (value < SUB_BUCKETS) return (int) value;
+
+        int shift = (63 - Long.numberOfLeadingZeros(value)) - SUB_BITS;
+        int sub = (int) (value >>> shift) - SUB_BUCKETS;
+        return SUB_BUCKETS + shift * SUB_BUCKETS + sub;
+    }
+
+    static long lowerBound(int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+        int shift = (bucket - SUB_BUCKETS) / SUB_BUCKETS;
+        int sub = (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+        return (long) (SUB_BUCKETS + sub) << shift;
+    }
+
+    static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+        int shift = (bucket - SUB_BUCKETS) / SUB_BUCKETS;
+        return lowerBound(bucket) + (1L << shift) - 1;
+    }
+
+    private static Summary summarize(long[] counts) {
+        long total = 0;
+        for (long count : counts) total += count;
+        if (total == 0) return Summary.EMPTY;
+
+        long p50 = -1, p99 = -1, p999 = -1, max = 0;
+        long target50 = percentileRank(total, 0.50);
+        long target99 = percentileRank(total, 0.99);
+        long target999 = percentileRank(total, 0.999);
+
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            if (counts[i] == 0) continue;
+            seen += counts[i];
+            long upper = upperBound(i);
+            if (p50 < 0 && seen >= target50) p50 = upper;
+            if (p99 < 0 && seen >= target99) p99 = upper;
+            if (p999 < 0 && seen >= target999) p999 = upper;
+            max = upper;
+        }
+        return new Summary(total, p50, p99, p999, max);
+    }
+
+    private static long percentileRank(long total, double percentile) {
+        return Math.max(1L, (long) Math.ceil(total * percentile));
+    }
+
+    // ========================================================================
+    // SUMMARY
+    // ========================================================================
+
+    /**
+     * Percentiles of one histogram; values are bucket upper bounds in nanoseconds.
+     */
+    public record Summary(long count, long p50Nanos, long p99Nanos, long p999Nanos, long maxNanos) {
+
+        public static final Summary EMPTY = new Summary(0, 0, 0, 0, 0);
+
+        public double p50Ms() {
+            return p50Nanos / 1_000_000.0;
+        }
+
+        public double p99Ms() {
+            return p99Nanos / 1_000_000.0;
+        }
+
+        public double p999Ms() {
+            return p999Nanos / 1_000_000.0;
+        }
+
+        public double maxMs() {
+            return maxNanos / 1_000_000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("n=%d p50=%.3fms p99=%.3fms p999=%.3fms max=%.3fms",
+                    count, p50Ms(), p99Ms(), p999Ms(), maxMs());
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.modid.bridge;
+
+import java.util.logging.Logger;
+
+/**
+ * LoadShedder - Budget-driven graceful degradation for the bridge tick.
+ *
+ * <h2>Levels (cumulative):</h2>
+ * <ul>
+ *   <li>NORMAL: everything runs</li>
+ *   <li>REDUCED_LOD: entity LOD is biased one step coarser, lowering AI/physics rates</li>
+ *   <li>SKIP_NON_CRITICAL: render-prepare and render stages no longer run inside the tick</li>
+ *   <li>MINIMAL_INTERPOLATION: the bulk interpolation pass stops; only entities actually
+ *       drawn are interpolated, on demand</li>
+ * </ul>
+ *
+ * <h2>Control:</h2>
+ * <p>A smoothed ECS update time is compared against the budget. Sustained overrun steps one
+ * level up; sustained headroom below {@link #RESTORE_RATIO} of the budget steps one level
+ * down, and the band in between holds the level (hysteresis). Tick failures and a
+ * non-closed {@link CircuitBreaker} jump straight to the highest level, so the breaker only
+ * trips once shedding has not helped.</p>
+ */
+public final class LoadShedder {
+
+    private static final Logger LOGGER = Logger.getLogger("FPSFlux-LoadShedder");
+
+    /**
+     * Shedding level, ordered from least to most work dropped.
+     */
+    public enum ShedLevel {
+        NORMAL,
+        REDUCED_LOD,
+        SKIP_NON_CRITICAL,
+        MINIMAL_INTERPOLATION;
+
+        private static final ShedLevel[] VALUES = values();
+
+        ShedLevel up() {
+            return this == MINIMAL_INTERPOLATION ? this : VALUES[ordinal() + 1];
+        }
+
+        ShedLevel down() {
+            return this == NORMAL ? this : VALUES[ordinal() - 1];
+        }
+    }
+
+    /**
+     * Receives every level change; used by the bridge to apply it.
+     */
+    @FunctionalInterface
+    public interface Listener {
+        void onLevelChanged(ShedLevel from, ShedLevel to, String reason);
+    }
+
+    // ========================================================================
+    // TUNING
+    // ========================================================================
+
+    /** Default ECS update budget per tick: a fifth of a 50 ms server tick */
+    public static final long DEFAULT_BUDGET_NANOS = Long.getLong("fpsflux.bridge.tickBudgetMs", 10L) * 1_000_000L;
+
+    /** Consecutive over-budget ticks before stepping up */
+    private static final int ESCALATE_TICKS = 3;
+
+    /** Consecutive ticks with headroom before stepping down (2 s at 20 TPS) */
+    private static final int RESTORE_TICKS = 40;
+
+    /** Headroom required to step down, as a fraction of the budget */
+    private static final double RESTORE_RATIO = 0.7;
+
+    /** EMA weight of the newest sample (1/4) */
+    private static final int EMA_SHIFT = 2;
+
+    // ========================================================================
+    // STATE (tick thread only, level published)
+    // ========================================================================
+
+    private final Listener listener;
+    private volatile long budgetNanos;
+    private volatile ShedLevel level = ShedLevel.NORMAL;
+
+    private volatile long smoothedNanos = 0;
+    private int overBudgetTicks = 0;
+    private int headroomTicks = 0;
+
+    public LoadShedder(long budgetNanos, Listener listener) {
+        this.budgetNanos = budgetNanos;
+        this.listener = listener;
+    }
+
+    // ========================================================================
+    // CONTROL
+    // ========================================================================
+
+    /**
+     * Feeds one successful tick.
+     *
+     * @param updateNanos measured ECS update time
+     * @param breaker     bridge circuit breaker; a non-closed breaker holds the top level
+     */
+    public void onTick(long updateNanos, CircuitBreaker breaker) {
+        smoothedNanos = smoothedNanos == 0
+                ? updateNanos
+                : smoothedNanos + ((updateNanos - smoothedNanos) >> EMA_SHIFT);
+
+        if (!breaker.isClosed()) {
+            setLevel(ShedLevel.MINIMAL_INTERPOLATION, "circuit " + breaker.getStateString());
+            return;
+        }
+
+        long budget = budgetNanos;
+        if (smoothedNanos > budget) {
+            headroomTicks = 0;
+            if (++overBudgetTicks >= ESCALATE_TICKS) {
+                setLevel(level.up(), String.format("update %.2fms > budget %.2fms",
+                        smoothedNanos / 1e6, budget / 1e6));
+            }
+        } else if (smoothedNanos < budget * RESTORE_RATIO) {
+            overBudgetTicks = 0;
+            if (++headroomTicks >= RESTORE_TICKS) {
+                setLevel(level.down(), String.format("update %.2fms < %.0f%% of budget",
+                        smoothedNanos / 1e6, RESTORE_RATIO * 100));
+            }
+        } else {
+            overBudgetTicks = 0;
+            headroomTicks = 0;
+        }
+    }
+
+    /**
+     * Feeds one failed tick: shed everything immediately.
+     */
+    public void onFailure() {
+        setLevel(ShedLevel.MINIMAL_INTERPOLATION, "tick failure");
+    }
+
+    private void setLevel(ShedLevel next, String reason) {
+        overBudgetTicks = 0;
+        headroomTicks = 0;
+
+        ShedLevel previous = level;
+        if (next == previous) return;
+
+        level = next;
+        LOGGER.info("[ECS-Bridge] Load shedding " + previous + " -> " + next + " (" + reason + ")");
+        listener.onLevelChanged(previous, next, reason);
+    }
+
+    // ========================================================================
+    // ACCESSORS
+    // ========================================================================
+
+    public ShedLevel getLevel() {
+        return level;
+    }
+
+    /**
+     * @return true if work at {@code atLeast} or above is being shed
+     */
+    public boolean isShedding(ShedLevel atLeast) {
+        return level.compareTo(atLeast) >= 0;
+    }
+
+    /**
+     * LOD steps to add on top of distance-based LOD.
+     */
+    public int getLodBias() {
+        return isShedding(ShedLevel.REDUCED_LOD) ? 1 : 0;
+    }
+
+    public long getBudgetNanos() {
+        return budgetNanos;
+    }
+
+    public void setBudgetNanos(long budgetNanos) {
+        this.budgetNanos = budgetNanos;
+    }
+
+    /**
+     * Smoothed ECS update time the controller is acting on.
+     */
+    public long getSmoothedNanos() {
+        return smoothedNanos;
+    }
+}
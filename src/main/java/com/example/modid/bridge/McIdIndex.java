@@ -0,0 +1,375 @@
+package com.example.modid.bridge;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+/**
+ * McIdIndex - Growable Minecraft entity id to bridge slot map.
+ *
+ * <h2>Design:</h2>
+ * <ul>
+ *   <li>Robin-Hood open addressing: inserts displace entries closer to their home bucket,
+ *       keeping probe lengths short and uniform</li>
+ *   <li>Backward-shift deletion: removals pull the following cluster back one bucket, so the
+ *       table never accumulates tombstones and needs no cleanup pass</li>
+ *   <li>Doubles when the load factor or the longest probe exceeds its limit; the grown table
+ *       is built aside and published with one volatile write</li>
+ *   <li>Lock-free reads validated by a sequence counter that is only odd while entries move
+ *       within the live table; writers are serialized and only run on registration and
+ *       unregistration</li>
+ * </ul>
+ *
+ * <p>Entries pack {@code mcId} into the high and {@code slot} into the low 32 bits of a
+ * {@code long}, so a bucket is read in one access.</p>
+ */
+final class McIdIndex {
+
+    // ========================================================================
+    // CONSTANTS
+    // ========================================================================
+
+    private static final long EMPTY = -1L;
+
+    private static final int INITIAL_CAPACITY = 1 << 10;
+
+    /** Grow once size exceeds capacity * 3/4 */
+    private static final int LOAD_SHIFT = 2;
+
+    /** Grow when an insert would place an entry further than this from its home bucket */
+    private static final int MAX_PROBE = 64;
+
+    private static final VarHandle ENTRIES = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle SEQUENCE;
+
+    static {
+        try {
+            SEQUENCE = MethodHandles.lookup().findVarHandle(McIdIndex.class, "sequence", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // ========================================================================
+    // STATE
+    // ========================================================================
+
+    /** Odd while a writer is moving entries */
+    @SuppressWarnings("FieldMayBeFinal")
+    private volatile long sequence = 0;
+
+    private volatile long[] table;
+    private int size;
+    private int resizes;
+
+    /** Entries per probe distance (writer-owned); distance = bucket - home */
+    private final int[] probeHistogram = new int[MAX_PROBE + 1];
+    private long probeTotal;
+
+    McIdIndex(int expectedSize) {
+        int capacity = INITIAL_CAPACITY;
+        while (capacity - (capacity >>> LOAD_SHIFT) < expectedSize) {
+            capacity <<= 1;
+        }
+        this.table = newTable(capacity);
+    }
+
+    // ========================================================================
+    // READS (lock-free)
+    // ========================================================================
+
+    /**
+     * @return slot for {@code mcId}, or -1 if absent
+     */
+    int get(int mcId) {
+        while (true) {
+            long seq = (long) SEQUENCE.getAcquire(this);
+            if ((seq & 1) == 0) {
+                int slot = probe(table, mcId);
+                VarHandle.acquireFence();
+                if ((long) SEQUENCE.getAcquire(this) == seq) {
+                    return slot;
+                }
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    private static int probe(long[] entries, int mcId) {
+        int mask = entries.length - 1;
+        int idx = hash(mcId) & mask;
+
+        for (int distance = 0; distance <= MAX_PROBE; distance++) {
+            long entry = (long) ENTRIES.getOpaque(entries, idx);
+            if (entry == EMPTY) return -1;
+
+            int key = (int) (entry >>> 32);
+            if (key == mcId) return (int) entry;
+
+            // Robin-Hood invariant: an entry closer to home than our distance means absent
+            if (((idx - hash(key)) & mask) < distance) return -1;
+
+            idx = (idx + 1) & mask;
+        }
+        return -1;
+    }
+
+    // ========================================================================
+    // WRITES (serialized)
+    // ========================================================================
+
+    /**
+     * Maps {@code mcId} to {@code slot}, replacing any previous mapping.
+     */
+    synchronized void put(int mcId, int slot) {
+        long packed = pack(mcId, slot);
+        long[] entries = table;
+
+        // Growth builds a new table readers never see until it is complete
+        if (size + 1 > entries.length - (entries.length >>> LOAD_SHIFT) || !fits(entries, packed)) {
+            rehash(entries.length << 1, packed);
+            return;
+        }
+
+        beginWrite();
+        try {
+            insert(entries, packed);
+        } finally {
+            endWrite();
+        }
+    }
+
+    /**
+     * Removes the mapping for {@code mcId} if it points at {@code slot}.
+     */
+    synchronized void remove(int mcId, int slot) {
+        long[] entries = table;
+        int mask = entries.length - 1;
+        int idx = hash(mcId) & mask;
+
+        for (int distance = 0; distance <= MAX_PROBE; distance++) {
+            long entry = entries[idx];
+            if (entry == EMPTY) return;
+
+            int key = (int) (entry >>> 32);
+            if (key == mcId) {
+                if ((int) entry != slot) return;
+                beginWrite();
+                try {
+                    untrack(distance);
+                    size--;
+                    shiftBack(entries, idx);
+                } finally {
+                    endWrite();
+                }
+                return;
+            }
+            if (((idx - hash(key)) & mask) < distance) return;
+
+            idx = (idx + 1) & mask;
+        }
+    }
+
+    /**
+     * Dry run of {@link #insert}: whether it would complete without any entry moving further
+     * than {@link #MAX_PROBE} from home. Reads only; the carry chain only ever moves forward,
+     * so every bucket it reads is still in its original state.
+     */
+    private static boolean fits(long[] entries, long packed) {
+        int mask = entries.length - 1;
+        int idx = hash((int) (packed >>> 32)) & mask;
+        long carry = packed;
+        int distance = 0;
+
+        while (distance <= MAX_PROBE) {
+            long entry = entries[idx];
+            if (entry == EMPTY) return true;
+
+            int key = (int) (entry >>> 32);
+            if (key == (int) (carry >>> 32)) return true;
+
+            int existingDistance = (idx - hash(key)) & mask;
+            if (existingDistance < distance) {
+                carry = entry;
+                distance = existingDistance;
+            }
+
+            idx = (idx + 1) & mask;
+            distance++;
+        }
+        return false;
+    }
+
+    /**
+     * Robin-Hood insert. Returns false if a probe would exceed {@link #MAX_PROBE}, leaving the
+     * table inconsistent, so only call it on the live table after {@link #fits} passed.
+     */
+    private boolean insert(long[] entries, long packed) {
+        int mask = entries.length - 1;
+        int mcId = (int) (packed >>> 32);
+        int idx = hash(mcId) & mask;
+        long carry = packed;
+        int distance = 0;
+
+        while (true) {
+            if (distance > MAX_PROBE) {
+                return false;
+            }
+            long entry = entries[idx];
+            if (entry == EMPTY) {
+                ENTRIES.setOpaque(entries, idx, carry);
+                track(distance);
+                size++;
+                return true;
+            }
+
+            int key = (int) (entry >>> 32);
+            if (key == (int) (carry >>> 32)) {
+                // Replace in place; distance unchanged
+                ENTRIES.setOpaque(entries, idx, carry);
+                return true;
+            }
+
+            int existingDistance = (idx - hash(key)) & mask;
+            if (existingDistance < distance) {
+                ENTRIES.setOpaque(entries, idx, carry);
+                track(distance);
+                untrack(existingDistance);
+                carry = entry;
+                distance = existingDistance;
+            }
+
+            idx = (idx + 1) & mask;
+            distance++;
+        }
+    }
+
+    private void shiftBack(long[] entries, int idx) {
+        int mask = entries.length - 1;
+        int next = (idx + 1) & mask;
+
+        while (true) {
+            long entry = entries[next];
+            if (entry == EMPTY) break;
+            int distance = (next - hash((int) (entry >>> 32))) & mask;
+            if (distance == 0) break;
+
+            ENTRIES.setOpaque(entries, idx, entry);
+            untrack(distance);
+            track(distance - 1);
+            idx = next;
+            next = (next + 1) & mask;
+        }
+        ENTRIES.setOpaque(entries, idx, EMPTY);
+    }
+
+    /**
+     * Rebuilds the table at {@code capacity} or larger with {@code extra} added, then publishes
+     * it. Readers keep probing the unchanged old table meanwhile, so no sequence bump is needed.
+     */
+    private void rehash(int capacity, long extra) {
+        long[] old = table;
+
+        while (true) {
+            long[] fresh = newTable(capacity);
+            size = 0;
+            probeTotal = 0;
+            Arrays.fill(probeHistogram, 0);
+
+            boolean fits = true;
+            for (long entry : old) {
+                if (entry != EMPTY && !insert(fresh, entry)) {
+                    fits = false;
+                    break;
+                }
+            }
+            if (fits) {
+                fits = insert(fresh, extra);
+            }
+            if (fits) {
+                table = fresh;
+                resizes++;
+                return;
+            }
+            capacity <<= 1;
+        }
+    }
+
+    private void beginWrite() {
+        SEQUENCE.getAndAdd(this, 1L);
+    }
+
+    private void endWrite() {
+        SEQUENCE.getAndAdd(this, 1L);
+    }
+
+    // ========================================================================
+    // PROBE STATISTICS
+    // ========================================================================
+
+    private void track(int distance) {
+        probeHistogram[distance]++;
+        probeTotal += distance;
+    }
+
+    private void untrack(int distance) {
+        probeHistogram[distance]--;
+        probeTotal -= distance;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    synchronized int capacity() {
+        return table.length;
+    }
+
+    synchronized int resizes() {
+        return resizes;
+    }
+
+    /**
+     * Longest distance of any entry from its home bucket.
+     */
+    synchronized int maxProbeLength() {
+        for (int d = probeHistogram.length - 1; d > 0; d--) {
+            if (probeHistogram[d] > 0) return d;
+        }
+        return 0;
+    }
+
+    /**
+     * Mean distance of entries from their home buckets.
+     */
+    synchronized double averageProbeLength() {
+        return size == 0 ? 0.0 : (double) probeTotal / size;
+    }
+
+    // ========================================================================
+    // HELPERS
+    // ========================================================================
+
+    private static long[] newTable(int capacity) {
+        long[] entries = new long[capacity];
+        Arrays.fill(entries, EMPTY);
+        return entries;
+    }
+
+    private static long pack(int mcId, int slot) {
+        return ((long) mcId << 32) | (slot & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Murmur3 finalizer.
+     */
+    private static int hash(int mcId) {
+        int h = mcId;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
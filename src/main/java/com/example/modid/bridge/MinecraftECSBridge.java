@@ -46,6 +46,14 @@ import java.util.logging.Logger;
  * [224-255] Reserved/User Data
  * </pre>
  *
+ * <p>With {@code -Dfpsflux.bridge.soa=true} transform and velocity fields move to
+ * per-field columns ({@link BridgeComponents.Columns}); access them through
+ * {@link #getTransforms()} rather than raw block offsets.</p>
+ *
+ * <p>ECS systems write back through {@link #writeTransform}, {@link #writeVelocity} or
+ * {@link #markDirty}; outbound sync visits those slots plus active slots whose dirty flags were
+ * set directly with {@link BridgeComponents#setFlags}.</p>
+ *
  * @author FPSFlux Team
  * @version 5.0.0-J25-PERF
  */
@@ -67,9 +75,8 @@ public final class MinecraftECSBridge implements AutoCloseable {
     /** Mask for fast modulo: slot & SLOT_MASK == slot % MAX_ENTITIES */
     private static final int SLOT_MASK = MAX_ENTITIES - 1;
 
-    /** Size of hash table for open addressing (2x entities for load factor ~0.5) */
-    private static final int HASH_TABLE_SIZE = MAX_ENTITIES << 1;
-    private static final int HASH_TABLE_MASK = HASH_TABLE_SIZE - 1;
+    /** Expected live entities the MC-id index is presized for; it grows beyond this */
+    private static final int INITIAL_ID_INDEX_SIZE = 1 << 12;
 
     /** Cache line size for alignment */
     private static final int CACHE_LINE_BYTES = 64;
@@ -77,9 +84,6 @@ public final class MinecraftECSBridge implements AutoCloseable {
     /** Entity memory block size (must be multiple of cache line) */
     public static final int ENTITY_BLOCK_SIZE = 256;
 
-    /** Maximum probes for open-addressed hash table */
-    private static final int MAX_HASH_PROBES = 32;
-
     // ========================================================================
     // ENTITY SLOT STATES
     // ========================================================================
@@ -145,6 +149,15 @@ public final class MinecraftECSBridge implements AutoCloseable {
         return local;
     }
 
+    /**
+     * Gets the singleton instance without creating it.
+     *
+     * @return the bridge, or null if it has not been created
+     */
+    public static MinecraftECSBridge getInstanceIfPresent() {
+        return instance;
+    }
+
     // ========================================================================
     // CACHE-LINE PADDED STATE FIELDS
     // ========================================================================
@@ -186,6 +199,9 @@ public final class MinecraftECSBridge implements AutoCloseable {
     /** Native pointer for LWJGL interop */
     private final long componentMemoryAddress;
 
+    /** Transform/velocity storage: the entity blocks, or SoA columns when enabled */
+    private final BridgeComponents.TransformStore transforms;
+
     /** LWJGL-allocated buffer for GPU uploads */
     private final long gpuStagingBuffer;
     private final int gpuStagingBufferSize;
@@ -197,8 +213,8 @@ public final class MinecraftECSBridge implements AutoCloseable {
     /** Slot state array for CAS-based lifecycle management */
     private final AtomicInteger[] slotStates;
 
-    /** Open-addressed hash table: hash -> slot mapping */
-    private final int[] hashToSlot;
+    /** Growable Robin-Hood index: MC entity ID -> slot */
+    private final McIdIndex mcIdIndex;
 
     /** Reverse mapping: slot -> MC entity ID */
     private final int[] slotToMcId;
@@ -216,6 +232,14 @@ public final class MinecraftECSBridge implements AutoCloseable {
     /** Generation counters for ABA prevention */
     private final int[] slotGenerations;
 
+    /** Dense list of active slots (swap-remove), guarded by activeSlotLock */
+    private final int[] activeSlots;
+
+    /** Reverse mapping: slot -> position in activeSlots, or -1 */
+    private final int[] activeSlotPositions;
+    private int activeSlotCount;
+    private final Object activeSlotLock = new Object();
+
     // ========================================================================
     // SUBSYSTEMS
     // ========================================================================
@@ -229,10 +253,16 @@ public final class MinecraftECSBridge implements AutoCloseable {
     /** Batch processor for SIMD operations */
     private final BatchProcessor batchProcessor;
 
+    /** Render-stage bulk interpolation pass (set during initialization) */
+    private volatile InterpolationSystem interpolationSystem;
+
     /** Performance metrics collector */
     private final BridgeMetrics metrics;
 
-    /** Thread-local batch buffers */
+    /** Budget-driven degradation ahead of the circuit breaker */
+    private final LoadShedder loadShedder;
+
+    /** Thread-local batch buffers (batch buffer grows to the live entity count) */
     private static final ThreadLocal<int[]> BATCH_BUFFER = ThreadLocal.withInitial(() -> new int[4096]);
     private static final ThreadLocal<double[]> INTERPOLATION_OUT = ThreadLocal.withInitial(() -> new double[6]);
 
@@ -252,6 +282,10 @@ public final class MinecraftECSBridge implements AutoCloseable {
         // Zero-initialize memory
         componentMemory.fill((byte) 0);
 
+        this.transforms = BridgeComponents.USE_SOA
+                ? new BridgeComponents.Columns(componentArena, MAX_ENTITIES)
+                : new BridgeComponents.Blocks(componentMemory, ENTITY_BLOCK_SIZE);
+
         // 2. Allocate GPU staging buffer via LWJGL for render uploads
         this.gpuStagingBufferSize = MAX_ENTITIES * BridgeComponents.GPU_TRANSFORM_SIZE;
         this.gpuStagingBuffer = MemoryUtil.nmemAlignedAlloc(CACHE_LINE_BYTES, gpuStagingBufferSize);
@@ -269,8 +303,7 @@ public final class MinecraftECSBridge implements AutoCloseable {
         }
 
         // 4. Initialize hash table
-        this.hashToSlot = new int[HASH_TABLE_SIZE];
-        java.util.Arrays.fill(hashToSlot, -1);
+        this.mcIdIndex = new McIdIndex(INITIAL_ID_INDEX_SIZE);
 
         // 5. Initialize reverse mapping
         this.slotToMcId = new int[MAX_ENTITIES];
@@ -287,12 +320,18 @@ public final class MinecraftECSBridge implements AutoCloseable {
         }
         this.freeStackTop = new AtomicInteger(MAX_ENTITIES);
 
-        // 8. Initialize subsystems
+        // 8. Initialize dense active-slot list
+        this.activeSlots = new int[MAX_ENTITIES];
+        this.activeSlotPositions = new int[MAX_ENTITIES];
+        java.util.Arrays.fill(activeSlotPositions, -1);
+
+        // 9. Initialize subsystems
         this.circuitBreaker = new CircuitBreaker(5, 30_000L, "ECS-Bridge-Main");
-        this.batchProcessor = new BatchProcessor(componentMemory, ENTITY_BLOCK_SIZE);
+        this.batchProcessor = new BatchProcessor(componentMemory, ENTITY_BLOCK_SIZE, transforms);
         this.metrics = new BridgeMetrics();
+        this.loadShedder = new LoadShedder(LoadShedder.DEFAULT_BUDGET_NANOS, this::applyShedLevel);
 
-        // 9. Register shutdown hook
+        // 10. Register shutdown hook
         Runtime.getRuntime().addShutdownHook(Thread.ofVirtual().unstarted(this::shutdownHook));
 
         LOGGER.info("[ECS-Bridge] Memory allocation complete. Capacity: " + MAX_ENTITIES + " entities");
@@ -373,11 +412,14 @@ public final class MinecraftECSBridge implements AutoCloseable {
                 SystemScheduler.Stage.POST_UPDATE
         );
 
-        // RENDER: Interpolation
+        // RENDER: Interpolation, driven only by onRenderTick - a tick-time run would consume
+        // the visible set at the tick's delta instead of a partial tick
+        interpolationSystem = new InterpolationSystem(this);
         ecsWorld.registerSystem(
-                new InterpolationSystem(this),
+                interpolationSystem,
                 SystemScheduler.Stage.RENDER
         );
+        ecsWorld.setStageSuspended(SystemScheduler.Stage.RENDER, true);
     }
 
     // ========================================================================
@@ -432,12 +474,14 @@ public final class MinecraftECSBridge implements AutoCloseable {
 
             // Initialize component memory
             initializeEntityMemory(slot, mcEntity);
-
-            // Register in hash table
-            if (!registerInHashTable(mcId, slot)) {
-                throw new IllegalStateException("Hash table registration failed");
+            InterpolationSystem interpolation = interpolationSystem;
+            if (interpolation != null) {
+                interpolation.invalidate(slot);
             }
 
+            // Register in MC-id index (grows as needed, never fails)
+            mcIdIndex.put(mcId, slot);
+
             // Link MC entity via mixin
             if (mcEntity instanceof BridgeMixinInterface ext) {
                 ext.fpsflux$setBridgeSlot(slot);
@@ -446,6 +490,7 @@ public final class MinecraftECSBridge implements AutoCloseable {
 
             // Transition to ACTIVE
             slotStates[slot].set(SLOT_ACTIVE);
+            addActiveSlot(slot);
 
             // Update active count
             ACTIVE_COUNT_HANDLE.getAndAdd(this, 1);
@@ -483,6 +528,7 @@ public final class MinecraftECSBridge implements AutoCloseable {
         if (!slotStates[slot].compareAndSet(SLOT_ACTIVE, SLOT_REMOVING)) {
             return; // Already being removed or not active
         }
+        removeActiveSlot(slot);
 
         int mcId = slotToMcId[slot];
 
@@ -502,13 +548,14 @@ public final class MinecraftECSBridge implements AutoCloseable {
             ecsWorld.destroyEntity(ecsEntity);
         }
 
-        // Clear hash table entry
-        unregisterFromHashTable(mcId);
+        // Clear MC-id index entry
+        mcIdIndex.remove(mcId, slot);
 
         // Clear slot data
         slotToMcId[slot] = -1;
 
-        // Clear component memory
+        // Drop pending writes and clear component memory
+        batchProcessor.clearDirty(slot);
         clearEntityMemory(slot);
 
         // Transition to FREE and return to pool
@@ -566,83 +613,48 @@ public final class MinecraftECSBridge implements AutoCloseable {
     }
 
     // ========================================================================
-    // HASH TABLE OPERATIONS (Open Addressing with Linear Probing)
+    // ACTIVE SLOT LIST
     // ========================================================================
 
-    /**
-     * Fast hash function using Murmur3 finalizer.
-     */
-    private static int hashMcId(int mcId) {
-        int h = mcId;
-        h ^= h >>> 16;
-        h *= 0x85ebca6b;
-        h ^= h >>> 13;
-        h *= 0xc2b2ae35;
-        h ^= h >>> 16;
-        return h;
+    private void addActiveSlot(int slot) {
+        synchronized (activeSlotLock) {
+            if (activeSlotPositions[slot] >= 0) return;
+            activeSlotPositions[slot] = activeSlotCount;
+            activeSlots[activeSlotCount++] = slot;
+        }
     }
 
+    private void removeActiveSlot(int slot) {
+        synchronized (activeSlotLock) {
+            int position = activeSlotPositions[slot];
+            if (position < 0) return;
+            int last = activeSlots[--activeSlotCount];
+            activeSlots[position] = last;
+            activeSlotPositions[last] = position;
+            activeSlotPositions[slot] = -1;
+        }
+    }
+
+    // ========================================================================
+    // MC-ID INDEX
+    // ========================================================================
+
     /**
-     * Looks up the slot index for a given MC entity ID.
+     * Looks up the slot index for a given MC entity ID. Lock-free; called from every
+     * mixin callback.
      *
      * @param mcId the Minecraft entity ID
      * @return slot index, or -1 if not found
      */
     public int lookupSlotByMcId(int mcId) {
-        int hash = hashMcId(mcId);
-        int idx = hash & HASH_TABLE_MASK;
+        int slot = mcIdIndex.get(mcId);
+        if (slot < 0) return -1;
 
-        for (int probe = 0; probe < MAX_HASH_PROBES; probe++) {
-            int slot = hashToSlot[idx];
-
-            if (slot < 0) {
-                return -1; // Empty slot = not found
-            }
-
-            if (slotToMcId[slot] == mcId && slotStates[slot].get() == SLOT_ACTIVE) {
-                return slot;
-            }
-
-            idx = (idx + 1) & HASH_TABLE_MASK;
-        }
-
-        return -1; // Not found after max probes
-    }
-
-    private boolean registerInHashTable(int mcId, int slot) {
-        int hash = hashMcId(mcId);
-        int idx = hash & HASH_TABLE_MASK;
-
-        for (int probe = 0; probe < MAX_HASH_PROBES; probe++) {
-            int existing = hashToSlot[idx];
-
-            if (existing < 0 || slotStates[existing].get() != SLOT_ACTIVE) {
-                hashToSlot[idx] = slot;
-                return true;
-            }
-
-            idx = (idx + 1) & HASH_TABLE_MASK;
-        }
-
-        return false; // Table full in this region
-    }
-
-    private void unregisterFromHashTable(int mcId) {
-        int hash = hashMcId(mcId);
-        int idx = hash & HASH_TABLE_MASK;
-
-        for (int probe = 0; probe < MAX_HASH_PROBES; probe++) {
-            int slot = hashToSlot[idx];
-
-            if (slot < 0) return;
-
-            if (slotToMcId[slot] == mcId) {
-                hashToSlot[idx] = -1;
-                return;
-            }
-
-            idx = (idx + 1) & HASH_TABLE_MASK;
+        // Guard against a slot that is mid-removal or already reused
+        if (slotToMcId[slot] == mcId && slotStates[slot].get() == SLOT_ACTIVE) {
+            return slot;
         }
+        return -1;
     }
 
     // ========================================================================
@@ -685,31 +697,46 @@ public final class MinecraftECSBridge implements AutoCloseable {
         return gpuStagingBuffer;
     }
 
+    /**
+     * Returns the layout-independent transform/velocity accessors.
+     */
+    public BridgeComponents.TransformStore getTransforms() {
+        return transforms;
+    }
+
+    /**
+     * Writes a transform from the ECS side and schedules it for outbound sync.
+     */
+    public void writeTransform(int slot, double x, double y, double z, float yaw, float pitch) {
+        transforms.setTransform(slot, x, y, z, yaw, pitch);
+        batchProcessor.markDirty(slot, BridgeComponents.FLAG_TRANSFORM_DIRTY);
+    }
+
+    /**
+     * Writes a velocity from the ECS side and schedules it for outbound sync.
+     */
+    public void writeVelocity(int slot, double vx, double vy, double vz) {
+        transforms.setVelocity(slot, vx, vy, vz);
+        batchProcessor.markDirty(slot, BridgeComponents.FLAG_VELOCITY_DIRTY);
+    }
+
+    /**
+     * Schedules components written directly through {@link #getTransforms()} or raw
+     * component memory for outbound sync.
+     *
+     * @param flags {@link BridgeComponents#FLAG_TRANSFORM_DIRTY} and/or
+     *              {@link BridgeComponents#FLAG_VELOCITY_DIRTY}
+     */
+    public void markDirty(int slot, long flags) {
+        batchProcessor.markDirty(slot, flags);
+    }
+
     private void initializeEntityMemory(int slot, net.minecraft.entity.Entity mc) {
         long base = getEntityMemoryOffset(slot);
 
-        // Current Transform
-        componentMemory.set(ValueLayout.JAVA_DOUBLE, base + BridgeComponents.TRANSFORM_X, mc.posX);
-        componentMemory.set(ValueLayout.JAVA_DOUBLE, base + BridgeComponents.TRANSFORM_Y, mc.posY);
-        componentMemory.set(ValueLayout.JAVA_DOUBLE, base + BridgeComponents.TRANSFORM_Z, mc.posZ);
-        componentMemory.set(ValueLayout.JAVA_FLOAT, base + BridgeComponents.TRANSFORM_YAW, mc.rotationYaw);
-        componentMemory.set(ValueLayout.JAVA_FLOAT, base + BridgeComponents.TRANSFORM_PITCH, mc.rotationPitch);
-        componentMemory.set(ValueLayout.JAVA_FLOAT, base + BridgeComponents.TRANSFORM_ROLL, 0.0f);
-        componentMemory.set(ValueLayout.JAVA_INT, base + BridgeComponents.TRANSFORM_FLAGS, 0);
-
-        // Previous Transform (copy of current for first frame)
-        componentMemory.set(ValueLayout.JAVA_DOUBLE, base + BridgeComponents.PREV_TRANSFORM_X, mc.posX);
-        componentMemory.set(ValueLayout.JAVA_DOUBLE, base + BridgeComponents.PREV_TRANSFORM_Y, mc.posY);
-        componentMemory.set(ValueLayout.JAVA_DOUBLE, base + BridgeComponents.PREV_TRANSFORM_Z, mc.posZ);
-        componentMemory.set(ValueLayout.JAVA_FLOAT, base + BridgeComponents.PREV_TRANSFORM_YAW, mc.rotationYaw);
-        componentMemory.set(ValueLayout.JAVA_FLOAT, base + BridgeComponents.PREV_TRANSFORM_PITCH, mc.rotationPitch);
-        componentMemory.set(ValueLayout.JAVA_FLOAT, base + BridgeComponents.PREV_TRANSFORM_ROLL, 0.0f);
-
-        // Velocity
-        componentMemory.set(ValueLayout.JAVA_DOUBLE, base + BridgeComponents.VELOCITY_X, mc.motionX);
-        componentMemory.set(ValueLayout.JAVA_DOUBLE, base + BridgeComponents.VELOCITY_Y, mc.motionY);
-        componentMemory.set(ValueLayout.JAVA_DOUBLE, base + BridgeComponents.VELOCITY_Z, mc.motionZ);
-        componentMemory.set(ValueLayout.JAVA_FLOAT, base + BridgeComponents.VELOCITY_SPEED, 0.0f);
+        // Current and previous transform (previous = current for first frame), velocity
+        transforms.reset(slot, mc.posX, mc.posY, mc.posZ, mc.rotationYaw, mc.rotationPitch,
+                mc.motionX, mc.motionY, mc.motionZ);
 
         // Acceleration
         componentMemory.set(ValueLayout.JAVA_DOUBLE, base + BridgeComponents.ACCEL_X, 0.0);
@@ -726,6 +753,9 @@ public final class MinecraftECSBridge implements AutoCloseable {
     private void clearEntityMemory(int slot) {
         long base = getEntityMemoryOffset(slot);
         componentMemory.asSlice(base, ENTITY_BLOCK_SIZE).fill((byte) 0);
+        if (transforms instanceof BridgeComponents.Columns columns) {
+            columns.clear(slot);
+        }
     }
 
     // ========================================================================
@@ -754,49 +784,122 @@ public final class MinecraftECSBridge implements AutoCloseable {
         deltaTime = Math.min(deltaTime, 0.1f); // Clamp to 100ms max
 
         try {
-            executeTickPipeline(deltaTime);
+            long updateNanos = executeTickPipeline(deltaTime);
             circuitBreaker.recordSuccess();
             TICK_COUNT_HANDLE.getAndAdd(this, 1L);
             metrics.recordTick(now - last);
 
+            loadShedder.onTick(updateNanos, circuitBreaker);
+            if (loadShedder.isShedding(LoadShedder.ShedLevel.REDUCED_LOD)) {
+                metrics.recordShedTick();
+            }
+
+            long end = System.nanoTime();
+            metrics.recordStage(BridgeMetrics.Stage.TICK, end - now);
+            metrics.rotateIfDue(end);
+            metrics.recordIdIndex(mcIdIndex.size(), mcIdIndex.capacity(),
+                    mcIdIndex.averageProbeLength(), mcIdIndex.maxProbeLength(), mcIdIndex.resizes());
+
         } catch (Exception e) {
             circuitBreaker.recordFailure();
+            loadShedder.onFailure();
             LOGGER.log(Level.SEVERE, "[ECS-Bridge] Tick failed", e);
             metrics.recordTickFailure();
         }
     }
 
-    private void executeTickPipeline(float deltaTime) {
+    /**
+     * @return ECS update duration in nanoseconds (the load-shedding input)
+     */
+    private long executeTickPipeline(float deltaTime) {
         // 1. Process command buffer
         ecsWorld.getCommandBuffer().execute(ecsWorld);
 
         // 2. Collect active slots into batch buffer
-        int[] batch = BATCH_BUFFER.get();
-        int batchSize = collectActiveSlots(batch);
+        int batchSize = collectActiveSlots();
+        int[] batch = activeSlotBuffer();
 
         // 3. Execute inbound sync (MC -> ECS)
+        long start = System.nanoTime();
         batchProcessor.syncInbound(batch, batchSize, mcEntities);
+        markTransformsWritten();
+        long inboundEnd = System.nanoTime();
+        metrics.recordStage(BridgeMetrics.Stage.INBOUND_SYNC, inboundEnd - start);
 
-        // 4. Execute ECS update
+        // 4. Execute ECS update (systems may move entities too)
         ecsWorld.update(deltaTime);
+        markTransformsWritten();
+        long updateEnd = System.nanoTime();
+        metrics.recordStage(BridgeMetrics.Stage.ECS_UPDATE, updateEnd - inboundEnd);
 
-        // 5. Execute outbound sync (ECS -> MC)
+        // 5. Execute outbound sync (ECS -> MC), dirty slots only
         batchProcessor.syncOutbound(batch, batchSize, mcEntities);
+        metrics.recordStage(BridgeMetrics.Stage.OUTBOUND_SYNC, System.nanoTime() - updateEnd);
+
+        return updateEnd - inboundEnd;
+    }
+
+    /**
+     * Drops the buffered render frame once this tick has rewritten transforms.
+     */
+    private void markTransformsWritten() {
+        InterpolationSystem interpolation = interpolationSystem;
+        if (interpolation != null) {
+            interpolation.onTransformsWritten();
+        }
     }
 
-    private int collectActiveSlots(int[] batch) {
-        int count = 0;
-        int maxBatch = batch.length;
+    /**
+     * Applies a load-shedding level; levels are cumulative, so each knob is set from the
+     * target level alone. LOD bias is read by entity LOD calculation directly.
+     */
+    private void applyShedLevel(LoadShedder.ShedLevel from, LoadShedder.ShedLevel to, String reason) {
+        boolean skipNonCritical = to.compareTo(LoadShedder.ShedLevel.SKIP_NON_CRITICAL) >= 0;
+        World world = ecsWorld;
+        if (world != null) {
+            // RENDER stays suspended in World.update at every level; onRenderTick drives it
+            world.setStageSuspended(SystemScheduler.Stage.RENDER_PREPARE, skipNonCritical);
+        }
 
-        for (int slot = 0; slot < MAX_ENTITIES && count < maxBatch; slot++) {
-            if (slotStates[slot].get() == SLOT_ACTIVE) {
-                batch[count++] = slot;
-            }
+        InterpolationSystem interpolation = interpolationSystem;
+        if (interpolation != null) {
+            interpolation.setBulkPass(to.compareTo(LoadShedder.ShedLevel.MINIMAL_INTERPOLATION) < 0);
         }
 
+        metrics.recordShedLevelChange(from, to, reason);
+    }
+
+    /**
+     * Copies the dense active-slot list into this thread's batch buffer, growing it to the
+     * live count, and sorts it ascending. Swap-remove leaves the list unordered, and the bulk
+     * column passes only find runs of consecutive slots in a sorted batch. O(active log active)
+     * rather than O(MAX_ENTITIES).
+     *
+     * @return number of slots in {@link #activeSlotBuffer()}
+     */
+    int collectActiveSlots() {
+        int count;
+        int[] batch;
+        synchronized (activeSlotLock) {
+            count = activeSlotCount;
+            batch = BATCH_BUFFER.get();
+            if (batch.length < count) {
+                batch = new int[Math.min(MAX_ENTITIES, Math.max(count, batch.length << 1))];
+                BATCH_BUFFER.set(batch);
+            }
+            System.arraycopy(activeSlots, 0, batch, 0, count);
+        }
+        java.util.Arrays.sort(batch, 0, count);
         return count;
     }
 
+    /**
+     * This thread's batch buffer, filled by {@link #collectActiveSlots()}.
+     */
+    int[] activeSlotBuffer() {
+        return BATCH_BUFFER.get();
+    }
+
     /**
      * Called during render tick for interpolation.
      *
@@ -838,36 +941,12 @@ public final class MinecraftECSBridge implements AutoCloseable {
      * @param out  output array (length >= 6)
      */
     public void getInterpolatedTransform(int slot, float t, double[] out) {
-        long base = getEntityMemoryOffset(slot);
-
-        // Read previous transform
-        double px = componentMemory.get(ValueLayout.JAVA_DOUBLE, base + BridgeComponents.PREV_TRANSFORM_X);
-        double py = componentMemory.get(ValueLayout.JAVA_DOUBLE, base + BridgeComponents.PREV_TRANSFORM_Y);
-        double pz = componentMemory.get(ValueLayout.JAVA_DOUBLE, base + BridgeComponents.PREV_TRANSFORM_Z);
-        float pYaw = componentMemory.get(ValueLayout.JAVA_FLOAT, base + BridgeComponents.PREV_TRANSFORM_YAW);
-        float pPitch = componentMemory.get(ValueLayout.JAVA_FLOAT, base + BridgeComponents.PREV_TRANSFORM_PITCH);
-        float pRoll = componentMemory.get(ValueLayout.JAVA_FLOAT, base + BridgeComponents.PREV_TRANSFORM_ROLL);
-
-        // Read current transform
-        double cx = componentMemory.get(ValueLayout.JAVA_DOUBLE, base + BridgeComponents.TRANSFORM_X);
-        double cy = componentMemory.get(ValueLayout.JAVA_DOUBLE, base + BridgeComponents.TRANSFORM_Y);
-        double cz = componentMemory.get(ValueLayout.JAVA_DOUBLE, base + BridgeComponents.TRANSFORM_Z);
-        float cYaw = componentMemory.get(ValueLayout.JAVA_FLOAT, base + BridgeComponents.TRANSFORM_YAW);
-        float cPitch = componentMemory.get(ValueLayout.JAVA_FLOAT, base + BridgeComponents.TRANSFORM_PITCH);
-        float cRoll = componentMemory.get(ValueLayout.JAVA_FLOAT, base + BridgeComponents.TRANSFORM_ROLL);
-
-        // Interpolate
-        out[0] = px + (cx - px) * t;
-        out[1] = py + (cy - py) * t;
-        out[2] = pz + (cz - pz) * t;
-        out[3] = lerpAngle(pYaw, cYaw, t);
-        out[4] = pPitch + (cPitch - pPitch) * t;
-        out[5] = pRoll + (cRoll - pRoll) * t;
-    }
-
-    private static float lerpAngle(float from, float to, float t) {
-        float diff = ((to - from + 540.0f) % 360.0f) - 180.0f;
-        return from + diff * t;
+        // Bulk render pass result for this frame, else interpolate this entity alone
+        InterpolationSystem interpolation = interpolationSystem;
+        if (interpolation != null && interpolation.read(slot, t, out)) {
+            return;
+        }
+        transforms.interpolate(slot, t, out);
     }
 
     // ========================================================================
@@ -913,6 +992,10 @@ public final class MinecraftECSBridge implements AutoCloseable {
         return circuitBreaker;
     }
 
+    public LoadShedder getLoadShedder() {
+        return loadShedder;
+    }
+
     // ========================================================================
     // LIFECYCLE CONTROL
     // ========================================================================
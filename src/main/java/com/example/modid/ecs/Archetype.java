@@ -19,6 +19,7 @@ import java.util.stream.*;
  * <p>Core Features:</p>
  * <ul>
  *   <li>Structure-of-Arrays (SoA) memory layout for cache efficiency</li>
+ *   <li>Chunked column storage sized by population, not world capacity</li>
  *   <li>Foreign Memory API for off-heap component storage</li>
  *   <li>Lock-free entity management with optimistic reads</li>
  *   <li>Archetype edge graph for fast entity migration</li>
@@ -62,7 +63,8 @@ public final class Archetype implements AutoCloseable {
         boolean useOffHeap,
         boolean trackChanges,
         boolean enableGpu,
-        boolean buildEdgeGraph
+        boolean buildEdgeGraph,
+        boolean chunkedStorage
     ) {
         public static Config defaults() {
             return new Config(
@@ -71,6 +73,7 @@ public final class Archetype implements AutoCloseable {
                 true,
                 true,
                 false,
+                true,
                 true
             );
         }
@@ -86,6 +89,7 @@ public final class Archetype implements AutoCloseable {
             private boolean trackChanges = true;
             private boolean enableGpu = false;
             private boolean buildEdgeGraph = true;
+            private boolean chunkedStorage = true;
 
             public Builder initialCapacity(int val) { initialCapacity = val; return this; }
             public Builder chunkSize(int val) { chunkSize = val; return this; }
@@ -93,10 +97,11 @@ public final class Archetype implements AutoCloseable {
             public Builder trackChanges(boolean val) { trackChanges = val; return this; }
             public Builder enableGpu(boolean val) { enableGpu = val; return this; }
             public Builder buildEdgeGraph(boolean val) { buildEdgeGraph = val; return this; }
+            public Builder chunkedStorage(boolean val) { chunkedStorage = val; return this; }
 
             public Config build() {
                 return new Config(initialCapacity, chunkSize, useOffHeap,
-                    trackChanges, enableGpu, buildEdgeGraph);
+                    trackChanges, enableGpu, buildEdgeGraph, chunkedStorage);
             }
         }
     }
@@ -155,6 +160,11 @@ public final class Archetype implements AutoCloseable {
         Map<Integer, byte[]> componentData
     ) {}
 
+    /**
+     * Cached chunk views tied to an entity version.
+     */
+    private record ChunkCache(long entityVersion, int chunkSize, List<EntityChunk> chunks) {}
+
     /**
      * Chunk of entities for batch processing.
      */
@@ -194,20 +204,35 @@ public final class Archetype implements AutoCloseable {
     /** Extended mask for types beyond 64 */
     private final BitSet extendedMask;
 
+    /** Arbitrary-width mask used for archetype lookup and query matching */
+    private final ArchetypeMask mask;
+
     /** Precomputed hash for archetype lookup */
     private final int hash;
 
     /** Human-readable archetype signature */
     private final String signature;
 
-    /** Component arrays (SoA storage) - keyed by type ID */
+    /** Component arrays (per-type sparse sets) - keyed by type ID, empty when chunked */
     private final Map<Integer, ComponentArray> componentArrays;
 
-    /** Entities in this archetype */
-    private final List<Entity> entities;
+    /** Chunked column storage indexed by archetype slot, null for sparse-set archetypes */
+    private final ChunkStorage storage;
+
+    /** Dense packed entity handles ({@link Entity#pack()}), ordered by archetype slot */
+    private long[] densePacked;
 
-    /** Entity index to archetype slot mapping */
-    private final ConcurrentHashMap<Integer, Integer> entityIndexToSlot;
+    /** Dense entity records parallel to {@link #densePacked}, so iteration never re-creates handles */
+    private Entity[] denseEntities;
+
+    /** Sparse entity index to (slot + 1) mapping; 0 means not present */
+    private int[] sparseSlots;
+
+    /** Number of live slots in the dense arrays */
+    private volatile int entityCount;
+
+    /** Cached chunk views, rebuilt only when entityVersion or chunk size changes */
+    private volatile ChunkCache chunkCache = new ChunkCache(-1, -1, List.of());
 
     /** Edge graph for fast archetype transitions */
     private final ConcurrentHashMap<Long, Edge> addEdges;    // typeId -> target archetype (add)
@@ -221,6 +246,9 @@ public final class Archetype implements AutoCloseable {
     private final AtomicLong version = new AtomicLong(0);
     private final AtomicLong entityVersion = new AtomicLong(0);
 
+    /** Source of per-row change versions, shared by every archetype of a world */
+    private final AtomicLong changeClock;
+
     /** Statistics */
     private final LongAdder entityAddCount = new LongAdder();
     private final LongAdder entityRemoveCount = new LongAdder();
@@ -259,7 +287,15 @@ public final class Archetype implements AutoCloseable {
      * Create archetype with full configuration.
      */
     Archetype(int id, int[] typeIds, ComponentRegistry registry, Config config) {
+        this(id, typeIds, registry, config, new AtomicLong(0));
+    }
+
+    /**
+     * Create archetype whose row change versions come from a shared (world) clock.
+     */
+    Archetype(int id, int[] typeIds, ComponentRegistry registry, Config config, AtomicLong changeClock) {
         this.id = id;
+        this.changeClock = Objects.requireNonNull(changeClock, "Change clock cannot be null");
         this.registry = Objects.requireNonNull(registry, "Registry cannot be null");
         this.config = Objects.requireNonNull(config, "Config cannot be null");
 
@@ -269,34 +305,45 @@ public final class Archetype implements AutoCloseable {
 
         // Initialize collections
         this.componentArrays = new ConcurrentHashMap<>();
-        this.entities = new CopyOnWriteArrayList<>();
-        this.entityIndexToSlot = new ConcurrentHashMap<>();
+        int initialCapacity = Math.max(1, config.initialCapacity());
+        this.densePacked = new long[initialCapacity];
+        this.denseEntities = new Entity[initialCapacity];
+        this.sparseSlots = new int[initialCapacity];
         this.addEdges = new ConcurrentHashMap<>();
         this.removeEdges = new ConcurrentHashMap<>();
 
+        // GPU mirroring still relies on ComponentArray buffers
+        boolean chunked = config.chunkedStorage() && !config.enableGpu();
+        int[] columnSizes = new int[componentTypeIds.length];
+
         // Build component mask and info
-        long mask = 0;
+        long lowMask = 0;
         BitSet extended = new BitSet();
         List<ComponentInfo> infos = new ArrayList<>();
         int offset = 0;
 
-        for (int typeId : componentTypeIds) {
+        for (int c = 0; c < componentTypeIds.length; c++) {
+            int typeId = componentTypeIds[c];
             // Build mask
             if (typeId < 64) {
-                mask |= (1L << typeId);
+                lowMask |= (1L << typeId);
             }
             extended.set(typeId);
 
-            // Create component array
             ComponentRegistry.ComponentType type = registry.getType(typeId);
-            ComponentArray.Config arrayConfig = ComponentArray.Config.builder()
-                .initialCapacity(config.initialCapacity())
-                .useOffHeap(config.useOffHeap())
-                .trackChanges(config.trackChanges())
-                .enableGpu(config.enableGpu() && type.isGpuAccessible())
-                .build();
+            columnSizes[c] = type.sizeBytes();
 
-            componentArrays.put(typeId, new ComponentArray(type, arrayConfig));
+            // Create component array
+            if (!chunked) {
+                ComponentArray.Config arrayConfig = ComponentArray.Config.builder()
+                    .initialCapacity(config.initialCapacity())
+                    .useOffHeap(config.useOffHeap())
+                    .trackChanges(config.trackChanges())
+                    .enableGpu(config.enableGpu() && type.isGpuAccessible())
+                    .build();
+
+                componentArrays.put(typeId, new ComponentArray(type, arrayConfig, changeClock));
+            }
 
             // Build component info
             infos.add(new ComponentInfo(
@@ -309,8 +356,12 @@ public final class Archetype implements AutoCloseable {
             offset += type.sizeBytes();
         }
 
-        this.componentMask = mask;
+        this.storage = chunked
+            ? new ChunkStorage(componentTypeIds, columnSizes, config.useOffHeap(), config.trackChanges(), changeClock)
+            : null;
+        this.componentMask = lowMask;
         this.extendedMask = extended;
+        this.mask = ArchetypeMask.ofIds(componentTypeIds);
         this.componentInfos = List.copyOf(infos);
         this.hash = Arrays.hashCode(componentTypeIds);
         this.signature = buildSignature();
@@ -337,7 +388,7 @@ public final class Archetype implements AutoCloseable {
         if (typeId < 64) {
             return (componentMask & (1L << typeId)) != 0;
         }
-        return extendedMask.get(typeId);
+        return mask.has(typeId);
     }
 
     /**
@@ -363,6 +414,13 @@ public final class Archetype implements AutoCloseable {
         return test.equals(mask);
     }
 
+    /**
+     * Check if archetype has all specified components (arbitrary width).
+     */
+    public boolean hasAllComponents(ArchetypeMask required) {
+        return mask.containsAll(required);
+    }
+
     /**
      * Check if archetype has any of specified components.
      */
@@ -385,6 +443,18 @@ public final class Archetype implements AutoCloseable {
         return matchesQuery(requiredMask, excludedMask);
     }
 
+    /**
+     * Check if archetype matches query (arbitrary width, single-word fast path).
+     */
+    public boolean matchesQuery(ArchetypeMask requiredMask, ArchetypeMask excludedMask) {
+        if (requiredMask.isSingleWord() && excludedMask.isSingleWord()) {
+            long required = requiredMask.low();
+            return (componentMask & required) == required &&
+                   (componentMask & excludedMask.low()) == 0;
+        }
+        return mask.matches(requiredMask, excludedMask);
+    }
+
     /**
      * Get component mask.
      */
@@ -392,6 +462,13 @@ public final class Archetype implements AutoCloseable {
         return componentMask;
     }
 
+    /**
+     * Get arbitrary-width component mask.
+     */
+    public ArchetypeMask getMask() {
+        return mask;
+    }
+
     /**
      * Get extended component mask.
      */
@@ -441,13 +518,24 @@ public final class Archetype implements AutoCloseable {
         entityLock.writeLock().lock();
         try {
             // Check if already present
-            if (entityIndexToSlot.containsKey(entity.index())) {
-                return entityIndexToSlot.get(entity.index());
+            int existing = slotOfUnlocked(entity.index());
+            if (existing >= 0) {
+                return existing;
+            }
+
+            int archetypeIndex = entityCount;
+            ensureDenseCapacity(archetypeIndex + 1);
+            ensureSparseCapacity(entity.index() + 1);
+
+            if (storage != null) {
+                storage.ensureCapacity(archetypeIndex + 1);
+                storage.clearRow(archetypeIndex);
             }
 
-            int archetypeIndex = entities.size();
-            entities.add(entity);
-            entityIndexToSlot.put(entity.index(), archetypeIndex);
+            densePacked[archetypeIndex] = entity.pack();
+            denseEntities[archetypeIndex] = entity;
+            sparseSlots[entity.index()] = archetypeIndex + 1;
+            entityCount = archetypeIndex + 1;
 
             entityAddCount.increment();
             entityVersion.incrementAndGet();
@@ -469,23 +557,12 @@ public final class Archetype implements AutoCloseable {
 
         entityLock.writeLock().lock();
         try {
-            Integer archetypeIndex = entityIndexToSlot.remove(entity.index());
-            if (archetypeIndex == null) return false;
-
-            int lastIndex = entities.size() - 1;
+            int archetypeIndex = slotOfUnlocked(entity.index());
+            if (archetypeIndex < 0) return false;
 
-            // Swap with last entity if not already last
-            if (archetypeIndex != lastIndex) {
-                Entity lastEntity = entities.get(lastIndex);
-                entities.set(archetypeIndex, lastEntity);
-                entityIndexToSlot.put(lastEntity.index(), archetypeIndex);
-            }
-
-            entities.remove(lastIndex);
-
-            // Remove component data from all arrays
-            for (ComponentArray array : componentArrays.values()) {
-                array.remove(entity.index());
+            removeSlot(archetypeIndex);
+            if (storage != null) {
+                storage.trim(entityCount);
             }
 
             entityRemoveCount.increment();
@@ -503,7 +580,7 @@ public final class Archetype implements AutoCloseable {
      * Check if entity is in this archetype.
      */
     public boolean containsEntity(Entity entity) {
-        return entity != null && entityIndexToSlot.containsKey(entity.index());
+        return entity != null && slotOf(entity.index()) >= 0;
     }
 
     /**
@@ -511,44 +588,146 @@ public final class Archetype implements AutoCloseable {
      */
     public OptionalInt getEntitySlot(Entity entity) {
         if (entity == null) return OptionalInt.empty();
-        Integer slot = entityIndexToSlot.get(entity.index());
-        return slot != null ? OptionalInt.of(slot) : OptionalInt.empty();
+        int slot = slotOf(entity.index());
+        return slot >= 0 ? OptionalInt.of(slot) : OptionalInt.empty();
+    }
+
+    /**
+     * Get archetype slot for entity index, or -1 if absent (allocation-free).
+     */
+    public int slotOf(int entityIndex) {
+        entityLock.readLock().lock();
+        try {
+            return slotOfUnlocked(entityIndex);
+        } finally {
+            entityLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Slot lookup for callers already holding the entity lock.
+     */
+    private int slotOfUnlocked(int entityIndex) {
+        int[] sparse = sparseSlots;
+        if (entityIndex < 0 || entityIndex >= sparse.length) return -1;
+        return sparse[entityIndex] - 1;
     }
 
     /**
      * Get entity at archetype slot.
      */
     public Optional<Entity> getEntityAt(int slot) {
-        if (slot < 0 || slot >= entities.size()) return Optional.empty();
-        return Optional.of(entities.get(slot));
+        entityLock.readLock().lock();
+        try {
+            if (slot < 0 || slot >= entityCount) return Optional.empty();
+            return Optional.ofNullable(denseEntities[slot]);
+        } finally {
+            entityLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Get packed entity handle at archetype slot, or {@code Entity.NULL.pack()} if out of range.
+     */
+    public long getPackedEntityAt(int slot) {
+        entityLock.readLock().lock();
+        try {
+            if (slot < 0 || slot >= entityCount) return Entity.NULL.pack();
+            return densePacked[slot];
+        } finally {
+            entityLock.readLock().unlock();
+        }
     }
 
     /**
      * Get entity count.
      */
     public int getEntityCount() {
-        return entities.size();
+        return entityCount;
     }
 
     /**
      * Check if empty.
      */
     public boolean isEmpty() {
-        return entities.isEmpty();
+        return entityCount == 0;
     }
 
     /**
-     * Get entities (unmodifiable view).
+     * Get entities (unmodifiable snapshot).
      */
     public List<Entity> getEntities() {
-        return Collections.unmodifiableList(entities);
+        entityLock.readLock().lock();
+        try {
+            return Collections.unmodifiableList(Arrays.asList(Arrays.copyOf(denseEntities, entityCount)));
+        } finally {
+            entityLock.readLock().unlock();
+        }
     }
 
     /**
      * Get entity indices.
      */
     public int[] getEntityIndices() {
-        return entities.stream().mapToInt(Entity::index).toArray();
+        entityLock.readLock().lock();
+        try {
+            int count = entityCount;
+            int[] indices = new int[count];
+            for (int i = 0; i < count; i++) {
+                indices[i] = Entity.indexOf(densePacked[i]);
+            }
+            return indices;
+        } finally {
+            entityLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Swap-remove a slot (caller holds the write lock; chunk trimming is left to the caller).
+     */
+    private void removeSlot(int slot) {
+        int lastIndex = entityCount - 1;
+        int entityIndex = Entity.indexOf(densePacked[slot]);
+
+        // Swap with last entity if not already last
+        if (slot != lastIndex) {
+            long lastPacked = densePacked[lastIndex];
+            densePacked[slot] = lastPacked;
+            denseEntities[slot] = denseEntities[lastIndex];
+            sparseSlots[Entity.indexOf(lastPacked)] = slot + 1;
+            if (storage != null) {
+                storage.moveRow(lastIndex, slot);
+            }
+        }
+
+        denseEntities[lastIndex] = null;
+        sparseSlots[entityIndex] = 0;
+        entityCount = lastIndex;
+
+        if (storage == null) {
+            for (ComponentArray array : componentArrays.values()) {
+                array.remove(entityIndex);
+            }
+        }
+    }
+
+    /**
+     * Grow dense arrays to hold at least {@code required} slots.
+     */
+    private void ensureDenseCapacity(int required) {
+        if (required <= densePacked.length) return;
+        int newCapacity = Math.max(required, densePacked.length + (densePacked.length >> 1) + 1);
+        densePacked = Arrays.copyOf(densePacked, newCapacity);
+        denseEntities = Arrays.copyOf(denseEntities, newCapacity);
+    }
+
+    /**
+     * Grow sparse array to cover entity indices below {@code required}.
+     */
+    private void ensureSparseCapacity(int required) {
+        if (required <= sparseSlots.length) return;
+        int newCapacity = Math.max(required, sparseSlots.length << 1);
+        sparseSlots = Arrays.copyOf(sparseSlots, newCapacity);
     }
 
     // ========================================================================
@@ -561,8 +740,26 @@ public final class Archetype implements AutoCloseable {
     public void forEachEntity(Consumer<Entity> consumer) {
         entityLock.readLock().lock();
         try {
-            for (Entity entity : entities) {
-                consumer.accept(entity);
+            Entity[] dense = denseEntities;
+            int count = entityCount;
+            for (int i = 0; i < count; i++) {
+                consumer.accept(dense[i]);
+            }
+        } finally {
+            entityLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Iterate over packed entity handles without touching Entity records.
+     */
+    public void forEachPackedEntity(LongConsumer consumer) {
+        entityLock.readLock().lock();
+        try {
+            long[] dense = densePacked;
+            int count = entityCount;
+            for (int i = 0; i < count; i++) {
+                consumer.accept(dense[i]);
             }
         } finally {
             entityLock.readLock().unlock();
@@ -575,8 +772,10 @@ public final class Archetype implements AutoCloseable {
     public void forEachEntityIndexed(BiConsumer<Integer, Entity> consumer) {
         entityLock.readLock().lock();
         try {
-            for (int i = 0; i < entities.size(); i++) {
-                consumer.accept(i, entities.get(i));
+            Entity[] dense = denseEntities;
+            int count = entityCount;
+            for (int i = 0; i < count; i++) {
+                consumer.accept(i, dense[i]);
             }
         } finally {
             entityLock.readLock().unlock();
@@ -587,14 +786,14 @@ public final class Archetype implements AutoCloseable {
      * Parallel entity iteration.
      */
     public void forEachEntityParallel(Consumer<Entity> consumer) {
-        if (entities.size() < PARALLEL_THRESHOLD) {
+        if (entityCount < PARALLEL_THRESHOLD) {
             forEachEntity(consumer);
             return;
         }
 
         entityLock.readLock().lock();
         try {
-            entities.parallelStream().forEach(consumer);
+            Arrays.stream(denseEntities, 0, entityCount).parallel().forEach(consumer);
         } finally {
             entityLock.readLock().unlock();
         }
@@ -604,14 +803,14 @@ public final class Archetype implements AutoCloseable {
      * Stream entities.
      */
     public Stream<Entity> entityStream() {
-        return entities.stream();
+        return getEntities().stream();
     }
 
     /**
      * Parallel entity stream.
      */
     public Stream<Entity> entityParallelStream() {
-        return entities.parallelStream();
+        return getEntities().parallelStream();
     }
 
     /**
@@ -623,25 +822,44 @@ public final class Archetype implements AutoCloseable {
 
     /**
      * Get entity chunks with custom size.
+     *
+     * <p>Chunks view a snapshot of the entity list taken at the current entity version, so a
+     * list handed out earlier never sees later swap-removes; the snapshot is cached and only
+     * rebuilt after a structural change.</p>
      */
     public List<EntityChunk> getEntityChunks(int chunkSize) {
-        List<EntityChunk> chunks = new ArrayList<>();
-        int size = entities.size();
-
-        for (int start = 0; start < size; start += chunkSize) {
-            int end = Math.min(start + chunkSize, size);
-            chunks.add(new EntityChunk(start, end, entities.subList(start, end)));
+        ChunkCache cache = chunkCache;
+        if (cache.entityVersion() == entityVersion.get() && cache.chunkSize() == chunkSize) {
+            return cache.chunks();
         }
 
-        return chunks;
+        entityLock.readLock().lock();
+        try {
+            long currentVersion = entityVersion.get();
+            int size = entityCount;
+            List<Entity> view = Collections.unmodifiableList(Arrays.asList(Arrays.copyOf(denseEntities, size)));
+            List<EntityChunk> chunks = new ArrayList<>((size + chunkSize - 1) / chunkSize);
+
+            for (int start = 0; start < size; start += chunkSize) {
+                int end = Math.min(start + chunkSize, size);
+                chunks.add(new EntityChunk(start, end, view.subList(start, end)));
+            }
+
+            List<EntityChunk> result = Collections.unmodifiableList(chunks);
+            chunkCache = new ChunkCache(currentVersion, chunkSize, result);
+            return result;
+        } finally {
+            entityLock.readLock().unlock();
+        }
     }
 
     /**
      * Process entities in chunks.
      */
     public void forEachChunk(Consumer<EntityChunk> consumer) {
-        for (EntityChunk chunk : getEntityChunks()) {
-            consumer.accept(chunk);
+        List<EntityChunk> chunks = getEntityChunks();
+        for (int i = 0, n = chunks.size(); i < n; i++) {
+            consumer.accept(chunks.get(i));
         }
     }
 
@@ -661,6 +879,20 @@ public final class Archetype implements AutoCloseable {
      */
     public void setComponent(int entityIndex, int typeId, ByteBuffer data) {
         checkNotClosed();
+        if (storage != null) {
+            entityLock.readLock().lock();
+            try {
+                int slot = slotOfUnlocked(entityIndex);
+                int column = storage.columnOf(typeId);
+                if (slot >= 0 && column >= 0) {
+                    storage.write(slot, column, data);
+                    componentAccessCount.increment();
+                }
+            } finally {
+                entityLock.readLock().unlock();
+            }
+            return;
+        }
         ComponentArray array = componentArrays.get(typeId);
         if (array != null) {
             array.add(entityIndex, data);
@@ -674,6 +906,20 @@ public final class Archetype implements AutoCloseable {
      */
     public void setComponent(int entityIndex, int typeId, MemorySegment data) {
         checkNotClosed();
+        if (storage != null) {
+            entityLock.readLock().lock();
+            try {
+                int slot = slotOfUnlocked(entityIndex);
+                int column = storage.columnOf(typeId);
+                if (slot >= 0 && column >= 0) {
+                    storage.write(slot, column, data);
+                    componentAccessCount.increment();
+                }
+            } finally {
+                entityLock.readLock().unlock();
+            }
+            return;
+        }
         ComponentArray array = componentArrays.get(typeId);
         if (array != null) {
             array.add(entityIndex, data);
@@ -693,6 +939,20 @@ public final class Archetype implements AutoCloseable {
      * Set component with float values.
      */
     public void setComponentFloats(int entityIndex, int typeId, float... values) {
+        if (storage != null) {
+            entityLock.readLock().lock();
+            try {
+                int slot = slotOfUnlocked(entityIndex);
+                int column = storage.columnOf(typeId);
+                if (slot >= 0 && column >= 0) {
+                    storage.writeFloats(slot, column, values);
+                    componentAccessCount.increment();
+                }
+            } finally {
+                entityLock.readLock().unlock();
+            }
+            return;
+        }
         ComponentArray array = componentArrays.get(typeId);
         if (array != null) {
             array.addFloats(entityIndex, values);
@@ -705,6 +965,20 @@ public final class Archetype implements AutoCloseable {
      * Set component with int values.
      */
     public void setComponentInts(int entityIndex, int typeId, int... values) {
+        if (storage != null) {
+            entityLock.readLock().lock();
+            try {
+                int slot = slotOfUnlocked(entityIndex);
+                int column = storage.columnOf(typeId);
+                if (slot >= 0 && column >= 0) {
+                    storage.writeInts(slot, column, values);
+                    componentAccessCount.increment();
+                }
+            } finally {
+                entityLock.readLock().unlock();
+            }
+            return;
+        }
         ComponentArray array = componentArrays.get(typeId);
         if (array != null) {
             array.addInts(entityIndex, values);
@@ -715,10 +989,22 @@ public final class Archetype implements AutoCloseable {
 
     /**
      * Get component data as ByteBuffer.
+     *
+     * <p>For chunked archetypes the returned view is only valid until the next structural change.</p>
      */
     public ByteBuffer getComponent(int entityIndex, int typeId) {
-        ComponentArray array = componentArrays.get(typeId);
         componentAccessCount.increment();
+        if (storage != null) {
+            entityLock.readLock().lock();
+            try {
+                int slot = slotOfUnlocked(entityIndex);
+                int column = storage.columnOf(typeId);
+                return slot >= 0 && column >= 0 ? storage.elementBuffer(slot, column) : null;
+            } finally {
+                entityLock.readLock().unlock();
+            }
+        }
+        ComponentArray array = componentArrays.get(typeId);
         return array != null ? array.get(entityIndex) : null;
     }
 
@@ -731,17 +1017,44 @@ public final class Archetype implements AutoCloseable {
 
     /**
      * Get component data as MemorySegment (zero-copy).
+     *
+     * <p>For chunked archetypes the returned view is only valid until the next structural change.</p>
      */
     public MemorySegment getComponentSegment(int entityIndex, int typeId) {
-        ComponentArray array = componentArrays.get(typeId);
         componentAccessCount.increment();
+        if (storage != null) {
+            entityLock.readLock().lock();
+            try {
+                int slot = slotOfUnlocked(entityIndex);
+                int column = storage.columnOf(typeId);
+                return slot >= 0 && column >= 0 ? storage.element(slot, column) : null;
+            } finally {
+                entityLock.readLock().unlock();
+            }
+        }
+        ComponentArray array = componentArrays.get(typeId);
         return array != null ? array.getSegment(entityIndex) : null;
     }
 
     /**
      * Get mutable component segment.
+     *
+     * <p>For chunked archetypes the returned view is only valid until the next structural change.</p>
      */
     public MemorySegment getMutableComponent(int entityIndex, int typeId) {
+        if (storage != null) {
+            entityLock.readLock().lock();
+            try {
+                int slot = slotOfUnlocked(entityIndex);
+                int column = storage.columnOf(typeId);
+                if (slot < 0 || column < 0) return null;
+                componentAccessCount.increment();
+                storage.markChanged(slot, column);
+                return storage.element(slot, column);
+            } finally {
+                entityLock.readLock().unlock();
+            }
+        }
         ComponentArray array = componentArrays.get(typeId);
         if (array != null) {
             componentAccessCount.increment();
@@ -752,14 +1065,14 @@ public final class Archetype implements AutoCloseable {
     }
 
     /**
-     * Get component array for type.
+     * Get component array for type (null for chunked archetypes).
      */
     public ComponentArray getComponentArray(int typeId) {
         return componentArrays.get(typeId);
     }
 
     /**
-     * Get component array by class.
+     * Get component array by class (null for chunked archetypes).
      */
     public ComponentArray getComponentArray(Class<?> componentClass) {
         return componentArrays.get(registry.getType(componentClass).id());
@@ -779,6 +1092,81 @@ public final class Archetype implements AutoCloseable {
         return Collections.unmodifiableMap(componentArrays);
     }
 
+    // ========================================================================
+    // CHUNKED COLUMN ACCESS
+    // ========================================================================
+
+    /**
+     * Check if this archetype uses chunked column storage.
+     */
+    public boolean isChunked() {
+        return storage != null;
+    }
+
+    /**
+     * Get chunked column storage (null for sparse-set archetypes).
+     */
+    public ChunkStorage getStorage() {
+        return storage;
+    }
+
+    /**
+     * Visit each chunk's float view of a component column; the int is the chunk's first slot.
+     */
+    public void forEachFloatColumn(int typeId, ObjIntConsumer<ChunkStorage.FloatColumn> consumer) {
+        if (storage == null) return;
+        int column = storage.columnOf(typeId);
+        if (column < 0) return;
+
+        entityLock.readLock().lock();
+        try {
+            int count = entityCount;
+            for (int c = 0, n = storage.usedChunks(count); c < n; c++) {
+                consumer.accept(storage.floatColumn(c, column, count), c * storage.rowsPerChunk());
+            }
+        } finally {
+            entityLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Visit each chunk's double view of a component column; the int is the chunk's first slot.
+     */
+    public void forEachDoubleColumn(int typeId, ObjIntConsumer<ChunkStorage.DoubleColumn> consumer) {
+        if (storage == null) return;
+        int column = storage.columnOf(typeId);
+        if (column < 0) return;
+
+        entityLock.readLock().lock();
+        try {
+            int count = entityCount;
+            for (int c = 0, n = storage.usedChunks(count); c < n; c++) {
+                consumer.accept(storage.doubleColumn(c, column, count), c * storage.rowsPerChunk());
+            }
+        } finally {
+            entityLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Visit each chunk's raw column block; the int is the chunk's first slot.
+     */
+    public void forEachColumnSegment(int typeId, ObjIntConsumer<MemorySegment> consumer) {
+        if (storage == null) return;
+        int column = storage.columnOf(typeId);
+        if (column < 0) return;
+
+        entityLock.readLock().lock();
+        try {
+            int count = entityCount;
+            for (int c = 0, n = storage.usedChunks(count); c < n; c++) {
+                consumer.accept(storage.columnSegment(c, column, count), c * storage.rowsPerChunk());
+            }
+        } finally {
+            entityLock.readLock().unlock();
+        }
+    }
+
     // ========================================================================
     // TYPED COMPONENT ACCESS
     // ========================================================================
@@ -787,6 +1175,16 @@ public final class Archetype implements AutoCloseable {
      * Get float value from component.
      */
     public float getFloat(int entityIndex, int typeId, int offset) {
+        if (storage != null) {
+            entityLock.readLock().lock();
+            try {
+                int slot = slotOfUnlocked(entityIndex);
+                int column = storage.columnOf(typeId);
+                return slot >= 0 && column >= 0 ? storage.getFloat(slot, column, offset) : 0f;
+            } finally {
+                entityLock.readLock().unlock();
+            }
+        }
         ComponentArray array = componentArrays.get(typeId);
         return array != null ? array.getFloat(entityIndex, offset) : 0f;
     }
@@ -795,6 +1193,19 @@ public final class Archetype implements AutoCloseable {
      * Set float value in component.
      */
     public void setFloat(int entityIndex, int typeId, int offset, float value) {
+        if (storage != null) {
+            entityLock.readLock().lock();
+            try {
+                int slot = slotOfUnlocked(entityIndex);
+                int column = storage.columnOf(typeId);
+                if (slot >= 0 && column >= 0) {
+                    storage.setFloat(slot, column, offset, value);
+                }
+            } finally {
+                entityLock.readLock().unlock();
+            }
+            return;
+        }
         ComponentArray array = componentArrays.get(typeId);
         if (array != null) {
             array.setFloat(entityIndex, offset, value);
@@ -806,6 +1217,16 @@ public final class Archetype implements AutoCloseable {
      * Get int value from component.
      */
     public int getInt(int entityIndex, int typeId, int offset) {
+        if (storage != null) {
+            entityLock.readLock().lock();
+            try {
+                int slot = slotOfUnlocked(entityIndex);
+                int column = storage.columnOf(typeId);
+                return slot >= 0 && column >= 0 ? storage.getInt(slot, column, offset) : 0;
+            } finally {
+                entityLock.readLock().unlock();
+            }
+        }
         ComponentArray array = componentArrays.get(typeId);
         return array != null ? array.getInt(entityIndex, offset) : 0;
     }
@@ -814,6 +1235,19 @@ public final class Archetype implements AutoCloseable {
      * Set int value in component.
      */
     public void setInt(int entityIndex, int typeId, int offset, int value) {
+        if (storage != null) {
+            entityLock.readLock().lock();
+            try {
+                int slot = slotOfUnlocked(entityIndex);
+                int column = storage.columnOf(typeId);
+                if (slot >= 0 && column >= 0) {
+                    storage.setInt(slot, column, offset, value);
+                }
+            } finally {
+                entityLock.readLock().unlock();
+            }
+            return;
+        }
         ComponentArray array = componentArrays.get(typeId);
         if (array != null) {
             array.setInt(entityIndex, offset, value);
@@ -831,6 +1265,8 @@ public final class Archetype implements AutoCloseable {
     public void copyEntityData(Entity source, Entity target, Archetype sourceArchetype) {
         Objects.requireNonNull(sourceArchetype, "Source archetype cannot be null");
 
+        if (copyRowChunked(source, target, sourceArchetype)) return;
+
         for (int typeId : componentTypeIds) {
             if (sourceArchetype.hasComponent(typeId)) {
                 ByteBuffer data = sourceArchetype.getComponent(source.index(), typeId);
@@ -847,11 +1283,13 @@ public final class Archetype implements AutoCloseable {
     public void copyEntityDataSegment(Entity source, Entity target, Archetype sourceArchetype) {
         Objects.requireNonNull(sourceArchetype, "Source archetype cannot be null");
 
-        for (int typeId : componentTypeIds) {
-            if (sourceArchetype.hasComponent(typeId)) {
-                MemorySegment data = sourceArchetype.getComponentSegment(source.index(), typeId);
-                if (data != null) {
-                    setComponent(target.index(), typeId, data);
+        if (!copyRowChunked(source, target, sourceArchetype)) {
+            for (int typeId : componentTypeIds) {
+                if (sourceArchetype.hasComponent(typeId)) {
+                    MemorySegment data = sourceArchetype.getComponentSegment(source.index(), typeId);
+                    if (data != null) {
+                        setComponent(target.index(), typeId, data);
+                    }
                 }
             }
         }
@@ -859,11 +1297,143 @@ public final class Archetype implements AutoCloseable {
         migrationCount.increment();
     }
 
+    /**
+     * Row-to-row copy of shared columns when both archetypes are chunked.
+     */
+    private boolean copyRowChunked(Entity source, Entity target, Archetype sourceArchetype) {
+        if (storage == null || sourceArchetype.storage == null) return false;
+
+        // Same id order as transferEntities; a thread already holding the write locks may re-enter
+        Archetype first = sourceArchetype == this || id < sourceArchetype.id ? this : sourceArchetype;
+        Archetype second = first == this ? sourceArchetype : this;
+        first.entityLock.readLock().lock();
+        if (second != first) second.entityLock.readLock().lock();
+        try {
+            int sourceSlot = sourceArchetype.slotOfUnlocked(source.index());
+            int targetSlot = slotOfUnlocked(target.index());
+            if (sourceSlot < 0 || targetSlot < 0) return false;
+
+            storage.copyRowFrom(sourceArchetype.storage, sourceSlot, targetSlot);
+            componentAccessCount.increment();
+            return true;
+        } finally {
+            if (second != first) second.entityLock.readLock().unlock();
+            first.entityLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Move a batch of entities from this archetype into {@code target} (or just remove them when
+     * {@code target} is null).
+     *
+     * <p>Shared component data is copied in runs of consecutive source slots with one bulk copy per
+     * column and chunk span when both sides are chunked; other layouts fall back to per-entity copies.
+     * Entities not in this archetype, stale handles and duplicates are skipped. Source rows are removed
+     * in descending slot order so only surviving rows are moved into the holes.</p>
+     *
+     * @return the number of entities moved
+     */
+    int transferEntities(Archetype target, Entity[] entities, int count) {
+        if (target == this) return 0;
+        checkNotClosed();
+
+        // Lock both in id order so opposing batch moves cannot deadlock
+        Archetype first = target == null || id < target.id ? this : target;
+        Archetype second = first == this ? target : this;
+        first.entityLock.writeLock().lock();
+        if (second != null) second.entityLock.writeLock().lock();
+        try {
+            int[] slots = new int[count];
+            int n = 0;
+            for (int i = 0; i < count; i++) {
+                Entity entity = entities[i];
+                int slot = slotOfUnlocked(entity.index());
+                if (slot >= 0 && densePacked[slot] == entity.pack()
+                        && (target == null || target.slotOfUnlocked(entity.index()) < 0)) {
+                    slots[n++] = slot;
+                }
+            }
+            Arrays.sort(slots, 0, n);
+            int unique = 0;
+            for (int k = 0; k < n; k++) {
+                if (unique == 0 || slots[unique - 1] != slots[k]) slots[unique++] = slots[k];
+            }
+            n = unique;
+            if (n == 0) return 0;
+
+            if (target != null) {
+                target.checkNotClosed();
+                target.appendRowsFrom(this, slots, n);
+            }
+
+            for (int k = n - 1; k >= 0; k--) {
+                removeSlot(slots[k]);
+            }
+            if (storage != null) {
+                storage.trim(entityCount);
+            }
+
+            entityRemoveCount.add(n);
+            entityVersion.incrementAndGet();
+            version.incrementAndGet();
+            return n;
+
+        } finally {
+            if (second != null) second.entityLock.writeLock().unlock();
+            first.entityLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Append the given (ascending) source slots as new rows (caller holds both write locks).
+     */
+    private void appendRowsFrom(Archetype source, int[] slots, int n) {
+        int base = entityCount;
+        ensureDenseCapacity(base + n);
+        if (storage != null) {
+            storage.ensureCapacity(base + n);
+        }
+
+        for (int k = 0; k < n; k++) {
+            long packed = source.densePacked[slots[k]];
+            int entityIndex = Entity.indexOf(packed);
+            ensureSparseCapacity(entityIndex + 1);
+            densePacked[base + k] = packed;
+            denseEntities[base + k] = source.denseEntities[slots[k]];
+            sparseSlots[entityIndex] = base + k + 1;
+        }
+        entityCount = base + n;
+
+        if (storage != null && source.storage != null) {
+            // Runs of consecutive source slots land in consecutive target slots
+            int k = 0;
+            while (k < n) {
+                int run = 1;
+                while (k + run < n && slots[k + run] == slots[k] + run) run++;
+                storage.copyRowsFrom(source.storage, slots[k], base + k, run);
+                k += run;
+            }
+            migrationCount.add(n);
+        } else {
+            for (int k = 0; k < n; k++) {
+                Entity entity = denseEntities[base + k];
+                if (storage != null) {
+                    storage.clearRow(base + k);
+                }
+                copyEntityDataSegment(entity, entity, source);
+            }
+        }
+
+        entityAddCount.add(n);
+        entityVersion.incrementAndGet();
+        version.incrementAndGet();
+    }
+
     /**
      * Migrate entity to target archetype (add component).
      */
     public Optional<Archetype> migrateAdd(Entity entity, int componentTypeId, 
-            Function<Long, Archetype> archetypeProvider) {
+            Function<ArchetypeMask, Archetype> archetypeProvider) {
         
         // Check edge cache
         Edge edge = addEdges.get((long) componentTypeId);
@@ -872,7 +1442,7 @@ public final class Archetype implements AutoCloseable {
         }
 
         // Calculate new mask
-        long newMask = componentMask | (1L << componentTypeId);
+        ArchetypeMask newMask = mask.with(componentTypeId);
         Archetype target = archetypeProvider.apply(newMask);
 
         // Cache edge
@@ -887,7 +1457,7 @@ public final class Archetype implements AutoCloseable {
      * Migrate entity to target archetype (remove component).
      */
     public Optional<Archetype> migrateRemove(Entity entity, int componentTypeId,
-            Function<Long, Archetype> archetypeProvider) {
+            Function<ArchetypeMask, Archetype> archetypeProvider) {
         
         if (!hasComponent(componentTypeId)) {
             return Optional.empty();
@@ -900,8 +1470,8 @@ public final class Archetype implements AutoCloseable {
         }
 
         // Calculate new mask
-        long newMask = componentMask & ~(1L << componentTypeId);
-        if (newMask == 0) {
+        ArchetypeMask newMask = mask.without(componentTypeId);
+        if (newMask.isEmpty()) {
             return Optional.empty(); // Would have no components
         }
 
@@ -974,14 +1544,214 @@ public final class Archetype implements AutoCloseable {
      * Check if component has changed since version.
      */
     public boolean hasComponentChangedSince(int entityIndex, int typeId, long sinceVersion) {
+        if (storage != null) {
+            entityLock.readLock().lock();
+            try {
+                int slot = slotOfUnlocked(entityIndex);
+                int column = storage.columnOf(typeId);
+                return slot >= 0 && column >= 0 && storage.rowVersion(slot, column) > sinceVersion;
+            } finally {
+                entityLock.readLock().unlock();
+            }
+        }
         ComponentArray array = componentArrays.get(typeId);
         return array != null && array.hasChangedSince(entityIndex, sinceVersion);
     }
 
+    /**
+     * Check if any of the given components changed since version.
+     */
+    public boolean hasAnyComponentChangedSince(int entityIndex, int[] typeIds, long sinceVersion) {
+        for (int typeId : typeIds) {
+            if (hasComponentChangedSince(entityIndex, typeId, sinceVersion)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Check if a component type changed for any entity since version.
+     *
+     * <p>With chunked storage this reads only the per-chunk maxima, which may still report rows
+     * removed since. Always false when change tracking is disabled.</p>
+     */
+    public boolean hasComponentTypeChangedSince(int typeId, long sinceVersion) {
+        if (storage != null) {
+            int column = storage.columnOf(typeId);
+            if (column < 0) return false;
+            for (int chunk = 0, n = storage.chunkCount(); chunk < n; chunk++) {
+                if (storage.chunkMaxVersion(chunk, column) > sinceVersion) return true;
+            }
+            return false;
+        }
+        ComponentArray array = componentArrays.get(typeId);
+        return array != null && array.getChangedEntities(sinceVersion).length > 0;
+    }
+
+    /**
+     * Visit entities where any of the given components changed since version.
+     *
+     * <p>With chunked storage, chunks whose per-column maximum version is not newer than
+     * {@code sinceVersion} are skipped without touching their rows. Component types not
+     * stored in this archetype are ignored. When change tracking is disabled every entity
+     * is visited.</p>
+     */
+    public void forEachChangedEntity(int[] typeIds, long sinceVersion, Consumer<Entity> consumer) {
+        forEachEntityInRange(0, Integer.MAX_VALUE, typeIds, sinceVersion, consumer);
+    }
+
+    /**
+     * Rows per iteration chunk: the storage chunk size, or 1 without chunked storage.
+     * Parallel ranges are aligned to this so chunks are never shared between tasks.
+     */
+    public int getChunkRows() {
+        return storage != null ? storage.rowsPerChunk() : 1;
+    }
+
+    /**
+     * Visit entities in slots {@code [fromSlot, toSlot)} (clamped to the live count), optionally
+     * keeping only those where any of {@code changedTypeIds} changed since version (null for no filter).
+     */
+    public void forEachEntityInRange(int fromSlot, int toSlot, int[] changedTypeIds, long sinceVersion,
+            Consumer<Entity> consumer) {
+        boolean filter = changedTypeIds != null && config.trackChanges();
+        int[] columns = filter && storage != null
+            ? Arrays.stream(changedTypeIds).map(storage::columnOf).filter(c -> c >= 0).toArray()
+            : null;
+        if (columns != null && columns.length == 0) return;
+
+        entityLock.readLock().lock();
+        try {
+            Entity[] dense = denseEntities;
+            int end = Math.min(toSlot, entityCount);
+            if (!filter) {
+                for (int slot = fromSlot; slot < end; slot++) {
+                    consumer.accept(dense[slot]);
+                }
+                return;
+            }
+            if (storage == null) {
+                for (int slot = fromSlot; slot < end; slot++) {
+                    if (hasAnyComponentChangedSince(dense[slot].index(), changedTypeIds, sinceVersion)) {
+                        consumer.accept(dense[slot]);
+                    }
+                }
+                return;
+            }
+
+            int rowsPerChunk = storage.rowsPerChunk();
+            for (int start = fromSlot; start < end; ) {
+                int chunk = start / rowsPerChunk;
+                int chunkEnd = Math.min(end, (chunk + 1) * rowsPerChunk);
+                if (storage.chunkChangedSince(chunk, columns, sinceVersion)) {
+                    for (int slot = start; slot < chunkEnd; slot++) {
+                        if (storage.rowChangedSince(slot, columns, sinceVersion)) {
+                            consumer.accept(dense[slot]);
+                        }
+                    }
+                }
+                start = chunkEnd;
+            }
+        } finally {
+            entityLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Visit this archetype chunk by chunk through a reusable cursor.
+     *
+     * <p>With chunked storage no objects are created per chunk or entity. When {@code changedTypeIds}
+     * is non-null, chunks whose summaries show no change after {@code sinceVersion} are skipped and
+     * the rest are presented as runs of consecutive changed rows. Non-chunked archetypes are
+     * presented as one-row chunks.</p>
+     */
+    void forEachChunk(ChunkCursor cursor, int[] changedTypeIds, long sinceVersion, Query.ChunkConsumer consumer) {
+        forEachChunk(cursor, 0, Integer.MAX_VALUE, changedTypeIds, sinceVersion, consumer);
+    }
+
+    /**
+     * Cursor iteration over slots {@code [fromSlot, toSlot)}; {@code fromSlot} must be a multiple
+     * of {@link #getChunkRows()}.
+     */
+    void forEachChunk(ChunkCursor cursor, int fromSlot, int toSlot, int[] changedTypeIds, long sinceVersion,
+            Query.ChunkConsumer consumer) {
+        entityLock.readLock().lock();
+        try {
+            int count = Math.min(toSlot, entityCount);
+            if (fromSlot >= count) return;
+
+            if (storage != null) {
+                cursor.bind(this, storage, densePacked);
+                int[] changedColumns = changedTypeIds != null
+                    ? Arrays.stream(changedTypeIds).map(storage::columnOf).filter(c -> c >= 0).toArray()
+                    : null;
+
+                int rowsPerChunk = storage.rowsPerChunk();
+                boolean filterRows = changedColumns != null && storage.isTrackingChanges();
+                for (int chunk = fromSlot / rowsPerChunk, chunks = storage.usedChunks(count); chunk < chunks; chunk++) {
+                    int base = chunk * rowsPerChunk;
+                    int rows = storage.rowsInChunk(chunk, count);
+                    if (!filterRows) {
+                        cursor.moveTo(chunk, base, 0, rows);
+                        consumer.accept(cursor);
+                        continue;
+                    }
+                    if (!storage.chunkChangedSince(chunk, changedColumns, sinceVersion)) continue;
+
+                    int row = 0;
+                    while (row < rows) {
+                        if (!storage.rowChangedSince(base + row, changedColumns, sinceVersion)) {
+                            row++;
+                            continue;
+                        }
+                        int end = row + 1;
+                        while (end < rows && storage.rowChangedSince(base + end, changedColumns, sinceVersion)) end++;
+                        cursor.moveTo(chunk, base + row, row, end - row);
+                        consumer.accept(cursor);
+                        row = end;
+                    }
+                }
+                return;
+            }
+
+            MemorySegment[] elements = new MemorySegment[cursor.columnCount()];
+            for (int slot = fromSlot; slot < count; slot++) {
+                int entityIndex = Entity.indexOf(densePacked[slot]);
+                if (changedTypeIds != null && config.trackChanges()
+                        && !hasAnyComponentChangedSince(entityIndex, changedTypeIds, sinceVersion)) {
+                    continue;
+                }
+                for (int i = 0; i < elements.length; i++) {
+                    elements[i] = getComponentSegment(entityIndex, cursor.typeId(i));
+                }
+                cursor.moveToRow(this, densePacked, slot, elements);
+                consumer.accept(cursor);
+            }
+        } finally {
+            entityLock.readLock().unlock();
+        }
+    }
+
     /**
      * Get entities with changed components.
      */
     public int[] getEntitiesWithChangedComponent(int typeId, long sinceVersion) {
+        if (storage != null) {
+            int column = storage.columnOf(typeId);
+            if (column < 0 || !storage.isTrackingChanges()) return new int[0];
+
+            entityLock.readLock().lock();
+            try {
+                IntStream.Builder builder = IntStream.builder();
+                for (int slot = 0, count = entityCount; slot < count; slot++) {
+                    if (storage.rowVersion(slot, column) > sinceVersion) {
+                        builder.add(Entity.indexOf(densePacked[slot]));
+                    }
+                }
+                return builder.build().toArray();
+            } finally {
+                entityLock.readLock().unlock();
+            }
+        }
         ComponentArray array = componentArrays.get(typeId);
         return array != null ? array.getChangedEntities(sinceVersion) : new int[0];
     }
@@ -990,6 +1760,19 @@ public final class Archetype implements AutoCloseable {
      * Mark component as changed.
      */
     public void markChanged(int entityIndex, int typeId) {
+        if (storage != null) {
+            entityLock.readLock().lock();
+            try {
+                int slot = slotOfUnlocked(entityIndex);
+                int column = storage.columnOf(typeId);
+                if (slot >= 0 && column >= 0) {
+                    storage.markChanged(slot, column);
+                }
+            } finally {
+                entityLock.readLock().unlock();
+            }
+            return;
+        }
         ComponentArray array = componentArrays.get(typeId);
         if (array != null) {
             array.getMutable(entityIndex); // Triggers change tracking
@@ -1058,7 +1841,8 @@ public final class Archetype implements AutoCloseable {
 
         entityLock.readLock().lock();
         try {
-            for (Entity entity : entities) {
+            for (int slot = 0, count = entityCount; slot < count; slot++) {
+                Entity entity = denseEntities[slot];
                 Map<Integer, byte[]> componentData = new HashMap<>();
 
                 for (int typeId : componentTypeIds) {
@@ -1084,7 +1868,7 @@ public final class Archetype implements AutoCloseable {
             id,
             componentMask,
             componentTypeIds.clone(),
-            entities.size(),
+            entitySnapshots.size(),
             entitySnapshots,
             Instant.now()
         );
@@ -1101,11 +1885,13 @@ public final class Archetype implements AutoCloseable {
         entityLock.writeLock().lock();
         try {
             // Clear existing
-            entities.clear();
-            entityIndexToSlot.clear();
+            resetSlots();
             for (ComponentArray array : componentArrays.values()) {
                 array.clear();
             }
+            if (storage != null) {
+                storage.trim(0);
+            }
 
             // Restore entities
             for (EntitySnapshot entitySnapshot : snapshot.entities()) {
@@ -1136,12 +1922,16 @@ public final class Archetype implements AutoCloseable {
         long totalAllocated = componentArrays.values().stream()
             .mapToLong(ComponentArray::getAllocatedSize)
             .sum();
+        if (storage != null) {
+            totalDataSize += storage.dataSize(entityCount);
+            totalAllocated += storage.allocatedSize();
+        }
 
         return new ArchetypeStats(
             id,
             signature,
             componentTypeIds.length,
-            entities.size(),
+            entityCount,
             totalDataSize,
             totalAllocated,
             entityAddCount.sum(),
@@ -1224,19 +2014,33 @@ public final class Archetype implements AutoCloseable {
         // This is a hint for future optimization
     }
 
+    /**
+     * Drop all slot mappings (caller holds the entity write lock).
+     */
+    private void resetSlots() {
+        int[] sparse = sparseSlots;
+        for (int i = 0, count = entityCount; i < count; i++) {
+            sparse[Entity.indexOf(densePacked[i])] = 0;
+            denseEntities[i] = null;
+        }
+        entityCount = 0;
+        entityVersion.incrementAndGet();
+    }
+
     /**
      * Clear all entities and data.
      */
     public void clear() {
         entityLock.writeLock().lock();
         try {
-            entities.clear();
-            entityIndexToSlot.clear();
+            resetSlots();
             for (ComponentArray array : componentArrays.values()) {
                 array.clear();
             }
+            if (storage != null) {
+                storage.trim(0);
+            }
             version.incrementAndGet();
-            entityVersion.incrementAndGet();
         } finally {
             entityLock.writeLock().unlock();
         }
@@ -1260,9 +2064,16 @@ public final class Archetype implements AutoCloseable {
                     id, e.getMessage());
             }
         }
+        if (storage != null) {
+            storage.close();
+        }
 
-        entities.clear();
-        entityIndexToSlot.clear();
+        entityLock.writeLock().lock();
+        try {
+            resetSlots();
+        } finally {
+            entityLock.writeLock().unlock();
+        }
         addEdges.clear();
         removeEdges.clear();
 
@@ -1288,7 +2099,7 @@ public final class Archetype implements AutoCloseable {
     @Override
     public String toString() {
         return String.format("Archetype[id=%d, components=%s, entities=%d]",
-            id, signature, entities.size());
+            id, signature, entityCount);
     }
 
     /**
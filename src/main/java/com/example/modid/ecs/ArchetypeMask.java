@@ -0,0 +1,282 @@
+package com.example.modid.ecs;
+
+import java.util.*;
+import java.util.function.IntConsumer;
+
+/**
+ * ArchetypeMask - Immutable arbitrary-width component bitset used for archetype keys and query matching.
+ *
+ * <p>Core Features:</p>
+ * <ul>
+ *   <li>Single-word fast path: component IDs below 64 never touch an array</li>
+ *   <li>Arbitrary width for modpacks with more than 64 component types</li>
+ *   <li>Allocation-free {@link #containsAll}, {@link #intersects} and {@link #matches}</li>
+ *   <li>Normalized form (no trailing zero words) so equal sets hash and compare equal</li>
+ *   <li>Safe as a {@link java.util.Map} key</li>
+ * </ul>
+ *
+ * @author Enhanced ECS Framework
+ * @version 2.0.0
+ * @since Java 21
+ */
+public final class ArchetypeMask {
+
+    private static final int BITS_PER_WORD = 64;
+    private static final long[] NO_WORDS = new long[0];
+
+    /** Empty mask */
+    public static final ArchetypeMask EMPTY = new ArchetypeMask(0L, NO_WORDS);
+
+    /** Bits 0..63 */
+    private final long low;
+
+    /** Bits 64 and up, one word per 64 IDs; empty when all high bits are clear */
+    private final long[] high;
+
+    private final int hash;
+
+    private ArchetypeMask(long low, long[] high) {
+        this.low = low;
+        this.high = high;
+        this.hash = 31 * Long.hashCode(low) + Arrays.hashCode(high);
+    }
+
+    // ========================================================================
+    // FACTORIES
+    // ========================================================================
+
+    /**
+     * Create from a single 64-bit word.
+     */
+    public static ArchetypeMask of(long low) {
+        return low == 0 ? EMPTY : new ArchetypeMask(low, NO_WORDS);
+    }
+
+    /**
+     * Create from raw words (word 0 holds IDs 0..63).
+     */
+    public static ArchetypeMask ofWords(long[] words) {
+        if (words == null || words.length == 0) return EMPTY;
+        return create(words[0], words.length > 1 ? Arrays.copyOfRange(words, 1, words.length) : NO_WORDS);
+    }
+
+    /**
+     * Create from component type IDs.
+     */
+    public static ArchetypeMask ofIds(int... typeIds) {
+        int maxId = -1;
+        for (int id : typeIds) {
+            checkId(id);
+            maxId = Math.max(maxId, id);
+        }
+        if (maxId < 0) return EMPTY;
+
+        long low = 0;
+        long[] high = maxId >= BITS_PER_WORD ? new long[maxId / BITS_PER_WORD] : NO_WORDS;
+        for (int id : typeIds) {
+            if (id < BITS_PER_WORD) {
+                low |= 1L << id;
+            } else {
+                high[id / BITS_PER_WORD - 1] |= 1L << id;
+            }
+        }
+        return create(low, high);
+    }
+
+    private static ArchetypeMask create(long low, long[] high) {
+        int len = high.length;
+        while (len > 0 && high[len - 1] == 0) len--;
+        if (len == 0) return of(low);
+        return new ArchetypeMask(low, len == high.length ? high : Arrays.copyOf(high, len));
+    }
+
+    private static void checkId(int id) {
+        if (id < 0) throw new IndexOutOfBoundsException("Component id: " + id);
+    }
+
+    // ========================================================================
+    // DERIVATION
+    // ========================================================================
+
+    /**
+     * Return a mask with the given ID set.
+     */
+    public ArchetypeMask with(int typeId) {
+        checkId(typeId);
+        if (typeId < BITS_PER_WORD) {
+            long updated = low | (1L << typeId);
+            return updated == low ? this : new ArchetypeMask(updated, high);
+        }
+        int word = typeId / BITS_PER_WORD - 1;
+        if (word < high.length && (high[word] & (1L << typeId)) != 0) return this;
+
+        long[] updated = Arrays.copyOf(high, Math.max(high.length, word + 1));
+        updated[word] |= 1L << typeId;
+        return new ArchetypeMask(low, updated);
+    }
+
+    /**
+     * Return a mask with the given ID cleared.
+     */
+    public ArchetypeMask without(int typeId) {
+        if (!has(typeId)) return this;
+        if (typeId < BITS_PER_WORD) {
+            return low == (1L << typeId) && high.length == 0 ? EMPTY : new ArchetypeMask(low & ~(1L << typeId), high);
+        }
+        long[] updated = high.clone();
+        updated[typeId / BITS_PER_WORD - 1] &= ~(1L << typeId);
+        return create(low, updated);
+    }
+
+    /**
+     * Union of two masks.
+     */
+    public ArchetypeMask or(ArchetypeMask other) {
+        if (other.high.length == 0 && high.length == 0) return of(low | other.low);
+        long[] longer = high.length >= other.high.length ? high : other.high;
+        long[] shorter = longer == high ? other.high : high;
+        long[] merged = longer.clone();
+        for (int i = 0; i < shorter.length; i++) merged[i] |= shorter[i];
+        return new ArchetypeMask(low | other.low, merged);
+    }
+
+    // ========================================================================
+    // TESTS (allocation-free)
+    // ========================================================================
+
+    /**
+     * Check if a component ID is set.
+     */
+    public boolean has(int typeId) {
+        if (typeId < 0) return false;
+        if (typeId < BITS_PER_WORD) return (low & (1L << typeId)) != 0;
+        int word = typeId / BITS_PER_WORD - 1;
+        return word < high.length && (high[word] & (1L << typeId)) != 0;
+    }
+
+    /**
+     * Check if every bit of {@code other} is set here.
+     */
+    public boolean containsAll(ArchetypeMask other) {
+        if ((low & other.low) != other.low) return false;
+        long[] o = other.high;
+        if (o.length == 0) return true;
+        if (o.length > high.length) return false; // normalized: other's last word is non-zero
+        for (int i = 0; i < o.length; i++) {
+            if ((high[i] & o[i]) != o[i]) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Check if any bit is shared with {@code other}.
+     */
+    public boolean intersects(ArchetypeMask other) {
+        if ((low & other.low) != 0) return true;
+        int n = Math.min(high.length, other.high.length);
+        for (int i = 0; i < n; i++) {
+            if ((high[i] & other.high[i]) != 0) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Query match: all {@code required} bits present and no {@code excluded} bit present.
+     */
+    public boolean matches(ArchetypeMask required, ArchetypeMask excluded) {
+        return containsAll(required) && !intersects(excluded);
+    }
+
+    public boolean isEmpty() {
+        return low == 0 && high.length == 0;
+    }
+
+    /**
+     * True when every set ID is below 64, so {@link #low()} is the whole mask.
+     */
+    public boolean isSingleWord() {
+        return high.length == 0;
+    }
+
+    // ========================================================================
+    // ACCESSORS
+    // ========================================================================
+
+    /** Bits 0..63. */
+    public long low() {
+        return low;
+    }
+
+    /** Number of significant 64-bit words. */
+    public int wordCount() {
+        return 1 + high.length;
+    }
+
+    /** Word {@code i} (0 holds IDs 0..63), 0 past the end. */
+    public long word(int i) {
+        if (i == 0) return low;
+        return i - 1 < high.length ? high[i - 1] : 0L;
+    }
+
+    /** Copy of all words. */
+    public long[] toWords() {
+        long[] words = new long[wordCount()];
+        words[0] = low;
+        java.lang.System.arraycopy(high, 0, words, 1, high.length);
+        return words;
+    }
+
+    /** Number of set bits. */
+    public int cardinality() {
+        int count = Long.bitCount(low);
+        for (long word : high) count += Long.bitCount(word);
+        return count;
+    }
+
+    /** Visit every set ID in ascending order. */
+    public void forEachSetBit(IntConsumer consumer) {
+        for (int w = 0, n = wordCount(); w < n; w++) {
+            long word = word(w);
+            while (word != 0) {
+                int bit = Long.numberOfTrailingZeros(word);
+                consumer.accept(w * BITS_PER_WORD + bit);
+                word &= word - 1;
+            }
+        }
+    }
+
+    /** Set IDs in ascending order. */
+    public int[] toTypeIds() {
+        int[] ids = new int[cardinality()];
+        int i = 0;
+        for (int w = 0, n = wordCount(); w < n; w++) {
+            long word = word(w);
+            while (word != 0) {
+                ids[i++] = w * BITS_PER_WORD + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+        }
+        return ids;
+    }
+
+    // ========================================================================
+    // OBJECT METHODS
+    // ========================================================================
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof ArchetypeMask other)) return false;
+        return low == other.low && Arrays.equals(high, other.high);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "ArchetypeMask" + Arrays.toString(toTypeIds());
+    }
+}
@@ -0,0 +1,283 @@
+package com.example.modid.ecs;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+
+/**
+ * ChunkCursor - Reusable, allocation-free view over one chunk of an archetype during query iteration.
+ *
+ * <p>Core Features:</p>
+ * <ul>
+ *   <li>One instance per iteration, rebound for every chunk (no per-entity objects)</li>
+ *   <li>Columns bound in query order: column {@code i} is the {@code i}-th requested component</li>
+ *   <li>Entity handles exposed as packed {@code long}s</li>
+ *   <li>Typed primitive accessors addressed by (column, row, byte offset)</li>
+ *   <li>Column base address and stride for bulk or native processing</li>
+ * </ul>
+ *
+ * <p>Rows are valid in {@code [0, count())}. Typed setters stamp the written row's change version
+ * (one clock tick per chunk visit, not per write); writes through {@link #address} or
+ * {@link #column} must call {@link #markChanged(int, int)} themselves. A cursor must not be
+ * retained or used outside the callback it was passed to.</p>
+ *
+ * @author Enhanced ECS Framework
+ * @version 2.0.0
+ * @since Java 21
+ */
+public final class ChunkCursor {
+
+    private final int[] typeIds;
+    private final int[] columns;
+    private final MemorySegment[] memory;
+    private final long[] offsets;
+    private final int[] strides;
+
+    private Archetype archetype;
+    private ChunkStorage storage;
+    private long[] packed;
+    private int baseSlot;
+    private int firstRow;
+    private int count;
+    private int chunkIndex;
+    /** Change version for typed writes in the current visit; 0 until the first write */
+    private long writeVersion;
+
+    /**
+     * Create a cursor binding the given component types as columns 0..n-1.
+     */
+    ChunkCursor(int[] typeIds) {
+        this.typeIds = typeIds.clone();
+        int n = typeIds.length;
+        this.columns = new int[n];
+        this.memory = new MemorySegment[n];
+        this.offsets = new long[n];
+        this.strides = new int[n];
+    }
+
+    // ========================================================================
+    // BINDING (package-private, driven by Archetype)
+    // ========================================================================
+
+    /**
+     * Bind to a chunked archetype; resolves storage columns once per archetype.
+     */
+    void bind(Archetype archetype, ChunkStorage storage, long[] packed) {
+        this.archetype = archetype;
+        this.storage = storage;
+        this.packed = packed;
+        for (int i = 0; i < typeIds.length; i++) {
+            int column = storage.columnOf(typeIds[i]);
+            columns[i] = column;
+            offsets[i] = column >= 0 ? storage.columnOffset(column) : 0;
+            strides[i] = column >= 0 ? storage.stride(column) : 0;
+        }
+    }
+
+    /**
+     * Point at rows {@code [firstRow, firstRow + count)} of a chunk of the bound archetype.
+     */
+    void moveTo(int chunkIndex, int baseSlot, int firstRow, int count) {
+        this.chunkIndex = chunkIndex;
+        this.baseSlot = baseSlot;
+        this.firstRow = firstRow;
+        this.count = count;
+        this.writeVersion = 0;
+        MemorySegment chunkMemory = storage.chunk(chunkIndex).memory();
+        for (int i = 0; i < typeIds.length; i++) {
+            memory[i] = columns[i] >= 0 ? chunkMemory : null;
+        }
+    }
+
+    /**
+     * Point at a single row of a non-chunked archetype (one-row chunk over element segments).
+     */
+    void moveToRow(Archetype archetype, long[] packed, int slot, MemorySegment[] elements) {
+        this.archetype = archetype;
+        this.storage = null;
+        this.packed = packed;
+        this.chunkIndex = slot;
+        this.baseSlot = slot;
+        this.firstRow = 0;
+        this.count = 1;
+        this.writeVersion = 0;
+        for (int i = 0; i < typeIds.length; i++) {
+            MemorySegment element = elements[i];
+            memory[i] = element;
+            columns[i] = element != null ? i : -1;
+            offsets[i] = 0;
+            strides[i] = element != null ? (int) element.byteSize() : 0;
+        }
+    }
+
+    // ========================================================================
+    // CHUNK INFO
+    // ========================================================================
+
+    /** Rows in the current chunk. */
+    public int count() {
+        return count;
+    }
+
+    /** Index of the current chunk within its archetype. */
+    public int chunkIndex() {
+        return chunkIndex;
+    }
+
+    /** Archetype slot of row 0 (row 0 need not be the chunk's first row under a change filter). */
+    public int baseSlot() {
+        return baseSlot;
+    }
+
+    /** Archetype owning the current chunk. */
+    public Archetype archetype() {
+        return archetype;
+    }
+
+    /** Number of bound columns. */
+    public int columnCount() {
+        return typeIds.length;
+    }
+
+    /** Component type ID bound to a column. */
+    public int typeId(int column) {
+        return typeIds[column];
+    }
+
+    /** Column index bound to a component type ID, or -1. */
+    public int columnOf(int typeId) {
+        for (int i = 0; i < typeIds.length; i++) {
+            if (typeIds[i] == typeId) return i;
+        }
+        return -1;
+    }
+
+    /** Whether the current archetype stores a bound column (false for tags or absent optionals). */
+    public boolean has(int column) {
+        return memory[column] != null && strides[column] > 0;
+    }
+
+    // ========================================================================
+    // ENTITIES
+    // ========================================================================
+
+    /** Packed entity handle of a row (see {@link Entity#unpack(long)}). */
+    public long entity(int row) {
+        return packed[baseSlot + row];
+    }
+
+    /** Entity index of a row. */
+    public int entityIndex(int row) {
+        return Entity.indexOf(packed[baseSlot + row]);
+    }
+
+    // ========================================================================
+    // COLUMN LAYOUT
+    // ========================================================================
+
+    /** Byte stride between rows of a column. */
+    public int stride(int column) {
+        return strides[column];
+    }
+
+    /**
+     * Native base address of a column's row 0, or 0 for heap-backed storage.
+     */
+    public long address(int column) {
+        MemorySegment segment = memory[column];
+        return segment != null && segment.isNative() ? segment.address() + position(column, 0, 0) : 0L;
+    }
+
+    /**
+     * Column block of the current chunk trimmed to {@link #count()} rows (allocates a slice).
+     */
+    public MemorySegment column(int column) {
+        return memory[column].asSlice(position(column, 0, 0), (long) count * strides[column]);
+    }
+
+    // ========================================================================
+    // TYPED ACCESS
+    // ========================================================================
+
+    public float getFloat(int column, int row, int offset) {
+        return memory[column].get(ValueLayout.JAVA_FLOAT, position(column, row, offset));
+    }
+
+    public void setFloat(int column, int row, int offset, float value) {
+        memory[column].set(ValueLayout.JAVA_FLOAT, position(column, row, offset), value);
+        stampWrite(column, row);
+    }
+
+    public int getInt(int column, int row, int offset) {
+        return memory[column].get(ValueLayout.JAVA_INT, position(column, row, offset));
+    }
+
+    public void setInt(int column, int row, int offset, int value) {
+        memory[column].set(ValueLayout.JAVA_INT, position(column, row, offset), value);
+        stampWrite(column, row);
+    }
+
+    public long getLong(int column, int row, int offset) {
+        return memory[column].get(ValueLayout.JAVA_LONG, position(column, row, offset));
+    }
+
+    public void setLong(int column, int row, int offset, long value) {
+        memory[column].set(ValueLayout.JAVA_LONG, position(column, row, offset), value);
+        stampWrite(column, row);
+    }
+
+    public double getDouble(int column, int row, int offset) {
+        return memory[column].get(ValueLayout.JAVA_DOUBLE, position(column, row, offset));
+    }
+
+    public void setDouble(int column, int row, int offset, double value) {
+        memory[column].set(ValueLayout.JAVA_DOUBLE, position(column, row, offset), value);
+        stampWrite(column, row);
+    }
+
+    private long position(int column, int row, int offset) {
+        return offsets[column] + (long) (firstRow + row) * strides[column] + offset;
+    }
+
+    // ========================================================================
+    // CHANGE TRACKING
+    // ========================================================================
+
+    /**
+     * Stamp a row of a column as changed; a no-op for a component this archetype lacks.
+     */
+    public void markChanged(int column, int row) {
+        if (columns[column] < 0) return;
+        if (storage != null) {
+            storage.markChanged(baseSlot + row, columns[column]);
+        } else {
+            archetype.markChanged(entityIndex(row), typeIds[column]);
+        }
+    }
+
+    /**
+     * Stamp a row written through a typed setter, sharing one version per visit.
+     */
+    private void stampWrite(int column, int row) {
+        if (storage == null) {
+            markChanged(column, row);
+            return;
+        }
+        if (!storage.isTrackingChanges()) return;
+        long version = writeVersion;
+        if (version == 0) {
+            version = storage.nextChangeVersion();
+            writeVersion = version;
+        }
+        storage.stampRow(baseSlot + row, columns[column], version);
+    }
+
+    /**
+     * Stamp every row of a column in the current chunk as changed.
+     */
+    public void markAllChanged(int column) {
+        if (columns[column] < 0) return;
+        for (int row = 0; row < count; row++) {
+            markChanged(column, row);
+        }
+    }
+}
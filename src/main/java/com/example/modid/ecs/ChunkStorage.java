@@ -0,0 +1,682 @@
+package com.example.modid.ecs;
+
+import java.lang.foreign.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * ChunkStorage - Chunked Structure-of-Arrays column storage for a single archetype.
+ *
+ * <p>Core Features:</p>
+ * <ul>
+ *   <li>Fixed-size chunks (16 KiB by default) holding one column block per component type</li>
+ *   <li>One shared row index per chunk: row {@code r} of every column belongs to slot
+ *       {@code chunk * rowsPerChunk + r}</li>
+ *   <li>Memory proportional to the archetype's population, not the world's entity capacity</li>
+ *   <li>Cache-line aligned column blocks for linear and SIMD-friendly iteration</li>
+ *   <li>Typed column views ({@link FloatColumn}, {@link DoubleColumn}, raw {@link MemorySegment})</li>
+ *   <li>Per-row change versions when change tracking is enabled</li>
+ *   <li>Off-heap chunks carved from one shared arena per storage; released chunks are pooled
+ *       and reused rather than freed, so the arena only grows to the peak population</li>
+ * </ul>
+ *
+ * <p>Slots are owned by the enclosing {@link Archetype}; this class only stores the bytes.
+ * Structural mutation (grow, swap-remove, clear) must happen under the archetype's entity
+ * write lock.</p>
+ *
+ * @author Enhanced ECS Framework
+ * @version 2.0.0
+ * @since Java 21
+ */
+public final class ChunkStorage implements AutoCloseable {
+
+    // ========================================================================
+    // CONSTANTS
+    // ========================================================================
+
+    /** Target chunk size in bytes */
+    public static final int CHUNK_BYTES = 16 * 1024;
+
+    /** Column block alignment (one cache line) */
+    private static final int COLUMN_ALIGNMENT = 64;
+
+    // ========================================================================
+    // COLUMN VIEWS
+    // ========================================================================
+
+    /**
+     * Float view over one column of one chunk. Lanes are consecutive floats within a row.
+     */
+    public record FloatColumn(MemorySegment segment, int count, int stride) {
+        public int lanes() {
+            return stride / Float.BYTES;
+        }
+
+        public float get(int row, int lane) {
+            return segment.get(ValueLayout.JAVA_FLOAT, (long) row * stride + (long) lane * Float.BYTES);
+        }
+
+        public void set(int row, int lane, float value) {
+            segment.set(ValueLayout.JAVA_FLOAT, (long) row * stride + (long) lane * Float.BYTES, value);
+        }
+    }
+
+    /**
+     * Double view over one column of one chunk. Lanes are consecutive doubles within a row.
+     */
+    public record DoubleColumn(MemorySegment segment, int count, int stride) {
+        public int lanes() {
+            return stride / Double.BYTES;
+        }
+
+        public double get(int row, int lane) {
+            return segment.get(ValueLayout.JAVA_DOUBLE, (long) row * stride + (long) lane * Double.BYTES);
+        }
+
+        public void set(int row, int lane, double value) {
+            segment.set(ValueLayout.JAVA_DOUBLE, (long) row * stride + (long) lane * Double.BYTES, value);
+        }
+    }
+
+    /**
+     * One fixed-size block of rows with a column block per component type.
+     */
+    public static final class Chunk {
+        private final int index;
+        private final MemorySegment memory;
+        private final long[][] rowVersions;
+        /** Highest row version ever written per column; lets change queries skip whole chunks */
+        private final AtomicLongArray maxVersions;
+
+        private Chunk(int index, MemorySegment memory, long[][] rowVersions,
+                AtomicLongArray maxVersions) {
+            this.index = index;
+            this.memory = memory;
+            this.rowVersions = rowVersions;
+            this.maxVersions = maxVersions;
+        }
+
+        public int index() { return index; }
+        public MemorySegment memory() { return memory; }
+
+        private void stamp(int column, int row, long version) {
+            rowVersions[column][row] = version;
+            if (version > maxVersions.get(column)) {
+                maxVersions.accumulateAndGet(column, version, Math::max);
+            }
+        }
+    }
+
+    // ========================================================================
+    // STATE
+    // ========================================================================
+
+    private final int[] typeIds;
+    private final int[] sizes;
+    private final long[] columnOffsets;
+    private final int rowsPerChunk;
+    private final long chunkBytes;
+    private final boolean offHeap;
+    private final boolean trackChanges;
+    private final AtomicLong changeClock;
+
+    /** Backing arena for off-heap chunks (null on-heap); closed with the storage */
+    private final Arena arena;
+    /** Trimmed chunks kept for reuse, since arena memory cannot be freed piecemeal */
+    private final ArrayDeque<Chunk> spareChunks = new ArrayDeque<>();
+
+    private volatile Chunk[] chunks = new Chunk[0];
+    private volatile boolean closed = false;
+
+    // ========================================================================
+    // CONSTRUCTOR
+    // ========================================================================
+
+    /**
+     * Create storage for the given (sorted) component types.
+     *
+     * @param typeIds      sorted component type IDs
+     * @param sizes        component size in bytes for each type ID (0 for tags)
+     * @param offHeap      allocate chunks off-heap
+     * @param trackChanges keep per-row change versions
+     * @param changeClock  version source used when rows are marked changed
+     */
+    ChunkStorage(int[] typeIds, int[] sizes, boolean offHeap, boolean trackChanges, AtomicLong changeClock) {
+        if (typeIds.length != sizes.length) {
+            throw new IllegalArgumentException("Type and size arrays must match");
+        }
+        this.typeIds = typeIds.clone();
+        this.sizes = sizes.clone();
+        this.offHeap = offHeap;
+        this.trackChanges = trackChanges;
+        this.changeClock = Objects.requireNonNull(changeClock, "Change clock cannot be null");
+        this.columnOffsets = new long[typeIds.length];
+
+        int rowSize = 0;
+        for (int size : sizes) rowSize += size;
+
+        int rows = Math.max(1, CHUNK_BYTES / Math.max(1, rowSize));
+        while (rows > 1 && layout(rows) > CHUNK_BYTES) {
+            rows--;
+        }
+        this.rowsPerChunk = rows;
+        this.chunkBytes = layout(rows);
+        this.arena = offHeap ? Arena.ofShared() : null;
+    }
+
+    /**
+     * Compute column offsets for a row count and return the total chunk size.
+     */
+    private long layout(int rows) {
+        long offset = 0;
+        for (int c = 0; c < sizes.length; c++) {
+            offset = alignUp(offset, COLUMN_ALIGNMENT);
+            columnOffsets[c] = offset;
+            offset += (long) sizes[c] * rows;
+        }
+        return Math.max(alignUp(offset, COLUMN_ALIGNMENT), COLUMN_ALIGNMENT);
+    }
+
+    // ========================================================================
+    // LAYOUT QUERIES
+    // ========================================================================
+
+    /** Rows held by each chunk. */
+    public int rowsPerChunk() {
+        return rowsPerChunk;
+    }
+
+    /** Number of allocated chunks. */
+    public int chunkCount() {
+        return chunks.length;
+    }
+
+    /** Number of chunks that hold at least one of {@code rowCount} rows. */
+    public int usedChunks(int rowCount) {
+        return (rowCount + rowsPerChunk - 1) / rowsPerChunk;
+    }
+
+    /** Rows used in chunk {@code chunkIndex} for a total of {@code rowCount} rows. */
+    public int rowsInChunk(int chunkIndex, int rowCount) {
+        return Math.max(0, Math.min(rowsPerChunk, rowCount - chunkIndex * rowsPerChunk));
+    }
+
+    /** Get chunk by index. */
+    public Chunk chunk(int chunkIndex) {
+        return chunks[chunkIndex];
+    }
+
+    /** Column index for a component type ID, or -1 if not stored. */
+    public int columnOf(int typeId) {
+        int column = Arrays.binarySearch(typeIds, typeId);
+        return column >= 0 ? column : -1;
+    }
+
+    /** Byte stride of a column (component size). */
+    public int stride(int column) {
+        return sizes[column];
+    }
+
+    /** Byte offset of a column block inside every chunk. */
+    public long columnOffset(int column) {
+        return columnOffsets[column];
+    }
+
+    // ========================================================================
+    // CAPACITY
+    // ========================================================================
+
+    /**
+     * Ensure storage for at least {@code rows} rows.
+     */
+    void ensureCapacity(int rows) {
+        checkNotClosed();
+        int required = usedChunks(rows);
+        Chunk[] current = chunks;
+        if (required <= current.length) return;
+
+        Chunk[] grown = Arrays.copyOf(current, required);
+        for (int i = current.length; i < required; i++) {
+            grown[i] = allocateChunk(i);
+        }
+        chunks = grown;
+    }
+
+    /**
+     * Release chunks no longer needed for {@code rows} rows.
+     *
+     * <p>Only trims once fewer than half the chunks are in use, and then keeps one spare, so a
+     * population oscillating around a chunk boundary does not release and re-acquire every time.</p>
+     */
+    void trim(int rows) {
+        Chunk[] current = chunks;
+        int needed = usedChunks(rows);
+        if (current.length <= 2 * needed + 1) return;
+
+        int keep = needed + 1;
+        for (int i = keep; i < current.length; i++) {
+            releaseChunk(current[i]);
+        }
+        chunks = Arrays.copyOf(current, keep);
+    }
+
+    private Chunk allocateChunk(int index) {
+        Chunk spare = spareChunks.pollLast();
+        if (spare != null) {
+            return reuseChunk(spare, index);
+        }
+
+        MemorySegment memory;
+        if (offHeap) {
+            memory = arena.allocate(chunkBytes, COLUMN_ALIGNMENT);
+        } else {
+            // long[] backing keeps heap segments 8-byte aligned for typed access
+            memory = MemorySegment.ofArray(new long[(int) (chunkBytes / Long.BYTES)]);
+        }
+
+        long[][] versions = null;
+        AtomicLongArray maxVersions = null;
+        if (trackChanges) {
+            versions = new long[typeIds.length][rowsPerChunk];
+            maxVersions = new AtomicLongArray(typeIds.length);
+        }
+        return new Chunk(index, memory, versions, maxVersions);
+    }
+
+    /**
+     * Re-home a pooled chunk at a new index with zeroed memory and versions.
+     */
+    private Chunk reuseChunk(Chunk spare, int index) {
+        spare.memory.fill((byte) 0);
+        if (spare.rowVersions != null) {
+            for (long[] column : spare.rowVersions) {
+                Arrays.fill(column, 0L);
+            }
+            for (int c = 0; c < typeIds.length; c++) {
+                spare.maxVersions.set(c, 0L);
+            }
+        }
+        return new Chunk(index, spare.memory, spare.rowVersions, spare.maxVersions);
+    }
+
+    /**
+     * Off-heap chunks go back to the pool; heap chunks are left to the GC.
+     */
+    private void releaseChunk(Chunk chunk) {
+        if (offHeap) {
+            spareChunks.addLast(chunk);
+        }
+    }
+
+    // ========================================================================
+    // ROW OPERATIONS
+    // ========================================================================
+
+    /**
+     * Zero a row across all columns. The row is stamped as changed so newly added
+     * entities are reported by change queries.
+     */
+    void clearRow(int slot) {
+        Chunk chunk = chunks[slot / rowsPerChunk];
+        int row = slot % rowsPerChunk;
+        long added = trackChanges ? changeClock.incrementAndGet() : 0;
+        for (int c = 0; c < sizes.length; c++) {
+            if (sizes[c] > 0) {
+                chunk.memory.asSlice(columnOffsets[c] + (long) row * sizes[c], sizes[c]).fill((byte) 0);
+            }
+            if (trackChanges) {
+                chunk.stamp(c, row, added);
+            }
+        }
+    }
+
+    /**
+     * Move row {@code from} over row {@code to} across all columns (swap-remove support).
+     */
+    void moveRow(int from, int to) {
+        if (from == to) return;
+        Chunk src = chunks[from / rowsPerChunk];
+        Chunk dst = chunks[to / rowsPerChunk];
+        int srcRow = from % rowsPerChunk;
+        int dstRow = to % rowsPerChunk;
+
+        for (int c = 0; c < sizes.length; c++) {
+            int size = sizes[c];
+            if (size > 0) {
+                MemorySegment.copy(
+                    src.memory, columnOffsets[c] + (long) srcRow * size,
+                    dst.memory, columnOffsets[c] + (long) dstRow * size,
+                    size
+                );
+            }
+            if (trackChanges) {
+                dst.stamp(c, dstRow, src.rowVersions[c][srcRow]);
+            }
+        }
+    }
+
+    /**
+     * Copy the columns shared with {@code source} from one of its rows into one of ours.
+     */
+    void copyRowFrom(ChunkStorage source, int sourceSlot, int targetSlot) {
+        Chunk dst = chunks[targetSlot / rowsPerChunk];
+        Chunk src = source.chunks[sourceSlot / source.rowsPerChunk];
+        int dstRow = targetSlot % rowsPerChunk;
+        int srcRow = sourceSlot % source.rowsPerChunk;
+
+        for (int c = 0; c < typeIds.length; c++) {
+            int sc = source.columnOf(typeIds[c]);
+            if (sc < 0) continue;
+            int size = sizes[c];
+            if (size > 0) {
+                MemorySegment.copy(
+                    src.memory, source.columnOffsets[sc] + (long) srcRow * size,
+                    dst.memory, columnOffsets[c] + (long) dstRow * size,
+                    size
+                );
+            }
+            if (trackChanges) {
+                dst.stamp(c, dstRow, src.rowVersions != null
+                    ? src.rowVersions[sc][srcRow]
+                    : changeClock.incrementAndGet());
+            }
+        }
+    }
+
+    /**
+     * Copy a contiguous run of rows from {@code source} into a contiguous run of ours,
+     * one {@link MemorySegment#copy} per shared column and chunk-bounded span.
+     * Columns the source lacks are zeroed and stamped as changed.
+     */
+    void copyRowsFrom(ChunkStorage source, int sourceSlot, int targetSlot, int rows) {
+        int[] sourceColumns = new int[typeIds.length];
+        for (int c = 0; c < typeIds.length; c++) {
+            sourceColumns[c] = source.columnOf(typeIds[c]);
+        }
+
+        int done = 0;
+        while (done < rows) {
+            int srcSlot = sourceSlot + done;
+            int dstSlot = targetSlot + done;
+            int srcRow = srcSlot % source.rowsPerChunk;
+            int dstRow = dstSlot % rowsPerChunk;
+            int span = Math.min(rows - done,
+                Math.min(source.rowsPerChunk - srcRow, rowsPerChunk - dstRow));
+
+            Chunk src = source.chunks[srcSlot / source.rowsPerChunk];
+            Chunk dst = chunks[dstSlot / rowsPerChunk];
+            for (int c = 0; c < typeIds.length; c++) {
+                int sc = sourceColumns[c];
+                int size = sizes[c];
+                if (sc < 0) {
+                    if (size > 0) {
+                        dst.memory.asSlice(columnOffsets[c] + (long) dstRow * size, (long) span * size).fill((byte) 0);
+                    }
+                    if (trackChanges) {
+                        long added = changeClock.incrementAndGet();
+                        Arrays.fill(dst.rowVersions[c], dstRow, dstRow + span, added);
+                        dst.maxVersions.accumulateAndGet(c, added, Math::max);
+                    }
+                    continue;
+                }
+                if (size > 0) {
+                    MemorySegment.copy(
+                        src.memory, source.columnOffsets[sc] + (long) srcRow * size,
+                        dst.memory, columnOffsets[c] + (long) dstRow * size,
+                        (long) span * size
+                    );
+                }
+                if (trackChanges) {
+                    long max = 0;
+                    if (src.rowVersions != null) {
+                        java.lang.System.arraycopy(src.rowVersions[sc], srcRow, dst.rowVersions[c], dstRow, span);
+                        for (int r = 0; r < span; r++) {
+                            max = Math.max(max, src.rowVersions[sc][srcRow + r]);
+                        }
+                    } else {
+                        max = changeClock.incrementAndGet();
+                        Arrays.fill(dst.rowVersions[c], dstRow, dstRow + span, max);
+                    }
+                    dst.maxVersions.accumulateAndGet(c, max, Math::max);
+                }
+            }
+            done += span;
+        }
+    }
+
+    // ========================================================================
+    // ELEMENT ACCESS
+    // ========================================================================
+
+    /**
+     * Get the element slice for a slot and column (zero-copy).
+     */
+    public MemorySegment element(int slot, int column) {
+        Chunk chunk = chunks[slot / rowsPerChunk];
+        int size = sizes[column];
+        return chunk.memory.asSlice(columnOffsets[column] + (long) (slot % rowsPerChunk) * size, size);
+    }
+
+    /**
+     * Get element as a read-only native-order ByteBuffer.
+     */
+    public ByteBuffer elementBuffer(int slot, int column) {
+        return element(slot, column)
+            .asByteBuffer()
+            .order(ByteOrder.nativeOrder())
+            .asReadOnlyBuffer();
+    }
+
+    /**
+     * Write element bytes from a ByteBuffer (position is left untouched).
+     */
+    void write(int slot, int column, ByteBuffer data) {
+        MemorySegment target = element(slot, column);
+        int length = (int) Math.min(target.byteSize(), data.remaining());
+        MemorySegment.copy(MemorySegment.ofBuffer(data), 0, target, 0, length);
+        markChanged(slot, column);
+    }
+
+    /**
+     * Write element bytes from a MemorySegment.
+     */
+    void write(int slot, int column, MemorySegment data) {
+        MemorySegment target = element(slot, column);
+        MemorySegment.copy(data, 0, target, 0, Math.min(target.byteSize(), data.byteSize()));
+        markChanged(slot, column);
+    }
+
+    /**
+     * Write float values into an element.
+     */
+    void writeFloats(int slot, int column, float... values) {
+        MemorySegment target = element(slot, column);
+        int n = (int) Math.min(values.length, target.byteSize() / Float.BYTES);
+        MemorySegment.copy(values, 0, target, ValueLayout.JAVA_FLOAT, 0, n);
+        markChanged(slot, column);
+    }
+
+    /**
+     * Write int values into an element.
+     */
+    void writeInts(int slot, int column, int... values) {
+        MemorySegment target = element(slot, column);
+        int n = (int) Math.min(values.length, target.byteSize() / Integer.BYTES);
+        MemorySegment.copy(values, 0, target, ValueLayout.JAVA_INT, 0, n);
+        markChanged(slot, column);
+    }
+
+    public float getFloat(int slot, int column, int offset) {
+        return chunks[slot / rowsPerChunk].memory.get(ValueLayout.JAVA_FLOAT,
+            columnOffsets[column] + (long) (slot % rowsPerChunk) * sizes[column] + offset);
+    }
+
+    void setFloat(int slot, int column, int offset, float value) {
+        chunks[slot / rowsPerChunk].memory.set(ValueLayout.JAVA_FLOAT,
+            columnOffsets[column] + (long) (slot % rowsPerChunk) * sizes[column] + offset, value);
+        markChanged(slot, column);
+    }
+
+    public int getInt(int slot, int column, int offset) {
+        return chunks[slot / rowsPerChunk].memory.get(ValueLayout.JAVA_INT,
+            columnOffsets[column] + (long) (slot % rowsPerChunk) * sizes[column] + offset);
+    }
+
+    void setInt(int slot, int column, int offset, int value) {
+        chunks[slot / rowsPerChunk].memory.set(ValueLayout.JAVA_INT,
+            columnOffsets[column] + (long) (slot % rowsPerChunk) * sizes[column] + offset, value);
+        markChanged(slot, column);
+    }
+
+    // ========================================================================
+    // COLUMN VIEWS
+    // ========================================================================
+
+    /**
+     * Raw column block of a chunk, trimmed to the rows in use.
+     */
+    public MemorySegment columnSegment(int chunkIndex, int column, int rowCount) {
+        int rows = rowsInChunk(chunkIndex, rowCount);
+        return chunks[chunkIndex].memory.asSlice(columnOffsets[column], (long) rows * sizes[column]);
+    }
+
+    /**
+     * Float view of a column block.
+     */
+    public FloatColumn floatColumn(int chunkIndex, int column, int rowCount) {
+        return new FloatColumn(columnSegment(chunkIndex, column, rowCount),
+            rowsInChunk(chunkIndex, rowCount), sizes[column]);
+    }
+
+    /**
+     * Double view of a column block.
+     */
+    public DoubleColumn doubleColumn(int chunkIndex, int column, int rowCount) {
+        return new DoubleColumn(columnSegment(chunkIndex, column, rowCount),
+            rowsInChunk(chunkIndex, rowCount), sizes[column]);
+    }
+
+    // ========================================================================
+    // CHANGE TRACKING
+    // ========================================================================
+
+    /**
+     * Stamp a row of a column with a fresh version.
+     */
+    void markChanged(int slot, int column) {
+        if (!trackChanges) return;
+        chunks[slot / rowsPerChunk].stamp(column, slot % rowsPerChunk, changeClock.incrementAndGet());
+    }
+
+    /**
+     * Draw a fresh version from the shared change clock.
+     */
+    long nextChangeVersion() {
+        return changeClock.incrementAndGet();
+    }
+
+    /**
+     * Stamp a row of a column with a version already drawn from {@link #nextChangeVersion()}.
+     */
+    void stampRow(int slot, int column, long version) {
+        if (!trackChanges) return;
+        chunks[slot / rowsPerChunk].stamp(column, slot % rowsPerChunk, version);
+    }
+
+    /**
+     * Get the change version of a row, or 0 when change tracking is disabled.
+     */
+    public long rowVersion(int slot, int column) {
+        if (!trackChanges) return 0;
+        return chunks[slot / rowsPerChunk].rowVersions[column][slot % rowsPerChunk];
+    }
+
+    /**
+     * Highest version written to a column of a chunk, or 0 when change tracking is disabled.
+     *
+     * <p>The summary only grows, so it may report a chunk whose changed rows have since been
+     * removed; it never misses a change.</p>
+     */
+    public long chunkMaxVersion(int chunkIndex, int column) {
+        if (!trackChanges) return 0;
+        return chunks[chunkIndex].maxVersions.get(column);
+    }
+
+    /**
+     * Check whether any of the given columns of a chunk may hold a row newer than {@code sinceVersion}.
+     */
+    public boolean chunkChangedSince(int chunkIndex, int[] columns, long sinceVersion) {
+        if (!trackChanges) return true;
+        AtomicLongArray maxVersions = chunks[chunkIndex].maxVersions;
+        for (int column : columns) {
+            if (maxVersions.get(column) > sinceVersion) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Check whether any of the given columns of a row changed after {@code sinceVersion}.
+     */
+    public boolean rowChangedSince(int slot, int[] columns, long sinceVersion) {
+        if (!trackChanges) return true;
+        long[][] versions = chunks[slot / rowsPerChunk].rowVersions;
+        int row = slot % rowsPerChunk;
+        for (int column : columns) {
+            if (versions[column][row] > sinceVersion) return true;
+        }
+        return false;
+    }
+
+    public boolean isTrackingChanges() {
+        return trackChanges;
+    }
+
+    // ========================================================================
+    // STATISTICS
+    // ========================================================================
+
+    /** Bytes used by {@code rowCount} rows. */
+    public long dataSize(int rowCount) {
+        long rowSize = 0;
+        for (int size : sizes) rowSize += size;
+        return rowSize * rowCount;
+    }
+
+    /** Bytes reserved by all allocated chunks, including pooled spares. */
+    public long allocatedSize() {
+        return chunkBytes * ((long) chunks.length + spareChunks.size());
+    }
+
+    // ========================================================================
+    // LIFECYCLE
+    // ========================================================================
+
+    private void checkNotClosed() {
+        if (closed) {
+            throw new IllegalStateException("ChunkStorage is closed");
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        chunks = new Chunk[0];
+        spareChunks.clear();
+        if (arena != null) {
+            arena.close();
+        }
+    }
+
+    private static long alignUp(long value, long alignment) {
+        return (value + alignment - 1) & ~(alignment - 1);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ChunkStorage[columns=%d, rowsPerChunk=%d, chunks=%d, chunkBytes=%d]",
+            typeIds.length, rowsPerChunk, chunks.length, chunkBytes);
+    }
+}
@@ -123,7 +123,7 @@ public final class ComponentArray implements AutoCloseable {
     private MemorySegment indexToEntity;  // int[]
 
     // Change tracking
-    private final AtomicLong version = new AtomicLong(0);
+    private final AtomicLong version;
     private MemorySegment changeVersions;  // long[] per entity
     private final boolean trackChanges;
 
@@ -168,7 +168,16 @@ public final class ComponentArray implements AutoCloseable {
      * Create component array with full configuration.
      */
     public ComponentArray(ComponentRegistry.ComponentType type, Config config) {
+        this(type, config, new AtomicLong(0));
+    }
+
+    /**
+     * Create component array whose change versions come from a shared clock
+     * (so versions are comparable across arrays of the same world).
+     */
+    ComponentArray(ComponentRegistry.ComponentType type, Config config, AtomicLong changeClock) {
         this.type = Objects.requireNonNull(type, "Component type cannot be null");
+        this.version = Objects.requireNonNull(changeClock, "Change clock cannot be null");
         this.config = Objects.requireNonNull(config, "Config cannot be null");
         this.componentSize = Math.max(type.sizeBytes(), 1);  // Minimum 1 byte for tags
         this.alignment = Math.max(config.alignment(), type.alignment());
@@ -49,10 +49,10 @@ public final class ComponentRegistry {
     // CONSTANTS
     // ========================================================================
 
-    /** Maximum supported component types (limited by 64-bit mask) */
+    /** Component types covered by the single-word mask fast path */
     public static final int MAX_COMPONENT_TYPES = 64;
 
-    /** Extended component types (beyond mask-based queries) */
+    /** Maximum registered component types (queried through ArchetypeMask) */
     public static final int MAX_EXTENDED_TYPES = 256;
 
     /** Cache line size for alignment optimization */
@@ -695,7 +695,7 @@ public final class ComponentRegistry {
     }
 
     /**
-     * Get component mask for multiple types.
+     * Get single-word component mask for multiple types (IDs 64+ are dropped; see computeArchetypeMask).
      */
     public long computeMask(Class<?>... classes) {
         long mask = 0;
@@ -709,7 +709,7 @@ public final class ComponentRegistry {
     }
 
     /**
-     * Get component mask for collection of types.
+     * Get single-word component mask for collection of types (IDs 64+ are dropped).
      */
     public long computeMask(Collection<Class<?>> classes) {
         long mask = 0;
@@ -722,6 +722,38 @@ public final class ComponentRegistry {
         return mask;
     }
 
+    /**
+     * Get arbitrary-width component mask for multiple types.
+     */
+    public ArchetypeMask computeArchetypeMask(Class<?>... classes) {
+        int[] ids = new int[classes.length];
+        for (int i = 0; i < classes.length; i++) {
+            ids[i] = getType(classes[i]).id();
+        }
+        return ArchetypeMask.ofIds(ids);
+    }
+
+    /**
+     * Get arbitrary-width component mask for collection of types.
+     */
+    public ArchetypeMask computeArchetypeMask(Collection<Class<?>> classes) {
+        return computeArchetypeMask(classes.toArray(Class<?>[]::new));
+    }
+
+    /**
+     * Get classes from arbitrary-width mask.
+     */
+    public List<Class<?>> getClassesFromMask(ArchetypeMask mask) {
+        List<Class<?>> result = new ArrayList<>();
+        mask.forEachSetBit(i -> {
+            ComponentType type = i < MAX_EXTENDED_TYPES ? typesById.get(i) : null;
+            if (type != null) {
+                result.add(type.clazz);
+            }
+        });
+        return result;
+    }
+
     /**
      * Get classes from mask.
      */
@@ -88,9 +88,21 @@ public record Entity(int index, int generation) implements Comparable<Entity> {
      * <p>Format: [generation:32][index:32]</p>
      */
     public static Entity unpack(long packed) {
-        int idx = (int) (packed & 0xFFFFFFFFL);
-        int gen = (int) (packed >>> 32);
-        return new Entity(idx, gen);
+        return new Entity(indexOf(packed), generationOf(packed));
+    }
+
+    /**
+     * Extract entity index from 64-bit handle without materializing an Entity.
+     */
+    public static int indexOf(long packed) {
+        return (int) (packed & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Extract generation from 64-bit handle without materializing an Entity.
+     */
+    public static int generationOf(long packed) {
+        return (int) (packed >>> 32);
     }
 
     /**
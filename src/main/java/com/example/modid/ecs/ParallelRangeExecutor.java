@@ -0,0 +1,213 @@
+package com.example.modid.ecs;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ParallelRangeExecutor - Work-stealing execution of archetype slot ranges.
+ *
+ * <p>Core Features:</p>
+ * <ul>
+ *   <li>Splits every matching archetype into chunk-aligned slot ranges, so a single huge
+ *       archetype spreads across all workers</li>
+ *   <li>Recursive fork/join over the flat range list for work stealing</li>
+ *   <li>Adaptive grain from entity count and a measured per-entity cost (moving average)</li>
+ *   <li>Sequential fallback for small workloads or single-worker pools</li>
+ * </ul>
+ *
+ * <p>One instance keeps the cost estimate for one workload (a query or a system), so reuse
+ * the same executor across ticks.</p>
+ *
+ * @author Enhanced ECS Framework
+ * @version 2.0.0
+ * @since Java 21
+ */
+public final class ParallelRangeExecutor {
+
+    // ========================================================================
+    // CONSTANTS
+    // ========================================================================
+
+    /** Longest a leaf task should run so idle workers can steal the rest */
+    private static final long TARGET_TASK_NANOS = 200_000L;
+
+    /** Shortest worthwhile leaf task; below this forking overhead dominates */
+    private static final long MIN_TASK_NANOS = 20_000L;
+
+    /** Leaf tasks per worker when the cost is unknown */
+    private static final int TASKS_PER_WORKER = 4;
+
+    private static final int MIN_GRAIN = 64;
+    private static final int MAX_GRAIN = 1 << 16;
+
+    /** Weight of the newest sample in the per-entity cost average */
+    private static final double COST_SMOOTHING = 0.25;
+
+    // ========================================================================
+    // TYPES
+    // ========================================================================
+
+    /**
+     * Work for one slot range; {@code fromSlot} is aligned to {@link Archetype#getChunkRows()}.
+     */
+    @FunctionalInterface
+    public interface RangeAction {
+        void run(Archetype archetype, int fromSlot, int toSlot);
+    }
+
+    // ========================================================================
+    // STATE
+    // ========================================================================
+
+    private final ForkJoinPool pool;
+
+    /** Smoothed nanoseconds per entity, 0 until first measured */
+    private volatile double nanosPerEntity = 0;
+
+    public ParallelRangeExecutor(ForkJoinPool pool) {
+        this.pool = Objects.requireNonNull(pool, "Pool cannot be null");
+    }
+
+    // ========================================================================
+    // EXECUTION
+    // ========================================================================
+
+    /**
+     * Run {@code action} over all entities of {@code archetypes}, blocking until done.
+     */
+    public void execute(List<Archetype> archetypes, RangeAction action) {
+        // Snapshot counts once so every pass below agrees even if archetypes grow or drain
+        int size = archetypes.size();
+        int[] counts = new int[size];
+        int total = 0;
+        for (int a = 0; a < size; a++) {
+            counts[a] = archetypes.get(a).getEntityCount();
+            total += counts[a];
+        }
+        if (total == 0) return;
+
+        int grain = grain(total);
+
+        // Flatten into chunk-aligned ranges
+        int capacity = 0;
+        for (int a = 0; a < size; a++) {
+            int step = alignedGrain(grain, archetypes.get(a).getChunkRows());
+            capacity += (counts[a] + step - 1) / step;
+        }
+        Archetype[] owners = new Archetype[capacity];
+        int[] starts = new int[capacity];
+        int[] ends = new int[capacity];
+        int n = 0;
+        for (int a = 0; a < size; a++) {
+            Archetype archetype = archetypes.get(a);
+            int count = counts[a];
+            int step = alignedGrain(grain, archetype.getChunkRows());
+            for (int start = 0; start < count; start += step) {
+                owners[n] = archetype;
+                starts[n] = start;
+                ends[n] = Math.min(count, start + step);
+                n++;
+            }
+        }
+        if (n == 0) return;
+
+        LongAdder busyNanos = new LongAdder();
+        if (n == 1 || pool.getParallelism() <= 1) {
+            long begin = java.lang.System.nanoTime();
+            for (int i = 0; i < n; i++) {
+                action.run(owners[i], starts[i], ends[i]);
+            }
+            busyNanos.add(java.lang.System.nanoTime() - begin);
+        } else {
+            pool.invoke(new RangeTask(owners, starts, ends, 0, n, action, busyNanos));
+        }
+
+        recordCost(busyNanos.sum(), total);
+    }
+
+    /**
+     * Current per-entity cost estimate in nanoseconds (0 if not yet measured).
+     */
+    public double getNanosPerEntity() {
+        return nanosPerEntity;
+    }
+
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    // ========================================================================
+    // PARTITIONING
+    // ========================================================================
+
+    /**
+     * Entities per leaf task: enough tasks for stealing to balance, each long enough to
+     * amortize forking and short enough to be stolen around.
+     */
+    int grain(int total) {
+        int grain = total / (pool.getParallelism() * TASKS_PER_WORKER);
+        double cost = nanosPerEntity;
+        if (cost > 0) {
+            int longest = (int) Math.min(MAX_GRAIN, TARGET_TASK_NANOS / cost);
+            int shortest = (int) Math.min(MAX_GRAIN, MIN_TASK_NANOS / cost);
+            grain = Math.max(Math.min(grain, longest), shortest);
+        }
+        return Math.max(MIN_GRAIN, Math.min(grain, MAX_GRAIN));
+    }
+
+    private static int alignedGrain(int grain, int chunkRows) {
+        return ((grain + chunkRows - 1) / chunkRows) * chunkRows;
+    }
+
+    private void recordCost(long nanos, int entities) {
+        if (entities <= 0 || nanos <= 0) return;
+        double sample = (double) nanos / entities;
+        double current = nanosPerEntity;
+        nanosPerEntity = current == 0 ? sample : current + COST_SMOOTHING * (sample - current);
+    }
+
+    // ========================================================================
+    // FORK/JOIN TASK
+    // ========================================================================
+
+    @SuppressWarnings("serial") // fork/join tasks are never serialized
+    private static final class RangeTask extends RecursiveAction {
+        private final Archetype[] owners;
+        private final int[] starts;
+        private final int[] ends;
+        private final int lo;
+        private final int hi;
+        private final RangeAction action;
+        private final LongAdder busyNanos;
+
+        RangeTask(Archetype[] owners, int[] starts, int[] ends, int lo, int hi,
+                RangeAction action, LongAdder busyNanos) {
+            this.owners = owners;
+            this.starts = starts;
+            this.ends = ends;
+            this.lo = lo;
+            this.hi = hi;
+            this.action = action;
+            this.busyNanos = busyNanos;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= 1) {
+                if (hi == lo) return;
+                long begin = java.lang.System.nanoTime();
+                action.run(owners[lo], starts[lo], ends[lo]);
+                busyNanos.add(java.lang.System.nanoTime() - begin);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(
+                new RangeTask(owners, starts, ends, lo, mid, action, busyNanos),
+                new RangeTask(owners, starts, ends, mid, hi, action, busyNanos)
+            );
+        }
+    }
+}
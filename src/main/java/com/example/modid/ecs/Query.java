@@ -23,6 +23,7 @@ import java.util.stream.*;
  *   <li>Batch processing</li>
  *   <li>Optional component handling</li>
  *   <li>Foreign Memory API integration</li>
+ *   <li>Allocation-free chunk cursor iteration</li>
  * </ul>
  *
  * <p>Example usage:</p>
@@ -61,10 +62,10 @@ public final class Query {
     private final World world;
     private final ComponentRegistry registry;
     
-    private long requiredMask = 0;
-    private long excludedMask = 0;
-    private long optionalMask = 0;
-    private long changedMask = 0;  // Components that must have changed
+    private ArchetypeMask requiredMask = ArchetypeMask.EMPTY;
+    private ArchetypeMask excludedMask = ArchetypeMask.EMPTY;
+    private ArchetypeMask optionalMask = ArchetypeMask.EMPTY;
+    private ArchetypeMask changedMask = ArchetypeMask.EMPTY;  // Components that must have changed
     
     private final List<Class<?>> requiredTypes = new ArrayList<>();
     private final List<Class<?>> optionalTypes = new ArrayList<>();
@@ -72,11 +73,19 @@ public final class Query {
     private Predicate<Entity> entityFilter = e -> true;
     private Predicate<Archetype> archetypeFilter = a -> true;
     private long changedSinceVersion = -1;
+    private long lastChangeCheck = 0;  // Baseline for changed() without changedSince()
+    private long observedChangeVersion = -1;  // World change version when the last iteration began
     
     private int batchSize = DEFAULT_BATCH_SIZE;
     private boolean parallel = false;
     private boolean cached = false;
     
+    // Parallel execution (lazily created, keeps the adaptive cost estimate)
+    private volatile ParallelRangeExecutor parallelExecutor;
+
+    // Sequential chunk cursor, reused across forEachChunk calls (dropped when the column list changes)
+    private ChunkCursor chunkCursor;
+
     // Cache
     private volatile List<Archetype> cachedArchetypes;
     private volatile long cacheVersion = -1;
@@ -122,8 +131,9 @@ public final class Query {
      */
     public Query with(Class<?> componentClass) {
         ComponentRegistry.ComponentType type = registry.getType(componentClass);
-        requiredMask |= (1L << type.id);
+        requiredMask = requiredMask.with(type.id());
         requiredTypes.add(componentClass);
+        chunkCursor = null;
         invalidateCache();
         return this;
     }
@@ -144,7 +154,7 @@ public final class Query {
      */
     public Query without(Class<?> componentClass) {
         ComponentRegistry.ComponentType type = registry.getType(componentClass);
-        excludedMask |= (1L << type.id);
+        excludedMask = excludedMask.with(type.id());
         invalidateCache();
         return this;
     }
@@ -165,8 +175,9 @@ public final class Query {
      */
     public Query optional(Class<?> componentClass) {
         ComponentRegistry.ComponentType type = registry.getType(componentClass);
-        optionalMask |= (1L << type.id);
+        optionalMask = optionalMask.with(type.id());
         optionalTypes.add(componentClass);
+        chunkCursor = null;
         return this;
     }
 
@@ -183,15 +194,31 @@ public final class Query {
 
     /**
      * Only include entities where component has changed.
+     *
+     * <p>Without {@link #changedSince(long)}, "changed" means since the last
+     * {@link #consumeChanges()}; iterating alone never advances that baseline, so peeks such as
+     * {@link #first()} or {@link #countFiltered()} leave the changed set intact. Entities pass
+     * when any of the listed components changed.</p>
      */
     public Query changed(Class<?> componentClass) {
         ComponentRegistry.ComponentType type = registry.getType(componentClass);
-        changedMask |= (1L << type.id);
+        changedMask = changedMask.with(type.id());
+        return this;
+    }
+
+    /**
+     * Mark the changes seen by the most recent iteration as handled: later {@link #changed}
+     * iterations only report changes made after that iteration began.
+     */
+    public Query consumeChanges() {
+        lastChangeCheck = observedChangeVersion >= 0 ? observedChangeVersion : world.getChangeVersion();
         return this;
     }
 
     /**
-     * Only include entities changed since version.
+     * Only include entities changed since version (see {@link World#getChangeVersion()}).
+     *
+     * <p>Checks the {@link #changed} components, or all required components if none were listed.</p>
      */
     public Query changedSince(long version) {
         this.changedSinceVersion = version;
@@ -255,9 +282,8 @@ public final class Query {
      * Get matching archetypes.
      */
     public List<Archetype> archetypes() {
-        if (cached && cachedArchetypes != null) {
-            // Check if cache is still valid
-            // This would need a version from world
+        long structureVersion = world.getStructureVersion();
+        if (cached && cachedArchetypes != null && cacheVersion == structureVersion) {
             return cachedArchetypes;
         }
 
@@ -268,6 +294,7 @@ public final class Query {
 
         if (cached) {
             cachedArchetypes = result;
+            cacheVersion = structureVersion;
         }
 
         return result;
@@ -293,38 +320,86 @@ public final class Query {
     }
 
     private void forEachSequential(Consumer<Entity> consumer) {
+        ChangeFilter changes = beginChangeFilter();
         for (Archetype archetype : archetypes()) {
-            archetype.forEachEntity(entity -> {
-                if (matchesFilters(entity)) {
-                    consumer.accept(entity);
-                }
+            forEachMatching(archetype, changes, entity -> {
+                consumer.accept(entity);
             });
         }
     }
 
     private void forEachParallel(Consumer<Entity> consumer) {
-        archetypes().parallelStream().forEach(archetype ->
-            archetype.forEachEntity(entity -> {
-                if (matchesFilters(entity)) {
-                    consumer.accept(entity);
-                }
-            })
+        ChangeFilter changes = beginChangeFilter();
+        parallelExecutor().execute(archetypes(), (archetype, from, to) ->
+            archetype.forEachEntityInRange(from, to,
+                changes != null ? changes.typeIds() : null,
+                changes != null ? changes.sinceVersion() : 0L,
+                entity -> {
+                    if (matchesFilters(entity)) {
+                        consumer.accept(entity);
+                    }
+                })
         );
     }
 
+    /**
+     * Range executor bound to this query, so its per-entity cost estimate carries across runs.
+     */
+    private ParallelRangeExecutor parallelExecutor() {
+        ParallelRangeExecutor executor = parallelExecutor;
+        if (executor == null) {
+            executor = new ParallelRangeExecutor(world.getWorkPool());
+            parallelExecutor = executor;
+        }
+        return executor;
+    }
+
     private boolean matchesFilters(Entity entity) {
         if (!world.isValid(entity)) return false;
-        if (!entityFilter.test(entity)) return false;
-        
-        // Change detection filter
-        if (changedSinceVersion >= 0) {
-            // Would need archetype support for version tracking
-            // For now, pass all
+        return entityFilter.test(entity);
+    }
+
+    private boolean matchesFilters(Archetype archetype, Entity entity, ChangeFilter changes) {
+        if (!matchesFilters(entity)) return false;
+        return changes == null
+            || archetype.hasAnyComponentChangedSince(entity.index(), changes.typeIds(), changes.sinceVersion());
+    }
+
+    /**
+     * Visit entities of an archetype that pass the entity and change filters.
+     * Change filtering skips whole chunks with no newer rows.
+     */
+    private void forEachMatching(Archetype archetype, ChangeFilter changes, Consumer<Entity> consumer) {
+        Consumer<Entity> filtered = entity -> {
+            if (matchesFilters(entity)) {
+                consumer.accept(entity);
+            }
+        };
+        if (changes == null) {
+            archetype.forEachEntity(filtered);
+        } else {
+            archetype.forEachChangedEntity(changes.typeIds(), changes.sinceVersion(), filtered);
         }
-        
-        return true;
     }
 
+    /**
+     * Resolve the change filter for one iteration, or null when the query has none.
+     * Only records the current version; {@link #consumeChanges()} moves the baseline.
+     */
+    private ChangeFilter beginChangeFilter() {
+        if (changedSinceVersion < 0 && changedMask.isEmpty()) return null;
+
+        int[] typeIds = (changedMask.isEmpty() ? requiredMask : changedMask).toTypeIds();
+        long since = changedSinceVersion >= 0 ? changedSinceVersion : lastChangeCheck;
+        observedChangeVersion = world.getChangeVersion();
+        return new ChangeFilter(typeIds, since);
+    }
+
+    /**
+     * Components to test and the version they must be newer than.
+     */
+    private record ChangeFilter(int[] typeIds, long sinceVersion) {}
+
     // ========================================================================
     // ITERATION - WITH COMPONENTS
     // ========================================================================
@@ -333,12 +408,11 @@ public final class Query {
      * Iterate with component data map.
      */
     public void forEach(BiConsumer<Entity, ComponentView> consumer) {
+        ChangeFilter changes = beginChangeFilter();
         for (Archetype archetype : archetypes()) {
-            archetype.forEachEntity(entity -> {
-                if (matchesFilters(entity)) {
-                    ComponentView view = new ComponentView(archetype, entity);
-                    consumer.accept(entity, view);
-                }
+            forEachMatching(archetype, changes, entity -> {
+                ComponentView view = new ComponentView(archetype, entity);
+                consumer.accept(entity, view);
             });
         }
     }
@@ -348,16 +422,15 @@ public final class Query {
      */
     public <T> void forEachWith(Class<T> componentClass, BiConsumer<Entity, ByteBuffer> consumer) {
         ComponentRegistry.ComponentType type = registry.getType(componentClass);
+        ChangeFilter changes = beginChangeFilter();
 
         for (Archetype archetype : archetypes()) {
             if (!archetype.hasComponent(type.id)) continue;
 
-            archetype.forEachEntity(entity -> {
-                if (matchesFilters(entity)) {
-                    ByteBuffer data = archetype.getComponent(entity.index(), type.id);
-                    if (data != null) {
-                        consumer.accept(entity, data);
-                    }
+            forEachMatching(archetype, changes, entity -> {
+                ByteBuffer data = archetype.getComponent(entity.index(), type.id);
+                if (data != null) {
+                    consumer.accept(entity, data);
                 }
             });
         }
@@ -372,17 +445,16 @@ public final class Query {
         
         ComponentRegistry.ComponentType ct1 = registry.getType(type1);
         ComponentRegistry.ComponentType ct2 = registry.getType(type2);
+        ChangeFilter changes = beginChangeFilter();
 
         for (Archetype archetype : archetypes()) {
             if (!archetype.hasComponent(ct1.id) || !archetype.hasComponent(ct2.id)) continue;
 
-            archetype.forEachEntity(entity -> {
-                if (matchesFilters(entity)) {
-                    ByteBuffer data1 = archetype.getComponent(entity.index(), ct1.id);
-                    ByteBuffer data2 = archetype.getComponent(entity.index(), ct2.id);
-                    if (data1 != null && data2 != null) {
-                        consumer.accept(entity, data1, data2);
-                    }
+            forEachMatching(archetype, changes, entity -> {
+                ByteBuffer data1 = archetype.getComponent(entity.index(), ct1.id);
+                ByteBuffer data2 = archetype.getComponent(entity.index(), ct2.id);
+                if (data1 != null && data2 != null) {
+                    consumer.accept(entity, data1, data2);
                 }
             });
         }
@@ -398,25 +470,127 @@ public final class Query {
         ComponentRegistry.ComponentType ct1 = registry.getType(type1);
         ComponentRegistry.ComponentType ct2 = registry.getType(type2);
         ComponentRegistry.ComponentType ct3 = registry.getType(type3);
+        ChangeFilter changes = beginChangeFilter();
 
         for (Archetype archetype : archetypes()) {
             if (!archetype.hasComponent(ct1.id) || 
                 !archetype.hasComponent(ct2.id) || 
                 !archetype.hasComponent(ct3.id)) continue;
 
-            archetype.forEachEntity(entity -> {
-                if (matchesFilters(entity)) {
-                    ByteBuffer d1 = archetype.getComponent(entity.index(), ct1.id);
-                    ByteBuffer d2 = archetype.getComponent(entity.index(), ct2.id);
-                    ByteBuffer d3 = archetype.getComponent(entity.index(), ct3.id);
-                    if (d1 != null && d2 != null && d3 != null) {
-                        consumer.accept(entity, d1, d2, d3);
-                    }
+            forEachMatching(archetype, changes, entity -> {
+                ByteBuffer d1 = archetype.getComponent(entity.index(), ct1.id);
+                ByteBuffer d2 = archetype.getComponent(entity.index(), ct2.id);
+                ByteBuffer d3 = archetype.getComponent(entity.index(), ct3.id);
+                if (d1 != null && d2 != null && d3 != null) {
+                    consumer.accept(entity, d1, d2, d3);
                 }
             });
         }
     }
 
+    // ========================================================================
+    // ITERATION - COLUMN VIEWS
+    // ========================================================================
+
+    /**
+     * Iterate float column blocks of a component across all matching chunked archetypes.
+     *
+     * <p>Views cover whole chunks in slot order; entity and change filters are not applied.</p>
+     */
+    public void forEachFloatColumn(Class<?> componentClass,
+            BiConsumer<Archetype, ChunkStorage.FloatColumn> consumer) {
+        int typeId = registry.getType(componentClass).id();
+        for (Archetype archetype : archetypes()) {
+            archetype.forEachFloatColumn(typeId, (column, baseSlot) -> consumer.accept(archetype, column));
+        }
+    }
+
+    /**
+     * Iterate double column blocks of a component across all matching chunked archetypes.
+     */
+    public void forEachDoubleColumn(Class<?> componentClass,
+            BiConsumer<Archetype, ChunkStorage.DoubleColumn> consumer) {
+        int typeId = registry.getType(componentClass).id();
+        for (Archetype archetype : archetypes()) {
+            archetype.forEachDoubleColumn(typeId, (column, baseSlot) -> consumer.accept(archetype, column));
+        }
+    }
+
+    /**
+     * Iterate raw column blocks of a component across all matching chunked archetypes.
+     */
+    public void forEachColumnSegment(Class<?> componentClass,
+            BiConsumer<Archetype, MemorySegment> consumer) {
+        int typeId = registry.getType(componentClass).id();
+        for (Archetype archetype : archetypes()) {
+            archetype.forEachColumnSegment(typeId, (segment, baseSlot) -> consumer.accept(archetype, segment));
+        }
+    }
+
+    // ========================================================================
+    // ITERATION - CHUNK CURSOR
+    // ========================================================================
+
+    /**
+     * Iterate matching chunks through one reusable {@link ChunkCursor} (no per-entity allocation).
+     *
+     * <p>Cursor columns are the required components in {@link #with} order, followed by optional
+     * components in {@link #optional} order. Change filters present only changed rows, as runs
+     * of consecutive rows; entity filter predicates are not applied.</p>
+     */
+    public void forEachChunk(ChunkConsumer consumer) {
+        ChangeFilter changes = beginChangeFilter();
+        // Take the cached cursor; a nested call on the same query allocates its own
+        ChunkCursor cursor = chunkCursor;
+        chunkCursor = null;
+        if (cursor == null) {
+            cursor = new ChunkCursor(cursorTypeIds());
+        }
+        try {
+            for (Archetype archetype : archetypes()) {
+                archetype.forEachChunk(cursor,
+                    changes != null ? changes.typeIds() : null,
+                    changes != null ? changes.sinceVersion() : 0L,
+                    consumer);
+            }
+        } finally {
+            chunkCursor = cursor;
+        }
+    }
+
+    /**
+     * Iterate matching chunks in parallel; chunk-aligned ranges across all archetypes are balanced
+     * by work stealing, and every range gets its own cursor.
+     */
+    public void forEachChunkParallel(ChunkConsumer consumer) {
+        ChangeFilter changes = beginChangeFilter();
+        int[] typeIds = cursorTypeIds();
+        parallelExecutor().execute(archetypes(), (archetype, from, to) ->
+            archetype.forEachChunk(new ChunkCursor(typeIds), from, to,
+                changes != null ? changes.typeIds() : null,
+                changes != null ? changes.sinceVersion() : 0L,
+                consumer));
+    }
+
+    /**
+     * Iterate matching rows through a reusable cursor (see {@link #forEachChunk}).
+     */
+    public void forEachRow(RowConsumer consumer) {
+        forEachChunk(cursor -> {
+            for (int row = 0, n = cursor.count(); row < n; row++) {
+                consumer.accept(cursor, row);
+            }
+        });
+    }
+
+    private int[] cursorTypeIds() {
+        int[] ids = new int[requiredTypes.size() + optionalTypes.size()];
+        int i = 0;
+        for (Class<?> type : requiredTypes) ids[i++] = registry.getType(type).id();
+        for (Class<?> type : optionalTypes) ids[i++] = registry.getType(type).id();
+        return ids;
+    }
+
     // ========================================================================
     // ITERATION - ARCHETYPE LEVEL
     // ========================================================================
@@ -439,9 +613,10 @@ public final class Query {
      * Iterate with archetype and entity stream.
      */
     public void forEachArchetype(BiConsumer<Archetype, Stream<Entity>> consumer) {
+        ChangeFilter changes = beginChangeFilter();
         for (Archetype archetype : archetypes()) {
             Stream<Entity> entityStream = archetype.entityStream()
-                .filter(this::matchesFilters);
+                .filter(entity -> matchesFilters(archetype, entity, changes));
             consumer.accept(archetype, entityStream);
         }
     }
@@ -454,9 +629,10 @@ public final class Query {
      * Get stream of matching entities.
      */
     public Stream<Entity> stream() {
+        ChangeFilter changes = beginChangeFilter();
         Stream<Entity> stream = archetypes().stream()
-            .flatMap(Archetype::entityStream)
-            .filter(this::matchesFilters);
+            .flatMap(archetype -> archetype.entityStream()
+                .filter(entity -> matchesFilters(archetype, entity, changes)));
         
         return parallel ? stream.parallel() : stream;
     }
@@ -465,9 +641,10 @@ public final class Query {
      * Get stream of query results with component data.
      */
     public Stream<QueryResult> streamResults() {
+        ChangeFilter changes = beginChangeFilter();
         return archetypes().stream()
             .flatMap(archetype -> archetype.entityStream()
-                .filter(this::matchesFilters)
+                .filter(entity -> matchesFilters(archetype, entity, changes))
                 .map(entity -> new QueryResult(entity, archetype)));
     }
 
@@ -487,15 +664,14 @@ public final class Query {
      */
     public void forEachBatch(Consumer<List<Entity>> batchConsumer) {
         List<Entity> batch = new ArrayList<>(batchSize);
+        ChangeFilter changes = beginChangeFilter();
 
         for (Archetype archetype : archetypes()) {
-            archetype.forEachEntity(entity -> {
-                if (matchesFilters(entity)) {
-                    batch.add(entity);
-                    if (batch.size() >= batchSize) {
-                        batchConsumer.accept(new ArrayList<>(batch));
-                        batch.clear();
-                    }
+            forEachMatching(archetype, changes, entity -> {
+                batch.add(entity);
+                if (batch.size() >= batchSize) {
+                    batchConsumer.accept(new ArrayList<>(batch));
+                    batch.clear();
                 }
             });
         }
@@ -517,10 +693,11 @@ public final class Query {
     private List<List<Entity>> collectBatches() {
         List<List<Entity>> batches = new ArrayList<>();
         List<Entity> currentBatch = new ArrayList<>(batchSize);
+        ChangeFilter changes = beginChangeFilter();
 
         for (Archetype archetype : archetypes()) {
             for (Entity entity : archetype.getEntities()) {
-                if (matchesFilters(entity)) {
+                if (matchesFilters(archetype, entity, changes)) {
                     currentBatch.add(entity);
                     if (currentBatch.size() >= batchSize) {
                         batches.add(currentBatch);
@@ -632,16 +809,15 @@ public final class Query {
         
         ComponentRegistry.ComponentType type = registry.getType(componentClass);
         AtomicReference<R> result = new AtomicReference<>(identity);
+        ChangeFilter changes = beginChangeFilter();
 
         for (Archetype archetype : archetypes()) {
             if (!archetype.hasComponent(type.id)) continue;
 
-            archetype.forEachEntity(entity -> {
-                if (matchesFilters(entity)) {
-                    ByteBuffer data = archetype.getComponent(entity.index(), type.id);
-                    if (data != null) {
-                        result.updateAndGet(r -> accumulator.apply(r, data));
-                    }
+            forEachMatching(archetype, changes, entity -> {
+                ByteBuffer data = archetype.getComponent(entity.index(), type.id);
+                if (data != null) {
+                    result.updateAndGet(r -> accumulator.apply(r, data));
                 }
             });
         }
@@ -655,16 +831,15 @@ public final class Query {
     public float sumFloat(Class<?> componentClass, int offset) {
         ComponentRegistry.ComponentType type = registry.getType(componentClass);
         DoubleAdder sum = new DoubleAdder();
+        ChangeFilter changes = beginChangeFilter();
 
         for (Archetype archetype : archetypes()) {
             if (!archetype.hasComponent(type.id)) continue;
 
-            archetype.forEachEntity(entity -> {
-                if (matchesFilters(entity)) {
-                    ByteBuffer data = archetype.getComponent(entity.index(), type.id);
-                    if (data != null && data.remaining() > offset + 4) {
-                        sum.add(data.getFloat(offset));
-                    }
+            forEachMatching(archetype, changes, entity -> {
+                ByteBuffer data = archetype.getComponent(entity.index(), type.id);
+                if (data != null && data.remaining() > offset + 4) {
+                    sum.add(data.getFloat(offset));
                 }
             });
         }
@@ -788,6 +963,22 @@ public final class Query {
         void accept(A a, B b, C c, D d);
     }
 
+    /**
+     * Receives each matching chunk; the cursor is rebound between calls.
+     */
+    @FunctionalInterface
+    public interface ChunkConsumer {
+        void accept(ChunkCursor cursor);
+    }
+
+    /**
+     * Receives each matching row of the current chunk.
+     */
+    @FunctionalInterface
+    public interface RowConsumer {
+        void accept(ChunkCursor cursor, int row);
+    }
+
     // ========================================================================
     // QUERY STATISTICS
     // ========================================================================
@@ -799,16 +990,16 @@ public final class Query {
         List<Archetype> archs = archetypes();
         int totalEntities = archs.stream().mapToInt(Archetype::getEntityCount).sum();
         long totalComponents = archs.stream()
-            .mapToLong(a -> (long) a.getEntityCount() * Long.bitCount(a.getComponentMask()))
+            .mapToLong(a -> (long) a.getEntityCount() * a.getComponentCount())
             .sum();
 
         return new QueryStats(
             archs.size(),
             totalEntities,
             totalComponents,
-            Long.bitCount(requiredMask),
-            Long.bitCount(excludedMask),
-            Long.bitCount(optionalMask)
+            requiredMask.cardinality(),
+            excludedMask.cardinality(),
+            optionalMask.cardinality()
         );
     }
 
@@ -829,9 +1020,9 @@ public final class Query {
     public String toString() {
         return String.format(
             "Query[required=%d, excluded=%d, optional=%d, archetypes=%d, entities=%d]",
-            Long.bitCount(requiredMask),
-            Long.bitCount(excludedMask),
-            Long.bitCount(optionalMask),
+            requiredMask.cardinality(),
+            excludedMask.cardinality(),
+            optionalMask.cardinality(),
             archetypes().size(),
             count()
         );
@@ -845,7 +1036,7 @@ public final class Query {
         sb.append("Query {\n");
         sb.append("  Required: ").append(requiredTypes).append("\n");
         sb.append("  Optional: ").append(optionalTypes).append("\n");
-        sb.append("  Excluded mask: 0x").append(Long.toHexString(excludedMask)).append("\n");
+        sb.append("  Excluded mask: ").append(excludedMask).append("\n");
         sb.append("  Parallel: ").append(parallel).append("\n");
         sb.append("  Batch size: ").append(batchSize).append("\n");
         sb.append("  Stats: ").append(stats()).append("\n");
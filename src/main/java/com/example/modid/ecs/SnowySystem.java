@@ -496,6 +496,18 @@ public abstract class System implements AutoCloseable {
             }
         }
 
+        /**
+         * Get a copy of the backing words.
+         */
+        public long[] getWordsSnapshot() {
+            long stamp = lock.readLock();
+            try {
+                return words.clone();
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
         /**
          * Get all set bit indices.
          */
@@ -3248,19 +3260,3 @@ public abstract class System implements AutoCloseable {
      * // - An archetype is destroyed  
      * // - An entity moves between archetypes
      */
-
-    // ========================================================================
-    // COMPONENT MASK ADDITIONS
-    // ========================================================================
-
-    // Add this method to ComponentMask class if not already present:
-    /*
-     * public long[] getWordsSnapshot() {
-     *     long stamp = lock.readLock();
-     *     try {
-     *         return words.clone();
-     *     } finally {
-     *         lock.unlockRead(stamp);
-     *     }
-     * }
-     */
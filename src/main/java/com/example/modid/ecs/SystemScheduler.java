@@ -8,17 +8,20 @@ import jdk.jfr.Category;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
 /**
- * SystemScheduler - High-performance system execution with virtual threads and structured concurrency.
+ * SystemScheduler - High-performance system execution with virtual threads and task-graph execution.
  * 
  * <p>Modern features:</p>
  * <ul>
  *   <li>Virtual thread execution for massive parallelism</li>
- *   <li>Structured concurrency with proper cancellation</li>
- *   <li>Lock-free dependency tracking</li>
+ *   <li>Task-graph execution: predecessor countdowns, completions release successors immediately</li>
+ *   <li>Per-tick critical path reporting</li>
+ *   <li>Automatic ordering of systems with conflicting component reads/writes</li>
+ *   <li>Debug validation of actual component writes against declarations</li>
  *   <li>JFR profiling integration</li>
  *   <li>Work-stealing load balancing</li>
  *   <li>Tarjan cycle detection</li>
@@ -55,6 +58,9 @@ public final class SystemScheduler {
         final Set<String> dependencies = ConcurrentHashMap.newKeySet();
         final Set<String> dependents = ConcurrentHashMap.newKeySet();
         final LongAdder executionTime = new LongAdder();
+        /** Live matching archetypes; reset on rebuild since masks are set up around registration */
+        volatile World.LiveQuery liveQuery;
+        volatile World liveWorld;
         volatile boolean completed;
         volatile boolean executing;
         
@@ -78,8 +84,164 @@ public final class SystemScheduler {
         }
     }
     
+    /**
+     * Longest dependency chain of the last tick of a stage, by measured system time.
+     */
+    public record CriticalPath(List<String> systems, long nanos) {
+        public static final CriticalPath EMPTY = new CriticalPath(List.of(), 0);
+
+        public double millis() {
+            return nanos / 1_000_000.0;
+        }
+    }
+
+    /**
+     * Precomputed dependency graph of one stage. Nodes are in topological order, so every
+     * edge points forward and a cycle (already reported by Tarjan) cannot deadlock execution.
+     *
+     * <p>Besides explicit dependencies, conflicting systems (see {@link #conflicts}) are
+     * ordered by their position in the stage, so the graph's levels form conflict-free
+     * parallel batches.</p>
+     */
+    private static final class StageGraph {
+        final SystemEntry[] nodes;
+        final int[] predecessorCounts;
+        final int[][] predecessors;
+        final int[][] successors;
+        final AtomicIntegerArray pending;
+        final long[] durations;
+        final long[] pathNanos;
+        final int[] pathParent;
+        final int[] levels;
+        volatile CriticalPath criticalPath = CriticalPath.EMPTY;
+
+        StageGraph(List<SystemEntry> sorted, boolean inferConflicts) {
+            int n = sorted.size();
+            this.nodes = sorted.toArray(new SystemEntry[0]);
+            this.predecessorCounts = new int[n];
+            this.predecessors = new int[n][];
+            this.successors = new int[n][];
+            this.pending = new AtomicIntegerArray(n);
+            this.durations = new long[n];
+            this.pathNanos = new long[n];
+            this.pathParent = new int[n];
+            this.levels = new int[n];
+
+            Map<String, Integer> positions = new HashMap<>();
+            for (int i = 0; i < n; i++) {
+                positions.put(nodes[i].system.name, i);
+            }
+
+            List<List<Integer>> out = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                out.add(new ArrayList<>());
+            }
+            for (int i = 0; i < n; i++) {
+                List<Integer> in = new ArrayList<>();
+                for (String dep : nodes[i].dependencies) {
+                    Integer p = positions.get(dep);
+                    if (p != null && p < i && !in.contains(p)) {
+                        in.add(p);
+                        out.get(p).add(i);
+                    }
+                }
+                if (inferConflicts) {
+                    for (int p = 0; p < i; p++) {
+                        if (!in.contains(p) && conflicts(nodes[p].system, nodes[i].system)) {
+                            in.add(p);
+                            out.get(p).add(i);
+                        }
+                    }
+                }
+                predecessors[i] = in.stream().mapToInt(Integer::intValue).toArray();
+                predecessorCounts[i] = predecessors[i].length;
+
+                int level = 0;
+                for (int p : predecessors[i]) {
+                    level = Math.max(level, levels[p] + 1);
+                }
+                levels[i] = level;
+            }
+            for (int i = 0; i < n; i++) {
+                successors[i] = out.get(i).stream().mapToInt(Integer::intValue).toArray();
+            }
+        }
+
+        void reset() {
+            for (int i = 0; i < nodes.length; i++) {
+                pending.set(i, predecessorCounts[i]);
+                durations[i] = 0;
+            }
+        }
+
+        /**
+         * Longest path by measured duration; a single pass since nodes are topologically ordered.
+         */
+        void updateCriticalPath() {
+            int end = -1;
+            for (int i = 0; i < nodes.length; i++) {
+                long best = 0;
+                int parent = -1;
+                for (int p : predecessors[i]) {
+                    if (pathNanos[p] > best) {
+                        best = pathNanos[p];
+                        parent = p;
+                    }
+                }
+                pathNanos[i] = best + durations[i];
+                pathParent[i] = parent;
+                if (end < 0 || pathNanos[i] > pathNanos[end]) {
+                    end = i;
+                }
+            }
+            if (end < 0) {
+                criticalPath = CriticalPath.EMPTY;
+                return;
+            }
+
+            ArrayDeque<String> names = new ArrayDeque<>();
+            for (int i = end; i >= 0; i = pathParent[i]) {
+                names.addFirst(nodes[i].system.name);
+            }
+            criticalPath = new CriticalPath(List.copyOf(names), pathNanos[end]);
+        }
+
+        List<List<String>> batches() {
+            List<List<String>> batches = new ArrayList<>();
+            for (int i = 0; i < nodes.length; i++) {
+                while (batches.size() <= levels[i]) {
+                    batches.add(new ArrayList<>());
+                }
+                batches.get(levels[i]).add(nodes[i].system.name);
+            }
+            return batches;
+        }
+    }
+
+    /**
+     * Whether two systems must not run concurrently: one writes a component the other reads
+     * or writes, and their queries can match a common archetype. Systems whose archetype sets
+     * are disjoint (one excludes a component the other requires) or that only read shared
+     * components never conflict.
+     */
+    static boolean conflicts(System a, System b) {
+        System.ComponentMask aWrites = a.getWriteMask();
+        System.ComponentMask bWrites = b.getWriteMask();
+        if (aWrites.isEmpty() && bWrites.isEmpty()) return false;
+
+        if (a.getExcludedMask().intersects(b.getRequiredMask())
+                || b.getExcludedMask().intersects(a.getRequiredMask())) {
+            return false;
+        }
+
+        System.ComponentMask aAccess = a.getRequiredMask().or(a.getOptionalMask()).or(aWrites);
+        System.ComponentMask bAccess = b.getRequiredMask().or(b.getOptionalMask()).or(bWrites);
+        return aWrites.intersects(bAccess) || bWrites.intersects(aAccess);
+    }
+
     private final ConcurrentHashMap<String, SystemEntry> systems = new ConcurrentHashMap<>();
     private final Map<Stage, List<SystemEntry>> stageOrder = new EnumMap<>(Stage.class);
+    private final Map<Stage, StageGraph> stageGraphs = new EnumMap<>(Stage.class);
     private final ExecutorService executor;
     private final ForkJoinPool workStealingPool;
     private final int parallelism;
@@ -87,6 +249,11 @@ public final class SystemScheduler {
     
     private volatile boolean orderDirty = true;
     private volatile boolean profilingEnabled = false;
+    private volatile boolean conflictScheduling = true;
+    private volatile boolean accessValidation = false;
+    
+    /** Reported undeclared writes as "system#typeId", so each is logged once */
+    private final Set<String> accessViolations = ConcurrentHashMap.newKeySet();
     
     /**
      * Create scheduler with virtual threads (Java 21+) or fallback to platform threads.
@@ -167,6 +334,7 @@ public final class SystemScheduler {
     public void unregister(String systemName) {
         SystemEntry entry = systems.remove(systemName);
         if (entry != null) {
+            releaseLiveQuery(entry);
             for (String dep : entry.dependencies) {
                 SystemEntry depEntry = systems.get(dep);
                 if (depEntry != null) {
@@ -209,11 +377,14 @@ public final class SystemScheduler {
             e.executing = false;
         });
         
-        if (parallelism > 1 && stageSystems.size() > 1) {
-            executeParallelStructured(world, stageSystems, deltaTime);
+        StageGraph graph = stageGraphs.get(stage);
+        // Validation attributes writes by change version, so systems must not overlap
+        if (parallelism > 1 && stageSystems.size() > 1 && !accessValidation) {
+            executeGraph(world, graph, deltaTime);
         } else {
-            executeSequential(world, stageSystems, deltaTime);
+            executeSequential(world, graph, deltaTime);
         }
+        graph.updateCriticalPath();
     }
     
     public void executeAll(World world, float deltaTime) {
@@ -222,78 +393,75 @@ public final class SystemScheduler {
         }
     }
     
-    private void executeSequential(World world, List<SystemEntry> entries, float deltaTime) {
-        for (SystemEntry entry : entries) {
-            if (!entry.system.enabled) {
-                entry.completed = true;
-                continue;
-            }
-            executeSystem(world, entry, deltaTime);
+    private void executeSequential(World world, StageGraph graph, float deltaTime) {
+        graph.reset();
+        for (int i = 0; i < graph.nodes.length; i++) {
+            runNode(world, graph, i, deltaTime);
         }
     }
     
     /**
-     * Structured concurrent execution with proper cancellation propagation.
+     * Task-graph execution: systems without unfinished predecessors go straight to the
+     * executor, and each completion releases its successors without polling. The finishing
+     * thread keeps one released successor for itself to skip a handoff.
      */
-    private void executeParallelStructured(World world, List<SystemEntry> entries, float deltaTime) {
-        try (var scope = new StructuredTaskScope.ShutdownOnFailure()) {
-            
-            // Create dependency-aware task graph
-            Map<String, StructuredTaskScope.Subtask<Void>> taskMap = new ConcurrentHashMap<>();
-            
-            for (SystemEntry entry : entries) {
-                if (!entry.system.enabled) {
-                    entry.completed = true;
-                    continue;
-                }
-                
-                StructuredTaskScope.Subtask<Void> task = scope.fork(() -> {
-                    waitForDependencies(entry, taskMap);
-                    executeSystem(world, entry, deltaTime);
-                    entry.completed = true;
-                    return null;
-                });
-                
-                taskMap.put(entry.system.name, task);
+    private void executeGraph(World world, StageGraph graph, float deltaTime) {
+        graph.reset();
+        CountDownLatch done = new CountDownLatch(graph.nodes.length);
+        
+        for (int i = 0; i < graph.nodes.length; i++) {
+            if (graph.predecessorCounts[i] == 0) {
+                submitNode(world, graph, i, deltaTime, done);
             }
-            
-            scope.join();
-            scope.throwIfFailed();
-            
+        }
+        
+        try {
+            done.await();
         } catch (InterruptedException e) {
             FPSFlux.LOGGER.warn("[ECS] System execution interrupted");
             Thread.currentThread().interrupt();
-        } catch (Exception e) {
-            FPSFlux.LOGGER.error("[ECS] System execution failed: {}", e.getMessage());
         }
     }
     
-    /**
-     * Wait for dependencies with exponential backoff.
-     */
-    private void waitForDependencies(SystemEntry entry, Map<String, StructuredTaskScope.Subtask<Void>> taskMap) {
-        if (entry.dependencies.isEmpty()) return;
-        
-        int backoff = 1;
-        while (!allDependenciesComplete(entry)) {
+    private void submitNode(World world, StageGraph graph, int node, float deltaTime, CountDownLatch done) {
+        try {
+            executor.execute(() -> runChain(world, graph, node, deltaTime, done));
+        } catch (RejectedExecutionException e) {
+            runChain(world, graph, node, deltaTime, done);
+        }
+    }
+    
+    private void runChain(World world, StageGraph graph, int node, float deltaTime, CountDownLatch done) {
+        int current = node;
+        while (current >= 0) {
+            int next = -1;
             try {
-                Thread.sleep(Math.min(backoff, 50));
-                backoff *= 2;
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                return;
+                runNode(world, graph, current, deltaTime);
+            } finally {
+                for (int successor : graph.successors[current]) {
+                    if (graph.pending.decrementAndGet(successor) == 0) {
+                        if (next < 0) {
+                            next = successor;
+                        } else {
+                            submitNode(world, graph, successor, deltaTime, done);
+                        }
+                    }
+                }
+                done.countDown();
             }
+            current = next;
         }
     }
     
-    private boolean allDependenciesComplete(SystemEntry entry) {
-        for (String dep : entry.dependencies) {
-            SystemEntry depEntry = systems.get(dep);
-            if (depEntry != null && !depEntry.completed) {
-                return false;
-            }
+    private void runNode(World world, StageGraph graph, int node, float deltaTime) {
+        SystemEntry entry = graph.nodes[node];
+        if (!entry.system.enabled) {
+            entry.completed = true;
+            return;
         }
-        return true;
+        long start = java.lang.System.nanoTime();
+        executeSystem(world, entry, deltaTime);
+        graph.durations[node] = java.lang.System.nanoTime() - start;
     }
     
     private void executeSystem(World world, SystemEntry entry, float deltaTime) {
@@ -315,26 +483,43 @@ public final class SystemScheduler {
         try {
             system.onBeforeUpdate(world, deltaTime);
             
-            List<Archetype> matchingArchetypes = world.getArchetypes().stream()
-                .filter(system::matchesArchetype)
-                .toList();
+            List<Archetype> matchingArchetypes = matchingArchetypes(world, entry);
+            
+            long writeCheckVersion = 0;
+            long[] entityVersions = null;
+            if (accessValidation) {
+                writeCheckVersion = world.getChangeVersion();
+                entityVersions = matchingArchetypes.stream().mapToLong(Archetype::getEntityVersion).toArray();
+            }
+            
+            int populated = 0;
+            for (int i = 0, n = matchingArchetypes.size(); i < n; i++) {
+                if (matchingArchetypes.get(i).getEntityCount() > 0) populated++;
+            }
             
             // Work-stealing parallel archetype processing for large systems
-            if (matchingArchetypes.size() > 4 && parallelism > 1) {
+            if (populated > 4 && parallelism > 1) {
                 workStealingPool.submit(() ->
-                    matchingArchetypes.parallelStream().forEach(archetype -> {
-                        system.update(world, archetype, deltaTime);
-                    })
+                    matchingArchetypes.parallelStream()
+                        .filter(archetype -> archetype.getEntityCount() > 0)
+                        .forEach(archetype -> system.update(world, archetype, deltaTime))
                 ).join();
-            } else {
-                for (Archetype archetype : matchingArchetypes) {
+            } else if (populated > 0) {
+                for (int i = 0, n = matchingArchetypes.size(); i < n; i++) {
+                    Archetype archetype = matchingArchetypes.get(i);
+                    int count = archetype.getEntityCount();
+                    if (count == 0) continue;
                     system.update(world, archetype, deltaTime);
-                    entityCount += archetype.getEntityCount();
+                    entityCount += count;
                 }
             }
             
             system.onAfterUpdate(world, deltaTime);
             
+            if (entityVersions != null) {
+                validateWrites(system, matchingArchetypes, entityVersions, writeCheckVersion);
+            }
+            
         } catch (Exception e) {
             FPSFlux.LOGGER.error("[ECS] System {} failed: {}", system.name, e.getMessage());
             e.printStackTrace();
@@ -358,6 +543,58 @@ public final class SystemScheduler {
         entry.executing = false;
     }
     
+    /**
+     * Archetypes matching a system, from a world live query resolved once per system. The
+     * world appends to it as archetypes are created, so nothing is filtered per tick.
+     */
+    private static List<Archetype> matchingArchetypes(World world, SystemEntry entry) {
+        World.LiveQuery live = entry.liveQuery;
+        if (live == null || entry.liveWorld != world) {
+            releaseLiveQuery(entry);
+            live = world.pinLiveQuery(entry.system.getRequiredMask(), entry.system.getExcludedMask());
+            entry.liveWorld = world;
+            entry.liveQuery = live;
+        }
+        return live.archetypes();
+    }
+
+    /**
+     * Unpin the entry's live query so its world can drop it.
+     */
+    private static void releaseLiveQuery(SystemEntry entry) {
+        World.LiveQuery live = entry.liveQuery;
+        World world = entry.liveWorld;
+        entry.liveQuery = null;
+        entry.liveWorld = null;
+        if (live != null && world != null) {
+            world.releaseLiveQuery(live);
+        }
+    }
+    
+    /**
+     * Report components a system changed without declaring them in its write mask.
+     * Archetypes that gained or lost entities meanwhile are skipped, since new rows are
+     * stamped as changed too.
+     */
+    private void validateWrites(System system, List<Archetype> archetypes, long[] entityVersions,
+                                long sinceVersion) {
+        System.ComponentMask declared = system.getWriteMask();
+        for (int i = 0; i < archetypes.size(); i++) {
+            Archetype archetype = archetypes.get(i);
+            if (archetype.getEntityVersion() != entityVersions[i]) continue;
+            
+            for (int typeId : archetype.getComponentTypeIds()) {
+                if (declared.get(typeId) || !archetype.hasComponentTypeChangedSince(typeId, sinceVersion)) {
+                    continue;
+                }
+                if (accessViolations.add(system.name + "#" + typeId)) {
+                    FPSFlux.LOGGER.warn("[ECS] System {} wrote component type {} without declaring write access",
+                        system.name, typeId);
+                }
+            }
+        }
+    }
+    
     /**
      * Rebuild execution order using Tarjan's algorithm for cycle detection.
      */
@@ -367,6 +604,7 @@ public final class SystemScheduler {
         }
         
         for (SystemEntry entry : systems.values()) {
+            releaseLiveQuery(entry);
             stageOrder.get(entry.stage).add(entry);
         }
         
@@ -379,6 +617,7 @@ public final class SystemScheduler {
         for (Stage stage : Stage.values()) {
             List<SystemEntry> sorted = tarjanTopologicalSort(stageOrder.get(stage));
             stageOrder.put(stage, sorted);
+            stageGraphs.put(stage, new StageGraph(sorted, conflictScheduling));
         }
         
         orderDirty = false;
@@ -513,6 +752,46 @@ public final class SystemScheduler {
             .toList();
     }
     
+    /**
+     * Critical path of the most recent execution of a stage.
+     */
+    public CriticalPath getCriticalPath(Stage stage) {
+        StageGraph graph = stageGraphs.get(stage);
+        return graph != null ? graph.criticalPath : CriticalPath.EMPTY;
+    }
+    
+    /**
+     * Conflict-free parallel batches of a stage, in execution order.
+     */
+    public List<List<String>> getParallelBatches(Stage stage) {
+        if (orderDirty) {
+            rebuildOrder();
+        }
+        return stageGraphs.get(stage).batches();
+    }
+    
+    /**
+     * Order systems with conflicting component access automatically (default on). When off,
+     * only explicit dependencies order systems within a stage.
+     */
+    public void setConflictScheduling(boolean enabled) {
+        this.conflictScheduling = enabled;
+        orderDirty = true;
+    }
+    
+    /**
+     * Debug mode: run stages sequentially and log components each system changed without
+     * declaring write access. Requires change tracking on the world's archetypes.
+     */
+    public void setAccessValidation(boolean enabled) {
+        this.accessValidation = enabled;
+        accessViolations.clear();
+    }
+    
+    public Set<String> getAccessViolations() {
+        return Collections.unmodifiableSet(accessViolations);
+    }
+    
     public void enableProfiling(boolean enabled) {
         this.profilingEnabled = enabled;
     }
@@ -537,6 +816,11 @@ public final class SystemScheduler {
                     s.executionCount,
                     s.enabled ? "" : " [DISABLED]"));
             }
+            CriticalPath path = getCriticalPath(stage);
+            if (!path.systems().isEmpty()) {
+                sb.append(String.format("  Critical path: %s (%.3f ms)\n",
+                    String.join(" -> ", path.systems()), path.millis()));
+            }
             sb.append("\n");
         }
         
@@ -46,7 +46,11 @@ public final class World implements AutoCloseable {
     private static final int CACHE_LINE_SIZE = 64;
     private static final int DEFAULT_MAX_ENTITIES = 1_000_000;
     private static final int DEFAULT_COMMAND_BUFFER_SIZE = 16_384;
-    private static final long QUERY_CACHE_TTL_NANOS = Duration.ofMillis(100).toNanos();
+
+    /** Ad-hoc live queries unused for this many updates are evicted */
+    private static final int QUERY_IDLE_UPDATES = 600;
+    /** Updates between eviction sweeps of the query cache */
+    private static final int QUERY_SWEEP_INTERVAL = 60;
 
     /** World configuration record */
     public record Config(
@@ -124,20 +128,32 @@ public final class World implements AutoCloseable {
     private volatile int maxEntityIndex = 0;
 
     // Archetype management with optimistic locking
-    private final ConcurrentHashMap<Long, Archetype> archetypesByMask = new ConcurrentHashMap<>(64);
+    private final ConcurrentHashMap<ArchetypeMask, Archetype> archetypesByMask = new ConcurrentHashMap<>(64);
     private final CopyOnWriteArrayList<Archetype> archetypeList = new CopyOnWriteArrayList<>();
     private final AtomicInteger nextArchetypeId = new AtomicInteger(0);
     private final StampedLock archetypeLock = new StampedLock();
 
-    // Query caching
-    private final ConcurrentHashMap<QueryKey, CachedQuery> queryCache = new ConcurrentHashMap<>();
-    private final AtomicLong queryCacheVersion = new AtomicLong(0);
+    // Inverted index: component type ID -> archetypes containing it (guarded by archetypeLock)
+    private final Map<Integer, List<Archetype>> archetypesByComponent = new HashMap<>();
+
+    // Live queries, kept up to date as archetypes are created; idle ad-hoc ones are evicted
+    private final ConcurrentHashMap<QueryKey, LiveQuery> queryCache = new ConcurrentHashMap<>();
+    private final AtomicLong structureVersion = new AtomicLong(0);
+    private final AtomicLong updateCount = new AtomicLong(0);
+
+    // World-wide source of component change versions (shared by all archetypes)
+    private final AtomicLong changeClock = new AtomicLong(0);
 
     // System scheduling
     private final SystemScheduler scheduler;
     private final ExecutorService virtualExecutor;
+    private final ForkJoinPool workPool;
+    private final ParallelRangeExecutor parallelExecutor;
     private final StructuredTaskScope.ShutdownOnFailure structuredScope;
 
+    // Stages skipped by update() (load shedding); executeStage() still runs them
+    private volatile Set<SystemScheduler.Stage> suspendedStages = EnumSet.noneOf(SystemScheduler.Stage.class);
+
     // Component registry reference
     private final ComponentRegistry registry;
 
@@ -177,18 +193,37 @@ public final class World implements AutoCloseable {
         EntityFlag(byte mask) { this.mask = mask; }
     }
 
-    /** Query key for caching */
-    private record QueryKey(long requiredMask, long excludedMask, long optionalMask) {}
+    /** Query key for caching; optional components never change which archetypes match */
+    private record QueryKey(ArchetypeMask requiredMask, ArchetypeMask excludedMask) {}
 
-    /** Cached query result */
-    private record CachedQuery(
-        List<Archetype> archetypes,
-        long version,
-        long timestampNanos
-    ) {
-        boolean isValid(long currentVersion) {
-            return version == currentVersion &&
-                   (java.lang.System.nanoTime() - timestampNanos) < QUERY_CACHE_TTL_NANOS;
+    /** Registered query whose matching archetypes are appended as new archetypes appear */
+    static final class LiveQuery {
+        final ArchetypeMask requiredMask;
+        final ArchetypeMask excludedMask;
+        volatile List<Archetype> archetypes;
+        /** Systems holding this query across ticks; a pinned query is never evicted */
+        final AtomicInteger pins = new AtomicInteger();
+        /** Update count at the last lookup */
+        volatile long lastUsed;
+
+        LiveQuery(ArchetypeMask requiredMask, ArchetypeMask excludedMask, List<Archetype> initial) {
+            this.requiredMask = requiredMask;
+            this.excludedMask = excludedMask;
+            this.archetypes = List.copyOf(initial);
+        }
+
+        /** Current matches; a new immutable list replaces this one whenever an archetype matches. */
+        List<Archetype> archetypes() {
+            return archetypes;
+        }
+
+        /** Append the archetype if it matches (caller holds the archetype write lock). */
+        void offer(Archetype archetype) {
+            if (!archetype.matchesQuery(requiredMask, excludedMask)) return;
+            List<Archetype> current = archetypes;
+            Archetype[] grown = current.toArray(new Archetype[current.size() + 1]);
+            grown[current.size()] = archetype;
+            archetypes = List.of(grown);
         }
     }
 
@@ -225,6 +260,10 @@ public final class World implements AutoCloseable {
             ? Executors.newVirtualThreadPerTaskExecutor()
             : Executors.newWorkStealingPool(config.parallelism());
 
+        // Chunk-level data parallelism (platform threads, work stealing)
+        this.workPool = new ForkJoinPool(Math.max(1, config.parallelism()));
+        this.parallelExecutor = new ParallelRangeExecutor(workPool);
+
         this.structuredScope = new StructuredTaskScope.ShutdownOnFailure(
             "World-" + config.name(), Thread.ofVirtual().factory());
 
@@ -283,7 +322,10 @@ public final class World implements AutoCloseable {
         totalEntitiesCreated.increment();
         
         Entity entity = new Entity(index, generation);
-        eventBus.publish(new EntityCreatedEvent(entity));
+        eventBus.record(EntityEventKind.ENTITY_CREATED, entity.pack(), -1);
+        if (eventBus.hasSubscribers(EntityCreatedEvent.class)) {
+            eventBus.publish(new EntityCreatedEvent(entity));
+        }
         
         return entity;
     }
@@ -296,7 +338,7 @@ public final class World implements AutoCloseable {
         Entity entity = createEntity();
 
         if (componentTypes.length > 0) {
-            long mask = computeComponentMask(componentTypes);
+            ArchetypeMask mask = computeComponentMask(componentTypes);
             Archetype archetype = getOrCreateArchetype(mask);
             archetype.addEntity(entity);
             setArchetypeId(entity.index(), archetype.id);
@@ -318,7 +360,7 @@ public final class World implements AutoCloseable {
         
         if (prefabArchetypeId >= 0) {
             Archetype prefabArchetype = archetypeList.get(prefabArchetypeId);
-            Archetype entityArchetype = getOrCreateArchetype(prefabArchetype.getComponentMask());
+            Archetype entityArchetype = getOrCreateArchetype(prefabArchetype.getMask());
             
             entityArchetype.addEntity(entity);
             entityArchetype.copyEntityData(prefab, entity, prefabArchetype);
@@ -347,7 +389,7 @@ public final class World implements AutoCloseable {
     @SafeVarargs
     public final Entity[] createEntities(int count, Class<?>... componentTypes) {
         Entity[] entities = new Entity[count];
-        long mask = computeComponentMask(componentTypes);
+        ArchetypeMask mask = computeComponentMask(componentTypes);
         Archetype archetype = getOrCreateArchetype(mask);
 
         for (int i = 0; i < count; i++) {
@@ -366,7 +408,9 @@ public final class World implements AutoCloseable {
     public void destroyEntity(Entity entity) {
         if (!isValid(entity)) return;
 
-        eventBus.publish(new EntityDestroyingEvent(entity));
+        if (eventBus.hasSubscribers(EntityDestroyingEvent.class)) {
+            eventBus.publish(new EntityDestroyingEvent(entity));
+        }
 
         // Remove relationships
         relationships.removeEntity(entity);
@@ -388,16 +432,18 @@ public final class World implements AutoCloseable {
         // Recycle index
         recycledIndices.addLast(entity.index());
         totalEntitiesDestroyed.increment();
-        invalidateQueryCache();
 
-        eventBus.publish(new EntityDestroyedEvent(entity.index()));
+        eventBus.record(EntityEventKind.ENTITY_DESTROYED, entity.pack(), -1);
+        if (eventBus.hasSubscribers(EntityDestroyedEvent.class)) {
+            eventBus.publish(new EntityDestroyedEvent(entity.index()));
+        }
     }
 
     /**
      * Deferred entity destruction (thread-safe).
      */
     public void destroyEntityDeferred(Entity entity) {
-        commandBuffer.enqueue(new DestroyEntityCommand(entity));
+        commandBuffer.destroyEntity(entity);
     }
 
     /**
@@ -455,11 +501,12 @@ public final class World implements AutoCloseable {
 
         ComponentRegistry.ComponentType type = registry.getType(componentClass);
         int currentArchetypeId = getArchetypeId(entity.index());
-        long currentMask = 0;
+        Archetype currentArchetype = null;
+        ArchetypeMask currentMask = ArchetypeMask.EMPTY;
 
         if (currentArchetypeId >= 0) {
-            Archetype currentArchetype = archetypeList.get(currentArchetypeId);
-            currentMask = currentArchetype.getComponentMask();
+            currentArchetype = archetypeList.get(currentArchetypeId);
+            currentMask = currentArchetype.getMask();
 
             // Already has component - just update
             if (currentArchetype.hasComponent(type.id)) {
@@ -468,27 +515,17 @@ public final class World implements AutoCloseable {
                 componentOperations.increment();
                 return;
             }
-
-            // Remove from current archetype
-            currentArchetype.removeEntity(entity);
         }
 
-        // Migrate to new archetype
-        long newMask = currentMask | (1L << type.id);
-        Archetype newArchetype = getOrCreateArchetype(newMask);
-        newArchetype.addEntity(entity);
+        Archetype newArchetype = getOrCreateArchetype(currentMask.with(type.id()));
+        moveEntity(entity, currentArchetype, newArchetype, type.id());
         newArchetype.setComponent(entity.index(), type.id, data);
-        setArchetypeId(entity.index(), newArchetype.id);
-
-        // Copy existing component data
-        if (currentArchetypeId >= 0) {
-            Archetype oldArchetype = archetypeList.get(currentArchetypeId);
-            copyComponentData(entity, oldArchetype, newArchetype, type.id);
-        }
 
         componentOperations.increment();
-        invalidateQueryCache();
-        eventBus.publish(new ComponentAddedEvent(entity, componentClass));
+        eventBus.record(EntityEventKind.COMPONENT_ADDED, entity.pack(), type.id());
+        if (eventBus.hasSubscribers(ComponentAddedEvent.class)) {
+            eventBus.publish(new ComponentAddedEvent(entity, componentClass));
+        }
     }
 
     /**
@@ -517,7 +554,7 @@ public final class World implements AutoCloseable {
      * Add component deferred (thread-safe).
      */
     public <T> void addComponentDeferred(Entity entity, Class<T> componentClass, ByteBuffer data) {
-        commandBuffer.enqueue(new AddComponentCommand(entity, componentClass, data.duplicate()));
+        commandBuffer.addComponent(entity, registry.getType(componentClass).id(), data);
     }
 
     /**
@@ -534,24 +571,177 @@ public final class World implements AutoCloseable {
         Archetype currentArchetype = archetypeList.get(currentArchetypeId);
         if (!currentArchetype.hasComponent(type.id)) return;
 
-        eventBus.publish(new ComponentRemovingEvent(entity, componentClass));
+        if (eventBus.hasSubscribers(ComponentRemovingEvent.class)) {
+            eventBus.publish(new ComponentRemovingEvent(entity, componentClass));
+        }
 
-        long newMask = currentArchetype.getComponentMask() & ~(1L << type.id);
+        ArchetypeMask newMask = currentArchetype.getMask().without(type.id());
+        Archetype newArchetype = newMask.isEmpty() ? null : getOrCreateArchetype(newMask);
+        moveEntity(entity, currentArchetype, newArchetype, type.id());
 
-        if (newMask == 0) {
-            currentArchetype.removeEntity(entity);
-            setArchetypeId(entity.index(), -1);
-        } else {
-            Archetype newArchetype = getOrCreateArchetype(newMask);
-            copyComponentDataExcept(entity, currentArchetype, newArchetype, type.id);
-            currentArchetype.removeEntity(entity);
-            newArchetype.addEntity(entity);
-            setArchetypeId(entity.index(), newArchetype.id);
+        componentOperations.increment();
+        eventBus.record(EntityEventKind.COMPONENT_REMOVED, entity.pack(), type.id());
+        if (eventBus.hasSubscribers(ComponentRemovedEvent.class)) {
+            eventBus.publish(new ComponentRemovedEvent(entity, componentClass));
         }
+    }
 
-        componentOperations.increment();
-        invalidateQueryCache();
-        eventBus.publish(new ComponentRemovedEvent(entity, componentClass));
+    /**
+     * Add a component to many entities at once.
+     *
+     * <p>Entities are grouped by current archetype; each group resolves its target through the
+     * archetype edge graph once and moves with bulk row copies. {@code data} (may be null for tags
+     * or zeroed data) is written to every entity. Fires one {@link ComponentBatchAddedEvent}.</p>
+     *
+     * @return the number of entities that gained the component
+     */
+    public int addComponent(Entity[] entities, Class<?> componentClass, ByteBuffer data) {
+        ComponentRegistry.ComponentType type = registry.getType(componentClass);
+        int typeId = type.id();
+        List<Entity> added = new ArrayList<>();
+
+        forEachArchetypeGroup(entities, (source, group, count) -> {
+            if (source != null && source.hasComponent(typeId)) {
+                // Already present - just update
+                if (data != null) {
+                    for (int i = 0; i < count; i++) {
+                        source.setComponent(group[i].index(), typeId, data);
+                    }
+                }
+                componentOperations.add(count);
+                return;
+            }
+
+            Archetype target = source != null
+                ? source.migrateAdd(null, typeId, this::getOrCreateArchetype).orElseThrow()
+                : getOrCreateArchetype(ArchetypeMask.EMPTY.with(typeId));
+
+            if (source != null) {
+                source.transferEntities(target, group, count);
+            } else {
+                for (int i = 0; i < count; i++) {
+                    target.addEntity(group[i]);
+                }
+            }
+
+            for (int i = 0; i < count; i++) {
+                Entity entity = group[i];
+                if (target.slotOf(entity.index()) < 0) continue;
+                setArchetypeId(entity.index(), target.id);
+                if (data != null) {
+                    target.setComponent(entity.index(), typeId, data);
+                }
+                added.add(entity);
+            }
+            componentOperations.add(count);
+        });
+
+        if (!added.isEmpty()) {
+            eventBus.record(EntityEventKind.COMPONENT_ADDED, added, typeId);
+            if (eventBus.hasSubscribers(ComponentBatchAddedEvent.class)) {
+                eventBus.publish(new ComponentBatchAddedEvent(added, componentClass));
+            }
+        }
+        return added.size();
+    }
+
+    /**
+     * Add a component to every entity matched by a query (see {@link #addComponent(Entity[], Class, ByteBuffer)}).
+     */
+    public int addComponent(Query query, Class<?> componentClass, ByteBuffer data) {
+        return addComponent(query.toList().toArray(new Entity[0]), componentClass, data);
+    }
+
+    /**
+     * Remove a component from many entities at once, resolving each archetype transition once.
+     * Fires one {@link ComponentBatchRemovingEvent} and one {@link ComponentBatchRemovedEvent}.
+     *
+     * @return the number of entities that lost the component
+     */
+    public int removeComponent(Entity[] entities, Class<?> componentClass) {
+        int typeId = registry.getType(componentClass).id();
+
+        List<Entity> affected = new ArrayList<>();
+        for (Entity entity : entities) {
+            if (hasComponent(entity, componentClass)) affected.add(entity);
+        }
+        if (affected.isEmpty()) return 0;
+
+        if (eventBus.hasSubscribers(ComponentBatchRemovingEvent.class)) {
+            eventBus.publish(new ComponentBatchRemovingEvent(affected, componentClass));
+        }
+
+        List<Entity> removed = new ArrayList<>(affected.size());
+        forEachArchetypeGroup(affected.toArray(new Entity[0]), (source, group, count) -> {
+            if (source == null || !source.hasComponent(typeId)) return;
+
+            Archetype target = source.migrateRemove(null, typeId, this::getOrCreateArchetype).orElse(null);
+            source.transferEntities(target, group, count);
+
+            for (int i = 0; i < count; i++) {
+                Entity entity = group[i];
+                if (source.slotOf(entity.index()) >= 0) continue;
+                setArchetypeId(entity.index(), target != null ? target.id : -1);
+                removed.add(entity);
+            }
+            componentOperations.add(count);
+        });
+
+        eventBus.record(EntityEventKind.COMPONENT_REMOVED, removed, typeId);
+        if (eventBus.hasSubscribers(ComponentBatchRemovedEvent.class)) {
+            eventBus.publish(new ComponentBatchRemovedEvent(removed, componentClass));
+        }
+        return removed.size();
+    }
+
+    /**
+     * Remove a component from every entity matched by a query.
+     */
+    public int removeComponent(Query query, Class<?> componentClass) {
+        return removeComponent(query.toList().toArray(new Entity[0]), componentClass);
+    }
+
+    /**
+     * Visit valid entities grouped by current archetype (null for entities without components).
+     * Slot ordering within a group is left to {@link Archetype#transferEntities}.
+     */
+    private void forEachArchetypeGroup(Entity[] entities, ArchetypeGroupConsumer consumer) {
+        long[] keys = new long[entities.length];
+        int n = 0;
+        for (int i = 0; i < entities.length; i++) {
+            if (isValid(entities[i])) {
+                keys[n++] = ((long) (getArchetypeId(entities[i].index()) + 1) << 32) | i;
+            }
+        }
+        Arrays.sort(keys, 0, n);
+
+        Entity[] group = new Entity[n];
+        int start = 0;
+        while (start < n) {
+            long archetypeKey = keys[start] >>> 32;
+            int count = 0;
+            int end = start;
+            while (end < n && keys[end] >>> 32 == archetypeKey) {
+                group[count++] = entities[(int) keys[end]];
+                end++;
+            }
+
+            int archetypeId = (int) archetypeKey - 1;
+            consumer.accept(archetypeId >= 0 ? archetypeList.get(archetypeId) : null, group, count);
+            start = end;
+        }
+    }
+
+    @FunctionalInterface
+    private interface ArchetypeGroupConsumer {
+        void accept(Archetype source, Entity[] group, int count);
+    }
+
+    /**
+     * Remove component deferred (thread-safe).
+     */
+    public void removeComponentDeferred(Entity entity, Class<?> componentClass) {
+        commandBuffer.removeComponent(entity, registry.getType(componentClass).id());
     }
 
     /**
@@ -665,31 +855,123 @@ public final class World implements AutoCloseable {
      * Get archetypes matching a component query with optional mask (cached).
      */
     public List<Archetype> queryArchetypes(long requiredMask, long excludedMask, long optionalMask) {
-        QueryKey key = new QueryKey(requiredMask, excludedMask, optionalMask);
-        long currentVersion = queryCacheVersion.get();
+        return queryArchetypes(ArchetypeMask.of(requiredMask), ArchetypeMask.of(excludedMask),
+            ArchetypeMask.of(optionalMask));
+    }
 
-        // Check cache
-        CachedQuery cached = queryCache.get(key);
-        if (cached != null && cached.isValid(currentVersion)) {
+    /**
+     * Get archetypes matching a System's component masks (cached).
+     */
+    public List<Archetype> queryArchetypes(System.ComponentMask requiredMask, System.ComponentMask excludedMask,
+            System.ComponentMask optionalMask) {
+        return queryArchetypes(
+            ArchetypeMask.ofWords(requiredMask.getWordsSnapshot()),
+            ArchetypeMask.ofWords(excludedMask.getWordsSnapshot()),
+            optionalMask != null ? ArchetypeMask.ofWords(optionalMask.getWordsSnapshot()) : ArchetypeMask.EMPTY);
+    }
+
+    /**
+     * Get archetypes matching an arbitrary-width component query (cached).
+     */
+    public List<Archetype> queryArchetypes(ArchetypeMask requiredMask, ArchetypeMask excludedMask,
+            ArchetypeMask optionalMask) {
+        // Optional components never change which archetypes match
+        return liveQuery(requiredMask, excludedMask).archetypes;
+    }
+
+    /**
+     * Pin the live query for a System's masks; holders read {@link LiveQuery#archetypes()} each
+     * tick instead of re-querying, and hand it back through {@link #releaseLiveQuery}.
+     */
+    LiveQuery pinLiveQuery(System.ComponentMask requiredMask, System.ComponentMask excludedMask) {
+        ArchetypeMask required = ArchetypeMask.ofWords(requiredMask.getWordsSnapshot());
+        ArchetypeMask excluded = ArchetypeMask.ofWords(excludedMask.getWordsSnapshot());
+
+        // Same lock order as liveQuery: archetype read lock, then the cache bin
+        long stamp = archetypeLock.readLock();
+        try {
+            return queryCache.compute(new QueryKey(required, excluded), (key, live) -> {
+                if (live == null) {
+                    live = new LiveQuery(required, excluded, matchArchetypes(required, excluded));
+                }
+                live.pins.incrementAndGet();
+                live.lastUsed = updateCount.get();
+                return live;
+            });
+        } finally {
+            archetypeLock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Unpin a query from {@link #pinLiveQuery}; the last release drops it from the cache so it
+     * stops being offered new archetypes.
+     */
+    void releaseLiveQuery(LiveQuery live) {
+        queryCache.computeIfPresent(new QueryKey(live.requiredMask, live.excludedMask),
+            (key, current) -> current == live && live.pins.decrementAndGet() <= 0 ? null : current);
+    }
+
+    private LiveQuery liveQuery(ArchetypeMask requiredMask, ArchetypeMask excludedMask) {
+        QueryKey key = new QueryKey(requiredMask, excludedMask);
+
+        // Live queries are kept current by registerArchetype, so a hit is always valid
+        LiveQuery live = queryCache.get(key);
+        if (live != null) {
             queryCacheHits.increment();
-            return cached.archetypes();
+            live.lastUsed = updateCount.get();
+            return live;
         }
 
         queryCacheMisses.increment();
 
-        // Compute result
-        List<Archetype> result = archetypeList.stream()
-            .filter(Objects::nonNull)
-            .filter(a -> {
-                long mask = a.getComponentMask();
-                return (mask & requiredMask) == requiredMask && (mask & excludedMask) == 0;
-            })
-            .toList();
+        // Match and register under the read lock so no archetype can slip in between
+        long stamp = archetypeLock.readLock();
+        try {
+            live = queryCache.computeIfAbsent(key, k ->
+                new LiveQuery(requiredMask, excludedMask, matchArchetypes(requiredMask, excludedMask)));
+        } finally {
+            archetypeLock.unlockRead(stamp);
+        }
+        live.lastUsed = updateCount.get();
+        return live;
+    }
 
-        // Cache result
-        queryCache.put(key, new CachedQuery(result, currentVersion, java.lang.System.nanoTime()));
+    /**
+     * Drop ad-hoc live queries nobody has looked up for {@link #QUERY_IDLE_UPDATES} updates.
+     * Callers only ever keep the archetype list, which stays valid as a snapshot.
+     */
+    private void evictIdleQueries(long now) {
+        for (QueryKey key : queryCache.keySet()) {
+            // Re-checked under the bin lock so a concurrent pin is never evicted
+            queryCache.computeIfPresent(key, (k, live) ->
+                live.pins.get() == 0 && now - live.lastUsed > QUERY_IDLE_UPDATES ? null : live);
+        }
+    }
 
-        return result;
+    /**
+     * Match archetypes by intersecting the shortest required posting list (caller holds archetypeLock).
+     */
+    private List<Archetype> matchArchetypes(ArchetypeMask requiredMask, ArchetypeMask excludedMask) {
+        List<Archetype> candidates = null;
+        for (int typeId : requiredMask.toTypeIds()) {
+            List<Archetype> posting = archetypesByComponent.get(typeId);
+            if (posting == null) return List.of();
+            if (candidates == null || posting.size() < candidates.size()) {
+                candidates = posting;
+            }
+        }
+        if (candidates == null) {
+            candidates = archetypeList; // No required components: every archetype is a candidate
+        }
+
+        List<Archetype> matches = new ArrayList<>();
+        for (Archetype a : candidates) {
+            if (a != null && a.matchesQuery(requiredMask, excludedMask)) {
+                matches.add(a);
+            }
+        }
+        return matches;
     }
 
     /**
@@ -703,21 +985,17 @@ public final class World implements AutoCloseable {
     }
 
     /**
-     * Execute action on matching entities in parallel.
+     * Execute action on matching entities in parallel, split into chunk-sized ranges
+     * across all matching archetypes and balanced by work stealing.
      */
     public void forEachParallel(long requiredMask, Consumer<Entity> action) {
         List<Archetype> archetypes = queryArchetypes(requiredMask, 0);
         
         try {
-            List<CompletableFuture<Void>> futures = archetypes.stream()
-                .map(archetype -> CompletableFuture.runAsync(
-                    () -> archetype.forEachEntity(entity -> {
-                        if (isValid(entity)) action.accept(entity);
-                    }),
-                    virtualExecutor))
-                .toList();
-
-            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+            parallelExecutor.execute(archetypes, (archetype, from, to) ->
+                archetype.forEachEntityInRange(from, to, null, 0L, entity -> {
+                    if (isValid(entity)) action.accept(entity);
+                }));
         } catch (Exception e) {
             FPSFlux.LOGGER.error("[ECS] Parallel forEach failed", e);
         }
@@ -728,9 +1006,9 @@ public final class World implements AutoCloseable {
      */
     public static final class QueryBuilder {
         private final World world;
-        private long requiredMask = 0;
-        private long excludedMask = 0;
-        private long optionalMask = 0;
+        private ArchetypeMask requiredMask = ArchetypeMask.EMPTY;
+        private ArchetypeMask excludedMask = ArchetypeMask.EMPTY;
+        private ArchetypeMask optionalMask = ArchetypeMask.EMPTY;
         private Predicate<Entity> filter = e -> true;
 
         private QueryBuilder(World world) { this.world = world; }
@@ -738,7 +1016,7 @@ public final class World implements AutoCloseable {
         @SafeVarargs
         public final QueryBuilder with(Class<?>... components) {
             for (Class<?> c : components) {
-                requiredMask |= (1L << world.registry.getType(c).id);
+                requiredMask = requiredMask.with(world.registry.getType(c).id());
             }
             return this;
         }
@@ -746,7 +1024,7 @@ public final class World implements AutoCloseable {
         @SafeVarargs
         public final QueryBuilder without(Class<?>... components) {
             for (Class<?> c : components) {
-                excludedMask |= (1L << world.registry.getType(c).id);
+                excludedMask = excludedMask.with(world.registry.getType(c).id());
             }
             return this;
         }
@@ -754,7 +1032,7 @@ public final class World implements AutoCloseable {
         @SafeVarargs
         public final QueryBuilder optional(Class<?>... components) {
             for (Class<?> c : components) {
-                optionalMask |= (1L << world.registry.getType(c).id);
+                optionalMask = optionalMask.with(world.registry.getType(c).id());
             }
             return this;
         }
@@ -800,28 +1078,24 @@ public final class World implements AutoCloseable {
      * Get or create archetype for component mask.
      */
     private Archetype getOrCreateArchetype(long mask) {
+        return getOrCreateArchetype(ArchetypeMask.of(mask));
+    }
+
+    /**
+     * Get or create archetype for arbitrary-width component mask.
+     */
+    private Archetype getOrCreateArchetype(ArchetypeMask mask) {
         return archetypesByMask.computeIfAbsent(mask, m -> {
             int[] typeIdArray = computeTypeIdArray(m);
             int id = nextArchetypeId.getAndIncrement();
             
-            Archetype archetype = new Archetype(
-                id, typeIdArray, registry,
-                config.useOffHeapStorage(),
-                config.enableChangeDetection()
-            );
+            Archetype.Config archetypeConfig = Archetype.Config.builder()
+                .useOffHeap(config.useOffHeapStorage())
+                .trackChanges(config.enableChangeDetection())
+                .build();
+            Archetype archetype = new Archetype(id, typeIdArray, registry, archetypeConfig, changeClock);
 
-            // Thread-safe list update
-            long stamp = archetypeLock.writeLock();
-            try {
-                while (archetypeList.size() <= id) {
-                    archetypeList.add(null);
-                }
-                archetypeList.set(id, archetype);
-            } finally {
-                archetypeLock.unlockWrite(stamp);
-            }
-
-            invalidateQueryCache();
+            registerArchetype(archetype);
             eventBus.publish(new ArchetypeCreatedEvent(archetype));
 
             return archetype;
@@ -851,8 +1125,44 @@ public final class World implements AutoCloseable {
         return result;
     }
 
-    private void invalidateQueryCache() {
-        queryCacheVersion.incrementAndGet();
+    /**
+     * Publish a new archetype: list slot, posting lists, and only the live queries it matches.
+     */
+    private void registerArchetype(Archetype archetype) {
+        long stamp = archetypeLock.writeLock();
+        try {
+            while (archetypeList.size() <= archetype.id) {
+                archetypeList.add(null);
+            }
+            archetypeList.set(archetype.id, archetype);
+
+            for (int typeId : archetype.getComponentTypeIds()) {
+                archetypesByComponent.computeIfAbsent(typeId, k -> new ArrayList<>()).add(archetype);
+            }
+
+            for (LiveQuery live : queryCache.values()) {
+                live.offer(archetype);
+            }
+
+            structureVersion.incrementAndGet();
+        } finally {
+            archetypeLock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Get structure version (bumped whenever an archetype is created).
+     */
+    public long getStructureVersion() {
+        return structureVersion.get();
+    }
+
+    /**
+     * Get the current change version. Components written after this call report a
+     * higher version, so the value can be handed to {@link Query#changedSince(long)}.
+     */
+    public long getChangeVersion() {
+        return changeClock.get();
     }
 
     // ========================================================================
@@ -898,11 +1208,50 @@ public final class World implements AutoCloseable {
         
         state = WorldState.RUNNING;
 
+        long updates = updateCount.incrementAndGet();
+        if (updates % QUERY_SWEEP_INTERVAL == 0) {
+            evictIdleQueries(updates);
+        }
+
         // Process deferred commands
         commandBuffer.execute(this);
 
-        // Execute systems
-        scheduler.executeAll(this, deltaTime);
+        // Execute systems, delivering batched entity events before the dispatch stage
+        SystemScheduler.Stage dispatchStage = eventBus.getDispatchStage();
+        Set<SystemScheduler.Stage> suspended = suspendedStages;
+        for (SystemScheduler.Stage stage : SystemScheduler.Stage.values()) {
+            if (stage == dispatchStage) {
+                eventBus.dispatchStreams();
+            }
+            if (suspended.contains(stage)) continue;
+            scheduler.executeStage(this, stage, deltaTime);
+        }
+    }
+
+    /**
+     * Skip or resume a stage in {@link #update(float)}. Explicit
+     * {@link #executeStage(SystemScheduler.Stage, float)} calls are unaffected.
+     */
+    public synchronized void setStageSuspended(SystemScheduler.Stage stage, boolean suspended) {
+        EnumSet<SystemScheduler.Stage> next = EnumSet.noneOf(SystemScheduler.Stage.class);
+        next.addAll(suspendedStages);
+        if (suspended) {
+            next.add(stage);
+        } else {
+            next.remove(stage);
+        }
+        suspendedStages = next;
+    }
+
+    public boolean isStageSuspended(SystemScheduler.Stage stage) {
+        return suspendedStages.contains(stage);
+    }
+
+    /**
+     * Deliver pending entity stream events now instead of at the dispatch stage.
+     */
+    public void dispatchEvents() {
+        eventBus.dispatchStreams();
     }
 
     /**
@@ -949,10 +1298,13 @@ public final class World implements AutoCloseable {
         if (state == WorldState.SHUTDOWN) return;
 
         state = WorldState.SHUTDOWN;
+        eventBus.dispatchStreams();
         eventBus.publish(new WorldShuttingDownEvent(this));
 
         scheduler.shutdown(this);
         virtualExecutor.shutdown();
+        workPool.shutdown();
+        commandBuffer.close();
 
         try {
             structuredScope.close();
@@ -1009,6 +1361,7 @@ public final class World implements AutoCloseable {
     // ========================================================================
 
     public SystemScheduler getScheduler() { return scheduler; }
+    public ForkJoinPool getWorkPool() { return workPool; }
     public ComponentRegistry getRegistry() { return registry; }
     public CommandBuffer getCommandBuffer() { return commandBuffer; }
     public EventBus getEventBus() { return eventBus; }
@@ -1140,22 +1493,20 @@ public final class World implements AutoCloseable {
         return false;
     }
 
-    private long computeComponentMask(Class<?>[] componentTypes) {
-        long mask = 0;
-        for (Class<?> type : componentTypes) {
-            ComponentRegistry.ComponentType ct = registry.getType(type);
-            mask |= (1L << ct.id);
-        }
-        return mask;
+    private ArchetypeMask computeComponentMask(Class<?>[] componentTypes) {
+        return registry.computeArchetypeMask(componentTypes);
     }
 
-    private int[] computeTypeIdArray(long mask) {
-        return IntStream.range(0, 64)
-            .filter(i -> (mask & (1L << i)) != 0)
-            .toArray();
+    private int[] computeTypeIdArray(ArchetypeMask mask) {
+        return mask.toTypeIds();
     }
 
     private void copyComponentData(Entity entity, Archetype from, Archetype to, int excludeTypeId) {
+        if (from.isChunked() && to.isChunked()) {
+            // Shared columns only; the excluded type is absent on one side by construction
+            to.copyEntityDataSegment(entity, entity, from);
+            return;
+        }
         for (int typeId : from.getComponentTypeIds()) {
             if (typeId != excludeTypeId) {
                 ByteBuffer data = from.getComponent(entity.index(), typeId);
@@ -1166,8 +1517,21 @@ public final class World implements AutoCloseable {
         }
     }
 
-    private void copyComponentDataExcept(Entity entity, Archetype from, Archetype to, int excludeTypeId) {
-        copyComponentData(entity, from, to, excludeTypeId);
+    /**
+     * Move an entity between archetypes (either side may be null), carrying shared component data.
+     * Rows exist on both sides while data is copied.
+     */
+    private void moveEntity(Entity entity, Archetype from, Archetype to, int changedTypeId) {
+        if (to != null) {
+            to.addEntity(entity);
+            if (from != null) {
+                copyComponentData(entity, from, to, changedTypeId);
+            }
+        }
+        if (from != null) {
+            from.removeEntity(entity);
+        }
+        setArchetypeId(entity.index(), to != null ? to.id : -1);
     }
 
     private void markComponentChanged(Entity entity, int typeId) {
@@ -1228,59 +1592,453 @@ public final class World implements AutoCloseable {
     // ========================================================================
 
     /**
-     * Thread-safe command buffer for deferred entity operations.
+     * Deferred structural changes recorded per thread into off-heap byte streams.
+     *
+     * <p>Each recording thread owns a {@link Recorder}, so recording never contends with other
+     * threads and copies component data into the stream instead of allocating a buffer per command.
+     * {@link #execute(World)} drains every recorder at the sync point and plays commands back grouped
+     * by (source archetype, operation, component type), so each group resolves its target archetype
+     * once. Commands for the same entity, destroys included, keep their recorded order; playback
+     * scratch is reused across executions.</p>
+     *
+     * <p>Record layout (8-byte aligned): {@code [op:int][typeId:int][entity:long][length:int][pad:int][data...]}</p>
      */
-    public static final class CommandBuffer {
-        private final ConcurrentLinkedQueue<Command> commands = new ConcurrentLinkedQueue<>();
+    public static final class CommandBuffer implements AutoCloseable {
+        private static final int OP_DESTROY = 0;
+        private static final int OP_ADD = 1;
+        private static final int OP_REMOVE = 2;
+
+        private static final int HEADER_BYTES = 24;
+        private static final long INITIAL_STREAM_BYTES = 16 * 1024;
+
         private final int maxSize;
-        private final AtomicInteger size = new AtomicInteger(0);
+        private final ThreadLocal<Recorder> localRecorder = ThreadLocal.withInitial(this::register);
+        private final CopyOnWriteArrayList<Recorder> recorders = new CopyOnWriteArrayList<>();
+
+        // Playback scratch, only touched by the executing thread
+        private final List<RecordStream> drained = new ArrayList<>();
+        private long[] records = new long[0];
+        private long[] keys = new long[0];
+        private int[] rounds = new int[0];
+        private Entity[] batch = new Entity[0];
+        private long[] locations = new long[0];
 
         public CommandBuffer(int maxSize) {
             this.maxSize = maxSize;
         }
 
-        public void enqueue(Command command) {
-            if (size.incrementAndGet() > maxSize) {
-                size.decrementAndGet();
-                throw new IllegalStateException("Command buffer overflow");
-            }
-            commands.offer(command);
+        // --------------------------------------------------------------------
+        // Recording
+        // --------------------------------------------------------------------
+
+        public void destroyEntity(Entity entity) {
+            localRecorder.get().record(OP_DESTROY, 0, entity.pack(), null, maxSize);
+        }
+
+        public void addComponent(Entity entity, int typeId, ByteBuffer data) {
+            localRecorder.get().record(OP_ADD, typeId, entity.pack(), MemorySegment.ofBuffer(data), maxSize);
+        }
+
+        public void addComponent(Entity entity, int typeId, MemorySegment data) {
+            localRecorder.get().record(OP_ADD, typeId, entity.pack(), data, maxSize);
+        }
+
+        public void removeComponent(Entity entity, int typeId) {
+            localRecorder.get().record(OP_REMOVE, typeId, entity.pack(), null, maxSize);
+        }
+
+        private Recorder register() {
+            Recorder recorder = new Recorder(Thread.currentThread());
+            recorders.add(recorder);
+            return recorder;
         }
 
+        // --------------------------------------------------------------------
+        // Playback
+        // --------------------------------------------------------------------
+
+        /**
+         * Drain all recorders and apply their commands. Commands recorded while this runs
+         * (e.g. from event handlers) are applied by the next call.
+         */
         public void execute(World world) {
-            Command cmd;
-            while ((cmd = commands.poll()) != null) {
-                cmd.execute(world);
-                size.decrementAndGet();
+            int total = drain();
+            if (total == 0) return;
+
+            try {
+                // Decode record locations in recorded order
+                ensureScratch(total);
+                int count = 0;
+                for (int s = 0; s < drained.size(); s++) {
+                    MemorySegment segment = drained.get(s).segment;
+                    long end = drained.get(s).position;
+                    for (long offset = 0; offset < end; offset = next(segment, offset)) {
+                        records[count++] = ((long) s << 40) | offset;
+                    }
+                }
+
+                play(world, count);
+            } finally {
+                for (RecordStream stream : drained) {
+                    stream.owner.recycle(stream);
+                }
+                drained.clear();
             }
         }
 
-        public int pending() { return size.get(); }
-        public void clear() { commands.clear(); size.set(0); }
-    }
+        /**
+         * Apply commands in rounds (one command per entity per round, in recorded order), each
+         * round sorted by source archetype, operation and type. Destroys take part in the rounds,
+         * so later commands for a destroyed entity are dropped exactly as in sequential playback.
+         */
+        private void play(World world, int count) {
+            if (count == 0) return;
+
+            // Rank each command within its entity: (entity index, sequence) -> round
+            for (int i = 0; i < count; i++) {
+                keys[i] = ((long) Entity.indexOf(entityOf(records[i])) << 32) | i;
+            }
+            Arrays.sort(keys, 0, count);
+            int maxRound = 0;
+            long previousEntity = -1;
+            int round = 0;
+            for (int i = 0; i < count; i++) {
+                long entity = keys[i] >>> 32;
+                round = entity == previousEntity ? round + 1 : 0;
+                previousEntity = entity;
+                rounds[(int) keys[i]] = round;
+                maxRound = Math.max(maxRound, round);
+            }
 
-    public sealed interface Command permits DestroyEntityCommand, AddComponentCommand, RemoveComponentCommand {
-        void execute(World world);
-    }
+            for (int r = 0; r <= maxRound; r++) {
+                // Key: [source archetype + 1 : 20][op : 2][typeId : 9][sequence : 32]
+                int n = 0;
+                for (int i = 0; i < count; i++) {
+                    if (rounds[i] != r) continue;
+                    long location = records[i];
+                    MemorySegment segment = segmentOf(location);
+                    long offset = offsetOf(location);
+                    int op = segment.get(ValueLayout.JAVA_INT, offset);
+                    int typeId = segment.get(ValueLayout.JAVA_INT, offset + 4);
+                    int source = world.getArchetypeId(Entity.indexOf(segment.get(ValueLayout.JAVA_LONG, offset + 8)));
+                    keys[n++] = ((long) (source + 1) << 43) | ((long) op << 41) | ((long) typeId << 32) | i;
+                }
+                Arrays.sort(keys, 0, n);
+
+                int start = 0;
+                while (start < n) {
+                    long group = keys[start] >>> 32;
+                    int end = start + 1;
+                    while (end < n && keys[end] >>> 32 == group) end++;
+                    applyGroup(world, (int) (group >>> 11) - 1, (int) (group >>> 9) & 0x3, (int) group & 0x1FF, start, end);
+                    start = end;
+                }
+            }
+        }
 
-    private record DestroyEntityCommand(Entity entity) implements Command {
-        @Override
-        public void execute(World world) {
-            world.destroyEntity(entity);
+        /**
+         * Apply keys[start, end), all sharing source archetype, operation and type: the target
+         * archetype is resolved once through the edge graph and the group moves as one bulk transfer.
+         */
+        private void applyGroup(World world, int sourceId, int op, int typeId, int start, int end) {
+            if (op == OP_DESTROY) {
+                for (int k = start; k < end; k++) {
+                    world.destroyEntity(Entity.unpack(entityOf(records[(int) keys[k]])));
+                }
+                return;
+            }
+
+            Archetype source = sourceId >= 0 ? world.archetypeList.get(sourceId) : null;
+            boolean present = source != null && source.hasComponent(typeId);
+            if (op == OP_REMOVE && !present) return;
+            Class<?> componentClass = world.registry.getType(typeId).clazz();
+
+            Archetype target;
+            if (op == OP_ADD) {
+                target = present ? source
+                    : source != null ? source.migrateAdd(null, typeId, world::getOrCreateArchetype).orElseThrow()
+                    : world.getOrCreateArchetype(ArchetypeMask.EMPTY.with(typeId));
+            } else {
+                target = source.migrateRemove(null, typeId, world::getOrCreateArchetype).orElse(null);
+            }
+
+            Entity[] batch = this.batch;
+            long[] locations = this.locations;
+            int count = 0;
+            for (int k = start; k < end; k++) {
+                long location = records[(int) keys[k]];
+                Entity entity = Entity.unpack(entityOf(location));
+                if (world.isValid(entity)) {
+                    batch[count] = entity;
+                    locations[count++] = location;
+                }
+            }
+            if (count == 0) return;
+
+            EventBus events = world.eventBus;
+            boolean notifyRemoving = events.hasSubscribers(ComponentRemovingEvent.class);
+            boolean notifyAdded = events.hasSubscribers(ComponentAddedEvent.class);
+            boolean notifyRemoved = events.hasSubscribers(ComponentRemovedEvent.class);
+
+            if (target != source) {
+                if (op == OP_REMOVE && notifyRemoving) {
+                    for (int i = 0; i < count; i++) {
+                        world.eventBus.publish(new ComponentRemovingEvent(batch[i], componentClass));
+                    }
+                }
+                if (source != null) {
+                    source.transferEntities(target, batch, count);
+                } else {
+                    for (int i = 0; i < count; i++) {
+                        target.addEntity(batch[i]);
+                    }
+                }
+                for (int i = 0; i < count; i++) {
+                    world.setArchetypeId(batch[i].index(), target != null ? target.id : -1);
+                }
+            }
+
+            for (int i = 0; i < count; i++) {
+                Entity entity = batch[i];
+                world.componentOperations.increment();
+                if (op == OP_ADD) {
+                    target.setComponent(entity.index(), typeId, payloadOf(locations[i]));
+                    if (target != source) {
+                        events.record(EntityEventKind.COMPONENT_ADDED, entity.pack(), typeId);
+                        if (notifyAdded) events.publish(new ComponentAddedEvent(entity, componentClass));
+                    } else {
+                        world.markComponentChanged(entity, typeId);
+                    }
+                } else {
+                    events.record(EntityEventKind.COMPONENT_REMOVED, entity.pack(), typeId);
+                    if (notifyRemoved) events.publish(new ComponentRemovedEvent(entity, componentClass));
+                }
+            }
         }
-    }
 
-    private record AddComponentCommand(Entity entity, Class<?> componentClass, ByteBuffer data) implements Command {
-        @Override
-        public void execute(World world) {
-            world.addComponent(entity, componentClass, data);
+        private int drain() {
+            int total = 0;
+            for (Recorder recorder : recorders) {
+                RecordStream stream = recorder.drain();
+                if (stream != null) {
+                    drained.add(stream);
+                    total += stream.count;
+                } else if (!recorder.owner.isAlive()) {
+                    recorders.remove(recorder);
+                    recorder.close();
+                }
+            }
+            return total;
+        }
+
+        private void ensureScratch(int count) {
+            if (records.length < count) {
+                int capacity = Math.max(count, records.length * 2);
+                records = new long[capacity];
+                keys = new long[capacity];
+                rounds = new int[capacity];
+                batch = new Entity[capacity];
+                locations = new long[capacity];
+            }
+        }
+
+        private static long next(MemorySegment segment, long offset) {
+            return offset + HEADER_BYTES + align8(segment.get(ValueLayout.JAVA_INT, offset + 16));
+        }
+
+        private MemorySegment segmentOf(long location) {
+            return drained.get((int) (location >>> 40)).segment;
+        }
+
+        private static long offsetOf(long location) {
+            return location & ((1L << 40) - 1);
+        }
+
+        private long entityOf(long location) {
+            return segmentOf(location).get(ValueLayout.JAVA_LONG, offsetOf(location) + 8);
+        }
+
+        private MemorySegment payloadOf(long location) {
+            MemorySegment segment = segmentOf(location);
+            long offset = offsetOf(location);
+            return segment.asSlice(offset + HEADER_BYTES, segment.get(ValueLayout.JAVA_INT, offset + 16));
+        }
+
+        private static long align8(long value) {
+            return (value + 7) & ~7L;
+        }
+
+        // --------------------------------------------------------------------
+        // Lifecycle & stats
+        // --------------------------------------------------------------------
+
+        /**
+         * Number of recorded commands not yet executed.
+         */
+        public int pending() {
+            int pending = 0;
+            for (Recorder recorder : recorders) {
+                pending += recorder.pending();
+            }
+            return pending;
+        }
+
+        /**
+         * Discard all recorded commands.
+         */
+        public void clear() {
+            for (Recorder recorder : recorders) {
+                RecordStream stream = recorder.drain();
+                if (stream != null) {
+                    recorder.recycle(stream);
+                }
+            }
         }
-    }
 
-    private record RemoveComponentCommand(Entity entity, Class<?> componentClass) implements Command {
         @Override
-        public void execute(World world) {
-            world.removeComponent(entity, componentClass);
+        public void close() {
+            for (Recorder recorder : recorders) {
+                recorder.close();
+            }
+            recorders.clear();
+        }
+
+        // --------------------------------------------------------------------
+        // Per-thread storage
+        // --------------------------------------------------------------------
+
+        /**
+         * Growable off-heap record stream.
+         */
+        private static final class RecordStream {
+            final Recorder owner;
+            Arena arena;
+            MemorySegment segment;
+            long position;
+            int count;
+
+            RecordStream(Recorder owner, long bytes) {
+                this.owner = owner;
+                this.arena = Arena.ofShared();
+                this.segment = arena.allocate(bytes, Long.BYTES);
+            }
+
+            void ensureRemaining(long bytes) {
+                if (position + bytes <= segment.byteSize()) return;
+                long capacity = Math.max(segment.byteSize() * 2, position + bytes);
+                Arena grownArena = Arena.ofShared();
+                MemorySegment grown = grownArena.allocate(capacity, Long.BYTES);
+                MemorySegment.copy(segment, 0, grown, 0, position);
+                arena.close();
+                arena = grownArena;
+                segment = grown;
+            }
+
+            void close() {
+                arena.close();
+            }
+        }
+
+        /**
+         * One thread's recording state: the stream being written and a spare returned after playback.
+         * The owner thread and the executing thread only meet on the uncontended {@code busy} flag.
+         */
+        private static final class Recorder {
+            final Thread owner;
+            private final AtomicBoolean busy = new AtomicBoolean(false);
+            private RecordStream active;
+            private RecordStream spare;
+
+            Recorder(Thread owner) {
+                this.owner = owner;
+                this.active = new RecordStream(this, INITIAL_STREAM_BYTES);
+            }
+
+            void record(int op, int typeId, long packedEntity, MemorySegment data, int maxCommands) {
+                int length = data != null ? (int) data.byteSize() : 0;
+                acquire();
+                try {
+                    RecordStream stream = active;
+                    if (stream == null) {
+                        throw new IllegalStateException("Command buffer closed");
+                    }
+                    if (stream.count >= maxCommands) {
+                        throw new IllegalStateException("Command buffer overflow");
+                    }
+                    stream.ensureRemaining(HEADER_BYTES + align8(length));
+
+                    MemorySegment segment = stream.segment;
+                    long offset = stream.position;
+                    segment.set(ValueLayout.JAVA_INT, offset, op);
+                    segment.set(ValueLayout.JAVA_INT, offset + 4, typeId);
+                    segment.set(ValueLayout.JAVA_LONG, offset + 8, packedEntity);
+                    segment.set(ValueLayout.JAVA_INT, offset + 16, length);
+                    if (length > 0) {
+                        MemorySegment.copy(data, 0, segment, offset + HEADER_BYTES, length);
+                    }
+                    stream.position = offset + HEADER_BYTES + align8(length);
+                    stream.count++;
+                } finally {
+                    release();
+                }
+            }
+
+            /** Swap out the active stream if it holds commands. */
+            RecordStream drain() {
+                acquire();
+                try {
+                    RecordStream stream = active;
+                    if (stream == null || stream.count == 0) return null;
+                    active = spare != null ? spare : new RecordStream(this, INITIAL_STREAM_BYTES);
+                    spare = null;
+                    return stream;
+                } finally {
+                    release();
+                }
+            }
+
+            /** Return a played-back stream for reuse. */
+            void recycle(RecordStream stream) {
+                stream.position = 0;
+                stream.count = 0;
+                acquire();
+                try {
+                    if (spare == null && active != null) {
+                        spare = stream;
+                        return;
+                    }
+                } finally {
+                    release();
+                }
+                stream.close();
+            }
+
+            int pending() {
+                RecordStream stream = active;
+                return stream != null ? stream.count : 0;
+            }
+
+            void close() {
+                acquire();
+                try {
+                    if (active != null) active.close();
+                    if (spare != null) spare.close();
+                    active = null;
+                    spare = null;
+                } finally {
+                    release();
+                }
+            }
+
+            private void acquire() {
+                while (!busy.compareAndSet(false, true)) {
+                    Thread.onSpinWait();
+                }
+            }
+
+            private void release() {
+                busy.set(false);
+            }
         }
     }
 
@@ -1351,20 +2109,59 @@ public final class World implements AutoCloseable {
     // ========================================================================
 
     /**
-     * Simple event bus for ECS events.
+     * Event bus for ECS events.
+     *
+     * <p>Two delivery modes:</p>
+     * <ul>
+     *   <li>Object events: typed records dispatched synchronously to {@link #subscribe} handlers.
+     *       The world skips allocating a record when no handler exists for its type.</li>
+     *   <li>Entity streams: structural changes appended as packed entity handles to one buffer per
+     *       {@link EntityEventKind} and delivered in spans by {@link #dispatchStreams()}, which the
+     *       world calls at {@link #getDispatchStage()}. A kind without stream listeners records
+     *       nothing.</li>
+     * </ul>
      */
     public static class EventBus {
         public static final EventBus NOOP = new EventBus() {
             @Override public <T> void subscribe(Class<T> eventType, Consumer<T> handler) {}
             @Override public void publish(Object event) {}
+            @Override public boolean hasSubscribers(Class<?> eventType) { return false; }
+            @Override public void subscribeStream(EntityEventKind kind, EntitySpanListener listener) {}
+            @Override public void dispatchStreams() {}
         };
 
+        /** Initial buffer capacity per kind; a full buffer doubles so delivery waits for dispatch */
+        private static final int STREAM_CAPACITY = 4096;
+
         private final ConcurrentHashMap<Class<?>, CopyOnWriteArrayList<Consumer<?>>> handlers = new ConcurrentHashMap<>();
+        private final EventStream[] streams = new EventStream[EntityEventKind.values().length];
+        private volatile SystemScheduler.Stage dispatchStage = SystemScheduler.Stage.PRE_UPDATE;
+
+        public EventBus() {
+            for (EntityEventKind kind : EntityEventKind.values()) {
+                streams[kind.ordinal()] = new EventStream(kind);
+            }
+        }
 
         public <T> void subscribe(Class<T> eventType, Consumer<T> handler) {
             handlers.computeIfAbsent(eventType, k -> new CopyOnWriteArrayList<>()).add(handler);
         }
 
+        public <T> void unsubscribe(Class<T> eventType, Consumer<T> handler) {
+            CopyOnWriteArrayList<Consumer<?>> eventHandlers = handlers.get(eventType);
+            if (eventHandlers != null) {
+                eventHandlers.remove(handler);
+            }
+        }
+
+        /**
+         * Whether any handler is registered for an event type; check before allocating the event.
+         */
+        public boolean hasSubscribers(Class<?> eventType) {
+            CopyOnWriteArrayList<Consumer<?>> eventHandlers = handlers.get(eventType);
+            return eventHandlers != null && !eventHandlers.isEmpty();
+        }
+
         @SuppressWarnings("unchecked")
         public void publish(Object event) {
             CopyOnWriteArrayList<Consumer<?>> eventHandlers = handlers.get(event.getClass());
@@ -1374,6 +2171,165 @@ public final class World implements AutoCloseable {
                 }
             }
         }
+
+        // --------------------------------------------------------------------
+        // Entity streams
+        // --------------------------------------------------------------------
+
+        /**
+         * Receive batched entity events of one kind at the dispatch stage.
+         */
+        public void subscribeStream(EntityEventKind kind, EntitySpanListener listener) {
+            streams[kind.ordinal()].subscribe(Objects.requireNonNull(listener, "Listener cannot be null"));
+        }
+
+        public void unsubscribeStream(EntityEventKind kind, EntitySpanListener listener) {
+            streams[kind.ordinal()].unsubscribe(listener);
+        }
+
+        /**
+         * Whether a stream kind has listeners (recording is skipped otherwise).
+         */
+        public boolean hasStreamSubscribers(EntityEventKind kind) {
+            return streams[kind.ordinal()].active;
+        }
+
+        /**
+         * Stage before which {@link World#update(float)} dispatches pending stream events.
+         */
+        public SystemScheduler.Stage getDispatchStage() {
+            return dispatchStage;
+        }
+
+        public void setDispatchStage(SystemScheduler.Stage stage) {
+            this.dispatchStage = Objects.requireNonNull(stage, "Stage cannot be null");
+        }
+
+        /**
+         * Deliver all pending stream events, one span per kind in recording order.
+         */
+        public void dispatchStreams() {
+            for (EventStream stream : streams) {
+                if (stream.active) {
+                    stream.dispatch();
+                }
+            }
+        }
+
+        void record(EntityEventKind kind, long packedEntity, int typeId) {
+            EventStream stream = streams[kind.ordinal()];
+            if (stream.active) {
+                stream.append(packedEntity, typeId);
+            }
+        }
+
+        void record(EntityEventKind kind, List<Entity> entities, int typeId) {
+            EventStream stream = streams[kind.ordinal()];
+            if (stream.active) {
+                for (int i = 0, n = entities.size(); i < n; i++) {
+                    stream.append(entities.get(i).pack(), typeId);
+                }
+            }
+        }
+
+        /**
+         * Double-buffered ring of one event kind. Appends fill the front buffer under the stream
+         * lock; dispatch swaps buffers and calls listeners outside the lock, so listeners may
+         * publish further events (delivered on the next dispatch).
+         */
+        private static final class EventStream {
+            private final EntityEventKind kind;
+            private final CopyOnWriteArrayList<EntitySpanListener> listeners = new CopyOnWriteArrayList<>();
+            volatile boolean active;
+
+            private long[] entities = new long[STREAM_CAPACITY];
+            private int[] typeIds = new int[STREAM_CAPACITY];
+            private long[] spareEntities = new long[STREAM_CAPACITY];
+            private int[] spareTypeIds = new int[STREAM_CAPACITY];
+            private int size;
+
+            EventStream(EntityEventKind kind) {
+                this.kind = kind;
+            }
+
+            void subscribe(EntitySpanListener listener) {
+                listeners.add(listener);
+                active = true;
+            }
+
+            void unsubscribe(EntitySpanListener listener) {
+                listeners.remove(listener);
+                active = !listeners.isEmpty();
+            }
+
+            synchronized void append(long packedEntity, int typeId) {
+                if (size == entities.length) {
+                    entities = Arrays.copyOf(entities, size << 1);
+                    typeIds = Arrays.copyOf(typeIds, size << 1);
+                }
+                entities[size] = packedEntity;
+                typeIds[size] = typeId;
+                size++;
+            }
+
+            void dispatch() {
+                long[] pendingEntities;
+                int[] pendingTypeIds;
+                int count;
+                synchronized (this) {
+                    count = size;
+                    if (count == 0) return;
+                    pendingEntities = entities;
+                    pendingTypeIds = typeIds;
+                    if (spareEntities != null) {
+                        entities = spareEntities;
+                        typeIds = spareTypeIds;
+                        spareEntities = null;
+                        spareTypeIds = null;
+                    } else {
+                        // Spare still being dispatched on another thread
+                        entities = new long[STREAM_CAPACITY];
+                        typeIds = new int[STREAM_CAPACITY];
+                    }
+                    size = 0;
+                }
+                try {
+                    for (EntitySpanListener listener : listeners) {
+                        listener.onEvents(kind, pendingEntities, pendingTypeIds, 0, count);
+                    }
+                } finally {
+                    synchronized (this) {
+                        if (spareEntities == null) {
+                            spareEntities = pendingEntities;
+                            spareTypeIds = pendingTypeIds;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Structural change kinds delivered through entity event streams.
+     */
+    public enum EntityEventKind {
+        ENTITY_CREATED,
+        ENTITY_DESTROYED,
+        COMPONENT_ADDED,
+        COMPONENT_REMOVED
+    }
+
+    /**
+     * Batched entity event listener.
+     *
+     * <p>Receives {@code length} events starting at {@code offset}: {@code entities[i]} is a packed
+     * handle (see {@link Entity#unpack(long)}) and {@code typeIds[i]} the component type ID, or -1
+     * for entity events. Destroyed handles are already stale when delivered. The arrays are reused
+     * after the call returns and must not be retained.</p>
+     */
+    @FunctionalInterface
+    public interface EntitySpanListener {
+        void onEvents(EntityEventKind kind, long[] entities, int[] typeIds, int offset, int length);
     }
 
     // Event records
@@ -1383,6 +2339,9 @@ public final class World implements AutoCloseable {
     public record ComponentAddedEvent(Entity entity, Class<?> componentType) {}
     public record ComponentRemovingEvent(Entity entity, Class<?> componentType) {}
     public record ComponentRemovedEvent(Entity entity, Class<?> componentType) {}
+    public record ComponentBatchAddedEvent(List<Entity> entities, Class<?> componentType) {}
+    public record ComponentBatchRemovingEvent(List<Entity> entities, Class<?> componentType) {}
+    public record ComponentBatchRemovedEvent(List<Entity> entities, Class<?> componentType) {}
     public record ArchetypeCreatedEvent(Archetype archetype) {}
     public record RelationshipChangedEvent(Entity entity, Entity related, RelationType type) {}
     public record WorldInitializedEvent(World world) {}
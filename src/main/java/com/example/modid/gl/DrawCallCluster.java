@@ -23,6 +23,9 @@ package com.example.modid.gl;
 // ██████████████████████████████████████████████████████████████████████████████████████████████████
 // ═══════════════════════════════════════════════════════════════════════════════════════════════════
 
+// ─── Mod ───
+import com.example.modid.FPSFlux;
+
 // ─── Java 25 Foreign Function & Memory API ───
 import java.lang.foreign.Arena;
 import java.lang.foreign.MemoryLayout;
@@ -33,6 +36,9 @@ import java.lang.foreign.StructLayout;
 import java.lang.foreign.ValueLayout;
 import java.lang.foreign.AddressLayout;
 
+// ─── I/O ───
+import java.io.IOException;
+
 // ─── Java 25 Invoke ───
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.VarHandle;
@@ -54,6 +60,8 @@ import java.util.concurrent.locks.LockSupport;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 // ─── Java 25 Vector API (Incubator) ───
 import jdk.incubator.vector.ByteVector;
@@ -99,6 +107,11 @@ import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.IntBuffer;
 import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 
 // ─── Time ───
 import java.time.Duration;
@@ -963,6 +976,206 @@ public final class DrawCallCluster implements AutoCloseable {
         return closed.get();
     }
 
+    // ════════════════════════════════════════════════════════════════════════════════════════════
+    // ██ SECTION 10.5: PERSISTENCE
+    // ════════════════════════════════════════════════════════════════════════════════════════════
+
+    /**
+     * On-disk snapshot of learned patterns, so a session starts warm.
+     *
+     * <pre>
+     * ┌─────────────────────────────────────────────────────────────────────────────────────────────┐
+     * │ FILE FORMAT (native byte order, memory-mapped)                                              │
+     * ├─────────────────────────────────────────────────────────────────────────────────────────────┤
+     * │ Header (64 bytes):                                                                          │
+     * │   0-3:   magic 'FDCC'            4-7:   format version                                      │
+     * │   8-11:  cluster VERSION         12-15: entry size (64)                                     │
+     * │   16-23: driver fingerprint      24-31: snapshot frame                                      │
+     * │   32-35: entry count             36-39: reserved                                            │
+     * │   40-47: created (epoch millis)  48-55: CRC32C of the entry block                           │
+     * │   56-63: reserved                                                                           │
+     * │ Entries: live, non-cold slots copied verbatim in ENTRY_LAYOUT                               │
+     * └─────────────────────────────────────────────────────────────────────────────────────────────┘
+     * </pre>
+     *
+     * A snapshot is rejected when the magic, format, entry size, checksum or
+     * {@link UniversalCapabilities#getDriverFingerprint()} do not match; frame numbers are
+     * rebased so entries keep their age relative to the new session's frame 0.
+     */
+    private static final int SNAPSHOT_MAGIC          = 0x43434446;  // "FDCC"
+    private static final int SNAPSHOT_FORMAT         = 1;
+    private static final int SNAPSHOT_HEADER_SIZE    = 64;
+
+    /**
+     * Writes all live, non-cold entries to {@code file}. The snapshot is written to a
+     * temporary file and moved into place, so a crash never leaves a torn cache.
+     *
+     * @return number of entries written
+     */
+    public int save(Path file) throws IOException {
+        if (closed.get()) return 0;
+
+        int live = 0;
+        for (int slot = 0; slot < capacity; slot++) {
+            if (isPersistable((long) slot * ENTRY_SIZE)) live++;
+        }
+
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        long size = SNAPSHOT_HEADER_SIZE + (long) live * ENTRY_SIZE;
+
+        int written = 0;
+        try (Arena mapArena = Arena.ofConfined();
+             FileChannel channel = FileChannel.open(temp,
+                 StandardOpenOption.CREATE, StandardOpenOption.READ,
+                 StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+
+            MemorySegment mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, size, mapArena);
+
+            long position = SNAPSHOT_HEADER_SIZE;
+            for (int slot = 0; slot < capacity && written < live; slot++) {
+                long offset = (long) slot * ENTRY_SIZE;
+                if (!isPersistable(offset)) continue;
+                MemorySegment.copy(storage, offset, mapped, position, ENTRY_SIZE);
+                position += ENTRY_SIZE;
+                written++;
+            }
+
+            MemorySegment entries = mapped.asSlice(SNAPSHOT_HEADER_SIZE, (long) written * ENTRY_SIZE);
+            mapped.set(ValueLayout.JAVA_INT, 0, SNAPSHOT_MAGIC);
+            mapped.set(ValueLayout.JAVA_INT, 4, SNAPSHOT_FORMAT);
+            mapped.set(ValueLayout.JAVA_INT, 8, VERSION);
+            mapped.set(ValueLayout.JAVA_INT, 12, ENTRY_SIZE);
+            mapped.set(ValueLayout.JAVA_LONG, 16, UniversalCapabilities.getDriverFingerprint());
+            mapped.set(ValueLayout.JAVA_LONG, 24, currentFrame.get());
+            mapped.set(ValueLayout.JAVA_INT, 32, written);
+            mapped.set(ValueLayout.JAVA_LONG, 40, System.currentTimeMillis());
+            mapped.set(ValueLayout.JAVA_LONG, 48, checksum(entries));
+            mapped.force();
+        }
+
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return written;
+    }
+
+    /**
+     * Loads a snapshot on a background virtual thread.
+     *
+     * Call after {@link UniversalCapabilities} detection, since the snapshot is validated
+     * against the current driver fingerprint. The future always completes with a usable
+     * cluster: if the file is missing, corrupt or from another driver, it is empty.
+     */
+    public static CompletableFuture<DrawCallCluster> loadAsync(Path file) {
+        Executor loader = task -> Thread.ofVirtual().name("DrawCallCluster-Load").start(task);
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return load(file);
+            } catch (IOException | RuntimeException e) {
+                FPSFlux.LOGGER.warn("[DrawCallCluster] Pattern cache unreadable, starting cold: {}", e.getMessage());
+                return new DrawCallCluster();
+            }
+        }, loader);
+    }
+
+    /**
+     * Loads a snapshot synchronously; see {@link #loadAsync}.
+     */
+    public static DrawCallCluster load(Path file) throws IOException {
+        if (!Files.isRegularFile(file) || Files.size(file) < SNAPSHOT_HEADER_SIZE) {
+            return new DrawCallCluster();
+        }
+
+        try (Arena mapArena = Arena.ofConfined();
+             FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+
+            MemorySegment mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), mapArena);
+
+            String rejected = validateSnapshot(mapped);
+            if (rejected != null) {
+                FPSFlux.LOGGER.info("[DrawCallCluster] Ignoring pattern cache {}: {}", file.getFileName(), rejected);
+                return new DrawCallCluster();
+            }
+
+            int count = mapped.get(ValueLayout.JAVA_INT, 32);
+            long snapshotFrame = mapped.get(ValueLayout.JAVA_LONG, 24);
+
+            DrawCallCluster cluster = new DrawCallCluster(Math.max(INITIAL_CAPACITY, count * 2));
+            int restored = 0;
+            for (int i = 0; i < count; i++) {
+                long offset = SNAPSHOT_HEADER_SIZE + (long) i * ENTRY_SIZE;
+                if (cluster.restoreEntry(mapped, offset, snapshotFrame)) restored++;
+            }
+
+            FPSFlux.LOGGER.info("[DrawCallCluster] Restored {}/{} draw patterns", restored, count);
+            return cluster;
+        }
+    }
+
+    /**
+     * @return null if the snapshot is usable, otherwise the reason it is not
+     */
+    private static String validateSnapshot(MemorySegment mapped) {
+        if (mapped.get(ValueLayout.JAVA_INT, 0) != SNAPSHOT_MAGIC) return "bad magic";
+        if (mapped.get(ValueLayout.JAVA_INT, 4) != SNAPSHOT_FORMAT) return "format version changed";
+        if (mapped.get(ValueLayout.JAVA_INT, 12) != ENTRY_SIZE) return "entry size changed";
+
+        long fingerprint = mapped.get(ValueLayout.JAVA_LONG, 16);
+        if (fingerprint != UniversalCapabilities.getDriverFingerprint()) return "GL driver changed";
+
+        int count = mapped.get(ValueLayout.JAVA_INT, 32);
+        if (count < 0 || SNAPSHOT_HEADER_SIZE + (long) count * ENTRY_SIZE > mapped.byteSize()) {
+            return "truncated";
+        }
+
+        MemorySegment entries = mapped.asSlice(SNAPSHOT_HEADER_SIZE, (long) count * ENTRY_SIZE);
+        if (mapped.get(ValueLayout.JAVA_LONG, 48) != checksum(entries)) return "checksum mismatch";
+        return null;
+    }
+
+    private boolean isPersistable(long offset) {
+        long hash = (long) VH_HASH.getVolatile(storage, offset);
+        if (hash == EMPTY_HASH || hash == TOMBSTONE_HASH) return false;
+        int flags = (int) VH_FLAGS.getVolatile(storage, offset);
+        return (flags & FLAG_VALID) != 0 && (flags & FLAG_COLD) == 0;
+    }
+
+    /**
+     * Inserts a snapshot entry with its learned flags and timing.
+     * Frames are shifted so {@code snapshotFrame} maps to this cluster's frame 0.
+     */
+    private boolean restoreEntry(MemorySegment source, long sourceOffset, long snapshotFrame) {
+        long hash = (long) VH_HASH.get(source, sourceOffset);
+        if (hash == EMPTY_HASH || hash == TOMBSTONE_HASH) return false;
+
+        int bucketIdx = (int) (hash & bucketMask);
+        long bucketOffset = (long) bucketIdx * BUCKET_SIZE;
+
+        for (int i = 0; i < SLOTS_PER_BUCKET; i++) {
+            long offset = bucketOffset + i * ENTRY_SIZE;
+            long existing = (long) VH_HASH.getVolatile(storage, offset);
+            if (existing == hash) return false;
+            if (existing != EMPTY_HASH) continue;
+
+            MemorySegment.copy(source, sourceOffset, storage, offset, ENTRY_SIZE);
+            VH_FIRST_SEEN_FRAME.setVolatile(storage, offset,
+                (long) VH_FIRST_SEEN_FRAME.get(source, sourceOffset) - snapshotFrame);
+            VH_LAST_SEEN_FRAME.setVolatile(storage, offset,
+                (long) VH_LAST_SEEN_FRAME.get(source, sourceOffset) - snapshotFrame);
+
+            bloomAdd(hash);
+            entryCount.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    private static long checksum(MemorySegment entries) {
+        CRC32C crc = new CRC32C();
+        crc.update(entries.asByteBuffer());
+        return crc.getValue();
+    }
+
     // ════════════════════════════════════════════════════════════════════════════════════════════
     // ██ SECTION 11: COMPATIBILITY INTERFACE
     // ════════════════════════════════════════════════════════════════════════════════════════════
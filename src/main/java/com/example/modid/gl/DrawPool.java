@@ -20,6 +20,7 @@ package com.example.modid.gl;
 import java.lang.foreign.Arena;
 import java.lang.foreign.MemoryLayout;
 import java.lang.foreign.MemorySegment;
+import java.lang.foreign.SegmentAllocator;
 import java.lang.foreign.SequenceLayout;
 import java.lang.foreign.ValueLayout;
 import java.lang.invoke.MethodHandles;
@@ -44,6 +45,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
@@ -71,6 +73,7 @@ import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
@@ -97,6 +100,7 @@ import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
 // ─── NIO & IO ───
+import java.io.IOException;
 import java.nio.Buffer;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
@@ -126,6 +130,7 @@ import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
 
 // ─── Internal Imports ───
+import com.example.modid.FPSFlux;
 import com.example.modid.gl.mapping.JITHelper;
 import com.example.modid.gl.DrawPoolReport;
 import com.example.modid.gl.DrawCallCluster;
@@ -221,6 +226,9 @@ public final class DrawPool implements JITHelper.DrawPool, AutoCloseable {
 
     // ─── Pool Sizing ───
     private static final int INITIAL_POOL_CAPACITY            = 4096;
+    private static final int PACKET_LANE_INITIAL_CAPACITY     = 1024;       // Packets per submitting thread
+    private static final int MAX_PACKET_LANES                 = 64;         // Lanes leased at once
+    private static final int PACKET_LANE_IDLE_FRAMES          = 60;         // Unused frames before a lane is reclaimed
     private static final int MAX_POOL_CAPACITY                = 65536;
     private static final int BATCH_MERGE_THRESHOLD            = 8;          // Min draws to consider merging
     private static final int INDIRECT_BUFFER_INITIAL_SIZE     = 1024;       // Commands
@@ -228,6 +236,8 @@ public final class DrawPool implements JITHelper.DrawPool, AutoCloseable {
     private static final int STATE_CACHE_SIZE                 = 256;
     private static final int PATTERN_HISTORY_SIZE             = 1024;
     private static final int DEDUPLICATION_CACHE_SIZE         = 4096;
+    private static final int COHERENCE_RETAIN_FRAMES          = 60;         // Keep unused layouts this long
+    private static final int PATTERN_CACHE_REFRESH_FRAMES     = 60;         // Re-read learned indirect patterns
 
     // ─── Performance Thresholds ───
     private static final int DRAW_COUNT_WARNING               = 2000;
@@ -757,6 +767,24 @@ public final class DrawPool implements JITHelper.DrawPool, AutoCloseable {
             this.commands = new ArrayList<>(32);
         }
 
+        /**
+         * Creates an already finalized batch from a prebuilt indirect buffer.
+         * Used by the packet stream; {@link #commands()} is empty for such batches.
+         */
+        static DrawBatch ofIndirect(StateSignature state, PrimitiveType primitiveType, IndexType indexType,
+                                    int vertexBufferId, int indexBufferId,
+                                    MemorySegment indirectBuffer, int commandCount,
+                                    int vertices, int indices, int instances) {
+            DrawBatch batch = new DrawBatch(state, primitiveType, indexType, vertexBufferId, indexBufferId);
+            batch.totalVertices.set(vertices);
+            batch.totalIndices.set(indices);
+            batch.totalInstances.set(instances);
+            batch.indirectBuffer = indirectBuffer;
+            batch.indirectCommandCount = commandCount;
+            batch.finalized.set(true);
+            return batch;
+        }
+
         /**
          * Adds a command to this batch.
          * @return true if added, false if batch is finalized or incompatible
@@ -788,7 +816,7 @@ public final class DrawPool implements JITHelper.DrawPool, AutoCloseable {
         /**
          * Finalizes the batch and prepares indirect draw buffer.
          */
-        public void finalize(Arena arena) {
+        public void finalize(SegmentAllocator allocator) {
             if (!finalized.compareAndSet(false, true)) return;
 
             synchronized (commands) {
@@ -803,7 +831,7 @@ public final class DrawPool implements JITHelper.DrawPool, AutoCloseable {
                     ? 16  // DrawArraysIndirectCommand: count, instanceCount, first, baseInstance
                     : 20; // DrawElementsIndirectCommand: + baseVertex
 
-                MemorySegment buffer = arena.allocate(cmdCount * cmdSize, ALIGNMENT);
+                MemorySegment buffer = allocator.allocate(cmdCount * cmdSize, ALIGNMENT);
                 long offset = 0;
 
                 for (DrawCommand cmd : commands) {
@@ -837,7 +865,7 @@ public final class DrawPool implements JITHelper.DrawPool, AutoCloseable {
         public IndexType indexType() { return indexType; }
         public int vertexBufferId() { return vertexBufferId; }
         public int indexBufferId() { return indexBufferId; }
-        public int commandCount() { return commands.size(); }
+        public int commandCount() { return commands.isEmpty() ? indirectCommandCount : commands.size(); }
         public int totalVertices() { return totalVertices.get(); }
         public int totalIndices() { return totalIndices.get(); }
         public int totalInstances() { return totalInstances.get(); }
@@ -918,6 +946,21 @@ public final class DrawPool implements JITHelper.DrawPool, AutoCloseable {
     private final ConcurrentHashMap<Long, StateSignature> stateCache = new ConcurrentHashMap<>();
     private volatile StateSignature lastBoundState;
 
+    // ─── Packet Stream ───
+    private final PacketStates packetStates = new PacketStates();
+    private final CopyOnWriteArrayList<PacketStream> packetLanes = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<LaneLease> packetLane = new ThreadLocal<>();
+    private final AtomicLong laneLeaseCounter = new AtomicLong(0);
+    private final PacketMerger packetMerger = new PacketMerger();
+
+    // ─── Pattern Cache (render thread) ───
+    private volatile Path patternCacheFile = Path.of(
+        System.getProperty("fpsflux.drawPatternCache", "fpsflux/draw-patterns.bin"));
+    private volatile DrawCallCluster patternCache = new DrawCallCluster();
+    private volatile CompletableFuture<DrawCallCluster> patternCacheLoad;
+    private volatile boolean patternCacheInstalled;
+    private volatile Set<Long> learnedIndirectPatterns = Set.of();
+
     // ─── Global Statistics ───
     private final LongAdder totalDrawsSubmitted = new LongAdder();
     private final LongAdder totalDrawsExecuted = new LongAdder();
@@ -925,6 +968,7 @@ public final class DrawPool implements JITHelper.DrawPool, AutoCloseable {
     private final LongAdder totalDuplicatesEliminated = new LongAdder();
     private final LongAdder totalStateChangesSaved = new LongAdder();
     private final LongAdder totalBatchesCreated = new LongAdder();
+    private final LongAdder totalBatchesReused = new LongAdder();
 
     // ─── Configuration ───
     private final AtomicBoolean deduplicationEnabled = new AtomicBoolean(true);
@@ -933,6 +977,12 @@ public final class DrawPool implements JITHelper.DrawPool, AutoCloseable {
     private final AtomicBoolean depthSortingEnabled = new AtomicBoolean(true);
     private final AtomicBoolean emergencyMode = new AtomicBoolean(false);
     private final AtomicInteger maxBatchSize = new AtomicInteger(1024);
+    private final AtomicBoolean temporalCoherenceEnabled = new AtomicBoolean(false);
+
+    // ─── Temporal Coherence (optimize thread, guarded by coherentGroups) ───
+    private final Map<Long, CoherentGroup> coherentGroups = new HashMap<>();
+    private final List<CoherentGroup> coherentTouched = new ArrayList<>();
+    private final List<DrawBatch> coherentBatches = new ArrayList<>();
 
     // ─── Callbacks ───
     private volatile DrawExecutor drawExecutor;
@@ -1094,6 +1144,16 @@ public final class DrawPool implements JITHelper.DrawPool, AutoCloseable {
                 }
             }
 
+            // Lanes clear themselves on their first append of the new frame
+            packetStates.rerank();
+
+            long lastFrame = frameCounter.get();
+            for (PacketStream lane : packetLanes) {
+                lane.reclaimIfIdle(lastFrame, PACKET_LANE_IDLE_FRAMES);
+            }
+
+            advancePatternCache(lastFrame);
+
             // Create new frame
             long frameNum = frameCounter.incrementAndGet();
             currentFrame.set(new FrameState(frameNum));
@@ -1201,7 +1261,15 @@ public final class DrawPool implements JITHelper.DrawPool, AutoCloseable {
         }
 
         // Validate primitive type has enough vertices
-        int minVertices = switch (command.primitiveType()) {
+        int effectiveVertices = command.isIndexed() ? command.indexCount() : command.vertexCount();
+        return effectiveVertices >= minVertices(command.primitiveType());
+    }
+
+    /**
+     * Minimum vertex count for a primitive type to produce anything.
+     */
+    private static int minVertices(PrimitiveType primitiveType) {
+        return switch (primitiveType) {
             case POINTS -> 1;
             case LINES -> 2;
             case LINE_LOOP, LINE_STRIP -> 2;
@@ -1210,9 +1278,6 @@ public final class DrawPool implements JITHelper.DrawPool, AutoCloseable {
             case QUADS -> 4;
             case PATCHES -> 1;
         };
-
-        int effectiveVertices = command.isIndexed() ? command.indexCount() : command.vertexCount();
-        return effectiveVertices >= minVertices;
     }
 
     /**
@@ -1389,7 +1454,10 @@ public final class DrawPool implements JITHelper.DrawPool, AutoCloseable {
             Subtask<Void> sortTask = null;
             Subtask<Void> batchTask = null;
 
-            if (sortingEnabled.get() && frame.pendingCommands.size() > 1) {
+            // The coherent path sorts incrementally as part of batching
+            boolean coherent = temporalCoherenceEnabled.get() && batchingEnabled.get();
+
+            if (!coherent && sortingEnabled.get() && frame.pendingCommands.size() > 1) {
                 sortTask = scope.fork(() -> {
                     sortCommands(frame);
                     return null;
@@ -1400,10 +1468,19 @@ public final class DrawPool implements JITHelper.DrawPool, AutoCloseable {
             scope.throwIfFailed();
 
             // Batching must happen after sorting
-            if (batchingEnabled.get()) {
+            if (coherent) {
+                optimizeCoherent(frame);
+            } else if (batchingEnabled.get()) {
                 batchCommands(frame);
             }
 
+            // Packets are sorted and batched on their own, then merged into the command batches
+            int commandBatches = frame.batches.size();
+            optimizePackets(frame);
+            if (sortingEnabled.get()) {
+                mergeBatchStreams(frame.batches, commandBatches);
+            }
+
             frame.optimized.set(true);
 
         } catch (Exception e) {
@@ -1536,6 +1613,21 @@ public final class DrawPool implements JITHelper.DrawPool, AutoCloseable {
         frame.batchingTimeNanos.add(elapsed);
     }
 
+    /**
+     * Computes the batch key shared by all commands of a batch; same value as
+     * {@link #computeBatchKey(DrawCommand)} for any of them, and defined for packet batches.
+     */
+    private static long computeBatchKey(DrawBatch batch) {
+        long h = batch.state().primaryHash();
+        h = 31 * h + batch.primitiveType().ordinal();
+        h = 31 * h + batch.indexType().ordinal();
+        h = 31 * h + batch.vertexBufferId();
+        if (batch.indexType() != IndexType.NONE) {
+            h = 31 * h + batch.indexBufferId();
+        }
+        return h;
+    }
+
     /**
      * Computes a key for batching compatible commands.
      */
@@ -1831,6 +1923,1251 @@ private void sortCommandsOptimal(FrameState frame) {
     frame.sortTimeNanos.add(elapsed);
 }
 
+    // ════════════════════════════════════════════════════════════════════════════════════════════
+    // ██ SECTION 14.6: PACKET STREAM
+    // ════════════════════════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Thread-confined off-heap draw packet lane.
+     *
+     * <pre>
+     * ┌─────────────────────────────────────────────────────────────────────────────────────────────┐
+     * │ PACKET STREAM MODE                                                                          │
+     * ├─────────────────────────────────────────────────────────────────────────────────────────────┤
+     * │ • Each draw is encoded once into a {@value #DRAW_COMMAND_SIZE}-byte off-heap packet        │
+     * │ • A 64-bit sort key is kept alongside it in a primitive array                               │
+     * │ • Every submitting thread appends to its own lane; nothing is shared on the hot path        │
+     * │ • At optimize() each lane first replays last frame's order and patches it by insertion;     │
+     * │   a steady lane costs one pass. Past a budget of moves it falls back to an LSD radix sort   │
+     * │   over (key, packet index) pairs, 11 bits per pass; only the used bits are sorted, so a     │
+     * │   lane takes three passes                                                                   │
+     * │ • The sorted lanes are combined by a k-way merge (see {@link PacketMerger})                 │
+     * │ • Batches are cut from runs of identical state/geometry; runs drawn indirectly get their    │
+     * │   buffers written straight from the packets, only shorter runs become DrawCommands          │
+     * │                                                                                             │
+     * │ Sort key layout:                                                                            │
+     * │   Bits 63-33: Reserved (zero, never sorted)                                                 │
+     * │   Bit  32:    Translucent (opaque draws first)                                              │
+     * │   Bits 31-16: State rank (StateSignature.sortKey order, see registerState)                  │
+     * │   Bits 15-0:  Depth, top 16 bits of the float (front-to-back opaque, back-to-front          │
+     * │               translucent)                                                                  │
+     * └─────────────────────────────────────────────────────────────────────────────────────────────┘
+     * </pre>
+     *
+     * Only the leasing thread appends. A lane belongs to the frame it was last written in and
+     * clears itself on the first append of a newer frame; the volatile {@link #count} publishes
+     * the packets to the thread running optimize(). Packets bypass deduplication and pattern
+     * learning, which both need per-draw objects.
+     *
+     * Lanes are pooled: a thread leases one on its first submission, and a lane left unused for
+     * {@value #PACKET_LANE_IDLE_FRAMES} frames is reclaimed at the frame boundary so short-lived
+     * and virtual threads do not each keep a lane alive.
+     */
+    private static final class PacketStream {
+
+        // ─── Lease States ───
+        // Leased lanes hold their token (even) while idle and token | 1 while appending
+        static final long LEASE_FREE = -2;
+
+        // ─── Packet Layout ───
+        static final long P_STATE          = 0;
+        static final long P_PRIMITIVE      = 4;
+        static final long P_INDEX_TYPE     = 8;
+        static final long P_FLAGS          = 12;
+        static final long P_VERTEX_COUNT   = 16;
+        static final long P_INDEX_COUNT    = 20;
+        static final long P_INSTANCE_COUNT = 24;
+        static final long P_FIRST_VERTEX   = 28;
+        static final long P_FIRST_INDEX    = 32;
+        static final long P_BASE_VERTEX    = 36;
+        static final long P_BASE_INSTANCE  = 40;
+        static final long P_VERTEX_BUFFER  = 44;
+        static final long P_INDEX_BUFFER   = 48;
+        static final long P_DEPTH          = 52;
+        static final long P_INDEX_OFFSET   = 56;
+
+        static final int RADIX_BITS = 11;
+        static final int RADIX_BUCKETS = 1 << RADIX_BITS;
+        static final int RADIX_MASK = RADIX_BUCKETS - 1;
+        static final int RADIX_PASSES = (Long.SIZE + RADIX_BITS - 1) / RADIX_BITS;
+
+        private static final PrimitiveType[] PRIMITIVES = PrimitiveType.values();
+        private static final IndexType[] INDEX_TYPES = IndexType.values();
+
+        // ─── Packets (owner thread until optimize) ───
+        private Arena arena;
+        private MemorySegment packets;
+        private long[] keys;
+        private long[] scratchKeys;
+        private int[] order;
+        private int[] scratchOrder;
+        private final int[] histogram = new int[RADIX_PASSES * RADIX_BUCKETS];
+        private int capacity;
+        /** Packets {@link #order} was last sorted over; 0 when it holds no usable order */
+        private int sortedCount;
+
+        private long frameNumber = -1;
+        private volatile int count;
+        private long vertices;
+        private long indices;
+
+        private final AtomicLong lease;
+
+        /**
+         * Creates a lane already leased and entered under {@code token}.
+         */
+        PacketStream(int initialCapacity, long token) {
+            this.lease = new AtomicLong(token | 1);
+            allocate(initialCapacity, 0);
+        }
+
+        // ─── Leasing ───
+
+        /**
+         * Leases a free lane and enters it under {@code token}.
+         */
+        boolean tryLease(long token) {
+            return lease.compareAndSet(LEASE_FREE, token | 1);
+        }
+
+        /**
+         * Starts an append under {@code token}; fails if the lane was reclaimed since.
+         */
+        boolean enter(long token) {
+            return lease.compareAndSet(token, token | 1);
+        }
+
+        void exit(long token) {
+            lease.set(token);
+        }
+
+        /**
+         * Frees the lane if it is leased, not appending, and unused since {@code idleFrames}
+         * before {@code frameNumber}. Any packets it still holds stay valid for their frame.
+         */
+        boolean reclaimIfIdle(long frameNumber, int idleFrames) {
+            long token = lease.get();
+            if (token == LEASE_FREE || (token & 1) != 0) return false;
+            if (frameNumber - this.frameNumber < idleFrames) return false;
+            return lease.compareAndSet(token, LEASE_FREE);
+        }
+
+        private void allocate(int newCapacity, int live) {
+            Arena newArena = Arena.ofShared();
+            MemorySegment newPackets = newArena.allocate((long) newCapacity * DRAW_COMMAND_SIZE, ALIGNMENT);
+
+            if (packets != null) {
+                MemorySegment.copy(packets, 0, newPackets, 0, (long) live * DRAW_COMMAND_SIZE);
+                arena.close();
+            }
+
+            arena = newArena;
+            packets = newPackets;
+            keys = keys == null ? new long[newCapacity] : Arrays.copyOf(keys, newCapacity);
+            scratchKeys = new long[newCapacity];
+            order = new int[newCapacity];
+            scratchOrder = new int[newCapacity];
+            capacity = newCapacity;
+            sortedCount = 0;
+        }
+
+        // ─── Submission (owner thread) ───
+
+        /**
+         * Encodes one draw. Allocation-free unless the lane has to grow.
+         *
+         * @param keyPrefix state part of the sort key, from {@link PacketStates#prefix}
+         * @return false if the lane is at capacity
+         */
+        boolean append(long frameNumber, int stateId, long keyPrefix,
+                       PrimitiveType primitiveType, IndexType indexType, int flags,
+                       int vertexCount, int indexCount, int instanceCount,
+                       int firstVertex, int firstIndex, int baseVertex, int baseInstance,
+                       int vertexBufferId, int indexBufferId, long indexBufferOffset,
+                       float depthSortKey, boolean depthSorting) {
+            int packet = count;
+            if (this.frameNumber != frameNumber) {
+                this.frameNumber = frameNumber;
+                vertices = 0;
+                indices = 0;
+                packet = 0;
+            }
+            if (packet == capacity) {
+                if (capacity >= MAX_POOL_CAPACITY) return false;
+                allocate(Math.min(capacity << 1, MAX_POOL_CAPACITY), packet);
+            }
+
+            long base = (long) packet * DRAW_COMMAND_SIZE;
+            MemorySegment p = packets;
+
+            p.set(ValueLayout.JAVA_INT, base + P_STATE, stateId);
+            p.set(ValueLayout.JAVA_INT, base + P_PRIMITIVE, primitiveType.ordinal());
+            p.set(ValueLayout.JAVA_INT, base + P_INDEX_TYPE, indexType.ordinal());
+            p.set(ValueLayout.JAVA_INT, base + P_FLAGS, flags);
+            p.set(ValueLayout.JAVA_INT, base + P_VERTEX_COUNT, vertexCount);
+            p.set(ValueLayout.JAVA_INT, base + P_INDEX_COUNT, indexCount);
+            p.set(ValueLayout.JAVA_INT, base + P_INSTANCE_COUNT, instanceCount);
+            p.set(ValueLayout.JAVA_INT, base + P_FIRST_VERTEX, firstVertex);
+            p.set(ValueLayout.JAVA_INT, base + P_FIRST_INDEX, firstIndex);
+            p.set(ValueLayout.JAVA_INT, base + P_BASE_VERTEX, baseVertex);
+            p.set(ValueLayout.JAVA_INT, base + P_BASE_INSTANCE, baseInstance);
+            p.set(ValueLayout.JAVA_INT, base + P_VERTEX_BUFFER, vertexBufferId);
+            p.set(ValueLayout.JAVA_INT, base + P_INDEX_BUFFER, indexBufferId);
+            p.set(ValueLayout.JAVA_FLOAT, base + P_DEPTH, depthSortKey);
+            p.set(ValueLayout.JAVA_LONG, base + P_INDEX_OFFSET, indexBufferOffset);
+
+            // Translucent draws are always depth ordered, as in sortCommands
+            boolean depthOrdered = depthSorting || (keyPrefix & PacketStates.TRANSLUCENT_BIT) != 0;
+            keys[packet] = sortKey(keyPrefix, depthOrdered ? depthSortKey : 0.0f);
+            if (indexType != IndexType.NONE) {
+                indices += indexCount;
+            } else {
+                vertices += vertexCount;
+            }
+
+            count = packet + 1;  // Publish
+            return true;
+        }
+
+        /**
+         * Composes a packet sort key; see the layout in the class comment.
+         */
+        static long sortKey(long keyPrefix, float depth) {
+            int bits = Float.floatToRawIntBits(depth);
+            // Map IEEE-754 order onto unsigned int order
+            int ordered = bits ^ ((bits >> 31) | 0x80000000);
+            if ((keyPrefix & PacketStates.TRANSLUCENT_BIT) != 0) ordered = ~ordered;
+
+            return keyPrefix | (ordered >>> 16);
+        }
+
+        // ─── Sorting (optimize thread) ───
+
+        /**
+         * Packets written for {@code frameNumber}, or 0 if the lane holds an older frame.
+         */
+        int countFor(long frameNumber) {
+            int n = count;
+            return this.frameNumber == frameNumber ? n : 0;
+        }
+
+        long vertices() { return vertices; }
+        long indices() { return indices; }
+
+        /**
+         * Orders the first {@code n} packets by key; afterwards {@link #packetAt} and
+         * {@link #keyAt} walk them in sorted order.
+         */
+        void sort(int n) {
+            if (n < 2) {
+                submissionOrder(n);
+                return;
+            }
+
+            // Same draw count as last frame: its order is usually still almost right
+            if (n == sortedCount && patchOrder(keys, order, scratchKeys, scratchOrder, n)) {
+                long[] k = keys; keys = scratchKeys; scratchKeys = k;
+                int[] o = order; order = scratchOrder; scratchOrder = o;
+                return;
+            }
+
+            submissionOrder(n);
+            int[] sorted = radixSort(keys, order, scratchKeys, scratchOrder, histogram, n);
+            if (sorted != order) {
+                // Result landed in the scratch buffers; swap roles instead of copying
+                long[] k = keys; keys = scratchKeys; scratchKeys = k;
+                int[] o = order; order = scratchOrder; scratchOrder = o;
+            }
+            sortedCount = n;
+        }
+
+        /**
+         * Walks packets in submission order.
+         */
+        void submissionOrder(int n) {
+            for (int i = 0; i < n; i++) order[i] = i;
+            sortedCount = 0;
+        }
+
+        /**
+         * Insertion sort of {@code keys} visited in the previous order {@code previous}, written
+         * to {@code outKeys}/{@code outOrder}. Gives up after {@code n} element moves, which keeps
+         * a miss below the cost of one radix pass.
+         *
+         * @return false if the budget ran out and the outputs are incomplete
+         */
+        static boolean patchOrder(long[] keys, int[] previous, long[] outKeys, int[] outOrder, int n) {
+            int budget = n;
+            for (int i = 0; i < n; i++) {
+                int packet = previous[i];
+                long key = keys[packet];
+                int j = i - 1;
+                while (j >= 0 && outKeys[j] > key) {
+                    if (--budget < 0) return false;
+                    outKeys[j + 1] = outKeys[j];
+                    outOrder[j + 1] = outOrder[j];
+                    j--;
+                }
+                outKeys[j + 1] = key;
+                outOrder[j + 1] = packet;
+            }
+            return true;
+        }
+
+        /**
+         * Stable LSD radix sort of {@code keys[0..n)} carrying {@code order}.
+         * Only digits below the highest set bit are sorted, and passes where every key
+         * shares the same digit are skipped.
+         *
+         * @return the array (either {@code order} or {@code tmpOrder}) holding the sorted indices;
+         *         the matching keys array holds the sorted keys
+         */
+        static int[] radixSort(long[] keys, int[] order, long[] tmpKeys, int[] tmpOrder,
+                               int[] histogram, int n) {
+            long used = 0;
+            for (int i = 0; i < n; i++) used |= keys[i];
+            int passes = (Long.SIZE - Long.numberOfLeadingZeros(used) + RADIX_BITS - 1) / RADIX_BITS;
+
+            Arrays.fill(histogram, 0, passes << RADIX_BITS, 0);
+            for (int i = 0; i < n; i++) {
+                long key = keys[i];
+                for (int pass = 0; pass < passes; pass++) {
+                    histogram[(pass << RADIX_BITS) + (int) ((key >>> (pass * RADIX_BITS)) & RADIX_MASK)]++;
+                }
+            }
+
+            long[] srcKeys = keys, dstKeys = tmpKeys;
+            int[] srcOrder = order, dstOrder = tmpOrder;
+
+            for (int pass = 0; pass < passes; pass++) {
+                int offset = pass << RADIX_BITS;
+                int shift = pass * RADIX_BITS;
+
+                // Skip constant digits, then turn counts into start positions
+                boolean constant = false;
+                int sum = 0;
+                for (int b = 0; b < RADIX_BUCKETS; b++) {
+                    int c = histogram[offset + b];
+                    if (c == n) { constant = true; break; }
+                    histogram[offset + b] = sum;
+                    sum += c;
+                }
+                if (constant) continue;
+
+                for (int i = 0; i < n; i++) {
+                    long key = srcKeys[i];
+                    int pos = histogram[offset + (int) ((key >>> shift) & RADIX_MASK)]++;
+                    dstKeys[pos] = key;
+                    dstOrder[pos] = srcOrder[i];
+                }
+
+                long[] k = srcKeys; srcKeys = dstKeys; dstKeys = k;
+                int[] o = srcOrder; srcOrder = dstOrder; dstOrder = o;
+            }
+            return srcOrder;
+        }
+
+        // ─── Access ───
+
+        /** Packet index at sorted position {@code i} (valid after {@link #sort}). */
+        int packetAt(int i) { return order[i]; }
+
+        /** Key at sorted position {@code i} (valid after {@link #sort}). */
+        long keyAt(int i) { return keys[i]; }
+
+        int getInt(int packet, long field) {
+            return packets.get(ValueLayout.JAVA_INT, (long) packet * DRAW_COMMAND_SIZE + field);
+        }
+
+        PrimitiveType primitiveType(int packet) { return PRIMITIVES[getInt(packet, P_PRIMITIVE)]; }
+        IndexType indexType(int packet) { return INDEX_TYPES[getInt(packet, P_INDEX_TYPE)]; }
+
+        /**
+         * Whether two packets, possibly from different lanes, can share one multi-draw-indirect batch.
+         */
+        static boolean compatible(PacketStream laneA, int a, PacketStream laneB, int b) {
+            int indexType = laneA.getInt(a, P_INDEX_TYPE);
+            return laneA.getInt(a, P_STATE) == laneB.getInt(b, P_STATE)
+                && laneA.getInt(a, P_PRIMITIVE) == laneB.getInt(b, P_PRIMITIVE)
+                && indexType == laneB.getInt(b, P_INDEX_TYPE)
+                && laneA.getInt(a, P_VERTEX_BUFFER) == laneB.getInt(b, P_VERTEX_BUFFER)
+                && (indexType == IndexType.NONE.ordinal()
+                    || laneA.getInt(a, P_INDEX_BUFFER) == laneB.getInt(b, P_INDEX_BUFFER));
+        }
+
+        /**
+         * Writes the indirect command for {@code packet} and returns the bytes written.
+         */
+        int writeIndirect(int packet, MemorySegment buffer, long offset, boolean indexed) {
+            long base = (long) packet * DRAW_COMMAND_SIZE;
+            MemorySegment p = packets;
+            if (!indexed) {
+                // glDrawArraysIndirect format
+                buffer.set(ValueLayout.JAVA_INT, offset, p.get(ValueLayout.JAVA_INT, base + P_VERTEX_COUNT));
+                buffer.set(ValueLayout.JAVA_INT, offset + 4, p.get(ValueLayout.JAVA_INT, base + P_INSTANCE_COUNT));
+                buffer.set(ValueLayout.JAVA_INT, offset + 8, p.get(ValueLayout.JAVA_INT, base + P_FIRST_VERTEX));
+                buffer.set(ValueLayout.JAVA_INT, offset + 12, p.get(ValueLayout.JAVA_INT, base + P_BASE_INSTANCE));
+                return 16;
+            }
+            // glDrawElementsIndirect format
+            buffer.set(ValueLayout.JAVA_INT, offset, p.get(ValueLayout.JAVA_INT, base + P_INDEX_COUNT));
+            buffer.set(ValueLayout.JAVA_INT, offset + 4, p.get(ValueLayout.JAVA_INT, base + P_INSTANCE_COUNT));
+            buffer.set(ValueLayout.JAVA_INT, offset + 8, p.get(ValueLayout.JAVA_INT, base + P_FIRST_INDEX));
+            buffer.set(ValueLayout.JAVA_INT, offset + 12, p.get(ValueLayout.JAVA_INT, base + P_BASE_VERTEX));
+            buffer.set(ValueLayout.JAVA_INT, offset + 16, p.get(ValueLayout.JAVA_INT, base + P_BASE_INSTANCE));
+            return 20;
+        }
+
+        /**
+         * Decodes {@code packet} into a command, for runs that are not drawn indirectly.
+         */
+        DrawCommand toCommand(int packet, StateSignature state) {
+            long base = (long) packet * DRAW_COMMAND_SIZE;
+            MemorySegment p = packets;
+            return DrawCommand.create(
+                primitiveType(packet), indexType(packet),
+                p.get(ValueLayout.JAVA_INT, base + P_VERTEX_COUNT),
+                p.get(ValueLayout.JAVA_INT, base + P_INDEX_COUNT),
+                p.get(ValueLayout.JAVA_INT, base + P_INSTANCE_COUNT),
+                p.get(ValueLayout.JAVA_INT, base + P_FIRST_VERTEX),
+                p.get(ValueLayout.JAVA_INT, base + P_FIRST_INDEX),
+                p.get(ValueLayout.JAVA_INT, base + P_BASE_VERTEX),
+                p.get(ValueLayout.JAVA_INT, base + P_BASE_INSTANCE),
+                p.get(ValueLayout.JAVA_INT, base + P_VERTEX_BUFFER),
+                p.get(ValueLayout.JAVA_INT, base + P_INDEX_BUFFER),
+                p.get(ValueLayout.JAVA_LONG, base + P_INDEX_OFFSET),
+                state,
+                p.get(ValueLayout.JAVA_INT, base + P_FLAGS),
+                p.get(ValueLayout.JAVA_FLOAT, base + P_DEPTH)
+            );
+        }
+
+        void close() {
+            if (arena.scope().isAlive()) arena.close();
+        }
+    }
+
+    /**
+     * Registry of states usable by packets; shared by all lanes and kept across frames.
+     *
+     * Registration is serialized. Readers use the volatile {@link #count} and arrays, which are
+     * written before the count is bumped, so lanes never lock to resolve a state.
+     */
+    private static final class PacketStates {
+
+        static final int MAX_STATES = 1 << 16;
+        static final long TRANSLUCENT_BIT = 1L << 32;
+
+        private final Map<StateSignature, Integer> ids = new HashMap<>();
+        private volatile StateSignature[] states = new StateSignature[STATE_CACHE_SIZE];
+        private volatile long[] prefixes = new long[STATE_CACHE_SIZE];
+        private volatile int count;
+        private boolean ranksDirty;
+
+        /**
+         * Interns a state and returns its id, or -1 if the registry is full.
+         * New states get a provisional rank after all existing ones; ranks are
+         * re-derived from {@link StateSignature#sortKey()} at the next frame.
+         */
+        synchronized int register(StateSignature state) {
+            Integer existing = ids.get(state);
+            if (existing != null) return existing;
+
+            int id = count;
+            if (id >= MAX_STATES) return -1;
+
+            if (id == states.length) {
+                int grown = Math.min(id << 1, MAX_STATES);
+                states = Arrays.copyOf(states, grown);
+                prefixes = Arrays.copyOf(prefixes, grown);
+            }
+
+            states[id] = state;
+            prefixes[id] = prefix(id, isTranslucent(state));
+            ids.put(state, id);
+            ranksDirty = true;
+            count = id + 1;  // Publish
+            return id;
+        }
+
+        StateSignature get(int stateId) {
+            int n = count;
+            return stateId >= 0 && stateId < n ? states[stateId] : null;
+        }
+
+        /**
+         * State part of the sort key for a registered id.
+         */
+        long prefix(int stateId) {
+            return prefixes[stateId];
+        }
+
+        /**
+         * Re-ranks all states by their sort key. Runs only when the registry changed.
+         */
+        synchronized void rerank() {
+            if (!ranksDirty) return;
+
+            int n = count;
+            StateSignature[] current = states;
+            long[] rankKeys = new long[n];
+            int[] ids = new int[n];
+            for (int i = 0; i < n; i++) {
+                rankKeys[i] = current[i].sortKey();
+                ids[i] = i;
+            }
+
+            int[] sorted = PacketStream.radixSort(rankKeys, ids, new long[n], new int[n],
+                new int[PacketStream.RADIX_PASSES * PacketStream.RADIX_BUCKETS], n);
+
+            long[] ranked = new long[current.length];
+            for (int rank = 0; rank < n; rank++) {
+                int id = sorted[rank];
+                ranked[id] = prefix(rank, isTranslucent(current[id]));
+            }
+            prefixes = ranked;
+            ranksDirty = false;
+        }
+
+        private static long prefix(int rank, boolean translucent) {
+            return (translucent ? TRANSLUCENT_BIT : 0L) | ((long) (rank & 0xFFFF) << 16);
+        }
+    }
+
+    /**
+     * K-way merge of sorted lanes into one frame order. Used only by the thread running
+     * optimize(); all buffers are reused across frames.
+     *
+     * A binary min-heap holds one cursor per lane, ordered by the key under the cursor and then
+     * by lane index, so equal keys keep a deterministic order.
+     */
+    private static final class PacketMerger {
+
+        private PacketStream[] lanes = new PacketStream[8];
+        private int[] counts = new int[8];
+        private int[] heads = new int[8];
+        private int[] heap = new int[8];
+        private int laneCount;
+
+        private int[] mergedLane = new int[INITIAL_POOL_CAPACITY];
+        private int[] mergedPacket = new int[INITIAL_POOL_CAPACITY];
+        private int size;
+
+        /**
+         * Collects the lanes holding packets for {@code frameNumber}.
+         *
+         * @return total packets across those lanes
+         */
+        int gather(List<PacketStream> candidates, long frameNumber) {
+            laneCount = 0;
+            int total = 0;
+            for (PacketStream lane : candidates) {
+                int n = lane.countFor(frameNumber);
+                if (n == 0) continue;
+                if (laneCount == lanes.length) {
+                    int grown = laneCount << 1;
+                    lanes = Arrays.copyOf(lanes, grown);
+                    counts = Arrays.copyOf(counts, grown);
+                    heads = Arrays.copyOf(heads, grown);
+                    heap = Arrays.copyOf(heap, grown);
+                }
+                lanes[laneCount] = lane;
+                counts[laneCount] = n;
+                laneCount++;
+                total += n;
+            }
+            if (total > mergedLane.length) {
+                int grown = Integer.highestOneBit(total - 1) << 1;
+                mergedLane = new int[grown];
+                mergedPacket = new int[grown];
+            }
+            size = 0;
+            return total;
+        }
+
+        int laneCount() { return laneCount; }
+        PacketStream lane(int i) { return lanes[i]; }
+        int laneSize(int i) { return counts[i]; }
+
+        /**
+         * Merges the gathered lanes. With {@code sorted} false, lanes are concatenated in
+         * their submission order instead.
+         */
+        void merge(boolean sorted) {
+            if (!sorted || laneCount == 1) {
+                for (int l = 0; l < laneCount; l++) {
+                    PacketStream lane = lanes[l];
+                    for (int i = 0, n = counts[l]; i < n; i++) {
+                        mergedLane[size] = l;
+                        mergedPacket[size++] = lane.packetAt(i);
+                    }
+                }
+                return;
+            }
+
+            int heapSize = laneCount;
+            for (int l = 0; l < laneCount; l++) {
+                heads[l] = 0;
+                heap[l] = l;
+            }
+            for (int i = (heapSize >>> 1) - 1; i >= 0; i--) {
+                siftDown(i, heapSize);
+            }
+
+            while (heapSize > 0) {
+                int l = heap[0];
+                mergedLane[size] = l;
+                mergedPacket[size++] = lanes[l].packetAt(heads[l]);
+
+                if (++heads[l] == counts[l]) {
+                    heap[0] = heap[--heapSize];
+                }
+                siftDown(0, heapSize);
+            }
+        }
+
+        private void siftDown(int i, int heapSize) {
+            int lane = heap[i];
+            while (true) {
+                int child = (i << 1) + 1;
+                if (child >= heapSize) break;
+                if (child + 1 < heapSize && before(heap[child + 1], heap[child])) child++;
+                if (!before(heap[child], lane)) break;
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = lane;
+        }
+
+        private boolean before(int a, int b) {
+            long ka = lanes[a].keyAt(heads[a]);
+            long kb = lanes[b].keyAt(heads[b]);
+            return ka < kb || (ka == kb && a < b);
+        }
+
+        int size() { return size; }
+        PacketStream laneAt(int i) { return lanes[mergedLane[i]]; }
+        int packetAt(int i) { return mergedPacket[i]; }
+
+        void clear() {
+            Arrays.fill(lanes, 0, laneCount, null);
+            laneCount = 0;
+            size = 0;
+        }
+    }
+
+    /**
+     * Registers a state for packet submission.
+     *
+     * @return state id for {@link #submitPacket}, or -1 if the registry is full
+     */
+    public int registerState(StateSignature state) {
+        Objects.requireNonNull(state, "StateSignature cannot be null");
+        return packetStates.register(state);
+    }
+
+    /**
+     * Submits a draw as an off-heap packet without creating a {@link DrawCommand}.
+     *
+     * Safe to call from any number of threads at once: each thread appends to its own leased lane
+     * and touches no shared state. All submissions for a frame must complete before its optimize().
+     * Packet draws are added to the frame statistics when they are merged.
+     *
+     * @param stateId id from {@link #registerState}
+     * @return true if submitted, false if rejected (invalid, culled, lane full, or all
+     *         {@value #MAX_PACKET_LANES} lanes leased)
+     */
+    public boolean submitPacket(int stateId, PrimitiveType primitiveType, IndexType indexType,
+                                int vertexCount, int indexCount, int instanceCount,
+                                int firstVertex, int firstIndex, int baseVertex, int baseInstance,
+                                int vertexBufferId, int indexBufferId, long indexBufferOffset,
+                                int flags, float depthSortKey) {
+        FrameState frame = currentFrame.get();
+        if (frame == null) return false;
+
+        boolean indexed = indexType != IndexType.NONE;
+        if (indexed) flags |= DrawFlags.INDEXED;
+
+        // Same rules as validateCommand
+        if (DrawFlags.isCulled(flags)) return false;
+        if (vertexCount < 0 || indexCount < 0 || instanceCount < 0) return false;
+        if (vertexBufferId < 0 || (indexed && indexBufferId < 0)) return false;
+        if ((indexed ? indexCount : vertexCount) < minVertices(primitiveType)) return false;
+        if (packetStates.get(stateId) == null) return false;
+
+        LaneLease lease = packetLane.get();
+        if (lease == null || !lease.lane().enter(lease.token())) {
+            lease = leasePacketLane();
+            if (lease == null) return false;
+        }
+
+        boolean appended;
+        try {
+            appended = lease.lane().append(frame.frameNumber, stateId, packetStates.prefix(stateId),
+                primitiveType, indexType, flags,
+                vertexCount, indexCount, instanceCount,
+                firstVertex, firstIndex, baseVertex, baseInstance,
+                vertexBufferId, indexBufferId, indexBufferOffset,
+                depthSortKey, depthSortingEnabled.get());
+        } finally {
+            lease.lane().exit(lease.token());
+        }
+        if (!appended) return false;
+
+        totalDrawsSubmitted.increment();
+        return true;
+    }
+
+    /**
+     * A thread's claim on a pooled lane; stale once the lane is reclaimed.
+     */
+    private record LaneLease(PacketStream lane, long token) {}
+
+    /**
+     * Leases a free lane, or creates one while under {@value #MAX_PACKET_LANES}.
+     * The returned lane is already entered.
+     *
+     * @return the lease, or null if every lane is in use
+     */
+    private LaneLease leasePacketLane() {
+        long token = laneLeaseCounter.incrementAndGet() << 1;
+        PacketStream leased = null;
+
+        for (PacketStream lane : packetLanes) {
+            if (lane.tryLease(token)) {
+                leased = lane;
+                break;
+            }
+        }
+        if (leased == null) {
+            synchronized (packetLanes) {
+                if (packetLanes.size() >= MAX_PACKET_LANES) return null;
+                leased = new PacketStream(PACKET_LANE_INITIAL_CAPACITY, token);
+                packetLanes.add(leased);
+            }
+        }
+
+        LaneLease lease = new LaneLease(leased, token);
+        packetLane.set(lease);
+        return lease;
+    }
+
+    /**
+     * Sorts every lane, merges them and cuts the result into batches.
+     */
+    private void optimizePackets(FrameState frame) throws InterruptedException, ExecutionException {
+        PacketMerger merger = packetMerger;
+        int n = merger.gather(packetLanes, frame.frameNumber);
+        if (n == 0) return;
+
+        long sortStart = System.nanoTime();
+        boolean sorted = sortingEnabled.get();
+        int lanes = merger.laneCount();
+
+        if (sorted && lanes > 1) {
+            // Lanes are independent; sort them in parallel
+            try (var scope = new StructuredTaskScope.ShutdownOnFailure()) {
+                for (int l = 0; l < lanes; l++) {
+                    PacketStream lane = merger.lane(l);
+                    int size = merger.laneSize(l);
+                    scope.fork(() -> {
+                        lane.sort(size);
+                        return null;
+                    });
+                }
+                scope.join();
+                scope.throwIfFailed();
+            }
+        } else {
+            for (int l = 0; l < lanes; l++) {
+                if (sorted) {
+                    merger.lane(l).sort(merger.laneSize(l));
+                } else {
+                    merger.lane(l).submissionOrder(merger.laneSize(l));
+                }
+            }
+        }
+        merger.merge(sorted);
+        frame.sortTimeNanos.add(System.nanoTime() - sortStart);
+
+        long vertices = 0, indices = 0;
+        for (int l = 0; l < lanes; l++) {
+            vertices += merger.lane(l).vertices();
+            indices += merger.lane(l).indices();
+        }
+        frame.submittedCount.addAndGet(n);
+        frame.totalVertices.addAndGet(vertices);
+        frame.totalIndices.addAndGet(indices);
+
+        long batchStart = System.nanoTime();
+        int maxSize = emergencyMode.get() ? MAX_POOL_CAPACITY : maxBatchSize.get();
+        boolean merge = batchingEnabled.get();
+        int batchesBefore = frame.batches.size();
+
+        int runStart = 0;
+        while (runStart < n) {
+            PacketStream firstLane = merger.laneAt(runStart);
+            int first = merger.packetAt(runStart);
+            int runEnd = runStart + 1;
+
+            if (merge && !DrawFlags.skipOptimization(firstLane.getInt(first, PacketStream.P_FLAGS))) {
+                while (runEnd < n && runEnd - runStart < maxSize) {
+                    PacketStream nextLane = merger.laneAt(runEnd);
+                    int next = merger.packetAt(runEnd);
+                    if (DrawFlags.skipOptimization(nextLane.getInt(next, PacketStream.P_FLAGS))
+                        || !PacketStream.compatible(firstLane, first, nextLane, next)) {
+                        break;
+                    }
+                    runEnd++;
+                }
+            }
+
+            frame.batches.add(buildPacketBatch(frame, merger, runStart, runEnd));
+            frame.batchCount.incrementAndGet();
+            totalBatchesCreated.increment();
+            runStart = runEnd;
+        }
+        merger.clear();
+
+        int merged = n - (frame.batches.size() - batchesBefore);
+        frame.mergedCount.addAndGet(merged);
+        totalDrawsBatched.add(merged);
+        frame.batchingTimeNanos.add(System.nanoTime() - batchStart);
+    }
+
+    /**
+     * Stable merge of the command batches {@code [0, split)} with the packet batches after them
+     * by {@link #BATCH_DRAW_ORDER}, so opaque packet draws never land after translucent commands.
+     * Both runs are already in that order. On a state tie command batches go first: translucent
+     * draws of one state split across both streams are depth-ordered only within each stream.
+     */
+    private static void mergeBatchStreams(List<DrawBatch> batches, int split) {
+        int size = batches.size();
+        if (split == 0 || split == size
+            || BATCH_DRAW_ORDER.compare(batches.get(split - 1), batches.get(split)) <= 0) {
+            return;
+        }
+
+        DrawBatch[] commands = batches.subList(0, split).toArray(new DrawBatch[0]);
+        int c = 0, p = split, out = 0;
+        while (c < commands.length && p < size) {
+            DrawBatch packet = batches.get(p);
+            if (BATCH_DRAW_ORDER.compare(packet, commands[c]) < 0) {
+                batches.set(out++, packet);
+                p++;
+            } else {
+                batches.set(out++, commands[c++]);
+            }
+        }
+        while (c < commands.length) {
+            batches.set(out++, commands[c++]);
+        }
+    }
+
+    /**
+     * Cuts one run into a batch. Runs flush() will draw indirectly keep only their indirect
+     * buffer; anything shorter is decoded into commands, since executors draw those one by one.
+     */
+    private DrawBatch buildPacketBatch(FrameState frame, PacketMerger merger, int from, int to) {
+        PacketStream firstLane = merger.laneAt(from);
+        int first = merger.packetAt(from);
+        StateSignature state = packetStates.get(firstLane.getInt(first, PacketStream.P_STATE));
+        IndexType indexType = firstLane.indexType(first);
+        boolean indexed = indexType != IndexType.NONE;
+        int cmdSize = indexed ? 20 : 16;
+        int runLength = to - from;
+
+        if (runLength < BATCH_MERGE_THRESHOLD || indirectDrawManager == null) {
+            DrawBatch batch = new DrawBatch(state, firstLane.primitiveType(first), indexType,
+                firstLane.getInt(first, PacketStream.P_VERTEX_BUFFER),
+                firstLane.getInt(first, PacketStream.P_INDEX_BUFFER));
+            for (int i = from; i < to; i++) {
+                batch.addCommand(merger.laneAt(i).toCommand(merger.packetAt(i), state));
+            }
+            batch.finalize(frame.arena);
+            return batch;
+        }
+
+        MemorySegment buffer = frame.arena.allocate((long) runLength * cmdSize, ALIGNMENT);
+        long offset = 0;
+        int vertices = 0, indices = 0, instances = 0;
+
+        for (int i = from; i < to; i++) {
+            PacketStream lane = merger.laneAt(i);
+            int packet = merger.packetAt(i);
+            offset += lane.writeIndirect(packet, buffer, offset, indexed);
+            if (indexed) {
+                indices += lane.getInt(packet, PacketStream.P_INDEX_COUNT);
+            } else {
+                vertices += lane.getInt(packet, PacketStream.P_VERTEX_COUNT);
+            }
+            instances += lane.getInt(packet, PacketStream.P_INSTANCE_COUNT);
+        }
+
+        return DrawBatch.ofIndirect(
+            state, firstLane.primitiveType(first), indexType,
+            firstLane.getInt(first, PacketStream.P_VERTEX_BUFFER),
+            firstLane.getInt(first, PacketStream.P_INDEX_BUFFER),
+            buffer, runLength, vertices, indices, instances);
+    }
+
+    // ════════════════════════════════════════════════════════════════════════════════════════════
+    // ██ SECTION 14.7: TEMPORAL COHERENCE
+    // ════════════════════════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Previous-frame layout of all draws sharing one pattern hash.
+     *
+     * <pre>
+     * ┌─────────────────────────────────────────────────────────────────────────────────────────────┐
+     * │ TEMPORAL COHERENCE MODE                                                                     │
+     * ├─────────────────────────────────────────────────────────────────────────────────────────────┤
+     * │ Most frames submit nearly the same draws as the last one. Per pattern hash we keep:         │
+     * │   • the submission-order full hashes of last frame's draws                                  │
+     * │   • each draw's position in last frame's sorted order                                       │
+     * │   • last frame's finalized batches, whose indirect buffers live in the group's own slab     │
+     * │                                                                                             │
+     * │ Opaque group with identical draws → batches reused as-is (one hash compare per draw)        │
+     * │ Anything else → draws seeded in last frame's order, insertion sort patches in new draws     │
+     * │                  and depth changes, then the group's batches are rebuilt                    │
+     * └─────────────────────────────────────────────────────────────────────────────────────────────┘
+     * </pre>
+     *
+     * Translucent groups always take the patch path since their order follows depth, which is
+     * not part of the full hash; as they rebuild every frame their buffers come from the frame
+     * arena. Opaque layouts alternate between two slabs that are only reallocated when too
+     * small. Used only by the thread running optimize().
+     */
+    private static final class CoherentGroup {
+        final long patternHash;
+        /** This frame's draws of the pattern; emptied after every optimize */
+        final List<DrawCommand> pending = new ArrayList<>();
+
+        long[] submittedHashes = new long[0];
+        Map<Long, Integer> rank = Map.of();
+        List<DrawBatch> batches = List.of();
+        long lastFrame;
+        /** {@link #batches} live in a frame arena and are gone by the next frame */
+        boolean frameScoped;
+
+        /** Slab holding the indirect buffers of {@link #batches} */
+        private Arena arena;
+        private MemorySegment slab;
+        /** Previous layout's slab, kept one more frame for in-flight readers, then reused */
+        private Arena retiredArena;
+        private MemorySegment retiredSlab;
+
+        CoherentGroup(long patternHash) {
+            this.patternHash = patternHash;
+        }
+
+        boolean matches(List<DrawCommand> commands) {
+            if (frameScoped || batches.isEmpty() || commands.size() != submittedHashes.length) return false;
+            for (int i = 0; i < submittedHashes.length; i++) {
+                if (commands.get(i).fullHash() != submittedHashes[i]) return false;
+            }
+            return true;
+        }
+
+        /**
+         * Retires the current slab and hands out the one retired a layout ago, reallocating it
+         * only when it holds fewer than {@code bytes}.
+         */
+        SegmentAllocator nextSlab(long bytes) {
+            Arena reuseArena = retiredArena;
+            MemorySegment reuse = retiredSlab;
+            retiredArena = arena;
+            retiredSlab = slab;
+
+            if (reuse == null || reuse.byteSize() < bytes) {
+                long size = reuse == null ? bytes : Math.max(bytes, reuse.byteSize() << 1);
+                if (reuseArena != null) reuseArena.close();
+                reuseArena = Arena.ofShared();
+                reuse = reuseArena.allocate(size, ALIGNMENT);
+            }
+            arena = reuseArena;
+            slab = reuse;
+            return SegmentAllocator.slicingAllocator(reuse);
+        }
+
+        void close() {
+            if (retiredArena != null) retiredArena.close();
+            if (arena != null) arena.close();
+            retiredArena = null;
+            arena = null;
+            retiredSlab = null;
+            slab = null;
+        }
+    }
+
+    /** Draw order between batches: opaque first, then by state (the packet key order) */
+    private static final Comparator<DrawBatch> BATCH_DRAW_ORDER = Comparator
+        .comparing((DrawBatch b) -> isTranslucent(b.state()))
+        .thenComparingLong(b -> b.state().sortKey());
+
+    /**
+     * Sorts and batches the frame's commands reusing the previous frame's layout.
+     */
+    private void optimizeCoherent(FrameState frame) {
+        long startTime = System.nanoTime();
+
+        List<DrawCommand> commands = frame.pendingCommands;
+        int maxSize = emergencyMode.get() ? MAX_POOL_CAPACITY : maxBatchSize.get();
+        int created = 0;
+        int batchCount;
+
+        synchronized (coherentGroups) {
+            // Group by pattern in first-seen order, straight into the groups' reused lists
+            List<CoherentGroup> touched = coherentTouched;
+            List<DrawBatch> batches = coherentBatches;
+            try {
+                for (DrawCommand cmd : commands) {
+                    CoherentGroup group = coherentGroups.computeIfAbsent(computePatternHash(cmd), CoherentGroup::new);
+                    if (group.pending.isEmpty()) touched.add(group);
+                    group.pending.add(cmd);
+                }
+
+                for (CoherentGroup group : touched) {
+                    List<DrawCommand> groupCommands = group.pending;
+                    boolean translucent = isTranslucent(groupCommands);
+
+                    if (translucent || !group.matches(groupCommands)) {
+                        created += rebuildGroup(frame, group, groupCommands, maxSize, translucent);
+                    } else {
+                        totalBatchesReused.add(group.batches.size());
+                    }
+                    group.lastFrame = frame.frameNumber;
+                    batches.addAll(group.batches);
+                }
+
+                // Groups are independent; order their batches as a whole
+                batches.sort(BATCH_DRAW_ORDER);
+                frame.batches.addAll(batches);
+                batchCount = batches.size();
+            } finally {
+                for (CoherentGroup group : touched) group.pending.clear();
+                touched.clear();
+                batches.clear();
+            }
+
+            // Drop layouts of patterns that stopped appearing
+            coherentGroups.values().removeIf(group -> {
+                if (frame.frameNumber - group.lastFrame <= COHERENCE_RETAIN_FRAMES) return false;
+                group.close();
+                return true;
+            });
+        }
+
+        frame.batchCount.addAndGet(batchCount);
+        totalBatchesCreated.add(created);
+
+        int merged = commands.size() - batchCount;
+        frame.mergedCount.set(merged);
+        totalDrawsBatched.add(merged);
+
+        frame.batchingTimeNanos.add(System.nanoTime() - startTime);
+    }
+
+    /**
+     * Re-sorts one group starting from its previous order and rebuilds its batches.
+     *
+     * @return number of batches created
+     */
+    private int rebuildGroup(FrameState frame, CoherentGroup group, List<DrawCommand> commands, int maxSize,
+                             boolean translucent) {
+        long sortStart = System.nanoTime();
+        int n = commands.size();
+
+        // Seed with last frame's sorted position; new draws go last
+        Map<Long, Integer> previousRank = group.rank;
+        long[] seeded = new long[n];
+        for (int i = 0; i < n; i++) {
+            int rank = previousRank.getOrDefault(commands.get(i).fullHash(), Integer.MAX_VALUE);
+            seeded[i] = ((long) rank << 32) | i;
+        }
+        Arrays.sort(seeded);
+
+        DrawCommand[] order = new DrawCommand[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = commands.get((int) seeded[i]);
+        }
+
+        // Nearly sorted: TimSort finds last frame's runs and merges new draws in, so a steady
+        // group costs close to one pass and a fully new one an ordinary sort
+        if (sortingEnabled.get() && n > 1) {
+            boolean depth = depthSortingEnabled.get();
+            Arrays.sort(order, (a, b) -> compareForDraw(a, b, depth));
+        }
+
+        long[] submitted = new long[n];
+        Map<Long, Integer> rank = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            submitted[i] = commands.get(i).fullHash();
+            rank.putIfAbsent(order[i].fullHash(), i);
+        }
+        frame.sortTimeNanos.add(System.nanoTime() - sortStart);
+
+        // Cut runs of compatible draws into batches
+        List<DrawBatch> batches = new ArrayList<>();
+        DrawBatch current = null;
+        long indirectBytes = 0;
+
+        for (DrawCommand cmd : order) {
+            if (current == null
+                || current.commandCount() >= maxSize
+                || DrawFlags.skipOptimization(cmd.flags())
+                || !current.addCommand(cmd)) {
+                current = new DrawBatch(
+                    cmd.state(), cmd.primitiveType(), cmd.indexType(),
+                    cmd.vertexBufferId(), cmd.indexBufferId()
+                );
+                current.addCommand(cmd);
+                batches.add(current);
+                if (DrawFlags.skipOptimization(cmd.flags())) {
+                    current = null;
+                }
+            }
+        }
+        for (DrawBatch batch : batches) {
+            long bytes = (long) batch.commandCount() * (batch.indexType() == IndexType.NONE ? 16 : 20);
+            indirectBytes += (bytes + ALIGNMENT - 1) & -ALIGNMENT;
+        }
+
+        // Translucent layouts never outlive the frame; opaque ones go to the group's next slab
+        SegmentAllocator allocator = translucent ? frame.arena : group.nextSlab(indirectBytes);
+        for (DrawBatch batch : batches) {
+            batch.finalize(allocator);
+        }
+
+        group.submittedHashes = submitted;
+        group.rank = rank;
+        group.batches = batches;
+        group.frameScoped = translucent;
+        return batches.size();
+    }
+
+    /**
+     * Draw order used by the coherent path: state first, then depth when enabled
+     * (front-to-back opaque, back-to-front translucent).
+     */
+    private static int compareForDraw(DrawCommand a, DrawCommand b, boolean depth) {
+        int byState = Long.compare(a.state().sortKey(), b.state().sortKey());
+        if (byState != 0 || !depth) return byState;
+        return isTranslucent(a.state())
+            ? Float.compare(b.depthSortKey(), a.depthSortKey())
+            : Float.compare(a.depthSortKey(), b.depthSortKey());
+    }
+
+    private static boolean isTranslucent(StateSignature state) {
+        return state.blendMode() != BlendMode.OPAQUE && state.blendMode() != BlendMode.ALPHA_TEST;
+    }
+
+    private static boolean isTranslucent(List<DrawCommand> commands) {
+        for (DrawCommand cmd : commands) {
+            if (isTranslucent(cmd.state())) return true;
+        }
+        return false;
+    }
+
+    // ════════════════════════════════════════════════════════════════════════════════════════════
+    // ██ SECTION 14.8: PATTERN CACHE
+    // ════════════════════════════════════════════════════════════════════════════════════════════
+
+    /*
+     * Executed batches are learned into a DrawCallCluster keyed by computeBatchKey(DrawBatch),
+     * with their execution time. The cluster is persisted on close() and loaded again once
+     * UniversalCapabilities has a driver fingerprint, so batches whose key recurred in a
+     * previous session take the indirect path, and are recommended for it in reports,
+     * without first having to grow to BATCH_MERGE_THRESHOLD draws.
+     */
+
+    /**
+     * Sets the pattern cache file; null disables loading and saving.
+     * Takes effect if the cache has not started loading yet.
+     */
+    public DrawPool setPatternCacheFile(@Nullable Path file) {
+        this.patternCacheFile = file;
+        return this;
+    }
+
+    /**
+     * Writes the learned patterns to the cache file.
+     *
+     * @return number of patterns written, 0 if nothing was saved
+     */
+    public int savePatternCache() {
+        Path file = patternCacheFile;
+        // Before the snapshot is installed there is nothing worth replacing it with
+        if (file == null || !patternCacheInstalled) return 0;
+        try {
+            int written = patternCache.save(file);
+            FPSFlux.LOGGER.info("[DrawPool] Saved {} draw patterns to {}", written, file);
+            return written;
+        } catch (IOException e) {
+            FPSFlux.LOGGER.warn("[DrawPool] Could not save draw pattern cache: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Frame-boundary bookkeeping: starts the load once the driver is known, installs the
+     * loaded cluster, and periodically re-reads which patterns are indirect-ready.
+     * Called from beginNewFrame on the render thread.
+     */
+    private void advancePatternCache(long frameNumber) {
+        CompletableFuture<DrawCallCluster> load = patternCacheLoad;
+        Path file = patternCacheFile;
+
+        if (load == null) {
+            if (file != null && UniversalCapabilities.isInitialized()) {
+                patternCacheLoad = DrawCallCluster.loadAsync(file);
+            }
+        } else if (!patternCacheInstalled && load.isDone()) {
+            DrawCallCluster previous = patternCache;
+            patternCache = load.join();
+            patternCacheInstalled = true;
+            previous.close();
+            learnedIndirectPatterns = readIndirectPatterns(patternCache);
+        }
+
+        patternCache.advanceFrame();
+        if (frameNumber % PATTERN_CACHE_REFRESH_FRAMES == 0) {
+            learnedIndirectPatterns = readIndirectPatterns(patternCache);
+        }
+    }
+
+    private static Set<Long> readIndirectPatterns(DrawCallCluster cache) {
+        Set<Long> keys = new HashSet<>();
+        for (DrawCallCluster.CachedEntry entry : cache.getIndirectReadyEntries()) {
+            keys.add(entry.hash());
+        }
+        return keys;
+    }
+
+    /**
+     * Records one executed batch in the pattern cache.
+     */
+    private void learnBatch(DrawBatch batch, long batchKey, long executionNanos) {
+        DrawCallCluster cache = patternCache;
+        if (cache.lookup(batchKey).isEmpty()) {
+            int flags = 0;
+            if (batch.indexType() != IndexType.NONE) flags |= DrawCallCluster.FLAG_INDEXED;
+            if (batch.totalInstances() > batch.commandCount()) flags |= DrawCallCluster.FLAG_INSTANCED;
+            cache.cache(batchKey,
+                batch.state().shaderProgramId(), batch.state().vaoId(),
+                batch.totalVertices(), batch.totalIndices(), batch.totalInstances(), flags);
+        }
+        cache.recordExecution(batchKey, executionNanos);
+    }
+
+    private void closePatternCache() {
+        CompletableFuture<DrawCallCluster> load = patternCacheLoad;
+        if (load != null && !patternCacheInstalled) {
+            load.thenAccept(DrawCallCluster::close);
+        }
+        patternCache.close();
+    }
+
     // ════════════════════════════════════════════════════════════════════════════════════════════
     // ██ SECTION 15: FLUSH & EXECUTION
     // ════════════════════════════════════════════════════════════════════════════════════════════
@@ -1858,6 +3195,7 @@ private void sortCommandsOptimal(FrameState frame) {
 
         int totalExecuted = 0;
         StateSignature lastState = null;
+        Set<Long> learned = learnedIndirectPatterns;
 
         for (DrawBatch batch : frame.batches) {
             try {
@@ -1868,13 +3206,19 @@ private void sortCommandsOptimal(FrameState frame) {
                     lastState = batchState;
                 }
 
-                // Execute batch
-                boolean useIndirect = batch.commandCount() >= BATCH_MERGE_THRESHOLD
+                // Execute batch; patterns learned in earlier frames or sessions go indirect
+                // before they reach the merge threshold
+                long batchKey = computeBatchKey(batch);
+                int count = batch.commandCount();
+                boolean useIndirect = (count >= BATCH_MERGE_THRESHOLD
+                        || (count > 1 && learned.contains(batchKey)))
                     && batch.isFinalized()
                     && indirectDrawManager != null;
 
+                long executeStart = System.nanoTime();
                 int executed = executor.executeBatch(batch, useIndirect);
                 totalExecuted += executed;
+                learnBatch(batch, batchKey, System.nanoTime() - executeStart);
 
             } catch (Exception e) {
                 System.err.println("[DrawPool] Batch execution failed: " + e.getMessage());
@@ -1927,7 +3271,7 @@ private void sortCommandsOptimal(FrameState frame) {
             long totalTime = batch.commandCount() * 1000L;  // Estimated
 
             DrawCallCluster cluster = new DrawCallCluster(
-                computeBatchKey(batch.commands().isEmpty() ? null : batch.commands().getFirst()),
+                computeBatchKey(batch),
                 batch.commandCount(),
                 totalTime,
                 batch.totalVertices(),
@@ -1952,12 +3296,14 @@ private void sortCommandsOptimal(FrameState frame) {
         heavyClusters.sort(Comparator.comparingLong(DrawCallCluster::totalTimeNanos).reversed());
         repeatedPatterns.sort(Comparator.comparingInt(DrawCallCluster::drawCount).reversed());
 
-        // Find patterns recommended for indirect drawing
-        List<Long> recommendedIndirect = repeatedPatterns.stream()
+        // Find patterns recommended for indirect drawing, then those learned earlier
+        Set<Long> recommended = new LinkedHashSet<>();
+        repeatedPatterns.stream()
             .filter(DrawCallCluster::eligibleForIndirect)
             .map(DrawCallCluster::patternHash)
-            .limit(20)
-            .toList();
+            .forEach(recommended::add);
+        recommended.addAll(learnedIndirectPatterns);
+        List<Long> recommendedIndirect = recommended.stream().limit(20).toList();
 
         // Estimate savings
         int originalCalls = frame.submittedCount.get();
@@ -2307,6 +3653,15 @@ private void sortCommandsOptimal(FrameState frame) {
         return this;
     }
 
+    /**
+     * Keeps each pattern's sorted order and batches across frames and only patches in
+     * changed draws. Off by default.
+     */
+    public DrawPool enableTemporalCoherence(boolean enabled) {
+        temporalCoherenceEnabled.set(enabled);
+        return this;
+    }
+
     public void disableEmergencyMode() {
         emergencyMode.set(false);
         maxBatchSize.set(1024);
@@ -2328,14 +3683,27 @@ private void sortCommandsOptimal(FrameState frame) {
             completed.close();
         }
 
+        synchronized (packetLanes) {
+            for (PacketStream lane : packetLanes) {
+                lane.close();
+            }
+            packetLanes.clear();
+        }
+
         // Clear caches
         patternStatistics.clear();
         stateCache.clear();
+        synchronized (coherentGroups) {
+            coherentGroups.values().forEach(CoherentGroup::close);
+            coherentGroups.clear();
+        }
         recentPatterns.clear();
     }
 
     @Override
     public void close() {
+        savePatternCache();
+        closePatternCache();
         cleanupResources();
         analysisExecutor.shutdown();
         try {
@@ -2370,6 +3738,7 @@ private void sortCommandsOptimal(FrameState frame) {
         sb.append("│ Batching:      ").append(stats.batchingEnabled() ? "ON" : "OFF").append("\n");
         sb.append("│ Emergency:     ").append(stats.emergencyMode() ? "ACTIVE" : "inactive").append("\n");
         sb.append("│ Max Batch:     ").append(maxBatchSize.get()).append("\n");
+        sb.append("│ Coherence:     ").append(temporalCoherenceEnabled.get() ? "ON" : "OFF").append("\n");
         sb.append("└──────────────────────────────────────────────────────────────────────────────┘\n\n");
 
         sb.append("┌── Lifetime Statistics ─────────────────────────────────────────────────────────┐\n");
@@ -2379,6 +3748,7 @@ private void sortCommandsOptimal(FrameState frame) {
         sb.append("│ Draws Batched:     ").append(stats.totalDrawsBatched()).append("\n");
         sb.append("│ Duplicates Elim:   ").append(stats.totalDuplicatesEliminated()).append("\n");
         sb.append("│ Batches Created:   ").append(stats.totalBatchesCreated()).append("\n");
+        sb.append("│ Batches Reused:    ").append(totalBatchesReused.sum()).append("\n");
         sb.append("│ Tracked Patterns:  ").append(stats.trackedPatterns()).append("\n");
         sb.append("│ Avg Draws/Frame:   ").append(String.format("%.1f", stats.averageDrawsPerFrame())).append("\n");
         sb.append("│ Batch Efficiency:  ").append(String.format("%.1f%%", stats.averageBatchEfficiency() * 100)).append("\n");
@@ -4394,7 +4394,32 @@ public class UniversalCapabilities {
     public static boolean isVulkanInitialized() {
         return vulkanInitialized;
     }
-    
+
+    /**
+     * 64-bit FNV-1a fingerprint of the GL implementation: vendor, renderer, version,
+     * GLSL version and driver version. Data tuned against one driver (e.g. persisted
+     * draw patterns) should be discarded when it changes. Returns 0 before detection.
+     */
+    public static long getDriverFingerprint() {
+        if (!initialized) return 0L;
+
+        long hash = 0xcbf29ce484222325L;
+        String[] parts = {
+            GL.vendor, GL.renderer, GL.versionString, GL.shadingLanguageVersion, GPU.driverVersion
+        };
+        for (String part : parts) {
+            String value = part != null ? part : "";
+            for (int i = 0; i < value.length(); i++) {
+                hash ^= value.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+            // Field separator so ("ab", "c") and ("a", "bc") differ
+            hash ^= 0xFF;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
     //===========================================================================================================
     // HELPER METHODS FOR REPORT FORMATTING
     //===========================================================================================================
@@ -388,65 +388,266 @@ public final class RenderSystem implements AutoCloseable {
     // ════════════════════════════════════════════════════════════════════════════════════════════
 
     /**
-     * Batches multiple native calls for coalesced execution.
+     * Records native calls into an off-heap command ring for coalesced execution.
+     *
+     * <pre>
+     * ┌────────────┬────────┬────────┬────────┬────────┬─────────┬──────────────────┐
+     * │ opcode i32 │ i0 i32 │ i1 i32 │ i2 i32 │ i3 i32 │ pad i32 │ l0 i64           │  32 bytes
+     * └────────────┴────────┴────────┴────────┴────────┴─────────┴──────────────────┘
+     * </pre>
+     *
+     * <p>Typed recorders write an opcode and its primitive operands; {@link #flush} replays the
+     * ring through a switch over exact-typed {@code invokeExact} handles, so the hot path
+     * allocates nothing. Floats travel as raw int bits and pointers as addresses, which must
+     * stay valid until the flush. Calls without an opcode fall back to {@link #queue}, which
+     * keeps its place in the ring and only creates a future when the caller asks for one.</p>
      */
     private static final class CallBatcher {
         private static final int MAX_BATCH = 256;
 
-        private final ArrayDeque<PendingCall> pending = new ArrayDeque<>(MAX_BATCH);
+        // ─── Record Layout ───
+        private static final long RECORD_BYTES = 32;
+        private static final long R_OPCODE = 0;
+        private static final long R_I0 = 4;
+        private static final long R_I1 = 8;
+        private static final long R_I2 = 12;
+        private static final long R_I3 = 16;
+        private static final long R_L0 = 24;
+
+        // ─── Opcodes ───
+        private static final int OP_GENERIC                    = 0;
+        private static final int OP_ENABLE                     = 1;
+        private static final int OP_DISABLE                    = 2;
+        private static final int OP_BIND_BUFFER                = 3;
+        private static final int OP_BIND_VERTEX_ARRAY          = 4;
+        private static final int OP_USE_PROGRAM                = 5;
+        private static final int OP_UNIFORM_1I                 = 6;
+        private static final int OP_UNIFORM_1F                 = 7;
+        private static final int OP_DRAW_ARRAYS                = 8;
+        private static final int OP_DRAW_ELEMENTS              = 9;
+        private static final int OP_DRAW_ARRAYS_INSTANCED      = 10;
+        private static final int OP_MULTI_DRAW_ARRAYS_INDIRECT = 11;
+        private static final int OP_FLUSH                      = 12;
+
+        /** GL entry point per opcode; index 0 is the untyped fallback */
+        private static final String[] FUNCTIONS = {
+            null,
+            "glEnable",
+            "glDisable",
+            "glBindBuffer",
+            "glBindVertexArray",
+            "glUseProgram",
+            "glUniform1i",
+            "glUniform1f",
+            "glDrawArrays",
+            "glDrawElements",
+            "glDrawArraysInstanced",
+            "glMultiDrawArraysIndirect",
+            "glFlush"
+        };
+
+        private final NativeHandleRegistry registry;
+        private final MemorySegment ring;
+        private final MethodHandle[] handles = new MethodHandle[FUNCTIONS.length];
+
+        /** Untyped calls, referenced from the ring by index (guarded by this) */
+        private final ArrayList<PendingCall> generic = new ArrayList<>();
+
+        private int recorded = 0;
+        /** First replay failure of an automatic flush, rethrown by the next {@link #flush} */
+        @Nullable
+        private RuntimeException deferredFailure;
         private final AtomicInteger batchedCalls = new AtomicInteger(0);
         private final AtomicInteger flushedBatches = new AtomicInteger(0);
 
         private record PendingCall(
             MethodHandle handle,
             Object[] args,
-            CompletableFuture<Object> future
+            @Nullable CompletableFuture<Object> future
         ) {}
 
+        CallBatcher(NativeHandleRegistry registry, Arena arena) {
+            this.registry = registry;
+            this.ring = arena.allocate(RECORD_BYTES * MAX_BATCH, Long.BYTES);
+        }
+
+        // ─── Typed Recording ───
+
+        synchronized void record(int opcode, int i0) {
+            long base = next(opcode);
+            ring.set(ValueLayout.JAVA_INT, base + R_I0, i0);
+            commit();
+        }
+
+        synchronized void record(int opcode, int i0, int i1) {
+            long base = next(opcode);
+            ring.set(ValueLayout.JAVA_INT, base + R_I0, i0);
+            ring.set(ValueLayout.JAVA_INT, base + R_I1, i1);
+            commit();
+        }
+
+        synchronized void record(int opcode, int i0, int i1, int i2, int i3) {
+            long base = next(opcode);
+            ring.set(ValueLayout.JAVA_INT, base + R_I0, i0);
+            ring.set(ValueLayout.JAVA_INT, base + R_I1, i1);
+            ring.set(ValueLayout.JAVA_INT, base + R_I2, i2);
+            ring.set(ValueLayout.JAVA_INT, base + R_I3, i3);
+            commit();
+        }
+
+        synchronized void record(int opcode, int i0, int i1, int i2, long l0) {
+            long base = next(opcode);
+            ring.set(ValueLayout.JAVA_INT, base + R_I0, i0);
+            ring.set(ValueLayout.JAVA_INT, base + R_I1, i1);
+            ring.set(ValueLayout.JAVA_INT, base + R_I2, i2);
+            ring.set(ValueLayout.JAVA_LONG, base + R_L0, l0);
+            commit();
+        }
+
+        private long next(int opcode) {
+            long base = recorded * RECORD_BYTES;
+            ring.set(ValueLayout.JAVA_INT, base + R_OPCODE, opcode);
+            return base;
+        }
+
+        private void commit() {
+            recorded++;
+            batchedCalls.incrementAndGet();
+            if (recorded >= MAX_BATCH) {
+                flushInternal();
+            }
+        }
+
+        // ─── Untyped Fallback ───
+
         /**
-         * Queues a call for batched execution.
+         * Queues an arbitrary call; the future completes with its result after the flush.
          */
-        CompletableFuture<Object> queue(MethodHandle handle, Object... args) {
+        synchronized CompletableFuture<Object> queue(MethodHandle handle, Object... args) {
             CompletableFuture<Object> future = new CompletableFuture<>();
-            synchronized (pending) {
-                pending.addLast(new PendingCall(handle, args, future));
-                batchedCalls.incrementAndGet();
-
-                if (pending.size() >= MAX_BATCH) {
-                    flushInternal();
-                }
-            }
+            enqueue(new PendingCall(handle, args, future));
             return future;
         }
 
         /**
-         * Flushes all pending calls.
+         * Queues an arbitrary call whose result nobody consumes.
          */
-        void flush() {
-            synchronized (pending) {
-                flushInternal();
+        synchronized void submit(MethodHandle handle, Object... args) {
+            enqueue(new PendingCall(handle, args, null));
+        }
+
+        private void enqueue(PendingCall call) {
+            long base = next(OP_GENERIC);
+            ring.set(ValueLayout.JAVA_INT, base + R_I0, generic.size());
+            generic.add(call);
+            commit();
+        }
+
+        // ─── Replay ───
+
+        /**
+         * Flushes all pending calls and rethrows the first replay failure since the last flush.
+         */
+        synchronized void flush() {
+            flushInternal();
+            RuntimeException failure = deferredFailure;
+            if (failure != null) {
+                deferredFailure = null;
+                throw failure;
             }
         }
 
+        /**
+         * Replays pending calls ahead of an immediate call; failures stay deferred.
+         */
+        synchronized void drain() {
+            flushInternal();
+        }
+
+        /**
+         * Replays the ring. Failures are kept for {@link #flush}, so an automatic flush never
+         * fails the unrelated call that happened to fill the ring.
+         */
         private void flushInternal() {
-            if (pending.isEmpty()) return;
+            int count = recorded;
+            if (count == 0) return;
 
+            recorded = 0;
             flushedBatches.incrementAndGet();
-            List<PendingCall> batch = new ArrayList<>(pending);
-            pending.clear();
 
-            // Execute batch sequentially but in single native transition
-            for (PendingCall call : batch) {
+            // Replay everything even if a call fails, so the ring is always left empty
+            Throwable failure = null;
+            int failedOpcode = OP_GENERIC;
+            for (int i = 0; i < count; i++) {
+                long base = i * RECORD_BYTES;
+                int opcode = ring.get(ValueLayout.JAVA_INT, base + R_OPCODE);
                 try {
-                    Object result = call.handle.invokeWithArguments(call.args);
-                    call.future.complete(result);
+                    replay(opcode, base);
                 } catch (Throwable t) {
-                    call.future.completeExceptionally(t);
+                    if (failure == null) {
+                        failure = t;
+                        failedOpcode = opcode;
+                    }
+                }
+            }
+            generic.clear();
+
+            if (failure != null && deferredFailure == null) {
+                String function = failedOpcode == OP_GENERIC ? "call" : FUNCTIONS[failedOpcode];
+                deferredFailure = new RuntimeException("Batched " + function + " failed", failure);
+            }
+        }
+
+        private void replay(int opcode, long base) throws Throwable {
+            switch (opcode) {
+                case OP_GENERIC -> {
+                    PendingCall call = generic.get(ring.get(ValueLayout.JAVA_INT, base + R_I0));
+                    if (call.future == null) {
+                        call.handle.invokeWithArguments(call.args);
+                        return;
+                    }
+                    try {
+                        call.future.complete(call.handle.invokeWithArguments(call.args));
+                    } catch (Throwable t) {
+                        call.future.completeExceptionally(t);
+                    }
                 }
+                case OP_ENABLE, OP_DISABLE, OP_BIND_VERTEX_ARRAY, OP_USE_PROGRAM ->
+                    handle(opcode).invokeExact(i0(base));
+                case OP_BIND_BUFFER, OP_UNIFORM_1I ->
+                    handle(opcode).invokeExact(i0(base), i1(base));
+                case OP_UNIFORM_1F ->
+                    handle(opcode).invokeExact(i0(base), Float.intBitsToFloat(i1(base)));
+                case OP_DRAW_ARRAYS ->
+                    handle(opcode).invokeExact(i0(base), i1(base), i2(base));
+                case OP_DRAW_ELEMENTS ->
+                    handle(opcode).invokeExact(i0(base), i1(base), i2(base), MemorySegment.ofAddress(l0(base)));
+                case OP_DRAW_ARRAYS_INSTANCED ->
+                    handle(opcode).invokeExact(i0(base), i1(base), i2(base), i3(base));
+                case OP_MULTI_DRAW_ARRAYS_INDIRECT ->
+                    handle(opcode).invokeExact(i0(base), MemorySegment.ofAddress(l0(base)), i1(base), i2(base));
+                case OP_FLUSH ->
+                    handle(opcode).invokeExact();
+                default -> throw new IllegalStateException("Unknown batch opcode: " + opcode);
             }
         }
 
-        int pendingCount() { return pending.size(); }
+        private MethodHandle handle(int opcode) {
+            MethodHandle handle = handles[opcode];
+            if (handle == null) {
+                handle = registry.getHandleOrThrow(FUNCTIONS[opcode]);
+                handles[opcode] = handle;
+            }
+            return handle;
+        }
+
+        private int i0(long base) { return ring.get(ValueLayout.JAVA_INT, base + R_I0); }
+        private int i1(long base) { return ring.get(ValueLayout.JAVA_INT, base + R_I1); }
+        private int i2(long base) { return ring.get(ValueLayout.JAVA_INT, base + R_I2); }
+        private int i3(long base) { return ring.get(ValueLayout.JAVA_INT, base + R_I3); }
+        private long l0(long base) { return ring.get(ValueLayout.JAVA_LONG, base + R_L0); }
+
+        synchronized int pendingCount() { return recorded; }
         int totalBatched() { return batchedCalls.get(); }
         int totalFlushed() { return flushedBatches.get(); }
     }
@@ -931,7 +1132,7 @@ public final class RenderSystem implements AutoCloseable {
         this.arena = Arena.ofShared();
         this.handleRegistry = new NativeHandleRegistry();
         this.stateTracker = new StateTracker();
-        this.callBatcher = new CallBatcher();
+        this.callBatcher = new CallBatcher(handleRegistry, arena);
         this.bufferManager = new PersistentBufferManager(arena);
         this.speculativeExecutor = new SpeculativeExecutor();
         this.callSiteOptimizer = new InlineCallSiteOptimizer();
@@ -1006,6 +1207,7 @@ public final class RenderSystem implements AutoCloseable {
      */
     public void useProgram(int program) {
         ensureNotClosed();
+        drainQueued();
         totalCalls.increment();
 
         if (!stateTracker.shouldBindProgram(program)) {
@@ -1028,6 +1230,7 @@ public final class RenderSystem implements AutoCloseable {
      */
     public void bindVertexArray(int vao) {
         ensureNotClosed();
+        drainQueued();
         totalCalls.increment();
 
         if (!stateTracker.shouldBindVAO(vao)) {
@@ -1050,6 +1253,7 @@ public final class RenderSystem implements AutoCloseable {
      */
     public void bindBuffer(int target, int buffer) {
         ensureNotClosed();
+        drainQueued();
         totalCalls.increment();
 
         if (!stateTracker.shouldBindBuffer(target, buffer)) {
@@ -1072,6 +1276,7 @@ public final class RenderSystem implements AutoCloseable {
      */
     public void enable(int cap) {
         ensureNotClosed();
+        drainQueued();
         totalCalls.increment();
 
         if (!stateTracker.shouldSetCapability(cap, true)) {
@@ -1093,6 +1298,7 @@ public final class RenderSystem implements AutoCloseable {
      */
     public void disable(int cap) {
         ensureNotClosed();
+        drainQueued();
         totalCalls.increment();
 
         if (!stateTracker.shouldSetCapability(cap, false)) {
@@ -1118,6 +1324,7 @@ public final class RenderSystem implements AutoCloseable {
      */
     public void uniform1i(int location, int value) {
         ensureNotClosed();
+        drainQueued();
         totalCalls.increment();
 
         long hash = computeUniformHash(location, value);
@@ -1140,6 +1347,7 @@ public final class RenderSystem implements AutoCloseable {
      */
     public void uniform1f(int location, float value) {
         ensureNotClosed();
+        drainQueued();
         totalCalls.increment();
 
         long hash = computeUniformHash(location, value);
@@ -1162,6 +1370,7 @@ public final class RenderSystem implements AutoCloseable {
      */
     public void uniformMatrix4fv(int location, boolean transpose, MemorySegment data) {
         ensureNotClosed();
+        drainQueued();
         totalCalls.increment();
         nativeCalls.increment();
 
@@ -1182,6 +1391,7 @@ public final class RenderSystem implements AutoCloseable {
      */
     public void drawArrays(int mode, int first, int count) {
         ensureNotClosed();
+        drainQueued();
         totalCalls.increment();
         nativeCalls.increment();
 
@@ -1198,6 +1408,7 @@ public final class RenderSystem implements AutoCloseable {
      */
     public void drawElements(int mode, int count, int type, long offset) {
         ensureNotClosed();
+        drainQueued();
         totalCalls.increment();
         nativeCalls.increment();
 
@@ -1214,6 +1425,7 @@ public final class RenderSystem implements AutoCloseable {
      */
     public void drawArraysInstanced(int mode, int first, int count, int instanceCount) {
         ensureNotClosed();
+        drainQueued();
         totalCalls.increment();
         nativeCalls.increment();
 
@@ -1230,6 +1442,7 @@ public final class RenderSystem implements AutoCloseable {
      */
     public void multiDrawArraysIndirect(int mode, MemorySegment indirect, int drawCount, int stride) {
         ensureNotClosed();
+        drainQueued();
         totalCalls.increment();
         nativeCalls.increment();
         batchedCalls.add(drawCount);
@@ -1251,6 +1464,7 @@ public final class RenderSystem implements AutoCloseable {
      */
     public int getInteger(int pname) {
         ensureNotClosed();
+        drainQueued();
         totalCalls.increment();
 
         long hash = computeCallHash("glGetIntegerv", pname, 0, 0);
@@ -1300,6 +1514,7 @@ public final class RenderSystem implements AutoCloseable {
      */
     public int getError() {
         ensureNotClosed();
+        drainQueued();
         totalCalls.increment();
         nativeCalls.increment();
 
@@ -1351,6 +1566,7 @@ public final class RenderSystem implements AutoCloseable {
      */
     public void bufferSubData(int target, long offset, MemorySegment data) {
         ensureNotClosed();
+        drainQueued();
         totalCalls.increment();
         nativeCalls.increment();
 
@@ -1367,7 +1583,8 @@ public final class RenderSystem implements AutoCloseable {
     // ════════════════════════════════════════════════════════════════════════════════════════════
 
     /**
-     * Queues a call for batched execution.
+     * Queues a call for batched execution. Prefer the typed {@code queue*} methods, which
+     * record without allocating; this path boxes its arguments and creates a future.
      */
     public CompletableFuture<Object> queueCall(String function, Object... args) {
         ensureNotClosed();
@@ -1376,7 +1593,189 @@ public final class RenderSystem implements AutoCloseable {
     }
 
     /**
-     * Flushes all batched calls.
+     * Queues a call whose result is not needed. Failures surface from the flush.
+     */
+    public void submitCall(String function, Object... args) {
+        ensureNotClosed();
+        MethodHandle handle = handleRegistry.getHandleOrThrow(function);
+        callBatcher.submit(handle, args);
+    }
+
+    /**
+     * Queues a capability enable with state tracking.
+     */
+    public void queueEnable(int cap) {
+        ensureNotClosed();
+        totalCalls.increment();
+
+        if (!stateTracker.shouldSetCapability(cap, true)) {
+            cachedResults.increment();
+            return;
+        }
+        callBatcher.record(CallBatcher.OP_ENABLE, cap);
+        recordBatched();
+    }
+
+    /**
+     * Queues a capability disable with state tracking.
+     */
+    public void queueDisable(int cap) {
+        ensureNotClosed();
+        totalCalls.increment();
+
+        if (!stateTracker.shouldSetCapability(cap, false)) {
+            cachedResults.increment();
+            return;
+        }
+        callBatcher.record(CallBatcher.OP_DISABLE, cap);
+        recordBatched();
+    }
+
+    /**
+     * Queues a buffer bind with state tracking.
+     */
+    public void queueBindBuffer(int target, int buffer) {
+        ensureNotClosed();
+        totalCalls.increment();
+
+        if (!stateTracker.shouldBindBuffer(target, buffer)) {
+            cachedResults.increment();
+            return;
+        }
+        callBatcher.record(CallBatcher.OP_BIND_BUFFER, target, buffer);
+        recordBatched();
+    }
+
+    /**
+     * Queues a VAO bind with state tracking.
+     */
+    public void queueBindVertexArray(int vao) {
+        ensureNotClosed();
+        totalCalls.increment();
+
+        if (!stateTracker.shouldBindVAO(vao)) {
+            cachedResults.increment();
+            return;
+        }
+        callBatcher.record(CallBatcher.OP_BIND_VERTEX_ARRAY, vao);
+        recordBatched();
+    }
+
+    /**
+     * Queues a program bind with state tracking.
+     */
+    public void queueUseProgram(int program) {
+        ensureNotClosed();
+        totalCalls.increment();
+
+        if (!stateTracker.shouldBindProgram(program)) {
+            cachedResults.increment();
+            return;
+        }
+        callBatcher.record(CallBatcher.OP_USE_PROGRAM, program);
+        recordBatched();
+    }
+
+    /**
+     * Queues an integer uniform with caching.
+     */
+    public void queueUniform1i(int location, int value) {
+        ensureNotClosed();
+        totalCalls.increment();
+
+        if (!stateTracker.shouldSetUniform(location, computeUniformHash(location, value))) {
+            cachedResults.increment();
+            return;
+        }
+        callBatcher.record(CallBatcher.OP_UNIFORM_1I, location, value);
+        recordBatched();
+    }
+
+    /**
+     * Queues a float uniform with caching.
+     */
+    public void queueUniform1f(int location, float value) {
+        ensureNotClosed();
+        totalCalls.increment();
+
+        if (!stateTracker.shouldSetUniform(location, computeUniformHash(location, value))) {
+            cachedResults.increment();
+            return;
+        }
+        callBatcher.record(CallBatcher.OP_UNIFORM_1F, location, Float.floatToRawIntBits(value));
+        recordBatched();
+    }
+
+    /**
+     * Queues an array draw.
+     */
+    public void queueDrawArrays(int mode, int first, int count) {
+        ensureNotClosed();
+        totalCalls.increment();
+        callBatcher.record(CallBatcher.OP_DRAW_ARRAYS, mode, first, count, 0);
+        recordBatched();
+    }
+
+    /**
+     * Queues an indexed draw.
+     */
+    public void queueDrawElements(int mode, int count, int type, long offset) {
+        ensureNotClosed();
+        totalCalls.increment();
+        callBatcher.record(CallBatcher.OP_DRAW_ELEMENTS, mode, count, type, offset);
+        recordBatched();
+    }
+
+    /**
+     * Queues an instanced array draw.
+     */
+    public void queueDrawArraysInstanced(int mode, int first, int count, int instanceCount) {
+        ensureNotClosed();
+        totalCalls.increment();
+        callBatcher.record(CallBatcher.OP_DRAW_ARRAYS_INSTANCED, mode, first, count, instanceCount);
+        recordBatched();
+    }
+
+    /**
+     * Queues a multi-draw indirect. {@code indirect} must stay alive until the batch is flushed.
+     */
+    public void queueMultiDrawArraysIndirect(int mode, MemorySegment indirect, int drawCount, int stride) {
+        ensureNotClosed();
+        if (!indirect.isNative()) {
+            throw new IllegalArgumentException("Indirect buffer must be a native segment");
+        }
+        totalCalls.increment();
+        nativeCalls.increment();
+        batchedCalls.add(drawCount);
+        callBatcher.record(CallBatcher.OP_MULTI_DRAW_ARRAYS_INDIRECT, mode, drawCount, stride, indirect.address());
+    }
+
+    /**
+     * Queues a GL command buffer flush behind the recorded calls.
+     */
+    public void queueFlush() {
+        ensureNotClosed();
+        totalCalls.increment();
+        callBatcher.record(CallBatcher.OP_FLUSH, 0);
+        recordBatched();
+    }
+
+    /**
+     * Replays queued calls before an immediate one, so GL sees calls in program order and the
+     * state tracker, already updated when the queued calls were recorded, stays truthful.
+     */
+    private void drainQueued() {
+        callBatcher.drain();
+    }
+
+    private void recordBatched() {
+        nativeCalls.increment();
+        batchedCalls.increment();
+    }
+
+    /**
+     * Flushes all batched calls. Rethrows the first failure of any batched call replayed since
+     * the previous flushBatch, including replays triggered by a full ring or an immediate call.
      */
     public void flushBatch() {
         callBatcher.flush();
@@ -1399,6 +1798,7 @@ public final class RenderSystem implements AutoCloseable {
      */
     public void flush() {
         ensureNotClosed();
+        drainQueued();
         totalCalls.increment();
         nativeCalls.increment();
 
@@ -1415,6 +1815,7 @@ public final class RenderSystem implements AutoCloseable {
      */
     public void finish() {
         ensureNotClosed();
+        drainQueued();
         totalCalls.increment();
         nativeCalls.increment();
 
@@ -1517,8 +1918,11 @@ public final class RenderSystem implements AutoCloseable {
     @Override
     public void close() {
         if (closed.compareAndSet(false, true)) {
-            callBatcher.flush();
-            arena.close();
+            try {
+                callBatcher.flush();
+            } finally {
+                arena.close();
+            }
         }
     }
 
@@ -272,9 +272,22 @@ public final class MixinHelper {
      */
     public static int calculateLOD(double distanceSquared) {
         if (distanceSquared >= LOD_CULLED_DIST_SQ) return LOD_CULLED;
-        if (distanceSquared >= LOD_MINIMAL_DIST_SQ) return LOD_MINIMAL;
-        if (distanceSquared >= LOD_REDUCED_DIST_SQ) return LOD_REDUCED;
-        return LOD_FULL;
+
+        int lod;
+        if (distanceSquared >= LOD_MINIMAL_DIST_SQ) lod = LOD_MINIMAL;
+        else if (distanceSquared >= LOD_REDUCED_DIST_SQ) lod = LOD_REDUCED;
+        else lod = LOD_FULL;
+
+        // Load shedding coarsens LOD but never culls an entity distance would keep
+        return Math.min(LOD_MINIMAL, lod + getLodBias());
+    }
+
+    /**
+     * LOD steps added by bridge load shedding (0 when not shedding or no bridge).
+     */
+    private static int getLodBias() {
+        MinecraftECSBridge bridge = MinecraftECSBridge.getInstanceIfPresent();
+        return bridge == null ? 0 : bridge.getLoadShedder().getLodBias();
     }
 
     /**